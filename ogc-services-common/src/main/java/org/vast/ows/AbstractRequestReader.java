@@ -22,10 +22,18 @@ package org.vast.ows;
 
 import java.io.*;
 import java.util.Map;
+import java.util.regex.Pattern;
+import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.vast.xml.DOMHelper;
 import org.vast.xml.DOMHelperException;
+import org.vast.xml.XMLDocument;
+import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 
 
 /**
@@ -43,6 +51,7 @@ public abstract class AbstractRequestReader<RequestType extends OWSRequest> exte
 	protected final static String versionRegex = "^[0-9]+\\.[0-9]+(\\.[0-9]+)?$";
 	protected final static String noKVP = "KVP request not supported in ";
     protected final static String noXML = "XML request not supported in ";
+    protected final static Pattern WHITESPACE_PATTERN = Pattern.compile("[ \\t\\n\\f\\r]+");
 
     protected String owsVersion = OWSException.VERSION_10;
     
@@ -61,6 +70,143 @@ public abstract class AbstractRequestReader<RequestType extends OWSRequest> exte
     }
     
     
+    /**
+     * Reads common XML request parameters from the request start element
+     * and fill up the OWSQuery accordingly
+     * @param reader
+     * @param request
+     */
+    public static void readCommonXML(XMLStreamReader reader, OWSRequest request)
+    {
+        request.setOperation(reader.getLocalName());
+        request.setService(reader.getAttributeValue(null, "service"));
+        request.setVersion(reader.getAttributeValue(null, "version"));
+    }
+    
+    
+    /**
+     * Reads the text value of the current element, with white spaces
+     * collapsed like in {@link DOMHelper#getElementValue(Element)}
+     * @param reader stream reader positioned on the element start tag.
+     * It is left on the matching end tag.
+     * @return the text value or null if the element is empty
+     * @throws XMLStreamException
+     */
+    public static String readElementValue(XMLStreamReader reader) throws XMLStreamException
+    {
+        String value = reader.getElementText();
+        if (value.isEmpty())
+            return null;
+        return WHITESPACE_PATTERN.matcher(value).replaceAll(" ").trim();
+    }
+    
+    
+    /**
+     * Skips the current element and all its children
+     * @param reader stream reader positioned on the element start tag.
+     * It is left on the matching end tag.
+     * @throws XMLStreamException
+     */
+    public static void skipElement(XMLStreamReader reader) throws XMLStreamException
+    {
+        int depth = 1;
+        while (depth > 0)
+        {
+            int eventCode = reader.next();
+            if (eventCode == XMLStreamConstants.START_ELEMENT)
+                depth++;
+            else if (eventCode == XMLStreamConstants.END_ELEMENT)
+                depth--;
+        }
+    }
+    
+    
+    /**
+     * Copies the current element and all its children to a new DOM document.<br/>
+     * This is used when parts of a streamed request still have to be handled
+     * by DOM readers or kept as raw XML.
+     * @param reader stream reader positioned on the element start tag.
+     * It is left on the matching end tag.
+     * @return DOM helper wrapping the new document
+     * @throws XMLStreamException
+     */
+    public static DOMHelper readElementAsDOM(XMLStreamReader reader) throws XMLStreamException
+    {
+        Document doc = new XMLDocument().getDocument();
+        Node parent = doc;
+        int depth = 0;
+        
+        while (true)
+        {
+            switch (reader.getEventType())
+            {
+                case XMLStreamConstants.START_ELEMENT:
+                    String nsUri = emptyToNull(reader.getNamespaceURI());
+                    Element elt = doc.createElementNS(nsUri, getQName(reader.getPrefix(), reader.getLocalName()));
+                    for (int i = 0; i < reader.getNamespaceCount(); i++)
+                        declareNamespace(elt, reader.getNamespacePrefix(i), reader.getNamespaceURI(i));
+                    for (int i = 0; i < reader.getAttributeCount(); i++)
+                    {
+                        String attNsUri = emptyToNull(reader.getAttributeNamespace(i));
+                        String attName = getQName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i));
+                        elt.setAttributeNS(attNsUri, attName, reader.getAttributeValue(i));
+                        
+                        // also declare namespaces inherited from ancestors on the new root
+                        if (depth == 0 && attNsUri != null)
+                            declareNamespace(elt, reader.getAttributePrefix(i), attNsUri);
+                    }
+                    if (depth == 0 && nsUri != null)
+                        declareNamespace(elt, reader.getPrefix(), nsUri);
+                    parent.appendChild(elt);
+                    parent = elt;
+                    depth++;
+                    break;
+                    
+                case XMLStreamConstants.END_ELEMENT:
+                    parent = parent.getParentNode();
+                    depth--;
+                    break;
+                    
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    parent.appendChild(doc.createTextNode(reader.getText()));
+                    break;
+                    
+                default:
+            }
+            
+            if (depth == 0)
+                break;
+            reader.next();
+        }
+        
+        return new DOMHelper(doc);
+    }
+    
+    
+    private static String emptyToNull(String nsUri)
+    {
+        return (nsUri == null || nsUri.isEmpty()) ? null : nsUri;
+    }
+    
+    
+    private static String getQName(String prefix, String localName)
+    {
+        if (prefix == null || prefix.isEmpty())
+            return localName;
+        return prefix + ':' + localName;
+    }
+    
+    
+    private static void declareNamespace(Element elt, String prefix, String nsUri)
+    {
+        String attName = (prefix == null || prefix.isEmpty()) ? XMLConstants.XMLNS_ATTRIBUTE : XMLConstants.XMLNS_ATTRIBUTE + ':' + prefix;
+        if (!elt.hasAttribute(attName))
+            elt.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, attName, nsUri);
+    }
+    
+    
 	@Override
 	public RequestType readURLQuery(String queryString) throws OWSException
 	{
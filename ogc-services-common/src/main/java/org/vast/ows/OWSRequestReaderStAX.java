@@ -0,0 +1,47 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.ows;
+
+import javax.xml.stream.XMLStreamReader;
+
+
+/**
+ * <p>
+ * Interface for OWS request readers that can also parse XML requests
+ * directly from a StAX stream, without building a DOM tree first.<br/>
+ * {@link OWSUtils} and the OWS servlet use this method when the reader
+ * registered for a request implements this interface, and fall back to
+ * {@link OWSRequestReader#readXMLQuery(org.vast.xml.DOMHelper, org.w3c.dom.Element)}
+ * otherwise.
+ * </p>
+ *
+ * @author agent
+ * @param <RequestType> Type of request object supported by this reader
+ * @since Oct 17, 2026
+ */
+public interface OWSRequestReaderStAX<RequestType extends OWSRequest> extends OWSRequestReader<RequestType>
+{
+
+    /**
+     * Reads XML request parameters from the given stream reader
+     * @param reader stream reader positioned on the request start element.
+     * It is left on the request end element when this method returns, unless
+     * the reader leaves large content to be streamed by the request handler.
+     * @return request object generated from the XML stream
+     * @throws OWSException
+     */
+    public RequestType readXMLQuery(XMLStreamReader reader) throws OWSException;
+
+}
@@ -32,13 +32,17 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.util.Map;
 import java.util.ServiceLoader;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vast.ogc.OGCException;
 import org.vast.ogc.OGCExceptionReader;
 import org.vast.ogc.OGCRegistry;
+import org.vast.ows.util.RewindableInputStream;
 import org.vast.xml.DOMHelper;
 import org.vast.xml.DOMHelperException;
+import org.vast.xml.XMLImplFinder;
 import org.w3c.dom.Element;
 
 
@@ -206,6 +210,90 @@ public class OWSUtils extends OWSCommonUtils
     }
     
     
+    /**
+     * Helper method to parse any OWS query from an XML stream.<br/>
+     * This requires the reader registered for the request type to implement
+     * {@link OWSRequestReaderStAX}, which can be checked beforehand with
+     * {@link #hasStreamingReader(XMLStreamReader)}
+     * @param reader stream reader positioned on the request start element
+     * @param serviceType service type to check if service in query is correct
+     * @param defaultVersion version used in case no version is specified in the query
+     * @return OWS request object filled with all parameters parsed from XML request
+     * @throws OWSException 
+     */
+    public OWSRequest readXMLQuery(XMLStreamReader reader, String serviceType, String defaultVersion) throws OWSException
+    {
+        // read common params and check that they're present
+        OWSRequest request = new OWSRequest();
+        request.setVersion(defaultVersion);
+        AbstractRequestReader.readCommonXML(reader, request);
+        OWSExceptionReport report = new OWSExceptionReport();
+        AbstractRequestReader.checkParameters(request, report, serviceType);
+        report.process();
+        
+        // parse request with appropriate reader
+        OWSRequestReader<?> owsReader;
+        try
+        {
+            owsReader = OGCRegistry.createReader(request.service, request.operation, request.version);
+        }
+        catch (IllegalStateException e)
+        {
+            String spec = request.service + " " + request.operation + " v" + request.version;
+            throw new OWSException(UNSUPPORTED_SPEC_MSG + spec, e);
+        }
+        
+        if (!(owsReader instanceof OWSRequestReaderStAX))
+        {
+            String spec = request.service + " " + request.operation + " v" + request.version;
+            throw new OWSException(UNSUPPORTED_SPEC_MSG + "streaming " + spec);
+        }
+        
+        return ((OWSRequestReaderStAX<?>)owsReader).readXMLQuery(reader);
+    }
+    
+    
+    /**
+     * Helper method to parse any OWS query from an XML stream
+     * @param reader stream reader positioned on the request start element
+     * @return OWS request object filled with all parameters parsed from XML request
+     * @throws OWSException 
+     * @see #readXMLQuery(XMLStreamReader, String, String)
+     */
+    public OWSRequest readXMLQuery(XMLStreamReader reader) throws OWSException
+    {
+        return readXMLQuery(reader, null, null);
+    }
+    
+    
+    /**
+     * Checks if the request whose start element is the current event of the
+     * given stream reader can be parsed with a streaming reader
+     * @param reader stream reader positioned on the request start element
+     * @return true if the reader registered for the request type implements
+     * {@link OWSRequestReaderStAX}, false otherwise
+     */
+    public boolean hasStreamingReader(XMLStreamReader reader)
+    {
+        String operation = reader.getLocalName();
+        String service = reader.getAttributeValue(null, "service");
+        String version = reader.getAttributeValue(null, "version");
+        
+        // let DOM readers report missing parameters
+        if (service == null || operation == null)
+            return false;
+        
+        try
+        {
+            return OGCRegistry.createReader(service, operation, version) instanceof OWSRequestReaderStAX;
+        }
+        catch (IllegalStateException e)
+        {
+            return false;
+        }
+    }
+    
+    
     /**
      * Helper method to parse any OWS query directly from an InputStream
      * @param is input stream containing the XML document to read from
@@ -217,11 +305,24 @@ public class OWSUtils extends OWSCommonUtils
     {
     	try
 		{
-			DOMHelper dom = new DOMHelper(is, false);
+			// use streaming reader if available
+			RewindableInputStream xmlRequest = new RewindableInputStream(is);
+			XMLStreamReader reader = XMLImplFinder.getStaxInputFactory().createXMLStreamReader(xmlRequest);
+			reader.nextTag();
+			if (hasStreamingReader(reader))
+			{
+				xmlRequest.stopRecording();
+				return readXMLQuery(reader, serviceType, null);
+			}
+			
+			// otherwise rewind and parse with DOM
+			reader.close();
+			xmlRequest.rewind();
+			DOMHelper dom = new DOMHelper(xmlRequest, false);
 			OWSRequest request = readXMLQuery(dom, dom.getRootElement(), serviceType);
 			return request;
 		}
-		catch (DOMHelperException e)
+		catch (XMLStreamException | IOException e)
 		{
 			throw new OWSException(AbstractRequestReader.invalidXML, e);
 		}
@@ -167,6 +167,26 @@ public class FESUtils extends OWSCommonUtils
     }
     
     
+    /**
+     * Reads temporal filter encoded according to OGC filter XML schema
+     * @param reader stream reader positioned on the temporal operator start element.
+     * It is left on the matching end element.
+     * @return temporal operator
+     * @throws XMLReaderException
+     */
+    public BinaryTemporalOp readXMLTemporalFilter(XMLStreamReader reader) throws XMLReaderException
+    {
+        try
+        {
+            return (BinaryTemporalOp)filterBindings.readTemporalOps(reader);
+        }
+        catch (Exception e)
+        {
+            throw new XMLReaderException("Error while reading temporal filter", e);
+        }
+    }
+    
+    
     /**
      * Writes a temporal filter according to OGC filter schema v2.0
      * @param dom
@@ -214,6 +234,26 @@ public class FESUtils extends OWSCommonUtils
     }
     
     
+    /**
+     * Reads spatial filter encoded according to OGC filter XML schema
+     * @param reader stream reader positioned on the spatial operator start element.
+     * It is left on the matching end element.
+     * @return spatial operator
+     * @throws XMLReaderException 
+     */
+    public SpatialOps readXMLSpatialFilter(XMLStreamReader reader) throws XMLReaderException
+    {
+        try
+        {
+            return (BinarySpatialOp)filterBindings.readSpatialOps(reader);
+        }
+        catch (Exception e)
+        {
+            throw new XMLReaderException("Error while reading spatial filter", e);
+        }
+    }
+    
+    
     /**
      * Writes a spatial filter according to OGC filter schema v2.0
      * @param dom
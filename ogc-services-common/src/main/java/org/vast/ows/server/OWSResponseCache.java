@@ -0,0 +1,472 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.ows.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.vast.ows.OWSException;
+import org.vast.util.Asserts;
+
+
+/**
+ * <p>
+ * Cache of encoded OWS responses, for responses that are expensive to
+ * serialize but rarely change (e.g. capabilities or sensor descriptions).<br/>
+ * Responses are stored as byte arrays keyed by operation, version, format and
+ * an application specific key (e.g. offering or procedure ID). They are kept
+ * until explicitly invalidated, or until evicted because the cache is full,
+ * in which case the least recently used responses are evicted first.
+ * </p><p>
+ * Each cached response has an ETag computed from its content so that clients
+ * polling the same resource receive a 304 status when it hasn't changed.
+ * A gzip compressed copy of the content can also be kept and sent to clients
+ * that accept it.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class OWSResponseCache
+{
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+    static final int MIN_GZIP_SIZE = 1024;
+    static final String GZIP_ENCODING = "gzip";
+    static final String GZIP_ETAG_SUFFIX = "-gzip";
+
+    protected final Map<Key, CachedResponse> entries;
+    protected final boolean gzipEnabled;
+    protected volatile long generation;
+    protected final AtomicLong hitCount = new AtomicLong();
+    protected final AtomicLong missCount = new AtomicLong();
+
+
+    /**
+     * Interface for writing the response content on cache miss
+     */
+    @FunctionalInterface
+    public interface ResponseEncoder
+    {
+        public void write(OutputStream os) throws IOException, OWSException;
+    }
+
+
+    /**
+     * Encoded response stored in the cache
+     */
+    public static class CachedResponse
+    {
+        final String contentType;
+        final byte[] data;
+        final byte[] gzipData;
+        final String etag;
+
+        CachedResponse(String contentType, byte[] data, byte[] gzipData)
+        {
+            this.contentType = contentType;
+            this.data = data;
+            this.gzipData = gzipData;
+            this.etag = computeETag(data);
+        }
+
+        public String getContentType()
+        {
+            return contentType;
+        }
+
+        public byte[] getData()
+        {
+            return data;
+        }
+
+        /**
+         * @return the gzip compressed content or null if not available
+         */
+        public byte[] getGzipData()
+        {
+            return gzipData;
+        }
+
+        public String getETag()
+        {
+            return etag;
+        }
+    }
+
+
+    static class Key
+    {
+        final String operation;
+        final String version;
+        final String format;
+        final String key;
+
+        Key(String operation, String version, String format, String key)
+        {
+            this.operation = Asserts.checkNotNull(operation, "operation");
+            this.version = version;
+            this.format = format;
+            this.key = key;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(operation, version, format, key);
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof Key))
+                return false;
+
+            Key other = (Key)obj;
+            return operation.equals(other.operation) &&
+                   Objects.equals(version, other.version) &&
+                   Objects.equals(format, other.format) &&
+                   Objects.equals(key, other.key);
+        }
+    }
+
+
+    /**
+     * Creates a cache with the default max number of entries and gzip
+     * compressed variants enabled
+     */
+    public OWSResponseCache()
+    {
+        this(DEFAULT_MAX_ENTRIES, true);
+    }
+
+
+    /**
+     * @param maxEntries Max number of responses kept in the cache
+     * @param gzipEnabled true to also keep gzip compressed responses
+     */
+    public OWSResponseCache(int maxEntries, boolean gzipEnabled)
+    {
+        Asserts.checkArgument(maxEntries > 0, "maxEntries must be > 0");
+        this.gzipEnabled = gzipEnabled;
+        this.entries = new LinkedHashMap<Key, CachedResponse>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedResponse> eldest)
+            {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+
+    /**
+     * Gets a response from the cache
+     * @param operation Operation name
+     * @param version Service version (can be null)
+     * @param format Response format (can be null)
+     * @param key Key identifying the response content (can be null)
+     * @return the cached response or null if none was found
+     */
+    public CachedResponse get(String operation, String version, String format, String key)
+    {
+        CachedResponse response;
+        synchronized (entries)
+        {
+            response = entries.get(new Key(operation, version, format, key));
+        }
+
+        if (response != null)
+            hitCount.incrementAndGet();
+        else
+            missCount.incrementAndGet();
+        return response;
+    }
+
+
+    /**
+     * Adds a response to the cache, replacing any response with the same key
+     * @param operation Operation name
+     * @param version Service version (can be null)
+     * @param format Response format (can be null)
+     * @param key Key identifying the response content (can be null)
+     * @param contentType MIME type of the response
+     * @param data Encoded response content
+     * @return the cached response
+     */
+    public CachedResponse put(String operation, String version, String format, String key, String contentType, byte[] data)
+    {
+        CachedResponse response = createResponse(contentType, data);
+        synchronized (entries)
+        {
+            entries.put(new Key(operation, version, format, key), response);
+        }
+        return response;
+    }
+
+
+    /**
+     * Gets a response from the cache, or encodes it and adds it to the cache
+     * if it wasn't found.<br/>
+     * The encoder is called outside of any lock, so a response can be encoded
+     * more than once if it is requested concurrently. A response whose encoding
+     * started before an invalidation is returned but not cached.
+     * @param operation Operation name
+     * @param version Service version (can be null)
+     * @param format Response format (can be null)
+     * @param key Key identifying the response content (can be null)
+     * @param contentType MIME type of the response
+     * @param encoder Encoder called to write the response on cache miss
+     * @return the cached or newly encoded response
+     * @throws IOException if the response cannot be encoded
+     * @throws OWSException if the response cannot be encoded
+     */
+    public CachedResponse getOrCreate(String operation, String version, String format, String key, String contentType, ResponseEncoder encoder) throws IOException, OWSException
+    {
+        CachedResponse response = get(operation, version, format, key);
+        if (response != null)
+            return response;
+
+        long startGeneration = generation;
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        encoder.write(os);
+        response = createResponse(contentType, os.toByteArray());
+
+        synchronized (entries)
+        {
+            if (generation == startGeneration)
+                entries.put(new Key(operation, version, format, key), response);
+        }
+
+        return response;
+    }
+
+
+    protected CachedResponse createResponse(String contentType, byte[] data)
+    {
+        byte[] gzipData = null;
+
+        if (gzipEnabled && data.length >= MIN_GZIP_SIZE)
+        {
+            try
+            {
+                ByteArrayOutputStream os = new ByteArrayOutputStream(data.length / 4);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(os))
+                {
+                    gzip.write(data);
+                }
+                gzipData = os.toByteArray();
+            }
+            catch (IOException e)
+            {
+                throw new IllegalStateException("Cannot compress response", e);
+            }
+        }
+
+        return new CachedResponse(contentType, data, gzipData);
+    }
+
+
+    static String computeETag(byte[] data)
+    {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return "\"" + Integer.toHexString(data.length) + '-' + Long.toHexString(crc.getValue()) + "\"";
+    }
+
+
+    /**
+     * Removes all responses to the given operation
+     * @param operation Operation name
+     */
+    public void invalidate(String operation)
+    {
+        synchronized (entries)
+        {
+            generation++;
+            entries.keySet().removeIf(k -> k.operation.equals(operation));
+        }
+    }
+
+
+    /**
+     * Removes all responses to the given operation with the given key,
+     * for all versions and formats
+     * @param operation Operation name
+     * @param key Key identifying the response content
+     */
+    public void invalidate(String operation, String key)
+    {
+        synchronized (entries)
+        {
+            generation++;
+            entries.keySet().removeIf(k -> k.operation.equals(operation) && Objects.equals(k.key, key));
+        }
+    }
+
+
+    /**
+     * Removes all responses from the cache
+     */
+    public void invalidateAll()
+    {
+        synchronized (entries)
+        {
+            generation++;
+            entries.clear();
+        }
+    }
+
+
+    /**
+     * Sends a cached response to the HTTP client.<br/>
+     * This sets the ETag header and only sends a 304 status if it matches the
+     * If-None-Match header of the request. The gzip compressed content is sent
+     * if available and accepted by the client.
+     * @param req HTTP request
+     * @param resp HTTP response
+     * @param response Cached response to send
+     * @throws IOException if the response cannot be written
+     */
+    public void send(HttpServletRequest req, HttpServletResponse resp, CachedResponse response) throws IOException
+    {
+        byte[] content = response.data;
+        String etag = response.etag;
+
+        if (gzipEnabled)
+        {
+            resp.addHeader("Vary", "Accept-Encoding");
+            if (response.gzipData != null && acceptsGzip(req.getHeader("Accept-Encoding")))
+            {
+                content = response.gzipData;
+                etag = etag.substring(0, etag.length()-1) + GZIP_ETAG_SUFFIX + '"';
+                resp.setHeader("Content-Encoding", GZIP_ENCODING);
+            }
+        }
+
+        resp.setHeader("ETag", etag);
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch != null && etagMatches(ifNoneMatch, etag))
+        {
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        resp.setContentType(response.contentType);
+        resp.setContentLength(content.length);
+        resp.getOutputStream().write(content);
+    }
+
+
+    static boolean etagMatches(String ifNoneMatch, String etag)
+    {
+        for (String tag: ifNoneMatch.split(","))
+        {
+            tag = tag.trim();
+            if (tag.startsWith("W/"))
+                tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(etag))
+                return true;
+        }
+
+        return false;
+    }
+
+
+    static boolean acceptsGzip(String acceptEncoding)
+    {
+        if (acceptEncoding == null)
+            return false;
+
+        // an explicit gzip entry takes precedence over the * wildcard
+        double gzipQuality = -1;
+        double anyQuality = -1;
+        for (String coding: acceptEncoding.split(","))
+        {
+            String[] params = coding.split(";");
+            String name = params[0].trim();
+            if (name.equalsIgnoreCase(GZIP_ENCODING))
+                gzipQuality = getQuality(params);
+            else if (name.equals("*"))
+                anyQuality = getQuality(params);
+        }
+
+        if (gzipQuality >= 0)
+            return gzipQuality > 0;
+        return anyQuality > 0;
+    }
+
+
+    /*
+     * Reads the quality value from coding parameters (1 if not specified)
+     */
+    static double getQuality(String[] params)
+    {
+        for (int i = 1; i < params.length; i++)
+        {
+            String param = params[i].trim();
+            if (param.startsWith("q="))
+            {
+                try
+                {
+                    return Double.parseDouble(param.substring(2));
+                }
+                catch (NumberFormatException e)
+                {
+                    return 0;
+                }
+            }
+        }
+
+        return 1;
+    }
+
+
+    /**
+     * @return number of responses currently in the cache
+     */
+    public int size()
+    {
+        synchronized (entries)
+        {
+            return entries.size();
+        }
+    }
+
+
+    /**
+     * @return number of lookups that found a cached response
+     */
+    public long getHitCount()
+    {
+        return hitCount.get();
+    }
+
+
+    /**
+     * @return number of lookups that didn't find a cached response
+     */
+    public long getMissCount()
+    {
+        return missCount.get();
+    }
+}
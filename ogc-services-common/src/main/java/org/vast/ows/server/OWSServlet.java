@@ -24,7 +24,6 @@ package org.vast.ows.server;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.security.AccessControlException;
 import java.util.concurrent.CompletionException;
@@ -32,14 +31,22 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.vast.ows.AbstractRequestReader;
 import org.vast.ows.OWSException;
 import org.vast.ows.OWSRequest;
 import org.vast.ows.OWSResponse;
 import org.vast.ows.OWSUtils;
+import org.vast.ows.server.OWSResponseCache.CachedResponse;
+import org.vast.ows.server.OWSResponseCache.ResponseEncoder;
 import org.vast.ows.util.PostRequestFilter;
+import org.vast.ows.util.RewindableInputStream;
 import org.vast.xml.DOMHelper;
+import org.vast.xml.XMLImplFinder;
 import org.w3c.dom.Element;
 
 
@@ -67,6 +74,8 @@ public abstract class OWSServlet extends HttpServlet
     
     protected final transient Logger log;
     protected final transient OWSUtils owsUtils;
+    protected transient OWSResponseCache responseCache;
+    private transient Boolean streamingParseEnabled;
     
         
     public OWSServlet()
@@ -236,20 +245,38 @@ public abstract class OWSServlet extends HttpServlet
         {
             if (isXmlRequest)
             {
-                InputStream xmlRequest = new PostRequestFilter(new BufferedInputStream(req.getInputStream()));
-                dom = new DOMHelper(xmlRequest, false);
-                Element requestElt = dom.getBaseElement();
+                RewindableInputStream xmlRequest = new RewindableInputStream(
+                    new PostRequestFilter(new BufferedInputStream(req.getInputStream())));
+                XMLStreamReader reader = XMLImplFinder.getStaxInputFactory().createXMLStreamReader(xmlRequest);
+                reader.nextTag();
                 
                 // detect and skip SOAP envelope if present
-                soapVersion = getSoapVersion(dom);
+                soapVersion = getSoapVersion(reader);
                 if (soapVersion != null)
-                    requestElt = getSoapBody(dom);
+                    moveToSoapBody(reader);
                 
-                // log request
-                logRequest(req, requestElt.getLocalName());
+                // parse request with streaming reader if available
+                if (isStreamingParseEnabled() && owsUtils.hasStreamingReader(reader))
+                {
+                    xmlRequest.stopRecording();
+                    logRequest(req, reader.getLocalName());
+                    owsRequest = parseRequest(reader);
+                }
+                
+                // otherwise rewind and parse with DOM
+                else
+                {
+                    reader.close();
+                    xmlRequest.rewind();
+                    dom = new DOMHelper(xmlRequest, false);
+                    Element requestElt = dom.getBaseElement();
+                    if (soapVersion != null)
+                        requestElt = getSoapBody(dom);
+                    
+                    logRequest(req, requestElt.getLocalName());
+                    owsRequest = parseRequest(dom, requestElt);
+                }
                 
-                // parse request
-                owsRequest = parseRequest(dom, requestElt);
                 owsRequest.setSoapVersion(soapVersion);
                 owsRequest.setPostServer(requestURL);
             }
@@ -297,6 +324,77 @@ public abstract class OWSServlet extends HttpServlet
     }
     
     
+    /*
+     * parse in separate method so it can be overriden
+     */
+    protected OWSRequest parseRequest(XMLStreamReader reader) throws OWSException
+    {
+        return owsUtils.readXMLQuery(reader);
+    }
+    
+    
+    /**
+     * Checks if XML requests can be parsed with a streaming reader.<br/>
+     * By default, streaming is disabled if a subclass overrides
+     * {@link #parseRequest(DOMHelper, Element)}, so that its customized DOM
+     * parsing is not bypassed. Subclasses can override this method to
+     * change this behavior.
+     * @return true if streaming parsing is enabled, false otherwise
+     */
+    protected boolean isStreamingParseEnabled()
+    {
+        if (streamingParseEnabled == null)
+        {
+            boolean enabled = true;
+            for (Class<?> c = getClass(); c != OWSServlet.class; c = c.getSuperclass())
+            {
+                try
+                {
+                    c.getDeclaredMethod("parseRequest", DOMHelper.class, Element.class);
+                    enabled = false;
+                    break;
+                }
+                catch (NoSuchMethodException e)
+                {
+                    // not overriden in this class
+                }
+            }
+            
+            streamingParseEnabled = enabled;
+        }
+        
+        return streamingParseEnabled;
+    }
+    
+    
+    protected String getSoapVersion(XMLStreamReader reader)
+    {
+        String nsUri = reader.getNamespaceURI();
+        if (OWSUtils.SOAP11_URI.equals(nsUri) || OWSUtils.SOAP12_URI.equals(nsUri))
+            return nsUri;
+        return null;
+    }
+    
+    
+    protected void moveToSoapBody(XMLStreamReader reader) throws IOException, XMLStreamException
+    {
+        // skip header and go to first child of body
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT)
+        {
+            if ("Body".equals(reader.getLocalName()))
+            {
+                if (reader.nextTag() != XMLStreamConstants.START_ELEMENT)
+                    break;
+                return;
+            }
+            
+            AbstractRequestReader.skipElement(reader);
+        }
+        
+        throw new IOException("No request in SOAP body");
+    }
+    
+    
     protected String getSoapVersion(DOMHelper dom)
     {
         Element requestElt = dom.getBaseElement();
@@ -381,6 +479,82 @@ public abstract class OWSServlet extends HttpServlet
     }
     
     
+    /**
+     * Sends an XML response, serializing it only if it is not already in the
+     * response cache (or every time if no cache is set on this servlet)
+     * @param request Request being handled
+     * @param resp Response object to send
+     * @param cacheKey Key identifying the response content for this operation
+     * and version (e.g. offering or procedure ID)
+     * @throws IOException
+     */
+    protected void sendResponse(OWSRequest request, OWSResponse resp, String cacheKey) throws IOException
+    {
+        sendCachedResponse(request, OWSUtils.XML_MIME_TYPE, cacheKey, OWSUtils.XML_MIME_TYPE,
+            os -> owsUtils.writeXMLResponse(os, resp, request.getVersion(), request.getSoapVersion()));
+    }
+    
+    
+    /**
+     * Sends a response from the response cache, or encodes it and adds it to
+     * the cache if it is not there yet.<br/>
+     * Subclasses must invalidate cached responses when the content they were
+     * generated from changes.
+     * @param request Request being handled
+     * @param format Response format
+     * @param cacheKey Key identifying the response content for this operation
+     * and version (e.g. offering or procedure ID)
+     * @param contentType MIME type of the response
+     * @param encoder Encoder writing the response content on cache miss
+     * @throws IOException
+     */
+    protected void sendCachedResponse(OWSRequest request, String format, String cacheKey, String contentType, ResponseEncoder encoder) throws IOException
+    {
+        try
+        {
+            if (responseCache == null)
+            {
+                OutputStream os = new BufferedOutputStream(request.getResponseStream());
+                encoder.write(os);
+                os.flush();
+                return;
+            }
+            
+            // SOAP wrapped responses are cached separately
+            if (request.getSoapVersion() != null)
+                format += '|' + request.getSoapVersion();
+            
+            CachedResponse cachedResp = responseCache.getOrCreate(request.getOperation(),
+                request.getVersion(), format, cacheKey, contentType, encoder);
+            
+            if (request.getHttpRequest() != null && request.getHttpResponse() != null)
+                responseCache.send(request.getHttpRequest(), request.getHttpResponse(), cachedResp);
+            else
+                request.getResponseStream().write(cachedResp.getData());
+        }
+        catch (OWSException e)
+        {
+            throw new IOException(SEND_RESPONSE_ERROR_MSG, e);
+        }
+    }
+    
+    
+    public OWSResponseCache getResponseCache()
+    {
+        return responseCache;
+    }
+    
+    
+    /**
+     * Sets the cache used by {@link #sendCachedResponse} to store encoded responses
+     * @param responseCache Response cache or null to disable caching
+     */
+    public void setResponseCache(OWSResponseCache responseCache)
+    {
+        this.responseCache = responseCache;
+    }
+    
+    
     /*
      * Log request details
      */
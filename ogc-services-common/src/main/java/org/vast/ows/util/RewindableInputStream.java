@@ -0,0 +1,156 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.ows.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+
+/**
+ * <p>
+ * Input stream that records all bytes read from the underlying stream so
+ * it can be rewound once to its start, regardless of how much was read.<br/>
+ * This is used to pre-scan XML requests with a streaming parser and replay
+ * them to a DOM parser when needed. Recording should be stopped as soon as
+ * it is known that the stream won't be rewound, to avoid buffering the
+ * whole content in memory.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class RewindableInputStream extends FilterInputStream
+{
+    ByteArrayOutputStream recordedBytes = new ByteArrayOutputStream();
+    byte[] replayBuffer;
+    int replayPos;
+
+
+    public RewindableInputStream(InputStream in)
+    {
+        super(in);
+    }
+
+
+    /**
+     * Stops recording bytes read from the underlying stream.<br/>
+     * The stream cannot be rewound after this method is called.
+     */
+    public void stopRecording()
+    {
+        recordedBytes = null;
+    }
+
+
+    /**
+     * Rewinds the stream to its start. Bytes read so far are replayed before
+     * reading continues from the underlying stream. Recording is stopped so
+     * the stream can only be rewound once.
+     * @throws IOException if recording was stopped or the stream was already rewound
+     */
+    public void rewind() throws IOException
+    {
+        if (recordedBytes == null)
+            throw new IOException("Stream cannot be rewound anymore");
+
+        replayBuffer = recordedBytes.toByteArray();
+        replayPos = 0;
+        recordedBytes = null;
+    }
+
+
+    @Override
+    public int read() throws IOException
+    {
+        if (replayBuffer != null && replayPos < replayBuffer.length)
+            return replayBuffer[replayPos++] & 0xFF;
+
+        int b = in.read();
+        if (b >= 0 && recordedBytes != null)
+            recordedBytes.write(b);
+        return b;
+    }
+
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException
+    {
+        if (len == 0)
+            return 0;
+
+        if (replayBuffer != null && replayPos < replayBuffer.length)
+        {
+            int n = Math.min(len, replayBuffer.length - replayPos);
+            System.arraycopy(replayBuffer, replayPos, b, off, n);
+            replayPos += n;
+            return n;
+        }
+
+        int n = in.read(b, off, len);
+        if (n > 0 && recordedBytes != null)
+            recordedBytes.write(b, off, n);
+        return n;
+    }
+
+
+    @Override
+    public long skip(long n) throws IOException
+    {
+        if (n <= 0)
+            return 0;
+
+        // read skipped bytes so they are recorded
+        byte[] buf = new byte[(int)Math.min(n, 4096)];
+        long remaining = n;
+        while (remaining > 0)
+        {
+            int count = read(buf, 0, (int)Math.min(remaining, buf.length));
+            if (count < 0)
+                break;
+            remaining -= count;
+        }
+        return n - remaining;
+    }
+
+
+    @Override
+    public int available() throws IOException
+    {
+        int replayCount = replayBuffer != null ? replayBuffer.length - replayPos : 0;
+        return replayCount + in.available();
+    }
+
+
+    @Override
+    public boolean markSupported()
+    {
+        return false;
+    }
+
+
+    @Override
+    public synchronized void mark(int readlimit)
+    {
+    }
+
+
+    @Override
+    public synchronized void reset() throws IOException
+    {
+        throw new IOException("mark/reset not supported, use rewind()");
+    }
+}
@@ -0,0 +1,449 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.ows.server;
+
+import static org.junit.Assert.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.junit.Test;
+import org.vast.ows.GetCapabilitiesRequest;
+import org.vast.ows.OWSException;
+import org.vast.ows.OWSRequest;
+import org.vast.ows.OWSResponse;
+import org.vast.ows.OWSServiceCapabilities;
+import org.vast.ows.OWSUtils;
+import org.vast.ows.server.OWSResponseCache.CachedResponse;
+
+
+public class TestOWSResponseCache
+{
+    static final String OP = "GetCapabilities";
+    static final String VERSION = "2.0.0";
+    static final String XML = OWSUtils.XML_MIME_TYPE;
+
+
+    /*
+     * Minimal HTTP request/response pair backed by maps
+     */
+    static class HttpExchange
+    {
+        Map<String, String> requestHeaders = new HashMap<>();
+        Map<String, String> responseHeaders = new HashMap<>();
+        int status = HttpServletResponse.SC_OK;
+        String contentType;
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        HttpExchange header(String name, String value)
+        {
+            requestHeaders.put(name, value);
+            return this;
+        }
+
+        HttpServletRequest request()
+        {
+            return (HttpServletRequest)Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {HttpServletRequest.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getHeader"))
+                        return requestHeaders.get(args[0]);
+                    return defaultValue(method.getReturnType());
+                });
+        }
+
+        HttpServletResponse response()
+        {
+            ServletOutputStream os = new ServletOutputStream() {
+                @Override
+                public void write(int b)
+                {
+                    body.write(b);
+                }
+
+                @Override
+                public boolean isReady()
+                {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener)
+                {
+                }
+            };
+
+            return (HttpServletResponse)Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {HttpServletResponse.class}, (proxy, method, args) -> {
+                    switch (method.getName())
+                    {
+                        case "setHeader":
+                        case "addHeader":
+                            responseHeaders.put((String)args[0], (String)args[1]);
+                            return null;
+                        case "setStatus":
+                            status = (Integer)args[0];
+                            return null;
+                        case "setContentType":
+                            contentType = (String)args[0];
+                            return null;
+                        case "getOutputStream":
+                            return os;
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+        }
+
+        static Object defaultValue(Class<?> type)
+        {
+            if (type == boolean.class)
+                return false;
+            if (type == int.class)
+                return 0;
+            if (type == long.class)
+                return 0L;
+            return null;
+        }
+    }
+
+
+    /*
+     * Servlet writing a response that changes each time it is encoded
+     */
+    static class TestServlet extends OWSServlet
+    {
+        private static final long serialVersionUID = 1L;
+        final AtomicInteger encodeCount;
+
+        TestServlet(AtomicInteger encodeCount)
+        {
+            super(new OWSUtils() {
+                @Override
+                public void writeXMLResponse(OutputStream os, OWSResponse response, String version, String soapVersion) throws OWSException
+                {
+                    try
+                    {
+                        String xml = "<Capabilities n=\"" + encodeCount.incrementAndGet() + "\" soap=\"" + soapVersion + "\"/>";
+                        os.write(xml.getBytes(StandardCharsets.UTF_8));
+                    }
+                    catch (IOException e)
+                    {
+                        throw new OWSException("Cannot write response", e);
+                    }
+                }
+            });
+
+            this.encodeCount = encodeCount;
+        }
+
+        @Override
+        protected void handleRequest(OWSRequest request) throws IOException, OWSException
+        {
+        }
+
+        @Override
+        protected String getServiceType()
+        {
+            return "TEST";
+        }
+    }
+
+
+    protected byte[] createContent(int size)
+    {
+        StringBuilder buf = new StringBuilder();
+        while (buf.length() < size)
+            buf.append("<offering id=\"urn:test:").append(buf.length()).append("\"/>");
+        return buf.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+
+    protected byte[] gunzip(byte[] data) throws IOException
+    {
+        try (GZIPInputStream is = new GZIPInputStream(new ByteArrayInputStream(data)))
+        {
+            return is.readAllBytes();
+        }
+    }
+
+
+    protected HttpExchange send(OWSResponseCache cache, CachedResponse response, HttpExchange exchange) throws IOException
+    {
+        cache.send(exchange.request(), exchange.response(), response);
+        return exchange;
+    }
+
+
+    @Test
+    public void testETagNotModified() throws Exception
+    {
+        OWSResponseCache cache = new OWSResponseCache(10, false);
+        byte[] content = createContent(100);
+        CachedResponse response = cache.put(OP, VERSION, XML, "key", XML, content);
+
+        // first request gets the full response
+        HttpExchange exchange = send(cache, response, new HttpExchange());
+        String etag = exchange.responseHeaders.get("ETag");
+        assertEquals(response.getETag(), etag);
+        assertEquals(HttpServletResponse.SC_OK, exchange.status);
+        assertEquals(XML, exchange.contentType);
+        assertArrayEquals(content, exchange.body.toByteArray());
+
+        // request with matching ETag gets 304 without content
+        exchange = send(cache, response, new HttpExchange().header("If-None-Match", "\"abc\", " + etag));
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, exchange.status);
+        assertEquals(etag, exchange.responseHeaders.get("ETag"));
+        assertEquals(0, exchange.body.size());
+
+        // weak ETag also matches
+        exchange = send(cache, response, new HttpExchange().header("If-None-Match", "W/" + etag));
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, exchange.status);
+
+        // ETag changes with content
+        CachedResponse newResponse = cache.put(OP, VERSION, XML, "key", XML, createContent(500));
+        assertNotEquals(etag, newResponse.getETag());
+        exchange = send(cache, newResponse, new HttpExchange().header("If-None-Match", etag));
+        assertEquals(HttpServletResponse.SC_OK, exchange.status);
+        assertArrayEquals(newResponse.getData(), exchange.body.toByteArray());
+    }
+
+
+    @Test
+    public void testAcceptsGzip()
+    {
+        assertTrue(OWSResponseCache.acceptsGzip("gzip"));
+        assertTrue(OWSResponseCache.acceptsGzip("deflate, GZIP;q=0.8"));
+        assertTrue(OWSResponseCache.acceptsGzip("*"));
+        assertTrue(OWSResponseCache.acceptsGzip("gzip;q=0.5, *;q=0"));
+        assertFalse(OWSResponseCache.acceptsGzip(null));
+        assertFalse(OWSResponseCache.acceptsGzip("deflate, br"));
+        assertFalse(OWSResponseCache.acceptsGzip("gzip;q=0"));
+        assertFalse(OWSResponseCache.acceptsGzip("identity, *;q=0"));
+
+        // explicit gzip entry takes precedence over wildcard
+        assertFalse(OWSResponseCache.acceptsGzip("*;q=0.5, gzip;q=0"));
+        assertFalse(OWSResponseCache.acceptsGzip("gzip;q=0, *"));
+    }
+
+
+    @Test
+    public void testGzipVariant() throws Exception
+    {
+        OWSResponseCache cache = new OWSResponseCache(10, true);
+        byte[] content = createContent(10000);
+        CachedResponse response = cache.put(OP, VERSION, XML, "key", XML, content);
+        assertNotNull(response.getGzipData());
+
+        // client accepting gzip gets compressed content and ETag variant
+        HttpExchange exchange = send(cache, response, new HttpExchange().header("Accept-Encoding", "gzip, deflate"));
+        String gzipEtag = exchange.responseHeaders.get("ETag");
+        String plainEtag = response.getETag();
+        assertEquals(plainEtag.substring(0, plainEtag.length()-1) + "-gzip\"", gzipEtag);
+        assertEquals("gzip", exchange.responseHeaders.get("Content-Encoding"));
+        assertEquals("Accept-Encoding", exchange.responseHeaders.get("Vary"));
+        assertArrayEquals(content, gunzip(exchange.body.toByteArray()));
+
+        // each variant is only matched by its own ETag
+        exchange = send(cache, response, new HttpExchange()
+            .header("Accept-Encoding", "gzip")
+            .header("If-None-Match", gzipEtag));
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, exchange.status);
+
+        exchange = send(cache, response, new HttpExchange()
+            .header("Accept-Encoding", "gzip")
+            .header("If-None-Match", plainEtag));
+        assertEquals(HttpServletResponse.SC_OK, exchange.status);
+
+        exchange = send(cache, response, new HttpExchange()
+            .header("If-None-Match", gzipEtag));
+        assertEquals(HttpServletResponse.SC_OK, exchange.status);
+        assertEquals(plainEtag, exchange.responseHeaders.get("ETag"));
+
+        // client refusing gzip gets plain content
+        exchange = send(cache, response, new HttpExchange().header("Accept-Encoding", "*;q=0.5, gzip;q=0"));
+        assertNull(exchange.responseHeaders.get("Content-Encoding"));
+        assertEquals(plainEtag, exchange.responseHeaders.get("ETag"));
+        assertArrayEquals(content, exchange.body.toByteArray());
+
+        // small responses are not compressed
+        response = cache.put(OP, VERSION, XML, "small", XML, createContent(100));
+        assertNull(response.getGzipData());
+        exchange = send(cache, response, new HttpExchange().header("Accept-Encoding", "gzip"));
+        assertNull(exchange.responseHeaders.get("Content-Encoding"));
+        assertArrayEquals(response.getData(), exchange.body.toByteArray());
+    }
+
+
+    @Test
+    public void testLruEviction()
+    {
+        OWSResponseCache cache = new OWSResponseCache(2, false);
+        cache.put(OP, VERSION, XML, "A", XML, createContent(10));
+        cache.put(OP, VERSION, XML, "B", XML, createContent(10));
+
+        // access A so that B becomes the least recently used entry
+        assertNotNull(cache.get(OP, VERSION, XML, "A"));
+        cache.put(OP, VERSION, XML, "C", XML, createContent(10));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(OP, VERSION, XML, "A"));
+        assertNull(cache.get(OP, VERSION, XML, "B"));
+        assertNotNull(cache.get(OP, VERSION, XML, "C"));
+        assertEquals(3, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        // version and format are part of the key
+        assertNull(cache.get(OP, "1.0.0", XML, "A"));
+        assertNull(cache.get(OP, VERSION, "application/json", "A"));
+    }
+
+
+    @Test
+    public void testInvalidate() throws Exception
+    {
+        OWSResponseCache cache = new OWSResponseCache(10, false);
+        cache.put(OP, VERSION, XML, "A", XML, createContent(10));
+        cache.put(OP, "1.0.0", XML, "A", XML, createContent(10));
+        cache.put(OP, VERSION, XML, "B", XML, createContent(10));
+        cache.put("DescribeSensor", VERSION, XML, "A", XML, createContent(10));
+
+        cache.invalidate(OP, "A");
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(OP, VERSION, XML, "B"));
+        assertNotNull(cache.get("DescribeSensor", VERSION, XML, "A"));
+
+        cache.invalidate(OP);
+        assertEquals(1, cache.size());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+
+    @Test
+    public void testInvalidateDuringGetOrCreate() throws Exception
+    {
+        OWSResponseCache cache = new OWSResponseCache(10, false);
+        AtomicInteger encodeCount = new AtomicInteger();
+
+        // response encoded in previous generation is returned but not cached
+        byte[] content = createContent(100);
+        CachedResponse response = cache.getOrCreate(OP, VERSION, XML, "A", XML, os -> {
+            encodeCount.incrementAndGet();
+            os.write(content);
+            cache.invalidate(OP, "A");
+        });
+        assertArrayEquals(content, response.getData());
+        assertEquals(0, cache.size());
+
+        // response is encoded again and cached this time
+        for (int i = 0; i < 3; i++)
+        {
+            response = cache.getOrCreate(OP, VERSION, XML, "A", XML, os -> {
+                encodeCount.incrementAndGet();
+                os.write(content);
+            });
+            assertArrayEquals(content, response.getData());
+        }
+
+        assertEquals(2, encodeCount.get());
+        assertEquals(1, cache.size());
+    }
+
+
+    @Test
+    public void testServletSendResponse() throws Exception
+    {
+        AtomicInteger encodeCount = new AtomicInteger();
+        TestServlet servlet = new TestServlet(encodeCount);
+        servlet.setResponseCache(new OWSResponseCache());
+
+        // first request encodes the response
+        HttpExchange exchange = new HttpExchange();
+        GetCapabilitiesRequest request = createRequest(exchange);
+        servlet.sendResponse(request, new OWSServiceCapabilities(), "caps");
+        assertEquals(1, encodeCount.get());
+        String xml = new String(exchange.body.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals("<Capabilities n=\"1\" soap=\"null\"/>", xml);
+        String etag = exchange.responseHeaders.get("ETag");
+        assertNotNull(etag);
+
+        // next requests use the cached response
+        exchange = new HttpExchange();
+        servlet.sendResponse(createRequest(exchange), new OWSServiceCapabilities(), "caps");
+        assertEquals(1, encodeCount.get());
+        assertEquals(xml, new String(exchange.body.toByteArray(), StandardCharsets.UTF_8));
+
+        exchange = new HttpExchange().header("If-None-Match", etag);
+        servlet.sendResponse(createRequest(exchange), new OWSServiceCapabilities(), "caps");
+        assertEquals(1, encodeCount.get());
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, exchange.status);
+        assertEquals(0, exchange.body.size());
+
+        // SOAP responses are cached separately
+        exchange = new HttpExchange();
+        request = createRequest(exchange);
+        request.setSoapVersion(OWSUtils.SOAP12_URI);
+        servlet.sendResponse(request, new OWSServiceCapabilities(), "caps");
+        assertEquals(2, encodeCount.get());
+        assertTrue(new String(exchange.body.toByteArray(), StandardCharsets.UTF_8).contains(OWSUtils.SOAP12_URI));
+
+        // response is encoded again after invalidation
+        servlet.getResponseCache().invalidate(OP, "caps");
+        exchange = new HttpExchange().header("If-None-Match", etag);
+        servlet.sendResponse(createRequest(exchange), new OWSServiceCapabilities(), "caps");
+        assertEquals(3, encodeCount.get());
+        assertEquals(HttpServletResponse.SC_OK, exchange.status);
+    }
+
+
+    @Test
+    public void testServletSendResponseWithoutCache() throws Exception
+    {
+        AtomicInteger encodeCount = new AtomicInteger();
+        TestServlet servlet = new TestServlet(encodeCount);
+
+        for (int i = 1; i <= 2; i++)
+        {
+            HttpExchange exchange = new HttpExchange();
+            servlet.sendResponse(createRequest(exchange), new OWSServiceCapabilities(), "caps");
+            assertEquals(i, encodeCount.get());
+            assertNull(exchange.responseHeaders.get("ETag"));
+            assertEquals("<Capabilities n=\"" + i + "\" soap=\"null\"/>",
+                new String(exchange.body.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+
+    protected GetCapabilitiesRequest createRequest(HttpExchange exchange)
+    {
+        GetCapabilitiesRequest request = new GetCapabilitiesRequest();
+        request.setOperation(OP);
+        request.setVersion(VERSION);
+        request.setHttpRequest(exchange.request());
+        request.setHttpResponse(exchange.response());
+        return request;
+    }
+}
@@ -0,0 +1,257 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.ows.server;
+
+import static org.junit.Assert.*;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.xml.stream.XMLStreamReader;
+import org.junit.Test;
+import org.vast.ows.GetCapabilitiesRequest;
+import org.vast.ows.OWSException;
+import org.vast.ows.OWSRequest;
+import org.vast.ows.OWSUtils;
+import org.vast.ows.util.RewindableInputStream;
+import org.vast.xml.DOMHelper;
+import org.w3c.dom.Element;
+
+
+public class TestOWSServletXmlParsing
+{
+
+    /*
+     * Utils recording which parsing path was used
+     */
+    static class ParsingUtils extends OWSUtils
+    {
+        boolean streamingAvailable = true;
+        String parsedWith;
+        String requestName;
+
+        @Override
+        public boolean hasStreamingReader(XMLStreamReader reader)
+        {
+            return streamingAvailable;
+        }
+
+        @Override
+        public OWSRequest readXMLQuery(XMLStreamReader reader) throws OWSException
+        {
+            parsedWith = "StAX";
+            requestName = reader.getLocalName();
+            return new GetCapabilitiesRequest();
+        }
+
+        @Override
+        public OWSRequest readXMLQuery(DOMHelper dom, Element requestElt) throws OWSException
+        {
+            parsedWith = "DOM";
+            requestName = requestElt.getLocalName();
+            return new GetCapabilitiesRequest();
+        }
+    }
+
+
+    static class TestServlet extends OWSServlet
+    {
+        private static final long serialVersionUID = 1L;
+
+        TestServlet(ParsingUtils utils)
+        {
+            super(utils);
+        }
+
+        @Override
+        protected void handleRequest(OWSRequest request) throws IOException, OWSException
+        {
+        }
+
+        @Override
+        protected String getServiceType()
+        {
+            return "TEST";
+        }
+    }
+
+
+    static class DomServlet extends TestServlet
+    {
+        private static final long serialVersionUID = 1L;
+        boolean called;
+
+        DomServlet(ParsingUtils utils)
+        {
+            super(utils);
+        }
+
+        @Override
+        protected OWSRequest parseRequest(DOMHelper dom, Element requestElt) throws OWSException
+        {
+            called = true;
+            return super.parseRequest(dom, requestElt);
+        }
+    }
+
+
+    protected HttpServletRequest createRequest(String xml)
+    {
+        ByteArrayInputStream bis = new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+        ServletInputStream is = new ServletInputStream() {
+            @Override
+            public int read()
+            {
+                return bis.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len)
+            {
+                return bis.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished()
+            {
+                return bis.available() == 0;
+            }
+
+            @Override
+            public boolean isReady()
+            {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener)
+            {
+            }
+        };
+
+        return (HttpServletRequest)Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {HttpServletRequest.class}, (proxy, method, args) -> {
+                switch (method.getName())
+                {
+                    case "getInputStream":
+                        return is;
+                    case "getRequestURL":
+                        return new StringBuffer("http://localhost/ows");
+                    case "getMethod":
+                        return "POST";
+                    default:
+                        return null;
+                }
+            });
+    }
+
+
+    protected HttpServletResponse createResponse()
+    {
+        return (HttpServletResponse)Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {HttpServletResponse.class}, (proxy, method, args) -> {
+                if (method.getName().equals("sendError"))
+                    fail("Request rejected: " + args[args.length-1]);
+                return null;
+            });
+    }
+
+
+    protected String createSoapRequest(int headerSize)
+    {
+        StringBuilder buf = new StringBuilder();
+        buf.append("<soap:Envelope xmlns:soap=\"").append(OWSUtils.SOAP12_URI).append("\">");
+        buf.append("<soap:Header>");
+        int i = 0;
+        while (buf.length() < headerSize)
+            buf.append("<token id=\"").append(i++).append("\">0123456789abcdef0123456789abcdef</token>");
+        buf.append("</soap:Header>");
+        buf.append("<soap:Body><GetCapabilities service=\"TEST\"/></soap:Body>");
+        buf.append("</soap:Envelope>");
+        return buf.toString();
+    }
+
+
+    @Test
+    public void testStreamingParse() throws Exception
+    {
+        ParsingUtils utils = new ParsingUtils();
+        TestServlet servlet = new TestServlet(utils);
+
+        OWSRequest request = servlet.parseRequest(createRequest(createSoapRequest(100)), createResponse(), true);
+        assertNotNull(request);
+        assertEquals("StAX", utils.parsedWith);
+        assertEquals("GetCapabilities", utils.requestName);
+        assertEquals(OWSUtils.SOAP12_URI, request.getSoapVersion());
+    }
+
+
+    @Test
+    public void testDomFallbackWithLargeSoapHeader() throws Exception
+    {
+        ParsingUtils utils = new ParsingUtils();
+        utils.streamingAvailable = false;
+        TestServlet servlet = new TestServlet(utils);
+
+        OWSRequest request = servlet.parseRequest(createRequest(createSoapRequest(256*1024)), createResponse(), true);
+        assertNotNull(request);
+        assertEquals("DOM", utils.parsedWith);
+        assertEquals("GetCapabilities", utils.requestName);
+        assertEquals(OWSUtils.SOAP12_URI, request.getSoapVersion());
+    }
+
+
+    @Test
+    public void testDomOverrideDisablesStreaming() throws Exception
+    {
+        ParsingUtils utils = new ParsingUtils();
+        DomServlet servlet = new DomServlet(utils);
+        assertFalse(servlet.isStreamingParseEnabled());
+        assertTrue(new TestServlet(utils).isStreamingParseEnabled());
+
+        OWSRequest request = servlet.parseRequest(createRequest(createSoapRequest(100)), createResponse(), true);
+        assertNotNull(request);
+        assertTrue(servlet.called);
+        assertEquals("DOM", utils.parsedWith);
+    }
+
+
+    @Test
+    public void testRewindableInputStream() throws Exception
+    {
+        byte[] data = createSoapRequest(200*1024).getBytes(StandardCharsets.UTF_8);
+        RewindableInputStream is = new RewindableInputStream(new ByteArrayInputStream(data));
+
+        byte[] buf = new byte[100*1024];
+        assertEquals(1, is.skip(1));
+        assertTrue(is.read(buf) > 0);
+        is.rewind();
+        assertArrayEquals(data, is.readAllBytes());
+
+        try
+        {
+            is.rewind();
+            fail("Stream rewound twice");
+        }
+        catch (IOException e)
+        {
+            // expected
+        }
+    }
+}
@@ -28,6 +28,9 @@ package org.vast.ows.test;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.util.Map;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamReader;
 import org.custommonkey.xmlunit.Validator;
 import org.custommonkey.xmlunit.XMLTestCase;
 import org.custommonkey.xmlunit.XMLUnit;
@@ -35,6 +38,8 @@ import org.vast.ows.OWSRequest;
 import org.vast.ows.OWSResponse;
 import org.vast.ows.OWSUtils;
 import org.vast.xml.DOMHelper;
+import org.vast.xml.XMLImplFinder;
+import org.w3c.dom.Element;
 import org.xml.sax.InputSource;
 
 
@@ -70,6 +75,52 @@ public abstract class OWSTestCase extends XMLTestCase
     }
     
     
+    protected OWSRequest readXmlRequestStreaming(String path) throws Exception
+    {
+        OWSUtils utils = new OWSUtils();
+        
+        InputStream is = getClass().getResourceAsStream(path);
+        XMLStreamReader reader = XMLImplFinder.getStaxInputFactory().createXMLStreamReader(is);
+        reader.nextTag();
+        assertTrue("No streaming reader for " + path, utils.hasStreamingReader(reader));
+        OWSRequest request = utils.readXMLQuery(reader);
+        is.close();
+        
+        return request;
+    }
+    
+    
+    protected OWSRequest readXmlRequestDom(String path) throws Exception
+    {
+        OWSUtils utils = new OWSUtils();
+        
+        InputStream is = getClass().getResourceAsStream(path);
+        DOMHelper dom = new DOMHelper(is, false);
+        OWSRequest request = utils.readXMLQuery(dom, dom.getBaseElement());
+        is.close();
+        
+        return request;
+    }
+    
+    
+    protected void checkExtensionsEquals(OWSRequest request1, OWSRequest request2)
+    {
+        Map<QName, Object> ext1 = request1.getExtensions();
+        Map<QName, Object> ext2 = request2.getExtensions();
+        assertEquals("Extensions don't have the same names", ext1.keySet(), ext2.keySet());
+        
+        for (QName extName: ext1.keySet())
+        {
+            Object val1 = ext1.get(extName);
+            Object val2 = ext2.get(extName);
+            if (val1 instanceof Element && val2 instanceof Element)
+                assertEquals(((Element)val1).getTextContent(), ((Element)val2).getTextContent());
+            else
+                assertEquals(val1, val2);
+        }
+    }
+    
+    
     protected OWSResponse readXmlResponse(String path, String serviceType, String responseType) throws Exception
     {
         OWSUtils utils = new OWSUtils();
@@ -17,6 +17,9 @@ package org.vast.ows.sos;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import net.opengis.fes.v20.BinaryTemporalOp;
 import net.opengis.fes.v20.SpatialOps;
 import org.vast.xml.DOMHelper;
@@ -24,9 +27,11 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.vast.ows.OWSException;
 import org.vast.ows.OWSExceptionReport;
+import org.vast.ows.OWSRequestReaderStAX;
 import org.vast.ows.OWSUtils;
 import org.vast.ows.fes.FESUtils;
 import org.vast.ows.swe.SWERequestReader;
+import org.vast.ows.swe.SWESUtils;
 
 
 /**
@@ -38,7 +43,7 @@ import org.vast.ows.swe.SWERequestReader;
  * @author Alex Robin
  * @date Aug 1, 2012
  * */
-public class GetObservationReaderV20 extends SWERequestReader<GetObservationRequest>
+public class GetObservationReaderV20 extends SWERequestReader<GetObservationRequest> implements OWSRequestReaderStAX<GetObservationRequest>
 {
     protected FESUtils fesUtils = new FESUtils(FESUtils.V2_0);
     
@@ -227,6 +232,97 @@ public class GetObservationReaderV20 extends SWERequestReader<GetObservationRequ
         this.checkParameters(request, report);
         return request;
 	}
+	
+	
+	@Override
+	public GetObservationRequest readXMLQuery(XMLStreamReader reader) throws OWSException
+	{
+		OWSExceptionReport report = new OWSExceptionReport(OWSException.VERSION_11);
+		GetObservationRequest request = new GetObservationRequest();
+		
+		// do common stuffs like version, request name and service type
+		readCommonXML(reader, request);
+		
+		try
+		{
+			while (reader.nextTag() == XMLStreamConstants.START_ELEMENT)
+			{
+				String eltName = reader.getLocalName();
+				
+				if (eltName.equals("procedure"))
+					request.getProcedures().add(readElementValue(reader));
+				else if (eltName.equals("offering"))
+					request.getOfferings().add(readElementValue(reader));
+				else if (eltName.equals("observedProperty"))
+					request.getObservables().add(readElementValue(reader));
+				else if (eltName.equals("temporalFilter"))
+				{
+					BinaryTemporalOp filter = readTemporalFilter(reader);
+					if (filter != null)
+						request.setTemporalFilter(filter);
+				}
+				else if (eltName.equals("featureOfInterest"))
+					request.getFoiIDs().add(readElementValue(reader));
+				else if (eltName.equals("spatialFilter"))
+				{
+					SpatialOps filter = readSpatialFilter(reader);
+					if (filter != null)
+						request.setSpatialFilter(filter);
+				}
+				else if (eltName.equals("responseFormat"))
+					request.setFormat(readElementValue(reader));
+				else if (eltName.equals("extension"))
+					SWESUtils.readXMLExtension(reader, request.getExtensions());
+				else
+					skipElement(reader);
+			}
+		}
+		catch (XMLStreamException e)
+		{
+			throw new OWSException(invalidXML, e);
+		}
+		
+        this.checkParameters(request, report);
+        return request;
+	}
+
+    
+    protected BinaryTemporalOp readTemporalFilter(XMLStreamReader reader) throws OWSException, XMLStreamException
+    {
+        BinaryTemporalOp filter = null;
+        if (reader.nextTag() == XMLStreamConstants.START_ELEMENT)
+        {
+            try
+            {
+                filter = fesUtils.readXMLTemporalFilter(reader);
+            }
+            catch (Exception e)
+            {
+                throw new SOSException(SOSException.invalid_param_code, "temporalFilter", e);
+            }
+            reader.nextTag();
+        }
+        return filter;
+    }
+    
+    
+    protected SpatialOps readSpatialFilter(XMLStreamReader reader) throws OWSException, XMLStreamException
+    {
+        SpatialOps filter = null;
+        if (reader.nextTag() == XMLStreamConstants.START_ELEMENT)
+        {
+            try
+            {
+                filter = fesUtils.readXMLSpatialFilter(reader);
+            }
+            catch (Exception e)
+            {
+                throw new SOSException(SOSException.invalid_param_code, "spatialFilter", e);
+            }
+            reader.nextTag();
+        }
+        return filter;
+    }
     
     
     /**
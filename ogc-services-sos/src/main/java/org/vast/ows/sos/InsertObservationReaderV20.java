@@ -15,6 +15,9 @@ Copyright (C) 2012-2015 Sensia Software LLC. All Rights Reserved.
 package org.vast.ows.sos;
 
 import java.util.Map;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.vast.xml.DOMHelper;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
@@ -22,8 +25,10 @@ import org.vast.ogc.om.IObservation;
 import org.vast.ogc.om.ObservationReaderV20;
 import org.vast.ows.OWSException;
 import org.vast.ows.OWSExceptionReport;
+import org.vast.ows.OWSRequestReaderStAX;
 import org.vast.ows.OWSUtils;
 import org.vast.ows.swe.SWERequestReader;
+import org.vast.ows.swe.SWESUtils;
 
 
 /**
@@ -35,7 +40,7 @@ import org.vast.ows.swe.SWERequestReader;
  * @author Alex Robin
  * @date Feb 2, 2014
  * */
-public class InsertObservationReaderV20 extends SWERequestReader<InsertObservationRequest>
+public class InsertObservationReaderV20 extends SWERequestReader<InsertObservationRequest> implements OWSRequestReaderStAX<InsertObservationRequest>
 {
     protected ObservationReaderV20 reader = new ObservationReaderV20();
     
@@ -85,6 +90,64 @@ public class InsertObservationReaderV20 extends SWERequestReader<InsertObservati
         this.checkParameters(request, report);
         return request;
 	}
+	
+	
+	@Override
+	public InsertObservationRequest readXMLQuery(XMLStreamReader xmlReader) throws OWSException
+	{
+		OWSExceptionReport report = new OWSExceptionReport(OWSException.VERSION_11);
+		InsertObservationRequest request = new InsertObservationRequest();
+		
+		// do common stuffs like version, request name and service type
+		readCommonXML(xmlReader, request);
+		
+		try
+		{
+			while (xmlReader.nextTag() == XMLStreamConstants.START_ELEMENT)
+			{
+				String eltName = xmlReader.getLocalName();
+				
+				if (eltName.equals("offering"))
+					request.setOffering(readElementValue(xmlReader));
+				else if (eltName.equals("observation"))
+					readObservations(xmlReader, request, report);
+				else if (eltName.equals("extension"))
+					SWESUtils.readXMLExtension(xmlReader, request.getExtensions());
+				else
+					skipElement(xmlReader);
+			}
+		}
+		catch (XMLStreamException e)
+		{
+			throw new OWSException(invalidXML, e);
+		}
+		
+        this.checkParameters(request, report);
+        return request;
+	}
+	
+	
+	/*
+	 * Observations are still parsed with the DOM reader but only one
+	 * observation is loaded in memory at a time
+	 */
+	protected void readObservations(XMLStreamReader xmlReader, InsertObservationRequest request, OWSExceptionReport report) throws XMLStreamException
+	{
+		while (xmlReader.nextTag() == XMLStreamConstants.START_ELEMENT)
+		{
+			DOMHelper obsDom = readElementAsDOM(xmlReader);
+			
+			try
+			{
+				IObservation obs = reader.read(obsDom, obsDom.getBaseElement());
+				request.getObservations().add(obs);
+			}
+			catch (Exception e)
+			{
+				report.add(new OWSException(OWSException.invalid_param_code, "observation", "Error while parsing observation content", e));
+			}
+		}
+	}
     
     
     /**
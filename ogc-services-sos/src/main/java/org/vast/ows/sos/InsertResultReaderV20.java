@@ -18,16 +18,23 @@ import java.io.IOException;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import net.opengis.swe.v20.DataComponent;
 import net.opengis.swe.v20.DataEncoding;
 import org.vast.xml.DOMHelper;
 import org.w3c.dom.Element;
 import org.vast.ows.OWSException;
 import org.vast.ows.OWSExceptionReport;
+import org.vast.ows.OWSRequestReaderStAX;
 import org.vast.ows.OWSUtils;
 import org.vast.ows.SweEncodedMessageProcessor;
 import org.vast.ows.swe.SWERequestReader;
+import org.vast.ows.swe.SWESUtils;
+import org.vast.cdm.common.DataSource;
 import org.vast.swe.DataSourceDOM;
+import org.vast.swe.DataSourceStAX;
 import org.vast.swe.DataSourceURI;
 import org.vast.swe.SWEData;
 
@@ -41,7 +48,7 @@ import org.vast.swe.SWEData;
  * @author Alex Robin
  * @date Feb 2, 2014
  * */
-public class InsertResultReaderV20 extends SWERequestReader<InsertResultRequest> implements SweEncodedMessageProcessor
+public class InsertResultReaderV20 extends SWERequestReader<InsertResultRequest> implements OWSRequestReaderStAX<InsertResultRequest>, SweEncodedMessageProcessor
 {
     protected DataComponent resultStructure;
     protected DataEncoding resultEncoding;
@@ -113,18 +120,7 @@ public class InsertResultReaderV20 extends SWERequestReader<InsertResultRequest>
         {
             Element valuesElt = dom.getElement(requestElt, "resultValues");
             DataSourceDOM domSrc = new DataSourceDOM(dom, valuesElt);            
-            
-            // if data structure and encoding are set, we can parse now
-            if (resultStructure != null && resultEncoding != null)
-            {
-                SWEData sweData = new SWEData();
-                sweData.setElementType(resultStructure);
-                sweData.setEncoding(resultEncoding);
-                sweData.parseData(domSrc);
-                request.setResultData(sweData);
-            }
-            else
-                request.setResultDataSource(domSrc);
+            readResultValues(domSrc, request);
         }
         catch (IOException e)
         {
@@ -134,6 +130,74 @@ public class InsertResultReaderV20 extends SWERequestReader<InsertResultRequest>
         this.checkParameters(request, report);
         return request;
 	}
+	
+	
+	/**
+	 * Reads the request from the XML stream.<br/>
+	 * If the result structure and encoding were not set, parsing stops on the
+	 * resultValues element and records are read from the stream when the
+	 * request is handled, using {@link InsertResultRequest#getResultStream}
+	 */
+	@Override
+	public InsertResultRequest readXMLQuery(XMLStreamReader reader) throws OWSException
+	{
+		OWSExceptionReport report = new OWSExceptionReport(OWSException.VERSION_11);
+		InsertResultRequest request = new InsertResultRequest();
+		
+		// do common stuffs like version, request name and service type
+		readCommonXML(reader, request);
+		
+		try
+		{
+			while (reader.nextTag() == XMLStreamConstants.START_ELEMENT)
+			{
+				String eltName = reader.getLocalName();
+				
+				if (eltName.equals("template"))
+					request.setTemplateId(readElementValue(reader));
+				else if (eltName.equals("resultValues"))
+				{
+					readResultValues(new DataSourceStAX(reader), request);
+					
+					// if not parsed now, values are streamed from the reader when the
+					// request is handled, so stop here (this is the last element anyway)
+					if (request.getResultData() == null)
+						break;
+				}
+				else if (eltName.equals("extension"))
+					SWESUtils.readXMLExtension(reader, request.getExtensions());
+				else
+					skipElement(reader);
+			}
+		}
+		catch (XMLStreamException e)
+		{
+			throw new OWSException(invalidXML, e);
+		}
+		catch (IOException e)
+		{
+			throw new SOSException(OWSException.invalid_param_code, "resultValues", e);
+		}
+		
+		this.checkParameters(request, report);
+		return request;
+	}
+	
+	
+	protected void readResultValues(DataSource dataSrc, InsertResultRequest request) throws IOException
+	{
+		// if data structure and encoding are set, we can parse now
+		if (resultStructure != null && resultEncoding != null)
+		{
+			SWEData sweData = new SWEData();
+			sweData.setElementType(resultStructure);
+			sweData.setEncoding(resultEncoding);
+			sweData.parseData(dataSrc);
+			request.setResultData(sweData);
+		}
+		else
+			request.setResultDataSource(dataSrc);
+	}
     
     
     /**
@@ -25,9 +25,15 @@
 
 package org.vast.ows.sos;
 
+import java.io.IOException;
+import net.opengis.swe.v20.DataComponent;
+import net.opengis.swe.v20.DataEncoding;
 import org.vast.cdm.common.DataSource;
 import org.vast.ows.OWSRequest;
+import org.vast.swe.DataBlockStream;
+import org.vast.swe.DataSourceURI;
 import org.vast.swe.SWEData;
+import org.vast.util.Asserts;
 
 
 /**
@@ -85,5 +91,31 @@ public class InsertResultRequest extends OWSRequest
     public void setResultData(SWEData resultData)
     {
         this.resultData = resultData;
-    }    
+    }
+    
+    
+    /**
+     * Opens a stream to read result records incrementally from the result
+     * data source, so they can be stored as they arrive.<br/>
+     * When the request was received by a servlet, records are read directly
+     * from the HTTP request body so the stream must be consumed before the
+     * request handler returns.
+     * @param structure Result structure from the result template
+     * @param encoding Result encoding from the result template
+     * @param maxInFlight Max number of records held by the consumer before
+     * parsing blocks, or 0 for no limit (see {@link DataBlockStream})
+     * @return stream of result records
+     * @throws IOException if the result data source cannot be opened
+     */
+    public DataBlockStream getResultStream(DataComponent structure, DataEncoding encoding, int maxInFlight) throws IOException
+    {
+        DataSource dataSrc = resultDataSource;
+        Asserts.checkState(dataSrc != null, "Result values were not kept as a data source");
+        
+        // KVP requests carry result values in the POST body
+        if (dataSrc instanceof DataSourceURI && "POST".equals(((DataSourceURI)dataSrc).getStreamUri()) && getHttpRequest() != null)
+            dataSrc = () -> getHttpRequest().getInputStream();
+        
+        return new DataBlockStream(structure, encoding, dataSrc, maxInFlight);
+    }
 }
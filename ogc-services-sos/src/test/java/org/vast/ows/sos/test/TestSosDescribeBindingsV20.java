@@ -42,6 +42,28 @@ public class TestSosDescribeBindingsV20 extends OWSTestCase
     }
     
     
+    public void testReadXmlDescribeSensorStreamingAndDom() throws Exception
+    {
+        String[] paths = {
+            "examples_v20/core/DescribeSensor1.xml",
+            "examples_v20/core/DescribeSensorWithTime.xml"
+        };
+        
+        for (String path: paths)
+        {
+            DescribeSensorRequest request1 = (DescribeSensorRequest)readXmlRequestStreaming(path);
+            DescribeSensorRequest request2 = (DescribeSensorRequest)readXmlRequestDom(path);
+            assertEquals(request1.getService(), request2.getService());
+            assertEquals(request1.getOperation(), request2.getOperation());
+            assertEquals(request1.getVersion(), request2.getVersion());
+            assertEquals(request1.getProcedureID(), request2.getProcedureID());
+            assertEquals(request1.getFormat(), request2.getFormat());
+            assertEquals(request1.getTime(), request2.getTime());
+            checkExtensionsEquals(request1, request2);
+        }
+    }
+    
+    
     public void testReadKvpDescribeSensor() throws Exception
     {
         SOSUtils utils = new SOSUtils();
@@ -26,6 +26,7 @@ import org.vast.ows.OWSUtils;
 import org.vast.ows.sos.GetObservationRequest;
 import org.vast.ows.test.OWSTestCase;
 import org.vast.util.Bbox;
+import org.w3c.dom.Element;
 import org.locationtech.jts.geom.Polygon;
 
 
@@ -244,6 +245,35 @@ public class TestSosGetObsBindingsV20 extends OWSTestCase
     }
     
     
+    public void testReadXmlGetObsStreamingAndDom() throws Exception
+    {
+        String[] paths = {
+            "examples_v20/core/GetObservation1_obsProps.xml",
+            "examples_v20/core/GetObservation3_foiIDFilter.xml",
+            "examples_v20/core/GetObservation4_spatialFilter.xml",
+            "examples_v20/core/GetObservation5_extension.xml",
+            "examples_v20/_useCase_airbase_station_network/GetObservation.xml"
+        };
+        
+        for (String path: paths)
+        {
+            GetObservationRequest request1 = (GetObservationRequest)readXmlRequestStreaming(path);
+            GetObservationRequest request2 = (GetObservationRequest)readXmlRequestDom(path);
+            checkRequestsEquals(request1, request2);
+            checkExtensionsEquals(request1, request2);
+        }
+    }
+    
+    
+    public void testReadXmlGetObsExtension() throws Exception
+    {
+        String path = "examples_v20/core/GetObservation5_extension.xml";
+        GetObservationRequest request = (GetObservationRequest)readXmlRequestStreaming(path);
+        assertEquals(1, request.getExtensions().size());
+        assertEquals("100", ((Element)request.getExtensions().values().iterator().next()).getTextContent());
+    }
+    
+    
     public void testWriteKvpGetObs() throws Exception
     {
         OWSUtils utils = new OWSUtils();
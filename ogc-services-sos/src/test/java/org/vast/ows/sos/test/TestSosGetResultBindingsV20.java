@@ -23,17 +23,17 @@ import java.time.Instant;
 import java.util.Set;
 import net.opengis.fes.v20.BinarySpatialOp;
 import net.opengis.fes.v20.GMLExpression;
-import org.custommonkey.xmlunit.XMLTestCase;
 import org.custommonkey.xmlunit.XMLUnit;
 import org.vast.ows.OWSUtils;
 import org.vast.ows.sos.GetResultRequest;
 import org.vast.ows.sos.GetResultTemplateRequest;
 import org.vast.ows.sos.GetResultTemplateResponse;
+import org.vast.ows.test.OWSTestCase;
 import org.xml.sax.InputSource;
 import org.locationtech.jts.geom.Polygon;
 
 
-public class TestSosGetResultBindingsV20 extends XMLTestCase
+public class TestSosGetResultBindingsV20 extends OWSTestCase
 {
     
     public void setUp() throws Exception
@@ -153,6 +153,24 @@ public class TestSosGetResultBindingsV20 extends XMLTestCase
     }
     
     
+    public void testReadXmlGetResultStreamingAndDom() throws Exception
+    {
+        String[] paths = {
+            "examples_v20/resultHandling/GetResult1.xml",
+            "examples_v20/resultHandling/GetResult2.xml",
+            "examples_v20/resultHandling/GetResult3.xml"
+        };
+        
+        for (String path: paths)
+        {
+            GetResultRequest request1 = (GetResultRequest)readXmlRequestStreaming(path);
+            GetResultRequest request2 = (GetResultRequest)readXmlRequestDom(path);
+            checkRequestsEquals(request1, request2);
+            checkExtensionsEquals(request1, request2);
+        }
+    }
+    
+    
     public void testReadXmlGetResultTemplate() throws Exception
     {
         OWSUtils utils = new OWSUtils();
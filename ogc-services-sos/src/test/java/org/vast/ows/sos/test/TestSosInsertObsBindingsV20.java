@@ -14,7 +14,9 @@ Copyright (C) 2012-2015 Sensia Software LLC. All Rights Reserved.
 
 package org.vast.ows.sos.test;
 
+import org.vast.ogc.om.IObservation;
 import org.vast.ows.OWSUtils;
+import org.vast.ows.sos.InsertObservationRequest;
 import org.vast.ows.test.OWSTestCase;
 
 
@@ -27,6 +29,38 @@ public class TestSosInsertObsBindingsV20 extends OWSTestCase
     }
     
     
+    public void testReadXmlInsertObsStreamingAndDom() throws Exception
+    {
+        String path = "examples_v20/transactional/InsertObservation1.xml";
+        InsertObservationRequest request1 = (InsertObservationRequest)readXmlRequestStreaming(path);
+        InsertObservationRequest request2 = (InsertObservationRequest)readXmlRequestDom(path);
+        
+        assertEquals(request1.getService(), request2.getService());
+        assertEquals(request1.getOperation(), request2.getOperation());
+        assertEquals(request1.getVersion(), request2.getVersion());
+        assertEquals(request1.getOffering(), request2.getOffering());
+        checkExtensionsEquals(request1, request2);
+        
+        assertEquals(request1.getObservations().size(), request2.getObservations().size());
+        assertFalse(request1.getObservations().isEmpty());
+        for (int i = 0; i < request1.getObservations().size(); i++)
+        {
+            IObservation obs1 = request1.getObservations().get(i);
+            IObservation obs2 = request2.getObservations().get(i);
+            assertEquals(obs1.getId(), obs2.getId());
+            assertEquals(obs1.getType(), obs2.getType());
+            assertEquals(obs1.getPhenomenonTime(), obs2.getPhenomenonTime());
+            assertEquals(obs1.getResultTime(), obs2.getResultTime());
+            assertEquals(obs1.getObservedProperty().getHref(), obs2.getObservedProperty().getHref());
+            
+            int atomCount = obs1.getResult().getData().getAtomCount();
+            assertEquals(atomCount, obs2.getResult().getData().getAtomCount());
+            for (int j = 0; j < atomCount; j++)
+                assertEquals(obs1.getResult().getData().getStringValue(j), obs2.getResult().getData().getStringValue(j));
+        }
+    }
+    
+    
     public void testReadWriteXmlInsertObsResponse() throws Exception
     {
         readWriteCompareXmlResponse("examples_v20/transactional/InsertObservation1_response.xml", OWSUtils.SOS);
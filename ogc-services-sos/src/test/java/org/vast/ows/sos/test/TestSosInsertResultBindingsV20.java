@@ -17,6 +17,7 @@ package org.vast.ows.sos.test;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import net.opengis.swe.v20.DataBlock;
 import net.opengis.swe.v20.DataRecord;
 import net.opengis.swe.v20.TextEncoding;
 import org.vast.ows.OWSUtils;
@@ -24,6 +25,7 @@ import org.vast.ows.sos.InsertResultRequest;
 import org.vast.ows.sos.InsertResultTemplateRequest;
 import org.vast.ows.sos.SOSUtils;
 import org.vast.ows.test.OWSTestCase;
+import org.vast.swe.DataBlockStream;
 import org.vast.xml.DOMHelper;
 
 
@@ -86,6 +88,30 @@ public class TestSosInsertResultBindingsV20 extends OWSTestCase
     }
     
     
+    public void testReadXmlInsertResultStreaming() throws Exception
+    {
+        InsertResultTemplateRequest template = (InsertResultTemplateRequest)readXmlRequest("examples_v20/resultHandling/InsertResultTemplate1.xml");
+        
+        InputStream is = TestSosInsertResultBindingsV20.class.getResourceAsStream("examples_v20/resultHandling/InsertResult1.xml");
+        InsertResultRequest request = (InsertResultRequest)new OWSUtils().readXMLQuery(is);
+        assertEquals("http://my.organization.org/sos/resultTemplate1", request.getTemplateId());
+        assertNull(request.getResultData());
+        
+        // records are parsed from the XML stream one at a time
+        DataBlockStream resultStream = request.getResultStream(template.getResultStructure(), template.getResultEncoding(), 2);
+        double[] expectedValues = {32.0, 32.1, 32.2};
+        for (double val: expectedValues)
+        {
+            DataBlock data = resultStream.next();
+            assertEquals(val, data.getDoubleValue(1), 1e-9);
+            resultStream.release(data);
+        }
+        assertNull(resultStream.next());
+        assertEquals(expectedValues.length, resultStream.getRecordCount());
+        is.close();
+    }
+    
+    
     public void testWriteXmlInsertResult() throws Exception
     {
         readReadWriteCompareXmlInsertResult("examples_v20/resultHandling/InsertResult1.xml", "examples_v20/resultHandling/InsertResultTemplate1.xml");
@@ -29,6 +29,9 @@ package org.vast.ows.swe;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.vast.util.TimeExtent;
 import org.vast.xml.DOMHelper;
 import org.vast.xml.XMLReaderException;
@@ -46,7 +49,7 @@ import org.vast.ows.*;
  * @author Alex Robin
  * @date Oct 10, 2007
  * */
-public class DescribeSensorReaderV20 extends SWERequestReader<DescribeSensorRequest>
+public class DescribeSensorReaderV20 extends SWERequestReader<DescribeSensorRequest> implements OWSRequestReaderStAX<DescribeSensorRequest>
 {
 	protected GMLUtils gmlUtils = new GMLUtils(GMLUtils.V3_2);
 	
@@ -135,6 +138,63 @@ public class DescribeSensorReaderV20 extends SWERequestReader<DescribeSensorRequ
 	}
 	
 	
+	@Override
+	public DescribeSensorRequest readXMLQuery(XMLStreamReader reader) throws OWSException
+	{
+		OWSExceptionReport report = new OWSExceptionReport(OWSException.VERSION_11);
+		DescribeSensorRequest request = new DescribeSensorRequest();
+		
+		// do common stuffs like version, request name and service type
+		readCommonXML(reader, request);
+		
+		try
+		{
+			while (reader.nextTag() == XMLStreamConstants.START_ELEMENT)
+			{
+				String eltName = reader.getLocalName();
+				
+				if (eltName.equals("procedure"))
+					request.setProcedureID(readElementValue(reader));
+				else if (eltName.equals("procedureDescriptionFormat"))
+					request.setFormat(readElementValue(reader));
+				else if (eltName.equals("validTime"))
+					readValidTime(reader, request, report);
+				else if (eltName.equals("extension"))
+					SWESUtils.readXMLExtension(reader, request.getExtensions());
+				else
+					skipElement(reader);
+			}
+		}
+		catch (XMLStreamException e)
+		{
+			throw new OWSException(invalidXML, e);
+		}
+		
+		this.checkParameters(request, report); 
+		return request;
+	}
+	
+	
+	protected void readValidTime(XMLStreamReader reader, DescribeSensorRequest request, OWSExceptionReport report) throws OWSException, XMLStreamException
+	{
+		if (reader.nextTag() != XMLStreamConstants.START_ELEMENT)
+			return;
+		
+		try
+		{
+			TimeExtent time = gmlUtils.readTimePrimitiveAsTimeExtent(reader);
+			request.setTime(time);
+			reader.nextTag();
+		}
+		catch (XMLReaderException e)
+		{
+			// report now since the stream cannot be resumed after a parsing error
+			report.add(new OWSException(OWSException.invalid_param_code, "validTime", e));
+			report.process();
+		}
+	}
+	
+	
 	/**
      * Checks that DescribeSensor mandatory parameters are present
      * @param request
@@ -25,7 +25,11 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.vast.ogc.OGCRegistry;
+import org.vast.ows.AbstractRequestReader;
 import org.vast.ows.OWSUtils;
 import org.vast.sensorML.SMLUtils;
 import org.vast.util.DateTimeFormat;
@@ -71,6 +75,27 @@ public class SWESUtils extends OWSUtils
 	}
 	
 	
+	/**
+	 * Reads an extension element from an XML stream.<br/>
+	 * The extension content is kept as a DOM element like in
+	 * {@link #readXMLExtensions(DOMHelper, Element)}
+	 * @param reader stream reader positioned on the extension start element.
+	 * It is left on the matching end element.
+	 * @param extList map to add the extension to
+	 * @throws XMLStreamException
+	 */
+	public static void readXMLExtension(XMLStreamReader reader, Map<QName, Object> extList) throws XMLStreamException
+	{
+		if (reader.nextTag() != XMLStreamConstants.START_ELEMENT)
+			return;
+		
+		QName extName = reader.getName();
+		Element contentElt = AbstractRequestReader.readElementAsDOM(reader).getBaseElement();
+		extList.put(new QName(extName.getNamespaceURI(), extName.getLocalPart()), contentElt);
+		reader.nextTag();
+	}
+	
+	
 	public static void writeXMLExtensions(DOMHelper dom, Element parentElt, String prefix, String nsUri, Map<QName, Object> extObjs)
 	{
 		if (extObjs == null)
@@ -20,10 +20,13 @@
 
 package org.vast.process;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.vast.data.DataBlockPool;
 import org.vast.util.Asserts;
 import net.opengis.swe.v20.DataBlock;
 
@@ -35,28 +38,132 @@ import net.opengis.swe.v20.DataBlock;
  * threads, even on different computers (grid computing).
  * Each element in the queue is called a data block.
  * The queue can also send status values and events.
+ * </p><p>
+ * The queue is unbounded by default. When a capacity is set, the
+ * {@link OverflowPolicy} determines what happens when data is published
+ * while the queue is full.
+ * </p><p>
+ * When a {@link DataBlockPool} is set, blocks that are dropped or that are
+ * not used by the consumer anymore are released to the pool, and the
+ * producer leases its next output block from it.
  * </p>
  * 
  * @author Alex Robin
  * */
 public class DataQueue extends DataConnection
 {
-	Logger log = LoggerFactory.getLogger(DataQueue.class);
-    protected BlockingQueue<DataBlock> queue = new LinkedBlockingQueue<>();
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+    
+    
+    public enum OverflowPolicy
+    {
+        /** wait for space to become available (i.e. throttle the producer) */
+        BLOCK,
+        
+        /** discard the oldest data block in the queue */
+        DROP_OLDEST,
+        
+        /** discard the data block being published */
+        DROP_NEWEST,
+        
+        /** replace the most recent data block in the queue */
+        COALESCE_LATEST
+    }
+    
+    
+    Logger log = LoggerFactory.getLogger(DataQueue.class);
+    protected volatile BlockingDeque<DataBlock> queue;
+    protected volatile int capacity;
+    protected volatile OverflowPolicy overflowPolicy;
+    protected final AtomicInteger maxQueueSize = new AtomicInteger();
+    protected final AtomicLong droppedCount = new AtomicLong();
+    protected final AtomicLong publishWaitTime = new AtomicLong();
+    protected final AtomicLong transferWaitTime = new AtomicLong();
+    protected DataBlockPool blockPool;
+    protected DataBlock lastTransferredBlock;
 	
 	
+    public DataQueue()
+    {
+        this(UNBOUNDED, OverflowPolicy.BLOCK);
+    }
+    
+    
+    /**
+     * Creates a bounded queue
+     * @param capacity max number of data blocks in the queue
+     * @param overflowPolicy policy to apply when data is published while the queue is full
+     */
+    public DataQueue(int capacity, OverflowPolicy overflowPolicy)
+    {
+        Asserts.checkArgument(capacity > 0, "Queue capacity must be > 0");
+        this.capacity = capacity;
+        this.overflowPolicy = Asserts.checkNotNull(overflowPolicy, OverflowPolicy.class);
+        this.queue = new LinkedBlockingDeque<>(capacity);
+    }
+    
+    
 	@Override
     public void publishData() throws InterruptedException
     {
-	    Asserts.checkState(sourceComponent.hasData(), "Source component has no data");
-	    DataBlock data = sourceComponent.getData();
-        queue.put(data);
+        Asserts.checkState(sourceComponent.hasData(), "Source component has no data");
+        DataBlock data = sourceComponent.getData();
+        BlockingDeque<DataBlock> queue = this.queue;
+        
+        if (!queue.offerLast(data))
+        {
+            switch (overflowPolicy)
+            {
+                case BLOCK:
+                    long t0 = System.nanoTime();
+                    queue.putLast(data);
+                    publishWaitTime.addAndGet(System.nanoTime() - t0);
+                    break;
+                    
+                case DROP_OLDEST:
+                    while (!queue.offerLast(data))
+                        dropData(queue.pollFirst());
+                    break;
+                    
+                case DROP_NEWEST:
+                    dropData(data);
+                    break;
+                    
+                case COALESCE_LATEST:
+                    while (!queue.offerLast(data))
+                        dropData(queue.pollLast());
+                    break;
+            }
+        }
+        
+        maxQueueSize.accumulateAndGet(queue.size(), Math::max);
+    }
+    
+    
+    protected void dropData(DataBlock data)
+    {
+        if (data != null)
+        {
+            droppedCount.incrementAndGet();
+            if (blockPool != null)
+                blockPool.release(data);
+            
+            if (log.isTraceEnabled())
+            {
+                log.trace("{}.{} -> {}.{}: dropped data, policy={}",
+                    sourceProcess.getInstanceName(), sourceComponent.getName(),
+                    destinationProcess.getInstanceName(), destinationComponent.getName(),
+                    overflowPolicy);
+            }
+        }
     }
 
 
     @Override
 	public boolean transferData(boolean block) throws InterruptedException
     {
+        BlockingDeque<DataBlock> queue = this.queue;
+        
         if (log.isTraceEnabled())
         {
             log.trace("{}.{} -> {}.{}: size={}",
@@ -65,10 +172,16 @@ public class DataQueue extends DataConnection
                 queue.size());
         }
         
-        if (block || isDataAvailable())
+        DataBlock srcBlock = queue.pollFirst();
+        if (srcBlock == null && block)
+        {
+            long t0 = System.nanoTime();
+            srcBlock = queue.takeFirst();
+            transferWaitTime.addAndGet(System.nanoTime() - t0);
+        }
+        
+        if (srcBlock != null)
         {
-            DataBlock srcBlock = queue.take();
-            
             // apply unit conversion if needed
             // TODO add support for unit conversion in queues
             /*if (!componentConverters.isEmpty())
@@ -87,6 +200,15 @@ public class DataQueue extends DataConnection
             if (destinationChoice != null)
                 destinationChoice.setSelectedItem(destinationChoiceIdx);
             
+            // previous block is not used by the consumer anymore
+            // (unless it was assigned to a child component of the input port)
+            if (blockPool != null && destinationComponent.getParent() == null)
+            {
+                if (lastTransferredBlock != null && lastTransferredBlock != srcBlock)
+                    blockPool.release(lastTransferredBlock);
+                lastTransferredBlock = srcBlock;
+            }
+            
             return true;
         }
         else
@@ -112,4 +234,128 @@ public class DataQueue extends DataConnection
     {
         return queue.size();
     }
+    
+    
+    /**
+     * Changes the capacity of the queue.<br/>
+     * If the queue contains more blocks than the new capacity, the overflow
+     * policy is applied to the excess blocks, which are counted as dropped.<br/>
+     * This should be called before the connected processes are started, or at
+     * least when no producer or consumer thread is blocked on the queue.
+     * @param capacity max number of data blocks in the queue, or {@link #UNBOUNDED}
+     * @throws IllegalStateException if the queue contains more blocks than the
+     * new capacity and the overflow policy is {@link OverflowPolicy#BLOCK}
+     */
+    public synchronized void setCapacity(int capacity)
+    {
+        Asserts.checkArgument(capacity > 0, "Queue capacity must be > 0");
+        if (capacity == this.capacity)
+            return;
+        
+        BlockingDeque<DataBlock> oldQueue = this.queue;
+        if (oldQueue.size() > capacity && overflowPolicy == OverflowPolicy.BLOCK)
+            throw new IllegalStateException("Cannot reduce capacity below the number of queued blocks with " + overflowPolicy + " policy");
+        
+        var newQueue = new LinkedBlockingDeque<DataBlock>(capacity);
+        DataBlock data;
+        while ((data = oldQueue.pollFirst()) != null)
+        {
+            if (newQueue.offerLast(data))
+                continue;
+            
+            switch (overflowPolicy)
+            {
+                case DROP_OLDEST:
+                    dropData(newQueue.pollFirst());
+                    newQueue.offerLast(data);
+                    break;
+                    
+                case COALESCE_LATEST:
+                    dropData(newQueue.pollLast());
+                    newQueue.offerLast(data);
+                    break;
+                    
+                default:
+                    dropData(data);
+            }
+        }
+        
+        this.queue = newQueue;
+        this.capacity = capacity;
+    }
+    
+    
+    public DataBlockPool getDataBlockPool()
+    {
+        return blockPool;
+    }
+    
+    
+    /**
+     * Sets the pool used to recycle data blocks transferred through this queue.<br/>
+     * This should only be used if the source process fully rewrites its output
+     * and the destination process doesn't keep references to its input blocks.
+     * It should be called before the connected processes are started.
+     * @param blockPool Pool created for the source component structure, or null
+     * to disable recycling
+     */
+    public void setDataBlockPool(DataBlockPool blockPool)
+    {
+        this.blockPool = blockPool;
+        this.lastTransferredBlock = null;
+    }
+    
+    
+    public OverflowPolicy getOverflowPolicy()
+    {
+        return overflowPolicy;
+    }
+    
+    
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy)
+    {
+        this.overflowPolicy = Asserts.checkNotNull(overflowPolicy, OverflowPolicy.class);
+    }
+
+
+    @Override
+    public int getQueueDepth()
+    {
+        return queue.size();
+    }
+
+
+    @Override
+    public int getQueueCapacity()
+    {
+        return capacity;
+    }
+
+
+    @Override
+    public int getMaxQueueDepth()
+    {
+        return maxQueueSize.get();
+    }
+
+
+    @Override
+    public long getDroppedCount()
+    {
+        return droppedCount.get();
+    }
+
+
+    @Override
+    public long getPublishWaitTime()
+    {
+        return publishWaitTime.get();
+    }
+
+
+    @Override
+    public long getTransferWaitTime()
+    {
+        return transferWaitTime.get();
+    }
 }
@@ -0,0 +1,225 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.process;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+
+
+/**
+ * <p>
+ * Event driven scheduler running the child processes of a chain on a shared
+ * executor.<br/>
+ * Instead of dedicating a thread to each process, a process is submitted to
+ * the executor only when it is signaled (i.e. data was published on one of its
+ * inputs or consumed from one of its outputs) and {@link IProcessExec#canRun()}
+ * returns true. Each process is executed by at most one task at a time so the
+ * order of its executions is preserved.
+ * </p><p>
+ * Processes must not block waiting for data when they can run, so this works
+ * with any executor, including fixed size thread pools and virtual threads.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class DataflowScheduler
+{
+    protected final Executor executor;
+    protected final Consumer<Throwable> onError;
+    protected final Logger log;
+    protected final Map<IProcessExec, ProcessTask> tasks = new IdentityHashMap<>();
+    protected volatile boolean started;
+
+
+    /*
+     * Task running a single process when signaled
+     */
+    protected class ProcessTask implements Runnable
+    {
+        final IProcessExec process;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile boolean pending;
+        ProcessTask[] neighbors;
+
+
+        ProcessTask(IProcessExec process)
+        {
+            this.process = process;
+        }
+
+
+        void signal()
+        {
+            pending = true;
+            if (started && scheduled.compareAndSet(false, true))
+                executor.execute(this);
+        }
+
+
+        @Override
+        public void run()
+        {
+            pending = false;
+
+            try
+            {
+                if (started && process.canRun())
+                {
+                    log.trace("Running process '{}'", process.getInstanceName());
+                    process.run();
+
+                    // inputs have been consumed and outputs published
+                    // so upstream and downstream processes may be able to run
+                    for (ProcessTask task: neighbors)
+                        task.signal();
+                }
+            }
+            catch (Throwable e)
+            {
+                // leave task in scheduled state so it is never run again
+                stop();
+                log.error("Error while running process '{}'", process.getInstanceName(), e);
+                if (onError != null)
+                    onError.accept(e);
+                return;
+            }
+
+            // reschedule if signaled while running
+            scheduled.set(false);
+            if (pending && started && scheduled.compareAndSet(false, true))
+                executor.execute(this);
+        }
+    }
+
+
+    /**
+     * Creates a scheduler for the given processes
+     * @param processes processes to schedule, with their connections already set up
+     * @param executor executor used to run the processes
+     * @param onError callback called if one of the processes fails
+     * @param log logger to use
+     */
+    public DataflowScheduler(Collection<IProcessExec> processes, Executor executor, Consumer<Throwable> onError, Logger log)
+    {
+        this.executor = executor;
+        this.onError = onError;
+        this.log = log;
+
+        for (IProcessExec process: processes)
+            tasks.put(process, new ProcessTask(process));
+
+        // precompute neighbors of each process
+        for (ProcessTask task: tasks.values())
+        {
+            Set<ProcessTask> neighbors = new LinkedHashSet<>();
+            neighbors.add(task);
+            addNeighbors(task.process.getOutputConnections(), false, neighbors);
+            addNeighbors(task.process.getInputConnections(), true, neighbors);
+            addNeighbors(task.process.getParamConnections(), true, neighbors);
+            task.neighbors = neighbors.toArray(new ProcessTask[0]);
+        }
+    }
+
+
+    protected void addNeighbors(Map<String, DataConnectionList> connectionGroup, boolean upstream, Collection<ProcessTask> neighbors)
+    {
+        for (DataConnectionList connectionList: connectionGroup.values())
+        {
+            for (IDataConnection conn: connectionList)
+            {
+                IProcessExec other = upstream ? conn.getSourceProcess() : conn.getDestinationProcess();
+                ProcessTask task = tasks.get(other);
+                if (task != null)
+                    neighbors.add(task);
+            }
+        }
+    }
+
+
+    /**
+     * Starts the scheduler and gives all processes a chance to run
+     */
+    public void start()
+    {
+        started = true;
+        signalAll();
+    }
+
+
+    /**
+     * Stops the scheduler. Process executions that are already running
+     * are not interrupted.
+     */
+    public void stop()
+    {
+        started = false;
+    }
+
+
+    public boolean isStarted()
+    {
+        return started;
+    }
+
+
+    /**
+     * Signals all processes
+     */
+    public void signalAll()
+    {
+        for (ProcessTask task: tasks.values())
+            task.signal();
+    }
+
+
+    /**
+     * Signals the scheduler that data was published on the given connections
+     * from outside of the scheduled processes
+     * @param connectionGroup
+     */
+    public void signalDestinations(Map<String, DataConnectionList> connectionGroup)
+    {
+        signal(connectionGroup, false);
+    }
+
+
+    /**
+     * Signals the scheduler that data was consumed from the given connections
+     * from outside of the scheduled processes
+     * @param connectionGroup
+     */
+    public void signalSources(Map<String, DataConnectionList> connectionGroup)
+    {
+        signal(connectionGroup, true);
+    }
+
+
+    protected void signal(Map<String, DataConnectionList> connectionGroup, boolean sources)
+    {
+        var toSignal = new ArrayList<ProcessTask>();
+        addNeighbors(connectionGroup, sources, toSignal);
+        for (ProcessTask task: toSignal)
+            task.signal();
+    }
+}
@@ -17,17 +17,23 @@ package org.vast.process;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.vast.data.AbstractRecordImpl;
 import org.vast.swe.SWEHelper;
+import org.vast.util.Asserts;
 import net.opengis.swe.v20.DataComponent;
 
 
@@ -60,6 +66,15 @@ public class ExecutableChainImpl extends ExecutableProcessImpl implements IProce
     protected boolean needSync;
     protected boolean childrenThreadsStarted = false;
     protected ExecutorService threadPool;
+    protected int queueCapacity = DataQueue.UNBOUNDED;
+    protected DataQueue.OverflowPolicy queueOverflowPolicy = DataQueue.OverflowPolicy.BLOCK;
+    protected RingBufferDataQueue.WaitStrategy queueWaitStrategy = RingBufferDataQueue.WaitStrategy.BLOCKING;
+    protected boolean recycleDataBlocks = false;
+    protected boolean useDataflowScheduler = false;
+    protected volatile DataflowScheduler scheduler;
+    protected boolean parallelBranches = false;
+    protected ExecutorService branchExecutor = ForkJoinPool.commonPool();
+    protected List<List<IProcessExec>> execLevels = new ArrayList<>();
     
     
     public ExecutableChainImpl()
@@ -159,7 +174,7 @@ public class ExecutableChainImpl extends ExecutableProcessImpl implements IProce
     public IDataConnection connect(IProcessExec srcProcess, DataComponent srcComponent,
                         IProcessExec destProcess, DataComponent destComponent) throws ProcessException
     {
-        IDataConnection conn = useChildrenThreads ? new DataQueue() : new DataConnection();
+        IDataConnection conn = createConnection();
                 
         // connect source
         if (srcProcess == this)
@@ -177,6 +192,30 @@ public class ExecutableChainImpl extends ExecutableProcessImpl implements IProce
     }
     
     
+    /*
+     * Creates the connection object according to threading and queue options
+     * Queues are bounded blocking ring buffers unless they are unbounded or use
+     * a different overflow policy. Ring buffers are not used by default because
+     * a bounded blocking queue makes the source process wait when the destination
+     * lags behind, which can deadlock chains that used to work with unbounded
+     * queues (e.g. feedback loops or processes publishing several blocks per run)
+     */
+    protected IDataConnection createConnection()
+    {
+        if (!useChildrenThreads)
+            return new DataConnection();
+        
+        if (queueCapacity != DataQueue.UNBOUNDED && queueOverflowPolicy == DataQueue.OverflowPolicy.BLOCK)
+        {
+            var queue = new RingBufferDataQueue(queueCapacity, queueWaitStrategy);
+            queue.setRecycleBlocks(recycleDataBlocks);
+            return queue;
+        }
+        
+        return new DataQueue(queueCapacity, queueOverflowPolicy);
+    }
+    
+    
     /*
      * Connects one of the process chain ports with an internal connection
      */
@@ -254,6 +293,11 @@ public class ExecutableChainImpl extends ExecutableProcessImpl implements IProce
                     if (childProcess.needSync())
                         this.needSync = true;
                 }
+                
+                // group processes that can run concurrently
+                execLevels.clear();
+                if (parallelBranches)
+                    computeExecLevels();
             }
             else
             {
@@ -318,6 +362,90 @@ public class ExecutableChainImpl extends ExecutableProcessImpl implements IProce
     }
     
     
+    /*
+     * Compute execution levels so that processes in a given level only
+     * depend on processes in previous levels and can run concurrently
+     */
+    protected void computeExecLevels()
+    {
+        Map<IProcessExec, Integer> levels = new HashMap<>();
+        
+        for (IProcessExec process: processExecList)
+        {
+            int level = 0;
+            
+            for (Map<String, DataConnectionList> connectionGroup: List.of(process.getInputConnections(), process.getParamConnections()))
+            {
+                for (DataConnectionList connectionList: connectionGroup.values())
+                {
+                    for (IDataConnection conn: connectionList)
+                    {
+                        IProcessExec upstreamProcess = conn.getSourceProcess();
+                        if (upstreamProcess == this)
+                            continue;
+                        
+                        // if upstream process is not leveled yet, the chain contains loops
+                        // so we fallback to sequential execution
+                        Integer upstreamLevel = levels.get(upstreamProcess);
+                        if (upstreamLevel == null)
+                        {
+                            execLevels.clear();
+                            for (IProcessExec p: processExecList)
+                                execLevels.add(List.of(p));
+                            return;
+                        }
+                        
+                        level = Math.max(level, upstreamLevel + 1);
+                    }
+                }
+            }
+            
+            levels.put(process, level);
+            while (execLevels.size() <= level)
+                execLevels.add(new ArrayList<>());
+            execLevels.get(level).add(process);
+        }
+    }
+    
+    
+    /*
+     * Runs the given processes concurrently and wait until they're all done
+     */
+    protected void runConcurrently(List<IProcessExec> processes) throws ProcessException, InterruptedException
+    {
+        if (processes.size() == 1)
+        {
+            processes.get(0).run();
+            return;
+        }
+        
+        List<Callable<Void>> tasks = new ArrayList<>(processes.size());
+        for (IProcessExec childProcess: processes)
+        {
+            tasks.add(() -> {
+                getLogger().debug("Running process '{}'", childProcess.getInstanceName());
+                childProcess.run();
+                return null;
+            });
+        }
+        
+        // wait for all processes in this level
+        for (Future<Void> f: branchExecutor.invokeAll(tasks))
+        {
+            try
+            {
+                f.get();
+            }
+            catch (ExecutionException e)
+            {
+                if (e.getCause() instanceof ProcessException)
+                    throw (ProcessException)e.getCause();
+                throw new ProcessException(EXEC_ERROR_MSG, e.getCause());
+            }
+        }
+    }
+    
+    
     /*
      * Ensure that sub processes are correctly sorted in the exec list
      * Each time process1 has inputs connected to process2 outputs
@@ -347,6 +475,12 @@ public class ExecutableChainImpl extends ExecutableProcessImpl implements IProce
             // make input data available inside chain
             transferInputData(inputConnections, internalInputConnections);
             transferInputData(paramConnections, internalParamConnections);
+            DataflowScheduler scheduler = this.scheduler;
+            if (scheduler != null)
+            {
+                scheduler.signalDestinations(internalInputConnections);
+                scheduler.signalDestinations(internalParamConnections);
+            }
             
             // if child threads are off, run all child processes
             if (!useChildrenThreads)
@@ -366,14 +500,37 @@ public class ExecutableChainImpl extends ExecutableProcessImpl implements IProce
                             moreToRun = false;
                             
                             // execute all child processes if they can run
-                            for (IProcessExec childProcess: processExecList)
+                            if (execLevels.isEmpty())
                             {
-                                // continue only if process can run
-                                if (childProcess.canRun())
+                                for (IProcessExec childProcess: processExecList)
                                 {
-                                    getLogger().debug("Running process '{}'", childProcess.getInstanceName());
-                                    childProcess.run();
-                                    moreToRun = true;
+                                    // continue only if process can run
+                                    if (childProcess.canRun())
+                                    {
+                                        getLogger().debug("Running process '{}'", childProcess.getInstanceName());
+                                        childProcess.run();
+                                        moreToRun = true;
+                                    }
+                                }
+                            }
+                            else
+                            {
+                                // run processes of each level concurrently, but only if they can run
+                                List<IProcessExec> runnable = new ArrayList<>();
+                                for (List<IProcessExec> level: execLevels)
+                                {
+                                    runnable.clear();
+                                    for (IProcessExec childProcess: level)
+                                    {
+                                        if (childProcess.canRun())
+                                            runnable.add(childProcess);
+                                    }
+                                    
+                                    if (!runnable.isEmpty())
+                                    {
+                                        runConcurrently(runnable);
+                                        moreToRun = true;
+                                    }
                                 }
                             }
                         }
@@ -384,11 +541,16 @@ public class ExecutableChainImpl extends ExecutableProcessImpl implements IProce
                         setNeededInputs(inputConnections, internalInputConnections);
                         setNeededInputs(paramConnections, internalParamConnections);
                     }
-                    else
+                    else if (execLevels.isEmpty())
                     {
                         for (IProcessExec childProcess: processExecList)
                             childProcess.run();
                     }
+                    else
+                    {
+                        for (List<IProcessExec> level: execLevels)
+                            runConcurrently(level);
+                    }
                 }
             }
             else
@@ -399,6 +561,9 @@ public class ExecutableChainImpl extends ExecutableProcessImpl implements IProce
             
             //transferOutputData();
             consumeData(internalOutputConnections, true);
+            scheduler = this.scheduler;
+            if (scheduler != null)
+                scheduler.signalSources(internalOutputConnections);
             combineOutputBlocks();
         }  
         catch (InterruptedException e)
@@ -519,15 +684,30 @@ public class ExecutableChainImpl extends ExecutableProcessImpl implements IProce
     
     protected synchronized void startChildrenThreads() throws ProcessException
     {
-        startChildrenThreads(Executors.newCachedThreadPool(), e -> {});
+        if (useDataflowScheduler)
+        {
+            this.threadPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            startChildrenThreads(threadPool, e -> {});
+        }
+        else
+            startChildrenThreads(Executors.newCachedThreadPool(), e -> {});
     }
     
     
     protected synchronized void startChildrenThreads(ExecutorService threadPool, Consumer<Throwable> onError) throws ProcessException
     {
         childrenThreadsStarted = true;
-        for (final IProcessExec process: processTable.values())
-            process.start(threadPool, onError);
+        
+        if (useDataflowScheduler)
+        {
+            scheduler = new DataflowScheduler(processTable.values(), threadPool, onError, getLogger());
+            scheduler.start();
+        }
+        else
+        {
+            for (final IProcessExec process: processTable.values())
+                process.start(threadPool, onError);
+        }
     }
     
     
@@ -536,6 +716,12 @@ public class ExecutableChainImpl extends ExecutableProcessImpl implements IProce
     {
         super.stop();
         
+        if (scheduler != null)
+        {
+            scheduler.stop();
+            scheduler = null;
+        }
+        
         if (childrenThreadsStarted)
         {
             for (final IProcessExec process: processTable.values())
@@ -595,6 +781,87 @@ public class ExecutableChainImpl extends ExecutableProcessImpl implements IProce
         this.useChildrenThreads = useThreads;
     }
     
+    
+    public boolean isParallelBranches()
+    {
+        return parallelBranches;
+    }
+    
+    
+    /**
+     * Enables or disables concurrent execution of independent branches when
+     * children threads are off.<br/>
+     * When enabled, processes are grouped into levels at init time so that
+     * processes in a level only depend on processes of previous levels.
+     * Processes in the same level then run concurrently on the common fork-join
+     * pool, and each level completes before the next one starts.
+     * This must be set before {@link #init()} is called.
+     * @param parallel
+     */
+    public void setParallelBranches(boolean parallel)
+    {
+        this.parallelBranches = parallel;
+    }
+    
+    
+    public boolean isUseDataflowScheduler()
+    {
+        return useDataflowScheduler;
+    }
+    
+    
+    /**
+     * Enables or disables the dataflow scheduler, used when children threads are on.<br/>
+     * When enabled, child processes don't get their own thread. Instead, they are
+     * run by a {@link DataflowScheduler} on a shared executor (i.e. the executor provided
+     * to {@link #start(ExecutorService, Consumer)} or a fixed size thread pool with one
+     * thread per core) when their inputs are available.
+     * @param useScheduler
+     */
+    public void setUseDataflowScheduler(boolean useScheduler)
+    {
+        this.useDataflowScheduler = useScheduler;
+    }
+    
+    
+    /**
+     * Sets the capacity and overflow policy of queues used for connections
+     * created after this call, when children threads are used.<br/>
+     * Individual queues can also be configured using the connection
+     * object returned by {@link #connect}.
+     * @param capacity max number of data blocks in each queue, or {@link DataQueue#UNBOUNDED}
+     * @param overflowPolicy policy to apply when a queue is full
+     */
+    public void setQueueOptions(int capacity, DataQueue.OverflowPolicy overflowPolicy)
+    {
+        Asserts.checkArgument(capacity > 0, "Queue capacity must be > 0");
+        this.queueCapacity = capacity;
+        this.queueOverflowPolicy = Asserts.checkNotNull(overflowPolicy, DataQueue.OverflowPolicy.class);
+    }
+    
+    
+    /**
+     * Sets options of ring buffer queues used for connections created after
+     * this call. Ring buffers are used for bounded queues with the
+     * {@link DataQueue.OverflowPolicy#BLOCK BLOCK} overflow policy.<br/>
+     * Queues are unbounded by default, so if no capacity was set with
+     * {@link #setQueueOptions}, this also enables ring buffers with a capacity
+     * of {@link RingBufferDataQueue#DEFAULT_CAPACITY}.
+     * @param waitStrategy strategy used by threads waiting on the queues
+     * @param recycleDataBlocks true to recycle output data blocks, see {@link RingBufferDataQueue}
+     */
+    public void setRingBufferOptions(RingBufferDataQueue.WaitStrategy waitStrategy, boolean recycleDataBlocks)
+    {
+        this.queueWaitStrategy = Asserts.checkNotNull(waitStrategy, RingBufferDataQueue.WaitStrategy.class);
+        this.recycleDataBlocks = recycleDataBlocks;
+        
+        if (queueCapacity == DataQueue.UNBOUNDED)
+        {
+            this.queueCapacity = RingBufferDataQueue.DEFAULT_CAPACITY;
+            this.queueOverflowPolicy = DataQueue.OverflowPolicy.BLOCK;
+        }
+    }
+    
 
     @Override
     public boolean needSync()
@@ -24,9 +24,11 @@ import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vast.data.AbstractRecordImpl;
+import org.vast.data.DataBlockPool;
 import org.vast.swe.SWEHelper;
 import org.vast.util.Asserts;
 import net.opengis.sensorml.v20.IOPropertyList;
+import net.opengis.swe.v20.DataBlock;
 import net.opengis.swe.v20.DataComponent;
 
 
@@ -331,7 +333,36 @@ public abstract class ExecutableProcessImpl implements IProcessExec
     protected void renewOutputData(String outputName)
     {
         DataComponent comp = outputData.getComponent(outputName);
-        comp.setData(comp.getData().clone());
+        DataBlock newBlock = getRecycledOutputBlock(outputName, comp);
+        comp.setData(newBlock != null ? newBlock : comp.getData().clone());
+    }
+    
+    
+    /*
+     * Get a data block released by the consumer if the output port has
+     * a single connection that supports recycling
+     */
+    protected DataBlock getRecycledOutputBlock(String outputName, DataComponent comp)
+    {
+        DataConnectionList connectionList = outputConnections.get(outputName);
+        if (connectionList == null || connectionList.size() != 1)
+            return null;
+        
+        IDataConnection conn = connectionList.get(0);
+        if (conn instanceof RingBufferDataQueue && conn.getSourceComponent() == comp)
+            return ((RingBufferDataQueue)conn).pollFreeBlock(comp.getData());
+        
+        if (conn instanceof DataQueue && conn.getSourceComponent() == comp)
+        {
+            DataBlockPool blockPool = ((DataQueue)conn).getDataBlockPool();
+            if (blockPool == null)
+                return null;
+            
+            // don't reuse blocks of different size (e.g. variable size arrays)
+            return blockPool.lease(comp.getData().getAtomCount());
+        }
+        
+        return null;
     }
     
 
@@ -429,7 +460,7 @@ public abstract class ExecutableProcessImpl implements IProcessExec
         
         // if everything ok, add connection to list
         connectionList.add(connection);
-        if (connection instanceof DataQueue)
+        if (connection instanceof DataQueue || connection instanceof RingBufferDataQueue)
             usingOutputQueues = true;
     }
     
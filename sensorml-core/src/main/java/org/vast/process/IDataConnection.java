@@ -73,4 +73,62 @@ public interface IDataConnection
      */
     public void clear();
 
+    
+    /**
+     * @return the number of data blocks currently waiting on this connection
+     */
+    public default int getQueueDepth()
+    {
+        return isDataAvailable() ? 1 : 0;
+    }
+    
+    
+    /**
+     * @return the max number of data blocks that can wait on this connection
+     */
+    public default int getQueueCapacity()
+    {
+        return 1;
+    }
+    
+    
+    /**
+     * @return the highest number of data blocks that have been waiting
+     * on this connection at the same time (high-water mark)
+     */
+    public default int getMaxQueueDepth()
+    {
+        return 1;
+    }
+    
+    
+    /**
+     * @return the number of data blocks that have been dropped because
+     * the connection was full
+     */
+    public default long getDroppedCount()
+    {
+        return 0;
+    }
+    
+    
+    /**
+     * @return the total time spent waiting for space on this connection
+     * when publishing data, in nanoseconds
+     */
+    public default long getPublishWaitTime()
+    {
+        return 0;
+    }
+    
+    
+    /**
+     * @return the total time spent waiting for data to become available
+     * on this connection, in nanoseconds
+     */
+    public default long getTransferWaitTime()
+    {
+        return 0;
+    }
+
 }
\ No newline at end of file
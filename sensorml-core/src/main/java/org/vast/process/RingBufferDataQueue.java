@@ -0,0 +1,389 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.process;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import org.vast.util.Asserts;
+import net.opengis.swe.v20.DataBlock;
+
+
+/**
+ * <p>
+ * Bounded data queue backed by a preallocated lock-free ring buffer.<br/>
+ * This connection must be used by a single producer thread (the thread
+ * running the source process) and a single consumer thread (the thread
+ * running the destination process), which is always the case for
+ * connections between processes of a threaded chain.
+ * </p><p>
+ * When the buffer is full, the producer waits for space to become available,
+ * and when it is empty, the consumer waits for data, both using the
+ * configured {@link WaitStrategy}.
+ * </p><p>
+ * The queue can also recycle data blocks: when enabled, blocks that have
+ * been released by the consumer are handed back to the producer so it can
+ * use them as its next output block instead of allocating a new one. This
+ * should only be enabled if the source process fully rewrites its output
+ * and the destination process doesn't keep references to its input blocks.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class RingBufferDataQueue extends DataConnection
+{
+    /** capacity used when ring buffers are enabled on a chain without setting a queue capacity */
+    public static final int DEFAULT_CAPACITY = 256;
+    static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+
+    public enum WaitStrategy
+    {
+        /** spin in a tight loop (lowest latency, uses a full core) */
+        BUSY_SPIN,
+
+        /** spin and yield the CPU to other threads */
+        YIELD,
+
+        /** park the thread for a short time between checks */
+        PARK,
+
+        /** wait on a lock condition until signaled */
+        BLOCKING
+    }
+
+
+    protected final int capacity;
+    protected final int mask;
+    protected final DataBlock[] ring;
+    protected final AtomicLong head = new AtomicLong(); // next sequence to read
+    protected final AtomicLong tail = new AtomicLong(); // next sequence to write
+    protected final WaitStrategy waitStrategy;
+    protected final ReentrantLock lock = new ReentrantLock();
+    protected final Condition notEmpty = lock.newCondition();
+    protected final Condition notFull = lock.newCondition();
+    protected volatile boolean consumerWaiting;
+    protected volatile boolean producerWaiting;
+
+    // reverse ring used to hand released blocks back to the producer
+    protected boolean recycleBlocks;
+    protected final DataBlock[] freeRing;
+    protected final AtomicLong freeHead = new AtomicLong();
+    protected final AtomicLong freeTail = new AtomicLong();
+    protected DataBlock lastTransferredBlock;
+
+    protected volatile int maxQueueSize;
+    protected final AtomicLong publishWaitTime = new AtomicLong();
+    protected final AtomicLong transferWaitTime = new AtomicLong();
+
+
+    /**
+     * Creates a ring buffer queue
+     * @param capacity max number of data blocks in the queue
+     * @param waitStrategy strategy used when waiting for data or free space
+     */
+    public RingBufferDataQueue(int capacity, WaitStrategy waitStrategy)
+    {
+        Asserts.checkArgument(capacity > 0 && capacity <= 1 << 30, "Queue capacity must be > 0");
+        this.capacity = capacity;
+        this.waitStrategy = Asserts.checkNotNull(waitStrategy, WaitStrategy.class);
+
+        // use power of 2 size so index can be computed with a mask
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity)
+            size <<= 1;
+        this.mask = size - 1;
+        this.ring = new DataBlock[size];
+        this.freeRing = new DataBlock[size];
+    }
+
+
+    @Override
+    public void publishData() throws InterruptedException
+    {
+        Asserts.checkState(sourceComponent.hasData(), "Source component has no data");
+        DataBlock data = sourceComponent.getData();
+
+        long seq = tail.get();
+        if (seq - head.get() >= capacity)
+        {
+            long t0 = System.nanoTime();
+            waitNotFull(seq);
+            publishWaitTime.addAndGet(System.nanoTime() - t0);
+        }
+
+        ring[(int)seq & mask] = data;
+        tail.set(seq + 1);
+
+        if (consumerWaiting)
+            signal(notEmpty);
+
+        int size = (int)(seq + 1 - head.get());
+        if (size > maxQueueSize)
+            maxQueueSize = size;
+    }
+
+
+    @Override
+    public boolean transferData(boolean block) throws InterruptedException
+    {
+        long seq = head.get();
+        if (seq == tail.get())
+        {
+            if (!block)
+                return false;
+
+            long t0 = System.nanoTime();
+            waitNotEmpty(seq);
+            transferWaitTime.addAndGet(System.nanoTime() - t0);
+        }
+
+        int index = (int)seq & mask;
+        DataBlock srcBlock = ring[index];
+        ring[index] = null;
+        head.set(seq + 1);
+
+        if (producerWaiting)
+            signal(notFull);
+
+        destinationComponent.setData(srcBlock);
+
+        // update parent choice if needed
+        if (destinationChoice != null)
+            destinationChoice.setSelectedItem(destinationChoiceIdx);
+
+        // previous block is not used by the consumer anymore
+        // (unless it was assigned to a child component of the input port)
+        if (recycleBlocks && destinationComponent.getParent() == null)
+        {
+            if (lastTransferredBlock != null && lastTransferredBlock != srcBlock)
+                offerFreeBlock(lastTransferredBlock);
+            lastTransferredBlock = srcBlock;
+        }
+
+        return true;
+    }
+
+
+    protected void waitNotFull(long seq) throws InterruptedException
+    {
+        if (waitStrategy == WaitStrategy.BLOCKING)
+        {
+            lock.lockInterruptibly();
+            try
+            {
+                producerWaiting = true;
+                while (seq - head.get() >= capacity)
+                    notFull.await();
+            }
+            finally
+            {
+                producerWaiting = false;
+                lock.unlock();
+            }
+        }
+        else
+        {
+            while (seq - head.get() >= capacity)
+                idle();
+        }
+    }
+
+
+    protected void waitNotEmpty(long seq) throws InterruptedException
+    {
+        if (waitStrategy == WaitStrategy.BLOCKING)
+        {
+            lock.lockInterruptibly();
+            try
+            {
+                consumerWaiting = true;
+                while (seq == tail.get())
+                    notEmpty.await();
+            }
+            finally
+            {
+                consumerWaiting = false;
+                lock.unlock();
+            }
+        }
+        else
+        {
+            while (seq == tail.get())
+                idle();
+        }
+    }
+
+
+    protected void idle() throws InterruptedException
+    {
+        switch (waitStrategy)
+        {
+            case BUSY_SPIN:
+                Thread.onSpinWait();
+                break;
+
+            case YIELD:
+                Thread.yield();
+                break;
+
+            default:
+                LockSupport.parkNanos(this, PARK_NANOS);
+                break;
+        }
+
+        if (Thread.interrupted())
+            throw new InterruptedException();
+    }
+
+
+    protected void signal(Condition condition)
+    {
+        lock.lock();
+        try
+        {
+            condition.signal();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+
+    /*
+     * Called by consumer to hand a block back to the producer
+     */
+    protected void offerFreeBlock(DataBlock data)
+    {
+        long seq = freeTail.get();
+        if (seq - freeHead.get() >= freeRing.length)
+            return; // drop it if producer doesn't use them
+
+        freeRing[(int)seq & mask] = data;
+        freeTail.set(seq + 1);
+    }
+
+
+    /**
+     * Called by the producer to get a data block that has been released
+     * by the consumer and can be reused as the next output block
+     * @param currentBlock the block currently used by the producer, used
+     * to check that the recycled block is compatible
+     * @return a recycled data block or null if none is available
+     */
+    public DataBlock pollFreeBlock(DataBlock currentBlock)
+    {
+        if (!recycleBlocks)
+            return null;
+
+        long seq = freeHead.get();
+        if (seq == freeTail.get())
+            return null;
+
+        int index = (int)seq & mask;
+        DataBlock data = freeRing[index];
+        freeRing[index] = null;
+        freeHead.set(seq + 1);
+
+        // don't reuse blocks of different size (e.g. variable size arrays)
+        if (data.getClass() != currentBlock.getClass() || data.getAtomCount() != currentBlock.getAtomCount())
+            return null;
+
+        return data;
+    }
+
+
+    @Override
+    public void clear()
+    {
+        long seq = head.get();
+        long end = tail.get();
+        for (; seq < end; seq++)
+            ring[(int)seq & mask] = null;
+        head.set(end);
+
+        if (producerWaiting)
+            signal(notFull);
+    }
+
+
+    @Override
+    public boolean isDataAvailable()
+    {
+        return head.get() != tail.get();
+    }
+
+
+    public boolean isRecycleBlocks()
+    {
+        return recycleBlocks;
+    }
+
+
+    /**
+     * Enables or disables recycling of data blocks.<br/>
+     * This should be called before the connected processes are started.
+     * @param recycleBlocks
+     */
+    public void setRecycleBlocks(boolean recycleBlocks)
+    {
+        this.recycleBlocks = recycleBlocks;
+    }
+
+
+    public WaitStrategy getWaitStrategy()
+    {
+        return waitStrategy;
+    }
+
+
+    @Override
+    public int getQueueDepth()
+    {
+        return (int)(tail.get() - head.get());
+    }
+
+
+    @Override
+    public int getQueueCapacity()
+    {
+        return capacity;
+    }
+
+
+    @Override
+    public int getMaxQueueDepth()
+    {
+        return maxQueueSize;
+    }
+
+
+    @Override
+    public long getPublishWaitTime()
+    {
+        return publishWaitTime.get();
+    }
+
+
+    @Override
+    public long getTransferWaitTime()
+    {
+        return transferWaitTime.get();
+    }
+}
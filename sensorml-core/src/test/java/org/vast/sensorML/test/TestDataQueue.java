@@ -0,0 +1,175 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.sensorML.test;
+
+import static org.junit.Assert.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import net.opengis.swe.v20.DataComponent;
+import org.junit.Test;
+import org.vast.data.DataBlockPool;
+import org.vast.process.DataQueue;
+import org.vast.process.DataQueue.OverflowPolicy;
+import org.vast.swe.SWEHelper;
+
+
+public class TestDataQueue
+{
+    SWEHelper fac = new SWEHelper();
+    DataComponent src = fac.createQuantity().build();
+    DataComponent dest = fac.createQuantity().build();
+
+
+    protected DataQueue createQueue(int capacity, OverflowPolicy policy)
+    {
+        DataQueue queue = new DataQueue(capacity, policy);
+        queue.setSource(null, src);
+        queue.setDestination(null, dest);
+        return queue;
+    }
+
+
+    protected void publish(DataQueue queue, double... values) throws InterruptedException
+    {
+        for (double val: values)
+        {
+            src.assignNewDataBlock();
+            src.getData().setDoubleValue(val);
+            queue.publishData();
+        }
+    }
+
+
+    protected void checkReceived(DataQueue queue, double... values) throws InterruptedException
+    {
+        for (double val: values)
+        {
+            assertTrue(queue.transferData(false));
+            assertEquals(val, dest.getData().getDoubleValue(), 0.0);
+        }
+
+        assertFalse(queue.transferData(false));
+    }
+
+
+    @Test
+    public void testDropOldest() throws Exception
+    {
+        DataQueue queue = createQueue(3, OverflowPolicy.DROP_OLDEST);
+        publish(queue, 1, 2, 3, 4, 5);
+        assertEquals(3, queue.getQueueDepth());
+        assertEquals(3, queue.getMaxQueueDepth());
+        assertEquals(2, queue.getDroppedCount());
+        checkReceived(queue, 3, 4, 5);
+    }
+
+
+    @Test
+    public void testDropNewest() throws Exception
+    {
+        DataQueue queue = createQueue(3, OverflowPolicy.DROP_NEWEST);
+        publish(queue, 1, 2, 3, 4, 5);
+        assertEquals(2, queue.getDroppedCount());
+        checkReceived(queue, 1, 2, 3);
+    }
+
+
+    @Test
+    public void testCoalesceLatest() throws Exception
+    {
+        DataQueue queue = createQueue(2, OverflowPolicy.COALESCE_LATEST);
+        publish(queue, 1, 2, 3, 4, 5);
+        assertEquals(3, queue.getDroppedCount());
+        checkReceived(queue, 1, 5);
+    }
+
+
+    @Test
+    public void testBlock() throws Exception
+    {
+        DataQueue queue = createQueue(2, OverflowPolicy.BLOCK);
+        publish(queue, 1, 2);
+
+        // publishing the 3rd value must wait until the consumer makes room
+        var future = CompletableFuture.runAsync(() -> {
+            try { publish(queue, 3); }
+            catch (InterruptedException e) { throw new IllegalStateException(e); }
+        });
+
+        Thread.sleep(100);
+        assertFalse(future.isDone());
+        assertTrue(queue.transferData(true));
+        assertEquals(1, dest.getData().getDoubleValue(), 0.0);
+
+        future.get(1, TimeUnit.SECONDS);
+        assertEquals(0, queue.getDroppedCount());
+        assertTrue(queue.getPublishWaitTime() > 0);
+        checkReceived(queue, 2, 3);
+    }
+
+
+    @Test
+    public void testReduceCapacity() throws Exception
+    {
+        DataQueue queue = createQueue(DataQueue.UNBOUNDED, OverflowPolicy.DROP_OLDEST);
+        DataBlockPool pool = new DataBlockPool(src, 10);
+        queue.setDataBlockPool(pool);
+        publish(queue, 1, 2, 3, 4, 5);
+
+        // excess blocks are dropped according to policy and recycled
+        queue.setCapacity(2);
+        assertEquals(2, queue.getQueueCapacity());
+        assertEquals(3, queue.getDroppedCount());
+        assertEquals(3, pool.getPooledCount());
+        assertEquals(5, queue.getMaxQueueDepth());
+        checkReceived(queue, 4, 5);
+
+        queue = createQueue(DataQueue.UNBOUNDED, OverflowPolicy.COALESCE_LATEST);
+        publish(queue, 1, 2, 3, 4, 5);
+        queue.setCapacity(3);
+        assertEquals(2, queue.getDroppedCount());
+        checkReceived(queue, 1, 2, 5);
+    }
+
+
+    @Test(expected = IllegalStateException.class)
+    public void testReduceCapacityBlockPolicy() throws Exception
+    {
+        DataQueue queue = createQueue(DataQueue.UNBOUNDED, OverflowPolicy.BLOCK);
+        publish(queue, 1, 2, 3);
+        queue.setCapacity(2);
+    }
+
+
+    @Test
+    public void testReleaseToPool() throws Exception
+    {
+        DataQueue queue = createQueue(2, OverflowPolicy.DROP_NEWEST);
+        DataBlockPool pool = new DataBlockPool(src, 10);
+        queue.setDataBlockPool(pool);
+        publish(queue, 1, 2, 3);
+
+        // dropped block is released immediately
+        assertEquals(1, pool.getPooledCount());
+
+        // 1st block is released when consumer gets the 2nd one
+        checkReceived(queue, 1, 2);
+        assertEquals(2, pool.getPooledCount());
+
+        src.setData(pool.lease());
+        assertEquals(1, pool.getHitCount());
+        assertEquals(1, pool.getOutstandingLeases());
+    }
+}
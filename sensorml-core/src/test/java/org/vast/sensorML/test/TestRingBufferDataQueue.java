@@ -0,0 +1,141 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.sensorML.test;
+
+import static org.junit.Assert.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataComponent;
+import org.junit.Test;
+import org.vast.process.RingBufferDataQueue;
+import org.vast.process.RingBufferDataQueue.WaitStrategy;
+import org.vast.swe.SWEHelper;
+
+
+public class TestRingBufferDataQueue
+{
+    static final int NUM_VALUES = 100000;
+
+    SWEHelper fac = new SWEHelper();
+    DataComponent src = fac.createQuantity().build();
+    DataComponent dest = fac.createQuantity().build();
+
+
+    protected RingBufferDataQueue createQueue(int capacity, WaitStrategy waitStrategy)
+    {
+        var queue = new RingBufferDataQueue(capacity, waitStrategy);
+        queue.setSource(null, src);
+        queue.setDestination(null, dest);
+        return queue;
+    }
+
+
+    protected void testTransferInOrder(WaitStrategy waitStrategy) throws Exception
+    {
+        var queue = createQueue(16, waitStrategy);
+
+        var producer = CompletableFuture.runAsync(() -> {
+            try
+            {
+                for (int i = 0; i < NUM_VALUES; i++)
+                {
+                    src.assignNewDataBlock();
+                    src.getData().setIntValue(i);
+                    queue.publishData();
+                }
+            }
+            catch (InterruptedException e)
+            {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        for (int i = 0; i < NUM_VALUES; i++)
+        {
+            assertTrue(queue.transferData(true));
+            assertEquals(i, dest.getData().getIntValue());
+        }
+
+        producer.get(10, TimeUnit.SECONDS);
+        assertFalse(queue.isDataAvailable());
+        assertTrue(queue.getMaxQueueDepth() <= 16);
+    }
+
+
+    @Test
+    public void testTransferBusySpin() throws Exception
+    {
+        testTransferInOrder(WaitStrategy.BUSY_SPIN);
+    }
+
+
+    @Test
+    public void testTransferYield() throws Exception
+    {
+        testTransferInOrder(WaitStrategy.YIELD);
+    }
+
+
+    @Test
+    public void testTransferPark() throws Exception
+    {
+        testTransferInOrder(WaitStrategy.PARK);
+    }
+
+
+    @Test
+    public void testTransferBlocking() throws Exception
+    {
+        testTransferInOrder(WaitStrategy.BLOCKING);
+    }
+
+
+    @Test
+    public void testNonBlockingTransfer() throws Exception
+    {
+        var queue = createQueue(3, WaitStrategy.BLOCKING);
+        assertFalse(queue.transferData(false));
+
+        src.assignNewDataBlock();
+        queue.publishData();
+        assertEquals(1, queue.getQueueDepth());
+        assertTrue(queue.transferData(false));
+        assertFalse(queue.transferData(false));
+    }
+
+
+    @Test
+    public void testRecycleBlocks() throws Exception
+    {
+        var queue = createQueue(4, WaitStrategy.BLOCKING);
+        queue.setRecycleBlocks(true);
+
+        src.assignNewDataBlock();
+        DataBlock blk1 = src.getData();
+        queue.publishData();
+        assertNull(queue.pollFreeBlock(blk1));
+
+        src.setData(blk1.clone());
+        queue.publishData();
+
+        // 1st block is released when consumer gets the 2nd one
+        queue.transferData(true);
+        assertNull(queue.pollFreeBlock(blk1));
+        queue.transferData(true);
+        assertSame(blk1, queue.pollFreeBlock(blk1));
+        assertNull(queue.pollFreeBlock(blk1));
+    }
+}
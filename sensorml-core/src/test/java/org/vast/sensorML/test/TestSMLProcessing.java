@@ -22,8 +22,11 @@ import net.opengis.swe.v20.DataComponent;
 import org.junit.Before;
 import org.junit.Test;
 import org.vast.process.DataConnection;
+import org.vast.process.DataQueue;
 import org.vast.process.ExecutableChainImpl;
+import org.vast.process.IDataConnection;
 import org.vast.process.IProcessExec;
+import org.vast.process.RingBufferDataQueue;
 import org.vast.sensorML.AbstractProcessImpl;
 import org.vast.sensorML.ProcessLoader;
 import org.vast.sensorML.SMLException;
@@ -119,6 +122,33 @@ public class TestSMLProcessing
     }
     
     
+    @Test
+    public void testConnectionTypes() throws Exception
+    {
+        SWEHelper fac = new SWEHelper();
+        
+        ExecutableChainImpl chain = new ExecutableChainImpl(true);
+        chain.getInputList().add("in", fac.newQuantity());
+        IProcessExec p0 = chain.addProcess("p0", new AffineTransform1D_Process());
+        IProcessExec p1 = chain.addProcess("p1", new AffineTransform1D_Process());
+        IProcessExec p2 = chain.addProcess("p2", new AffineTransform1D_Process());
+        
+        // unbounded queue by default
+        IDataConnection conn = chain.connect(chain, chain.getInputList().getComponent("in"), p0, p0.getInputList().getComponent("x"));
+        assertEquals(DataQueue.class, conn.getClass());
+        
+        // ring buffer with default capacity once enabled
+        chain.setRingBufferOptions(RingBufferDataQueue.WaitStrategy.BLOCKING, false);
+        conn = chain.connect(p0, p0.getOutputList().getComponent("y"), p1, p1.getInputList().getComponent("x"));
+        assertEquals(RingBufferDataQueue.class, conn.getClass());
+        
+        // other overflow policies need a regular queue
+        chain.setQueueOptions(10, DataQueue.OverflowPolicy.DROP_OLDEST);
+        conn = chain.connect(p1, p1.getOutputList().getComponent("y"), p2, p2.getInputList().getComponent("x"));
+        assertEquals(DataQueue.class, conn.getClass());
+    }
+    
+    
     @Test
     public void testCreateAndExecSimpleProcess() throws Exception
     {
@@ -165,6 +195,94 @@ public class TestSMLProcessing
     }
     
     
+    @Test
+    public void testExecChainWithParallelBranches() throws Exception
+    {
+        SWEHelper fac = new SWEHelper();
+        
+        ExecutableChainImpl chain = new ExecutableChainImpl();
+        chain.setParallelBranches(true);
+        chain.getInputList().add("in", fac.newQuantity());
+        
+        // N independent branches with 2 stages each
+        int numBranches = 4;
+        for (int i = 0; i < numBranches; i++)
+        {
+            chain.getOutputList().add("out" + i, fac.newQuantity());
+            IProcessExec p0 = chain.addProcess("affine" + i + "_0", new AffineTransform1D_Process());
+            IProcessExec p1 = chain.addProcess("affine" + i + "_1", new AffineTransform1D_Process());
+            chain.connect(chain, chain.getInputList().getComponent("in"), p0, p0.getInputList().getComponent("x"));
+            chain.connect(p0, p0.getOutputList().getComponent("y"), p1, p1.getInputList().getComponent("x"));
+            chain.connect(p1, p1.getOutputList().getComponent("y"), chain, chain.getOutputList().getComponent("out" + i));
+        }
+        
+        chain.init();
+        for (int i = 0; i < numBranches; i++)
+        {
+            for (int j = 0; j < 2; j++)
+            {
+                IProcessExec p = chain.getChildProcesses().get("affine" + i + "_" + j);
+                p.getParameterList().getComponent("slope").getData().setDoubleValue(i+1);
+                p.getParameterList().getComponent("intercept").getData().setDoubleValue(j);
+            }
+        }
+        
+        for (int k = 0; k < 10; k++)
+        {
+            chain.getInputList().getComponent("in").getData().setDoubleValue(k);
+            chain.execute();
+            
+            for (int i = 0; i < numBranches; i++)
+            {
+                double output = chain.getOutputList().getComponent("out" + i).getData().getDoubleValue();
+                double a = i+1;
+                assertEquals("Invalid output", a*(a*k) + 1, output, 1e-10);
+            }
+        }
+    }
+    
+    
+    @Test
+    public void testExecThreadedChainWithScheduler() throws Exception
+    {
+        SWEHelper fac = new SWEHelper();
+        
+        ExecutableChainImpl chain = new ExecutableChainImpl(true);
+        chain.setUseDataflowScheduler(true);
+        chain.getInputList().add("in", fac.newQuantity());
+        chain.getOutputList().add("out", fac.newQuantity());
+        
+        int numStages = 20;
+        IProcessExec prev = chain;
+        DataComponent prevOutput = chain.getInputList().getComponent("in");
+        for (int i = 0; i < numStages; i++)
+        {
+            IProcessExec p = chain.addProcess("affine" + i, new AffineTransform1D_Process());
+            chain.connect(prev, prevOutput, p, p.getInputList().getComponent("x"));
+            prev = p;
+            prevOutput = p.getOutputList().getComponent("y");
+        }
+        chain.connect(prev, prevOutput, chain, chain.getOutputList().getComponent("out"));
+        
+        chain.init();
+        for (IProcessExec p: chain.getChildProcesses().values())
+        {
+            p.getParameterList().getComponent("slope").getData().setDoubleValue(1.0);
+            p.getParameterList().getComponent("intercept").getData().setDoubleValue(1.0);
+        }
+        
+        for (int i = 0; i < 100; i++)
+        {
+            chain.getInputList().getComponent("in").getData().setDoubleValue(i);
+            chain.execute();
+            double output = chain.getOutputList().getComponent("out").getData().getDoubleValue();
+            assertEquals("Invalid output", i + numStages, output, 1e-10);
+        }
+        
+        chain.dispose();
+    }
+    
+    
     @Test
     public void testReadSimpleProcessPortsDefined() throws Exception
     {
@@ -0,0 +1,185 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.fast.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.vast.swe.fast.AbstractDataParser;
+import org.vast.swe.fast.AbstractDataWriter;
+import org.vast.util.Asserts;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataComponent;
+import net.opengis.swe.v20.DataEncoding;
+
+
+/**
+ * <p>
+ * Base class for benchmarks of the fast parsers and writers.<br/>
+ * Each benchmark invocation encodes or decodes {@value #NUM_RECORDS} records
+ * so the reported throughput is in records/s. When run with the GC profiler
+ * (as done by the 'jmh' gradle task), gc.alloc.rate.norm gives the number of
+ * bytes allocated per record.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(AbstractCodecBenchmark.NUM_RECORDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class AbstractCodecBenchmark
+{
+    public static final int NUM_RECORDS = 100;
+
+    @Param
+    RecordStructure structure;
+
+    @Param({"false", "true"})
+    boolean compileTree;
+
+    DataComponent dataStruct;
+    DataEncoding dataEncoding;
+    DataBlock[] records;
+    byte[] encodedRecords;
+    AbstractDataParser parser;
+    AbstractDataWriter writer;
+    ByteArrayOutputStream os;
+
+
+    protected abstract DataEncoding createEncoding(DataComponent dataStruct);
+
+
+    protected abstract AbstractDataParser createParser();
+
+
+    protected abstract AbstractDataWriter createWriter();
+
+
+    /*
+     * Override to wrap all records in a single stream wrapper
+     * (e.g. JSON array) as is done when serving multiple records
+     */
+    protected boolean hasStreamWrapper()
+    {
+        return false;
+    }
+
+
+    @Setup
+    public void setup() throws IOException
+    {
+        dataStruct = structure.createStructure();
+        dataEncoding = createEncoding(dataStruct);
+
+        records = new DataBlock[NUM_RECORDS];
+        for (int i = 0; i < NUM_RECORDS; i++)
+            records[i] = structure.createRecord(dataStruct, i);
+
+        // writer and output buffer are reused by all invocations
+        writer = createWriter();
+        writer.setDataComponents(dataStruct);
+        writer.setDataEncoding(dataEncoding);
+        writer.setCompileProcessorTree(compileTree);
+        os = new ByteArrayOutputStream(1024*1024);
+        writer.setOutput(os);
+
+        // pre-encode records for parser benchmarks
+        writeRecords();
+        encodedRecords = os.toByteArray();
+
+        parser = createParser();
+        parser.setDataComponents(dataStruct);
+        parser.setDataEncoding(dataEncoding);
+        parser.setCompileProcessorTree(compileTree);
+        parser.setRenewDataBlock(true);
+
+        // check that we can read back what we wrote
+        var parsedRecords = parseRecords(null);
+        for (int i = 0; i < NUM_RECORDS; i++)
+        {
+            Asserts.checkState(records[i].getAtomCount() == parsedRecords[i].getAtomCount(),
+                "Record #" + i + " wasn't properly decoded");
+        }
+    }
+
+
+    protected void writeRecords() throws IOException
+    {
+        os.reset();
+        writer.startStream(hasStreamWrapper());
+        for (var rec: records)
+            writer.write(rec);
+        writer.endStream();
+        writer.flush();
+    }
+
+
+    protected DataBlock[] parseRecords(Blackhole bh) throws IOException
+    {
+        var parsedRecords = bh == null ? new DataBlock[NUM_RECORDS] : null;
+
+        parser.setInput(new ByteArrayInputStream(encodedRecords));
+
+        // reset so that the stream wrapper is consumed again by init()
+        if (hasStreamWrapper())
+            parser.reset();
+
+        // we don't read past the last record so the parser can be reused
+        for (int i = 0; i < NUM_RECORDS; i++)
+        {
+            var rec = parser.parseNextBlock();
+            if (bh != null)
+                bh.consume(rec);
+            else
+                parsedRecords[i] = rec;
+        }
+
+        return parsedRecords;
+    }
+
+
+    @Benchmark
+    public void parse(Blackhole bh) throws IOException
+    {
+        parseRecords(bh);
+    }
+
+
+    @Benchmark
+    public void write(Blackhole bh) throws IOException
+    {
+        writeRecords();
+        bh.consume(os.size());
+    }
+}
@@ -0,0 +1,71 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.fast.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+import org.vast.swe.SWEHelper;
+import org.vast.swe.fast.AbstractDataParser;
+import org.vast.swe.fast.AbstractDataWriter;
+import org.vast.swe.fast.BinaryDataParser;
+import org.vast.swe.fast.BinaryDataWriter;
+import net.opengis.swe.v20.DataComponent;
+import net.opengis.swe.v20.DataEncoding;
+
+
+/**
+ * <p>
+ * Benchmarks of the fast binary parser and writer, using the default
+ * binary encoding of each record structure. Parsing is measured both from
+ * an input stream and directly from a byte buffer.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class BinaryCodecBenchmark extends AbstractCodecBenchmark
+{
+
+    @Override
+    protected DataEncoding createEncoding(DataComponent dataStruct)
+    {
+        return SWEHelper.getDefaultBinaryEncoding(dataStruct);
+    }
+
+
+    @Override
+    protected AbstractDataParser createParser()
+    {
+        return new BinaryDataParser();
+    }
+
+
+    @Override
+    protected AbstractDataWriter createWriter()
+    {
+        return new BinaryDataWriter();
+    }
+
+
+    @Benchmark
+    public void parseByteBuffer(Blackhole bh) throws IOException
+    {
+        ((BinaryDataParser)parser).setInput(ByteBuffer.wrap(encodedRecords));
+        for (int i = 0; i < NUM_RECORDS; i++)
+            bh.consume(parser.parseNextBlock());
+    }
+}
@@ -0,0 +1,66 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.fast.benchmarks;
+
+import org.vast.data.JSONEncodingImpl;
+import org.vast.swe.fast.AbstractDataParser;
+import org.vast.swe.fast.AbstractDataWriter;
+import org.vast.swe.fast.JsonDataParserUtf8;
+import org.vast.swe.fast.JsonDataWriterUtf8;
+import net.opengis.swe.v20.DataComponent;
+import net.opengis.swe.v20.DataEncoding;
+
+
+/**
+ * <p>
+ * Benchmarks of the UTF-8 byte level JSON writer and parser, with records
+ * encoded as JSON objects and wrapped in a JSON array.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class JsonUtf8CodecBenchmark extends AbstractCodecBenchmark
+{
+
+    @Override
+    protected DataEncoding createEncoding(DataComponent dataStruct)
+    {
+        return new JSONEncodingImpl();
+    }
+
+
+    @Override
+    protected AbstractDataParser createParser()
+    {
+        var parser = new JsonDataParserUtf8();
+        parser.setHasArrayWrapper();
+        return parser;
+    }
+
+
+    @Override
+    protected AbstractDataWriter createWriter()
+    {
+        return new JsonDataWriterUtf8();
+    }
+
+
+    @Override
+    protected boolean hasStreamWrapper()
+    {
+        return true;
+    }
+}
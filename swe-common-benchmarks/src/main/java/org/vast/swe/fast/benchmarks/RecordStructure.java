@@ -0,0 +1,259 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.fast.benchmarks;
+
+import org.vast.swe.SWEHelper;
+import org.vast.swe.helper.GeoPosHelper;
+import org.vast.swe.helper.RasterHelper;
+import net.opengis.swe.v20.Count;
+import net.opengis.swe.v20.DataArray;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataChoice;
+import net.opengis.swe.v20.DataComponent;
+import net.opengis.swe.v20.DataType;
+
+
+/**
+ * <p>
+ * Representative record structures used by the codec benchmarks, together
+ * with a deterministic generator of sample records for each of them.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public enum RecordStructure
+{
+    /**
+     * Small flat record with scalars of all basic types
+     */
+    SCALARS
+    {
+        @Override
+        public DataComponent createStructure()
+        {
+            SWEHelper fac = new SWEHelper();
+            return fac.createRecord()
+                .name("weather")
+                .addSamplingTimeIsoUTC("time")
+                .addField("temperature", fac.createQuantity().uomCode("Cel"))
+                .addField("pressure", fac.createQuantity().uomCode("hPa"))
+                .addField("windSpeed", fac.createQuantity().uomCode("m/s"))
+                .addField("windDir", fac.createQuantity().uomCode("deg"))
+                .addField("rainCount", fac.createCount())
+                .addField("heaterOn", fac.createBoolean())
+                .addField("status", fac.createCategory())
+                .addField("stationId", fac.createText())
+                .build();
+        }
+
+        @Override
+        public DataBlock createRecord(DataComponent struct, int recordNum)
+        {
+            DataBlock rec = struct.createDataBlock();
+            int i = 0;
+            rec.setDoubleValue(i++, BASE_TIME + recordNum * 0.1);
+            rec.setDoubleValue(i++, 20.0 + (recordNum % 100) * 0.13);
+            rec.setDoubleValue(i++, 1013.25 - (recordNum % 50) * 0.7);
+            rec.setDoubleValue(i++, (recordNum % 30) * 0.51);
+            rec.setDoubleValue(i++, (recordNum * 7) % 360);
+            rec.setIntValue(i++, recordNum % 1000);
+            rec.setBooleanValue(i++, recordNum % 2 == 0);
+            rec.setStringValue(i++, recordNum % 10 == 0 ? "FAULT" : "OK");
+            rec.setStringValue(i++, "station-" + (recordNum % 8));
+            return rec;
+        }
+    },
+
+
+    /**
+     * Navigation record made of several nested vectors
+     */
+    NESTED_VECTORS
+    {
+        @Override
+        public DataComponent createStructure()
+        {
+            GeoPosHelper fac = new GeoPosHelper();
+            return fac.createRecord()
+                .name("nav")
+                .addSamplingTimeIsoUTC("time")
+                .addField("location", fac.createLocationVectorLLA())
+                .addField("attitude", fac.createQuatOrientationNED())
+                .addField("velocity", fac.createVelocityVectorNED("m/s"))
+                .build();
+        }
+
+        @Override
+        public DataBlock createRecord(DataComponent struct, int recordNum)
+        {
+            DataBlock rec = struct.createDataBlock();
+            int i = 0;
+            rec.setDoubleValue(i++, BASE_TIME + recordNum * 0.01);
+
+            // lat, lon, alt
+            rec.setDoubleValue(i++, 34.7304 + recordNum * 1e-6);
+            rec.setDoubleValue(i++, -86.5861 - recordNum * 1e-6);
+            rec.setDoubleValue(i++, 193.5 + (recordNum % 100) * 0.1);
+
+            // quaternion
+            rec.setDoubleValue(i++, 0.7071);
+            rec.setDoubleValue(i++, 0.0012 * (recordNum % 10));
+            rec.setDoubleValue(i++, -0.0021);
+            rec.setDoubleValue(i++, 0.7071);
+
+            // velocity
+            rec.setDoubleValue(i++, 12.3);
+            rec.setDoubleValue(i++, -4.56 + (recordNum % 10) * 0.01);
+            rec.setDoubleValue(i++, 0.05);
+            return rec;
+        }
+    },
+
+
+    /**
+     * Record containing a variable size array of 2D points
+     */
+    VAR_SIZE_ARRAY
+    {
+        @Override
+        public DataComponent createStructure()
+        {
+            GeoPosHelper fac = new GeoPosHelper();
+            Count sizeField;
+            return fac.createRecord()
+                .name("track")
+                .addSamplingTimeIsoUTC("time")
+                .addField("numPoints", sizeField = fac.createCount()
+                    .id("NUM_POINTS")
+                    .build())
+                .addField("points", fac.createArray()
+                    .withSizeComponent(sizeField)
+                    .withElement("point", fac.createLocationVectorLatLon()))
+                .build();
+        }
+
+        @Override
+        public DataBlock createRecord(DataComponent struct, int recordNum)
+        {
+            int arraySize = 1 + recordNum % MAX_ARRAY_SIZE;
+            ((DataArray)struct.getComponent("points")).updateSize(arraySize);
+            DataBlock rec = struct.createDataBlock();
+
+            int i = 0;
+            rec.setDoubleValue(i++, BASE_TIME + recordNum);
+            rec.setIntValue(i++, arraySize);
+            for (int p = 0; p < arraySize; p++)
+            {
+                rec.setDoubleValue(i++, 34.7304 + p * 1e-4);
+                rec.setDoubleValue(i++, -86.5861 + p * 1e-4);
+            }
+            return rec;
+        }
+    },
+
+
+    /**
+     * Choice of two different message types
+     */
+    CHOICE
+    {
+        @Override
+        public DataComponent createStructure()
+        {
+            GeoPosHelper fac = new GeoPosHelper();
+            return fac.createChoice()
+                .name("message")
+                .addItem("temp", fac.createRecord()
+                    .addSamplingTimeIsoUTC("time")
+                    .addField("value", fac.createQuantity().uomCode("Cel")))
+                .addItem("pos", fac.createRecord()
+                    .addSamplingTimeIsoUTC("time")
+                    .addField("location", fac.createLocationVectorLLA()))
+                .build();
+        }
+
+        @Override
+        public DataBlock createRecord(DataComponent struct, int recordNum)
+        {
+            int selected = recordNum % 2;
+            ((DataChoice)struct).setSelectedItem(selected);
+            DataBlock rec = struct.createDataBlock();
+
+            int i = 1;
+            rec.setDoubleValue(i++, BASE_TIME + recordNum);
+            if (selected == 0)
+            {
+                rec.setDoubleValue(i++, 21.5 + (recordNum % 20) * 0.1);
+            }
+            else
+            {
+                rec.setDoubleValue(i++, 34.7304 + recordNum * 1e-6);
+                rec.setDoubleValue(i++, -86.5861 - recordNum * 1e-6);
+                rec.setDoubleValue(i++, 193.5);
+            }
+            return rec;
+        }
+    },
+
+
+    /**
+     * Timestamped RGB raster frame with 8-bit samples
+     */
+    RASTER
+    {
+        @Override
+        public DataComponent createStructure()
+        {
+            RasterHelper fac = new RasterHelper();
+            return fac.createRecord()
+                .name("video")
+                .addSamplingTimeIsoUTC("time")
+                .addField("img", fac.newRgbImage(RASTER_WIDTH, RASTER_HEIGHT, DataType.BYTE))
+                .build();
+        }
+
+        @Override
+        public DataBlock createRecord(DataComponent struct, int recordNum)
+        {
+            DataBlock rec = struct.createDataBlock();
+            rec.setDoubleValue(0, BASE_TIME + recordNum / 30.0);
+            for (int i = 1; i < rec.getAtomCount(); i++)
+                rec.setByteValue(i, (byte)((i + recordNum) & 0x7F));
+            return rec;
+        }
+    };
+
+
+    static final double BASE_TIME = 1.7e9;
+    static final int MAX_ARRAY_SIZE = 32;
+    static final int RASTER_WIDTH = 32;
+    static final int RASTER_HEIGHT = 24;
+
+
+    /**
+     * @return A new instance of the record structure
+     */
+    public abstract DataComponent createStructure();
+
+
+    /**
+     * Generates a sample record
+     * @param struct Structure previously obtained from {@link #createStructure()}
+     * @param recordNum Record number, used to vary field values
+     * @return The new data block
+     */
+    public abstract DataBlock createRecord(DataComponent struct, int recordNum);
+}
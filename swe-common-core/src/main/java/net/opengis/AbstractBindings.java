@@ -37,6 +37,7 @@ public abstract class AbstractBindings
     
     StringBuilder sb = new StringBuilder();
     DateTimeFormat isoFormat = new DateTimeFormat();
+    protected CoordinateListCodec coordinateCodec = new CoordinateListCodec();
     
             
     public AbstractBindings()
@@ -173,11 +174,7 @@ public abstract class AbstractBindings
     
     protected double[] getDoubleArrayFromString(String val)
     {
-        String[] items = val.trim().split(" ");
-        double[] ret = new double[items.length];
-        for (int i=0; i<items.length; i++)
-            ret[i] = getDoubleFromString(items[i]);
-        return ret;
+        return coordinateCodec.parse(val);
     }
     
     
@@ -399,12 +396,6 @@ public abstract class AbstractBindings
     }
     
     
-    protected String getCoordinateStringValue(double[] coords)
-    {
-        return getStringValue(coords);
-    }
-
-
     protected String getStringValue(String[] array)
     {
         sb.setLength(0);
@@ -170,6 +170,26 @@ public abstract class AbstractXMLStreamBindings extends AbstractBindings
     }
     
     
+    /**
+     * Reads the list of coordinates contained in the current element
+     * without creating intermediate String objects
+     */
+    protected double[] readCoordinates(XMLStreamReader reader) throws XMLStreamException
+    {
+        return coordinateCodec.read(reader);
+    }
+    
+    
+    /**
+     * Writes a list of coordinates as the text content of the current element
+     * without creating intermediate String objects
+     */
+    protected void writeCoordinates(XMLStreamWriter writer, double[] coords) throws XMLStreamException
+    {
+        coordinateCodec.write(writer, coords);
+    }
+    
+    
     protected final String errorLocationString(XMLStreamReader reader) throws XMLStreamException
     {
         Location loc = reader.getLocation();
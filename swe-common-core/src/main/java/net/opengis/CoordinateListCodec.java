@@ -0,0 +1,320 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package net.opengis;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import org.vast.util.NumberFormatter;
+import org.vast.util.NumberParser;
+import gnu.trove.list.TDoubleList;
+import gnu.trove.list.array.TDoubleArrayList;
+
+
+/**
+ * <p>
+ * Codec for lists of whitespace separated numbers such as GML coordinate
+ * lists (pos, posList, lowerCorner, etc.).<br/>
+ * Values are parsed directly from the characters provided by the XML stream
+ * reader and written from a reusable character buffer, so no String is
+ * created for individual values.<br/>
+ * Infinite values are encoded as INF and -INF, like in other bindings.
+ * This class is not thread safe.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class CoordinateListCodec
+{
+    static final int WRITE_BUFFER_SIZE = 4096;
+
+    TDoubleArrayList values = new TDoubleArrayList(64);
+    char[] token = new char[64];
+    int tokenLen;
+    char[] textBuf = new char[256];
+    char[] writeBuf = new char[WRITE_BUFFER_SIZE];
+    NumberFormatter formatter = new NumberFormatter();
+    int maxFractionDigits;
+
+
+    /**
+     * Creates a codec writing values with the shortest decimal
+     * representation that parses back to the same value
+     */
+    public CoordinateListCodec()
+    {
+        this(-1);
+    }
+
+
+    /**
+     * Creates a codec writing values rounded to the given number of fraction
+     * digits, without trailing zeros (same as DecimalFormat pattern "0.##...")
+     * @param maxFractionDigits max number of digits after the decimal point,
+     * or a negative value to use the shortest representation
+     */
+    public CoordinateListCodec(int maxFractionDigits)
+    {
+        this.maxFractionDigits = maxFractionDigits;
+    }
+
+
+    /**
+     * Reads all numbers contained in the text of the current element.<br/>
+     * The reader must be positioned on the START_ELEMENT event and is left
+     * on the corresponding END_ELEMENT event, like with
+     * {@link XMLStreamReader#getElementText()}
+     * @param reader XML stream reader
+     * @return array of values (empty if the element has no content)
+     * @throws XMLStreamException if the element contains child elements
+     * @throws NumberFormatException if one of the values is not a valid number
+     */
+    public double[] read(XMLStreamReader reader) throws XMLStreamException
+    {
+        values.clearQuick();
+        read(reader, values);
+        return values.toArray();
+    }
+
+
+    /**
+     * Reads all numbers contained in the text of the current element and
+     * appends them to the provided list
+     * @param reader XML stream reader positioned on the START_ELEMENT event
+     * @param coords list to append values to
+     * @throws XMLStreamException if the element contains child elements
+     * @throws NumberFormatException if one of the values is not a valid number
+     */
+    public void read(XMLStreamReader reader, TDoubleList coords) throws XMLStreamException
+    {
+        if (reader.getEventType() != XMLStreamConstants.START_ELEMENT)
+            throw new XMLStreamException("Reader must be on a START_ELEMENT event", reader.getLocation());
+
+        tokenLen = 0;
+        int eventType = reader.next();
+        while (eventType != XMLStreamConstants.END_ELEMENT)
+        {
+            switch (eventType)
+            {
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    parse(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength(), coords);
+                    break;
+
+                case XMLStreamConstants.ENTITY_REFERENCE:
+                    String text = reader.getText();
+                    parse(text.toCharArray(), 0, text.length(), coords);
+                    break;
+
+                case XMLStreamConstants.COMMENT:
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    break;
+
+                case XMLStreamConstants.END_DOCUMENT:
+                    throw new XMLStreamException("Unexpected end of document while reading coordinates", reader.getLocation());
+
+                default:
+                    throw new XMLStreamException("Coordinate list cannot contain child elements", reader.getLocation());
+            }
+
+            eventType = reader.next();
+        }
+
+        endOfText(coords);
+    }
+
+
+    /**
+     * Parses all numbers contained in a String
+     * @param val whitespace separated list of numbers
+     * @return array of values (empty if the String contains only whitespaces)
+     * @throws NumberFormatException if one of the values is not a valid number
+     */
+    public double[] parse(String val)
+    {
+        int len = val.length();
+        if (len > textBuf.length)
+            textBuf = new char[Math.max(len, textBuf.length*2)];
+        val.getChars(0, len, textBuf, 0);
+
+        values.clearQuick();
+        tokenLen = 0;
+        parse(textBuf, 0, len, values);
+        endOfText(values);
+        return values.toArray();
+    }
+
+
+    /*
+     * Parses values from a chunk of text.
+     * A value can be split across chunks, in which case its first characters
+     * are kept in the token buffer until the next whitespace is found
+     */
+    protected void parse(char[] text, int start, int length, TDoubleList coords)
+    {
+        int end = start + length;
+        int i = start;
+
+        while (i < end)
+        {
+            if (tokenLen == 0)
+            {
+                while (i < end && isWhitespace(text[i]))
+                    i++;
+                if (i == end)
+                    return;
+            }
+
+            int tokenStart = i;
+            while (i < end && !isWhitespace(text[i]))
+                i++;
+
+            if (i == end)
+            {
+                // value may continue in next chunk
+                appendToken(text, tokenStart, i);
+            }
+            else if (tokenLen == 0)
+            {
+                coords.add(parseValue(text, tokenStart, i));
+            }
+            else
+            {
+                appendToken(text, tokenStart, i);
+                coords.add(parseValue(token, 0, tokenLen));
+                tokenLen = 0;
+            }
+        }
+    }
+
+
+    protected void endOfText(TDoubleList coords)
+    {
+        if (tokenLen > 0)
+        {
+            coords.add(parseValue(token, 0, tokenLen));
+            tokenLen = 0;
+        }
+    }
+
+
+    protected void appendToken(char[] text, int start, int end)
+    {
+        int len = end - start;
+        if (tokenLen + len > token.length)
+        {
+            char[] newToken = new char[Math.max(tokenLen + len, token.length*2)];
+            System.arraycopy(token, 0, newToken, 0, tokenLen);
+            token = newToken;
+        }
+
+        System.arraycopy(text, start, token, tokenLen, len);
+        tokenLen += len;
+    }
+
+
+    protected double parseValue(char[] buf, int start, int end)
+    {
+        int len = end - start;
+        if (buf[end-1] == 'F' && (len == 3 || len == 4) && buf[end-3] == 'I' && buf[end-2] == 'N')
+        {
+            if (len == 3 || buf[start] == '+')
+                return Double.POSITIVE_INFINITY;
+            if (buf[start] == '-')
+                return Double.NEGATIVE_INFINITY;
+        }
+
+        return NumberParser.parseDouble(buf, start, end);
+    }
+
+
+    protected static boolean isWhitespace(char c)
+    {
+        return c == ' ' || c == '\n' || c == '\t' || c == '\r';
+    }
+
+
+    /**
+     * Writes values separated by spaces as the text content of the current element
+     * @param writer XML stream writer
+     * @param coords values to write
+     * @throws XMLStreamException if an error occurs while writing
+     */
+    public void write(XMLStreamWriter writer, double[] coords) throws XMLStreamException
+    {
+        int pos = 0;
+
+        for (int i = 0; i < coords.length; i++)
+        {
+            int len = format(coords[i]);
+            if (pos + len + 1 > writeBuf.length)
+            {
+                writer.writeCharacters(writeBuf, 0, pos);
+                pos = 0;
+            }
+
+            if (i > 0)
+                writeBuf[pos++] = ' ';
+            System.arraycopy(formatter.getBuffer(), 0, writeBuf, pos, len);
+            pos += len;
+        }
+
+        if (pos > 0)
+            writer.writeCharacters(writeBuf, 0, pos);
+    }
+
+
+    /*
+     * Formats a single value to the formatter buffer
+     * and returns the number of characters written
+     */
+    protected int format(double val)
+    {
+        char[] buf = formatter.getBuffer();
+
+        if (Double.isNaN(val))
+            return formatter.formatDouble(val);
+
+        if (val == Double.POSITIVE_INFINITY)
+        {
+            buf[0] = 'I';
+            buf[1] = 'N';
+            buf[2] = 'F';
+            return 3;
+        }
+
+        if (val == Double.NEGATIVE_INFINITY)
+        {
+            buf[0] = '-';
+            buf[1] = 'I';
+            buf[2] = 'N';
+            buf[3] = 'F';
+            return 4;
+        }
+
+        if (maxFractionDigits < 0)
+            return formatter.formatDouble(val);
+
+        // remove trailing .0 added by formatFixed
+        int len = formatter.formatFixed(val, maxFractionDigits);
+        buf = formatter.getBuffer();
+        if (len > 2 && buf[len-2] == '.' && buf[len-1] == '0')
+            len -= 2;
+        return len;
+    }
+}
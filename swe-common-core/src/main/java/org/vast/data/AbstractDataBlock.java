@@ -22,6 +22,7 @@ public abstract class AbstractDataBlock implements DataBlock
 	private static final long serialVersionUID = -1767089410818419892L;
     protected int atomCount;
 	protected int startIndex = 0;
+	transient volatile int pooled; // 1 while held in a DataBlockPool
 	
 	
     /**
@@ -63,6 +63,18 @@ public abstract class AbstractRangeComponentImpl extends AbstractSimpleComponent
     protected void updateStartIndex(int startIndex)
     {
         dataBlock.startIndex = startIndex;
+        
+        // also update children if they share the same block
+        if (dataBlock instanceof DataBlockParallel)
+        {
+            min.updateStartIndex(startIndex);
+            max.updateStartIndex(startIndex);
+        }
+        else if (!(dataBlock instanceof DataBlockMixed || dataBlock instanceof DataBlockTuple) && min.dataBlock != null)
+        {
+            min.updateStartIndex(startIndex);
+            max.updateStartIndex(startIndex + 1);
+        }
     }
         
     
@@ -84,7 +84,13 @@ public abstract class AbstractRecordImpl<ComponentType extends DataComponent> ex
     protected void updateAtomCount(int childAtomCountDiff)
     {
         if (dataBlock != null)
+        {
             dataBlock.atomCount += childAtomCountDiff;
+            
+            // child block offsets have changed
+            if (dataBlock instanceof DataBlockMixed)
+                ((DataBlockMixed)dataBlock).blockOffsets = null;
+        }
         
         if (parent != null)
             parent.updateAtomCount(childAtomCountDiff);
@@ -223,6 +229,7 @@ public abstract class AbstractRecordImpl<ComponentType extends DataComponent> ex
         AbstractDataComponentImpl nextComponent;
         boolean sameType = true;
         boolean allScalars = true;
+        boolean allFixed = true;
         int totalSize = 0;        
         
     	// create a mixed block with all children block
@@ -252,25 +259,41 @@ public abstract class AbstractRecordImpl<ComponentType extends DataComponent> ex
                 if (i != 0 && (currentType != previousType))
                     sameType = false;
             }
+            
+            if (!canPack(nextComponent, nextBlock))
+                allFixed = false;
         	
         	previousType = currentType;
         }
         
-        // if we want to keep compressed data as-is
-        // TODO improve dealing with compressed data
-        if (encodingInfo != null && ((BinaryBlock)encodingInfo).getCompression() != null) // && keepCompressed)
-        {
-            newBlock = new DataBlockCompressed();
-            newBlock.atomCount = totalSize;
-        }
-        
         // if everything was of same type, create a big shared primitive block
-        else if (nextBlock != null && allScalars && sameType)
+        if (nextBlock != null && allScalars && sameType)
         {
         	newBlock = nextBlock.copy();
         	newBlock.resize(totalSize);
         }
         
+        // if structure has no variable size part, pack all scalars in a
+        // single primitive block or in a single buffer if types are mixed
+        else if (nextBlock != null && allFixed)
+        {
+            List<DataType> types = new ArrayList<>(totalSize);
+            for (int i=0; i<childNumber; i++)
+            {
+                AbstractDataBlock childBlock = mixedBlock.blockArray[i];
+                for (int j=0; j<childBlock.atomCount; j++)
+                    types.add(childBlock.getDataType(j));
+            }
+            
+            if (new HashSet<>(types).size() == 1)
+            {
+                newBlock = nextBlock.copy();
+                newBlock.resize(totalSize);
+            }
+            else
+                newBlock = new DataBlockPacked(new DataBlockPacked.Layout(types), 1);
+        }
+        
         // otherwise if only scalars, use DataBlockTuple or PrimitiveBlock
         else if (allScalars)
         {
@@ -313,11 +336,36 @@ public abstract class AbstractRecordImpl<ComponentType extends DataComponent> ex
         }
         
         newBlock.startIndex = 0;
+        
+        // if we want to keep compressed data as-is, wrap uncompressed
+        // block so it can be decompressed lazily
+        if (encodingInfo != null && ((BinaryBlock)encodingInfo).getCompression() != null)
+            newBlock = new DataBlockCompressed(((BinaryBlock)encodingInfo).getCompression(), newBlock);
+        
         scalarCount = totalSize;
         return newBlock;
     }
     
     
+    /*
+     * Check if data of child component has a fixed size and can be
+     * stored in a packed data block
+     */
+    protected static boolean canPack(AbstractDataComponentImpl component, AbstractDataBlock block)
+    {
+        if (component instanceof DataArrayImpl && ((DataArrayImpl)component).isVariableSize())
+            return false;
+        
+        if (block instanceof DataBlockPacked)
+            return true;
+        
+        if (block instanceof DataBlockCompressed || block.atomCount == 0)
+            return false;
+        
+        return DataBlockPacked.getByteSize(block.getDataType()) >= 0;
+    }
+    
+    
     /**
      * Specific to DataRecord and used by ProcessChain
      * Allows to combine child blocks into one mixed block
@@ -299,6 +299,7 @@ public class DataArrayImpl extends AbstractArrayImpl
      * Create the right data block to carry this array data
      * It can be either a scalar array (DataBlockDouble, etc...)
      * or a group of mixed types parallel arrays (DataBlockMixed)
+     * or a single buffer of fixed size records (DataBlockPacked)
      */
     @Override
     public AbstractDataBlock createDataBlock()
@@ -310,21 +311,20 @@ public class DataArrayImpl extends AbstractArrayImpl
         
     	if (arraySize >= 0)
     	{
-    	    // if we want to keep compressed data as-is
-            // TODO improve dealing with compressed data
-            if (encodingInfo != null && ((BinaryBlock)encodingInfo).getCompression() != null) // && keepCompressed)
-            {
-                newBlock = new DataBlockCompressed();
-                newSize = childBlock.atomCount * arraySize;
-            }
-            
     	    // if child is parallel block, create bigger parallel block
-            else if (childBlock instanceof DataBlockParallel)
+            if (childBlock instanceof DataBlockParallel)
 	        {
 	        	newBlock = childBlock.copy();
                 newSize = childBlock.atomCount * arraySize;
 	        }
             
+            // if child is packed block, create bigger packed block
+            else if (childBlock instanceof DataBlockPacked)
+            {
+                newBlock = childBlock.copy();
+                newSize = childBlock.atomCount * arraySize;
+            }
+            
             // if child is tuple block, create parallel block
             else if (childBlock instanceof DataBlockTuple)
             {
@@ -351,6 +351,12 @@ public class DataArrayImpl extends AbstractArrayImpl
 	        }
 	        
 	        newBlock.resize(newSize);
+	        
+	        // if we want to keep compressed data as-is, wrap uncompressed
+	        // block so it can be decompressed lazily
+	        if (encodingInfo != null && ((BinaryBlock)encodingInfo).getCompression() != null)
+	            newBlock = new DataBlockCompressed(((BinaryBlock)encodingInfo).getCompression(), newBlock);
+	        
 	        scalarCount = newBlock.atomCount;
     	}
         
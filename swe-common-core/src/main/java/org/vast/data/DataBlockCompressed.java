@@ -14,6 +14,9 @@ Copyright (C) 2012-2015 Sensia Software LLC. All Rights Reserved.
 
 package org.vast.data;
 
+import java.io.IOException;
+import org.vast.swe.CodecLookup;
+import org.vast.swe.IBlockCodec;
 import net.opengis.swe.v20.DataBlock;
 import net.opengis.swe.v20.DataType;
 
@@ -24,6 +27,17 @@ import net.opengis.swe.v20.DataType;
  * Data is uncompressed on the fly when one of the get methods is called, and
  * set Methods are not implemented.<br/>
  * All data is casted to the correct types when requested.
+ * </p><p>
+ * Decompression is done with the block codec registered for the compression
+ * type (see {@link CodecLookup}), into a data block created from the structure
+ * of the uncompressed data. The decoded block is cached until {@link #release()}
+ * is called so large blocks can be kept compressed in memory until they are
+ * actually accessed.
+ * </p><p>
+ * Copies of a block (e.g. the ones assigned to the fields of a record) share
+ * the same decoded data, so the compressed bytes are decoded only once and
+ * released for all copies at the same time. Values are read at the offset
+ * of each copy in the decoded data.
  * </p>
  *
  * @author Alex Robin
@@ -33,8 +47,28 @@ public class DataBlockCompressed extends AbstractDataBlock
 {
 	private static final long serialVersionUID = 2808433335202338950L;
     protected byte[] compressedData;
-    protected DataBlock uncompressedData;
+    protected transient DecodedData decoded;
     protected int compressionType;
+    protected String compression;
+    protected AbstractDataBlock uncompressedStructure;
+    protected transient IBlockCodec codec;
+    
+    
+    /*
+     * Decoded content of the compressed bytes, shared by all copies of a block.
+     * The atom count is the one of the whole block, since copies can only
+     * cover part of it.
+     */
+    protected static class DecodedData
+    {
+        final int atomCount;
+        volatile DataBlock data;
+        
+        protected DecodedData(int atomCount)
+        {
+            this.atomCount = atomCount;
+        }
+    }
 	
 	
 	public DataBlockCompressed()
@@ -46,14 +80,31 @@ public class DataBlockCompressed extends AbstractDataBlock
 	{
 		this.compressedData = compressedData;
 		this.atomCount = atomCount;
+		this.decoded = new DecodedData(atomCount);
+	}
+	
+	
+	/**
+	 * Creates an empty compressed block
+	 * @param compression compression type, used to lookup the codec
+	 * @param uncompressedStructure data block with the structure of the
+	 * uncompressed data. It is renewed each time data is decompressed.
+	 */
+	public DataBlockCompressed(String compression, AbstractDataBlock uncompressedStructure)
+	{
+	    this.compression = compression;
+	    this.uncompressedStructure = uncompressedStructure;
+	    this.atomCount = uncompressedStructure.atomCount;
+	    this.decoded = new DecodedData(atomCount);
 	}
 	
 	
 	@Override
     public DataBlockCompressed copy()
 	{
-		DataBlockCompressed newBlock = new DataBlockCompressed();
+		DataBlockCompressed newBlock = newBlock();
 		newBlock.compressedData = this.compressedData;
+		newBlock.decoded = this.decoded;
 		newBlock.startIndex = this.startIndex;
 		newBlock.atomCount = this.atomCount;
 		return newBlock;
@@ -63,10 +114,11 @@ public class DataBlockCompressed extends AbstractDataBlock
     @Override
     public DataBlockCompressed renew()
     {
-        DataBlockCompressed newBlock = new DataBlockCompressed();
+        DataBlockCompressed newBlock = newBlock();
         newBlock.compressedData = null;
         newBlock.startIndex = this.startIndex;
         newBlock.atomCount = this.atomCount;
+        newBlock.decoded = new DecodedData(getTotalCount());
         return newBlock;
     }
     
@@ -74,10 +126,23 @@ public class DataBlockCompressed extends AbstractDataBlock
     @Override
     public DataBlockCompressed clone()
     {
-        DataBlockCompressed newBlock = new DataBlockCompressed();
+        DataBlockCompressed newBlock = newBlock();
         if (compressedData != null)
             newBlock.compressedData = this.compressedData.clone();
+        newBlock.startIndex = this.startIndex;
         newBlock.atomCount = this.atomCount;
+        newBlock.decoded = new DecodedData(getTotalCount());
+        return newBlock;
+    }
+    
+    
+    protected DataBlockCompressed newBlock()
+    {
+        DataBlockCompressed newBlock = new DataBlockCompressed();
+        newBlock.compressionType = this.compressionType;
+        newBlock.compression = this.compression;
+        newBlock.uncompressedStructure = this.uncompressedStructure;
+        newBlock.codec = this.codec;
         return newBlock;
     }
     
@@ -92,6 +157,22 @@ public class DataBlockCompressed extends AbstractDataBlock
     {
         this.compressionType = compressionType;
     }
+    
+    
+    /**
+     * @return the compression type used to lookup the codec
+     */
+    public String getCompression()
+    {
+        return compression;
+    }
+    
+    
+    public void setCompression(String compression)
+    {
+        this.compression = compression;
+        this.codec = null;
+    }
 
 
     @Override
@@ -104,13 +185,14 @@ public class DataBlockCompressed extends AbstractDataBlock
     public void setUnderlyingObject(byte[] compressedData)
     {
         this.compressedData = compressedData;
+        this.decoded = new DecodedData(getTotalCount());
     }
     
     
     @Override
     public void setUnderlyingObject(Object obj)
     {
-    	this.compressedData = (byte[])obj;
+    	setUnderlyingObject((byte[])obj);
     }
     
     
@@ -124,17 +206,31 @@ public class DataBlockCompressed extends AbstractDataBlock
     @Override
     public void resize(int size)
     {
-        if (uncompressedData != null)
-            uncompressedData.resize(size);
+        // like primitive blocks, previous content is discarded
+        this.compressedData = null;
         this.atomCount = size;
+        this.decoded = new DecodedData(size);
+    }
+    
+    
+    /*
+     * Number of atoms in the whole compressed block, which is more
+     * than the atom count of copies covering only part of it
+     */
+    protected int getTotalCount()
+    {
+        return decoded != null ? decoded.atomCount : atomCount;
     }
 	
 	
 	@Override
     public DataType getDataType()
 	{
-	    if (uncompressedData != null)
-	        return uncompressedData.getDataType();
+	    DataBlock data = decoded != null ? decoded.data : null;
+	    if (data != null)
+	        return data.getDataType();
+	    if (uncompressedStructure != null)
+	        return uncompressedStructure.getDataType();
 	    return DataType.MIXED;
 	}
 
@@ -142,8 +238,11 @@ public class DataBlockCompressed extends AbstractDataBlock
 	@Override
     public DataType getDataType(int index)
 	{
-	    if (uncompressedData != null)
-            return uncompressedData.getDataType(index);
+	    DataBlock data = decoded != null ? decoded.data : null;
+	    if (data != null)
+            return data.getDataType(startIndex + index);
+	    if (uncompressedStructure != null)
+            return uncompressedStructure.getDataType(startIndex + index);
         return DataType.MIXED;
 	}
 	
@@ -151,137 +250,226 @@ public class DataBlockCompressed extends AbstractDataBlock
 	@Override
     public final boolean getBooleanValue(int index)
     {
-        ensureUncompressed();
-        return uncompressedData.getBooleanValue(index);
+        return ensureUncompressed().getBooleanValue(startIndex + index);
     }
 
 
     @Override
     public final byte getByteValue(int index)
     {
-        ensureUncompressed();
-        return uncompressedData.getByteValue(index);
+        return ensureUncompressed().getByteValue(startIndex + index);
     }
 
 
     @Override
     public final short getShortValue(int index)
     {
-        ensureUncompressed();
-        return uncompressedData.getShortValue(index);
+        return ensureUncompressed().getShortValue(startIndex + index);
     }
 
 
     @Override
     public final int getIntValue(int index)
     {
-        ensureUncompressed();
-        return uncompressedData.getIntValue(index);
+        return ensureUncompressed().getIntValue(startIndex + index);
     }
 
 
     @Override
     public final long getLongValue(int index)
     {
-        ensureUncompressed();
-        return uncompressedData.getLongValue(index);
+        return ensureUncompressed().getLongValue(startIndex + index);
     }
 
 
     @Override
     public final float getFloatValue(int index)
     {
-        ensureUncompressed();
-        return uncompressedData.getFloatValue(index);
+        return ensureUncompressed().getFloatValue(startIndex + index);
     }
 
 
     @Override
     public final double getDoubleValue(int index)
     {
-        ensureUncompressed();
-        return uncompressedData.getDoubleValue(index);
+        return ensureUncompressed().getDoubleValue(startIndex + index);
     }
 
 
     @Override
     public final String getStringValue(int index)
     {
-        ensureUncompressed();
-        return uncompressedData.getStringValue(index);
+        return ensureUncompressed().getStringValue(startIndex + index);
     }
 
 
     @Override
     public final boolean getBooleanValue()
     {
-        ensureUncompressed();
-        return uncompressedData.getBooleanValue();
+        return ensureUncompressed().getBooleanValue(startIndex);
     }
 
 
     @Override
     public final byte getByteValue()
     {
-        ensureUncompressed();
-        return uncompressedData.getByteValue();
+        return ensureUncompressed().getByteValue(startIndex);
     }
 
 
     @Override
     public final short getShortValue()
     {
-        ensureUncompressed();
-        return uncompressedData.getShortValue();
+        return ensureUncompressed().getShortValue(startIndex);
     }
 
 
     @Override
     public final int getIntValue()
     {
-        ensureUncompressed();
-        return uncompressedData.getIntValue();
+        return ensureUncompressed().getIntValue(startIndex);
     }
 
 
     @Override
     public final long getLongValue()
     {
-        ensureUncompressed();
-        return uncompressedData.getLongValue();
+        return ensureUncompressed().getLongValue(startIndex);
     }
 
 
     @Override
     public final float getFloatValue()
     {
-        ensureUncompressed();
-        return uncompressedData.getFloatValue();
+        return ensureUncompressed().getFloatValue(startIndex);
     }
 
 
     @Override
     public final double getDoubleValue()
     {
-        ensureUncompressed();
-        return uncompressedData.getDoubleValue();
+        return ensureUncompressed().getDoubleValue(startIndex);
     }
 
 
     @Override
     public final String getStringValue()
     {
-        ensureUncompressed();
-        return uncompressedData.getStringValue();
+        return ensureUncompressed().getStringValue(startIndex);
     }
 
 
-    public final void ensureUncompressed()
+    /**
+     * Decompresses the data if it is not already cached.<br/>
+     * The decoded block is shared by all copies of this block, and always
+     * contains the whole uncompressed data, regardless of the start index.
+     * @return the uncompressed data block
+     * @throws IllegalStateException if no codec is available or data cannot be decoded
+     */
+    public final DataBlock ensureUncompressed()
+	{
+	    DecodedData decoded = this.decoded;
+	    if (decoded == null)
+	        this.decoded = decoded = new DecodedData(atomCount);
+	    
+	    DataBlock data = decoded.data;
+	    if (data != null)
+	        return data;
+	    
+	    synchronized (decoded)
+	    {
+	        data = decoded.data;
+	        if (data == null) 
+	        {
+    	        if (uncompressedStructure == null)
+    	            throw new IllegalStateException("Structure of uncompressed data is unknown");
+    	        
+    	        data = uncompressedStructure.renew();
+    	        if (data.getAtomCount() != decoded.atomCount)
+    	            data.resize(decoded.atomCount);
+    	        
+    	        // leave values to default if no compressed data was set yet
+    	        if (compressedData != null)
+    	        {
+        	        try
+        	        {
+        	            getCodec().decode(compressedData, data);
+        	        }
+        	        catch (IOException e)
+        	        {
+        	            throw new IllegalStateException("Error decoding " + compression + " data block", e);
+        	        }
+    	        }
+    	        
+    	        decoded.data = data;
+	        }
+	    }
+	    
+	    return data;
+	}
+	
+	
+	/**
+	 * @return the whole uncompressed data block, decompressing it if needed
+	 */
+	public DataBlock getUncompressedData()
+	{
+	    return ensureUncompressed();
+	}
+	
+	
+	/**
+	 * @return true if uncompressed data is currently cached
+	 */
+	public boolean isUncompressed()
+	{
+	    DecodedData decoded = this.decoded;
+	    return decoded != null && decoded.data != null;
+	}
+	
+	
+	/**
+	 * Releases the cached uncompressed data so only the compressed
+	 * bytes are kept in memory. This also releases it for all copies
+	 * of this block.
+	 */
+	public void release()
+	{
+	    DecodedData decoded = this.decoded;
+	    if (decoded != null)
+	        decoded.data = null;
+	}
+	
+	
+	/**
+	 * Compresses the given data and uses it as the new content of this block
+	 * @param data uncompressed data, with the same structure as this block
+	 */
+	public void compress(DataBlock data)
+	{
+	    try
+	    {
+	        this.compressedData = getCodec().encode(data);
+	        this.atomCount = data.getAtomCount();
+	        this.decoded = new DecodedData(atomCount);
+	    }
+	    catch (IOException e)
+	    {
+	        throw new IllegalStateException("Error encoding " + compression + " data block", e);
+	    }
+	}
+	
+	
+	protected IBlockCodec getCodec()
 	{
-	    if (uncompressedData == null) 
+	    if (codec == null)
 	    {
-	        // TODO call correct codec
+	        codec = CodecLookup.getInstance().createBlockCodec(compression);
+	        if (codec == null)
+	            throw new IllegalStateException("No codec available for compression " + compression);
 	    }
+	    
+	    return codec;
 	}
 
 
@@ -14,6 +14,7 @@ Copyright (C) 2012-2015 Sensia Software LLC. All Rights Reserved.
 
 package org.vast.data;
 
+import java.nio.ByteBuffer;
 import net.opengis.swe.v20.DataType;
 
 
@@ -337,4 +338,18 @@ public class DataBlockDouble extends AbstractDataBlock
 	{
 		primitiveArray[startIndex] = Double.parseDouble(value);
 	}
+
+
+    /**
+     * Bulk copies values from the buffer directly into the underlying array.<br/>
+     * The buffer byte order is used and its position is advanced.
+     * @param buf Buffer to read values from
+     * @param index Index of first value to set in this block
+     * @param count Number of values to read
+     */
+    public void readFrom(ByteBuffer buf, int index, int count)
+    {
+        buf.asDoubleBuffer().get(primitiveArray, startIndex + index, count);
+        buf.position(buf.position() + count*8);
+    }
 }
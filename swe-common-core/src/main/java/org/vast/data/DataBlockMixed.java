@@ -23,6 +23,10 @@ import net.opengis.swe.v20.DataType;
  * Uses the composite pattern to carry a fixed size array
  * of mixed types DataBlocks. If dynamic size is needed, use DataBlockList.
  * Children datablocks will be read sequentially.
+ * </p><p>
+ * Child blocks are located using a table of offsets that is recomputed
+ * lazily when the block structure changes, so that read access is
+ * stateless and can be done concurrently by several threads.
  * </p>
  *
  * @author Alex Robin
@@ -31,9 +35,10 @@ public class DataBlockMixed extends AbstractDataBlock
 {
 	private static final long serialVersionUID = 4082289189930783352L;
     protected AbstractDataBlock[] blockArray;
-	protected int blockIndex;
-	protected int localIndex;
-    //protected int lastBlockIndex, lastIndex, lastCumulIndex;
+    
+    // offset of each child block, followed by total atom count
+    // and by this block's atom count when the table was computed
+    protected transient volatile int[] blockOffsets;
 
 
 	public DataBlockMixed()
@@ -121,6 +126,7 @@ public class DataBlockMixed extends AbstractDataBlock
     public void setUnderlyingObject(AbstractDataBlock[] blockArray)
     {
         this.blockArray = blockArray;
+        this.blockOffsets = null;
         updateAtomCount();
     }
     
@@ -135,6 +141,7 @@ public class DataBlockMixed extends AbstractDataBlock
             newAtomCount += block.getAtomCount();
         }
         this.atomCount = newAtomCount;
+        this.blockOffsets = null;
     }
     
     
@@ -142,6 +149,7 @@ public class DataBlockMixed extends AbstractDataBlock
     public void setUnderlyingObject(Object obj)
     {
     	this.blockArray = (AbstractDataBlock[])obj;
+    	this.blockOffsets = null;
     }
 	
 	
@@ -155,8 +163,9 @@ public class DataBlockMixed extends AbstractDataBlock
 	@Override
     public DataType getDataType(int index)
 	{
-		selectBlock(index);
-		return blockArray[blockIndex].getDataType(localIndex);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex + index);
+		return blockArray[i].getDataType(startIndex + index - offsets[i]);
 	}
 
 
@@ -167,53 +176,65 @@ public class DataBlockMixed extends AbstractDataBlock
 	}
 	
 	
-	protected void selectBlock(int index)
+	/**
+	 * Gets the table of child block offsets, recomputing it if it
+	 * has been invalidated or if the atom count has changed since.
+	 * The returned array is never modified so it can be safely used
+	 * by several threads concurrently.
+	 * @return the offset table
+	 */
+	protected final int[] getBlockOffsets()
+	{
+		int[] offsets = blockOffsets;
+		if (offsets == null || offsets[offsets.length-1] != atomCount)
+			offsets = computeBlockOffsets();
+		return offsets;
+	}
+	
+	
+	protected int[] computeBlockOffsets()
 	{
-        int i = 0;
-        int cumul = 0;
-        int size;
-        int desiredIndex = startIndex + index;
-        
-        do
-        {
-            size = blockArray[i].atomCount;
-            cumul += size;
-            i++;
-        }
-        while (desiredIndex >= cumul);
-
-        blockIndex = i - 1;
-        localIndex = desiredIndex - (cumul - size);
-        
-//		int i, size, cumul;
-//		int desiredIndex = startIndex + index;
-//		
-//        if (index > lastIndex)
-//        {
-//            i = lastBlockIndex;
-//            cumul = lastCumulIndex;
-//        }
-//        else
-//        {
-//            i = 0;
-//            cumul = 0;
-//        }
-//            
-//		do
-//		{
-//			size = blockArray[i].atomCount;
-//			cumul += size;
-//			i++;
-//		}
-//		while (desiredIndex >= cumul);
-//
-//		blockIndex = i - 1;
-//        lastCumulIndex = cumul - size;
-//		localIndex = desiredIndex - lastCumulIndex;
-//        
-//        lastIndex = index;
-//        lastBlockIndex = blockIndex;
-//        lastCumulIndex = cumul - size;
+		int numBlocks = blockArray.length;
+		int[] offsets = new int[numBlocks+2];
+		
+		int cumul = 0;
+		for (int i = 0; i < numBlocks; i++)
+		{
+			offsets[i] = cumul;
+			if (blockArray[i] != null)
+				cumul += blockArray[i].atomCount;
+		}
+		
+		offsets[numBlocks] = cumul;
+		offsets[numBlocks+1] = atomCount;
+		blockOffsets = offsets;
+		return offsets;
+	}
+	
+	
+	/**
+	 * Finds the child block containing the atom at the given index
+	 * using a binary search in the offset table
+	 * @param offsets offset table obtained from {@link #getBlockOffsets()}
+	 * @param desiredIndex index of atom, including start index
+	 * @return index of the child block
+	 */
+	protected final int findBlock(int[] offsets, int desiredIndex)
+	{
+		// look for last block starting at or before desired index
+		// so that we skip empty blocks
+		int low = 0;
+		int high = blockArray.length - 1;
+		while (low < high)
+		{
+			int mid = (low + high + 1) >>> 1;
+			if (offsets[mid] <= desiredIndex)
+				low = mid;
+			else
+				high = mid - 1;
+		}
+		
+		return low;
 	}
 
 
@@ -227,10 +248,9 @@ public class DataBlockMixed extends AbstractDataBlock
 
 		if (atomCount > 0)
 		{
-			selectBlock(0);
-			int start = blockIndex;
-			selectBlock(getAtomCount() - 1);
-			int stop = blockIndex + 1;
+			int[] offsets = getBlockOffsets();
+			int start = findBlock(offsets, startIndex);
+			int stop = findBlock(offsets, startIndex + getAtomCount() - 1) + 1;
 			
 			for (int i = start; i < stop; i++)
 			{
@@ -248,129 +268,144 @@ public class DataBlockMixed extends AbstractDataBlock
 	@Override
     public boolean getBooleanValue(int index)
 	{
-		selectBlock(index);
-		return blockArray[blockIndex].getBooleanValue(localIndex);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex + index);
+		return blockArray[i].getBooleanValue(startIndex + index - offsets[i]);
 	}
 
 
 	@Override
     public byte getByteValue(int index)
 	{
-		selectBlock(index);
-		return blockArray[blockIndex].getByteValue(localIndex);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex + index);
+		return blockArray[i].getByteValue(startIndex + index - offsets[i]);
 	}
 
 
 	@Override
     public short getShortValue(int index)
 	{
-		selectBlock(index);
-		return blockArray[blockIndex].getShortValue(localIndex);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex + index);
+		return blockArray[i].getShortValue(startIndex + index - offsets[i]);
 	}
 
 
 	@Override
     public int getIntValue(int index)
 	{
-		selectBlock(index);
-		return blockArray[blockIndex].getIntValue(localIndex);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex + index);
+		return blockArray[i].getIntValue(startIndex + index - offsets[i]);
 	}
 
 
 	@Override
     public long getLongValue(int index)
 	{
-		selectBlock(index);
-		return blockArray[blockIndex].getLongValue(localIndex);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex + index);
+		return blockArray[i].getLongValue(startIndex + index - offsets[i]);
 	}
 
 
 	@Override
     public float getFloatValue(int index)
 	{
-		selectBlock(index);
-		return blockArray[blockIndex].getFloatValue(localIndex);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex + index);
+		return blockArray[i].getFloatValue(startIndex + index - offsets[i]);
 	}
 
 
 	@Override
     public double getDoubleValue(int index)
 	{
-		selectBlock(index);
-        //System.out.println(blockIndex + " " + localIndex);
-		return blockArray[blockIndex].getDoubleValue(localIndex);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex + index);
+		return blockArray[i].getDoubleValue(startIndex + index - offsets[i]);
 	}
 
 
 	@Override
     public String getStringValue(int index)
 	{
-		selectBlock(index);
-		return blockArray[blockIndex].getStringValue(localIndex);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex + index);
+		return blockArray[i].getStringValue(startIndex + index - offsets[i]);
 	}
 
 
 	@Override
     public boolean getBooleanValue()
 	{
-		selectBlock(0);
-		return blockArray[blockIndex].getBooleanValue(localIndex);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex);
+		return blockArray[i].getBooleanValue(startIndex - offsets[i]);
 	}
 
 
 	@Override
     public byte getByteValue()
 	{
-		selectBlock(0);
-		return blockArray[blockIndex].getByteValue(localIndex);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex);
+		return blockArray[i].getByteValue(startIndex - offsets[i]);
 	}
 
 
 	@Override
     public short getShortValue()
 	{
-		selectBlock(0);
-		return blockArray[blockIndex].getShortValue(localIndex);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex);
+		return blockArray[i].getShortValue(startIndex - offsets[i]);
 	}
 
 
 	@Override
     public int getIntValue()
 	{
-		selectBlock(0);
-		return blockArray[blockIndex].getIntValue(localIndex);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex);
+		return blockArray[i].getIntValue(startIndex - offsets[i]);
 	}
 
 
 	@Override
     public long getLongValue()
 	{
-		selectBlock(0);
-		return blockArray[blockIndex].getLongValue(localIndex);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex);
+		return blockArray[i].getLongValue(startIndex - offsets[i]);
 	}
 
 
 	@Override
     public float getFloatValue()
 	{
-		selectBlock(0);
-		return blockArray[blockIndex].getFloatValue(localIndex);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex);
+		return blockArray[i].getFloatValue(startIndex - offsets[i]);
 	}
 
 
 	@Override
     public double getDoubleValue()
 	{
-		selectBlock(0);
-		return blockArray[blockIndex].getDoubleValue(localIndex);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex);
+		return blockArray[i].getDoubleValue(startIndex - offsets[i]);
 	}
 
 
 	@Override
     public String getStringValue()
 	{
-		selectBlock(0);
-		return blockArray[blockIndex].getStringValue(localIndex);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex);
+		return blockArray[i].getStringValue(startIndex - offsets[i]);
 	}
 	
 
@@ -384,133 +419,150 @@ public class DataBlockMixed extends AbstractDataBlock
         
         // set actual child block
         blockArray[blockIndex] = dataBlock;
+        blockOffsets = null;
 	}
 	
 	
 	@Override
     public void setBooleanValue(int index, boolean value)
 	{
-		selectBlock(index);
-		blockArray[blockIndex].setBooleanValue(localIndex, value);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex + index);
+		blockArray[i].setBooleanValue(startIndex + index - offsets[i], value);
 	}
 
 
 	@Override
     public void setByteValue(int index, byte value)
 	{
-		selectBlock(index);
-		blockArray[blockIndex].setByteValue(localIndex, value);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex + index);
+		blockArray[i].setByteValue(startIndex + index - offsets[i], value);
 	}
 
 
 	@Override
     public void setShortValue(int index, short value)
 	{
-		selectBlock(index);
-		blockArray[blockIndex].setShortValue(localIndex, value);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex + index);
+		blockArray[i].setShortValue(startIndex + index - offsets[i], value);
 	}
 
 
 	@Override
     public void setIntValue(int index, int value)
 	{
-		selectBlock(index);
-		blockArray[blockIndex].setIntValue(localIndex, value);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex + index);
+		blockArray[i].setIntValue(startIndex + index - offsets[i], value);
 	}
 
 
 	@Override
     public void setLongValue(int index, long value)
 	{
-		selectBlock(index);
-		blockArray[blockIndex].setLongValue(localIndex, value);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex + index);
+		blockArray[i].setLongValue(startIndex + index - offsets[i], value);
 	}
 
 
 	@Override
     public void setFloatValue(int index, float value)
 	{
-		selectBlock(index);
-		blockArray[blockIndex].setFloatValue(localIndex, value);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex + index);
+		blockArray[i].setFloatValue(startIndex + index - offsets[i], value);
 	}
 
 
 	@Override
     public void setDoubleValue(int index, double value)
 	{
-		selectBlock(index);
-		blockArray[blockIndex].setDoubleValue(localIndex, value);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex + index);
+		blockArray[i].setDoubleValue(startIndex + index - offsets[i], value);
 	}
 
 
 	@Override
     public void setStringValue(int index, String value)
 	{
-		selectBlock(index);
-		blockArray[blockIndex].setStringValue(localIndex, value);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex + index);
+		blockArray[i].setStringValue(startIndex + index - offsets[i], value);
 	}
 
 
 	@Override
     public void setBooleanValue(boolean value)
 	{
-		selectBlock(0);
-		blockArray[blockIndex].setBooleanValue(localIndex, value);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex);
+		blockArray[i].setBooleanValue(startIndex - offsets[i], value);
 	}
 
 
 	@Override
     public void setByteValue(byte value)
 	{
-		selectBlock(0);
-		blockArray[blockIndex].setByteValue(localIndex, value);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex);
+		blockArray[i].setByteValue(startIndex - offsets[i], value);
 	}
 
 
 	@Override
     public void setShortValue(short value)
 	{
-		selectBlock(0);
-		blockArray[blockIndex].setShortValue(localIndex, value);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex);
+		blockArray[i].setShortValue(startIndex - offsets[i], value);
 	}
 
 
 	@Override
     public void setIntValue(int value)
 	{
-		selectBlock(0);
-		blockArray[blockIndex].setIntValue(localIndex, value);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex);
+		blockArray[i].setIntValue(startIndex - offsets[i], value);
 	}
 
 
 	@Override
     public void setLongValue(long value)
 	{
-		selectBlock(0);
-		blockArray[blockIndex].setLongValue(localIndex, value);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex);
+		blockArray[i].setLongValue(startIndex - offsets[i], value);
 	}
 
 
 	@Override
     public void setFloatValue(float value)
 	{
-		selectBlock(0);
-		blockArray[blockIndex].setFloatValue(localIndex, value);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex);
+		blockArray[i].setFloatValue(startIndex - offsets[i], value);
 	}
 
 
 	@Override
     public void setDoubleValue(double value)
 	{
-		selectBlock(0);
-		blockArray[blockIndex].setDoubleValue(localIndex, value);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex);
+		blockArray[i].setDoubleValue(startIndex - offsets[i], value);
 	}
 
 
 	@Override
     public void setStringValue(String value)
 	{
-		selectBlock(0);
-		blockArray[blockIndex].setStringValue(localIndex, value);
+		int[] offsets = getBlockOffsets();
+		int i = findBlock(offsets, startIndex);
+		blockArray[i].setStringValue(startIndex - offsets[i], value);
 	}
 }
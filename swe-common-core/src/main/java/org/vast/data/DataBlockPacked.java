@@ -0,0 +1,914 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.data;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import net.opengis.swe.v20.DataType;
+
+
+/**
+ * <p>
+ * Carries fixed size records made of scalars of mixed types (and arrays of
+ * such records) in a single contiguous byte array.<br/>
+ * The position and type of each scalar in a record is given by a shared
+ * {@link Layout} so no object is allocated per field. String values are
+ * kept in a separate side table since they don't have a fixed size.
+ * </p><p>
+ * All data is casted to other types when requested, following the same rules
+ * as the corresponding primitive data blocks.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class DataBlockPacked extends AbstractDataBlock
+{
+    private static final long serialVersionUID = 2418653287416510739L;
+    static final VarHandle SHORT = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    static final VarHandle FLOAT = MethodHandles.byteArrayViewVarHandle(float[].class, ByteOrder.LITTLE_ENDIAN);
+    static final VarHandle DOUBLE = MethodHandles.byteArrayViewVarHandle(double[].class, ByteOrder.LITTLE_ENDIAN);
+
+    protected Layout layout;
+    protected Storage storage;
+
+
+    /**
+     * Immutable description of the scalars contained in one record
+     */
+    public static final class Layout implements Serializable
+    {
+        private static final long serialVersionUID = -4528309716845238551L;
+        final DataType[] types;
+        final int[] offsets; // byte offset in record or slot in string table
+        final int recordSize;
+        final int numStrings;
+
+
+        /**
+         * Creates a record layout
+         * @param types data types of the scalars in the record, in order
+         */
+        public Layout(List<DataType> types)
+        {
+            this.types = types.toArray(new DataType[0]);
+            this.offsets = new int[this.types.length];
+
+            int byteOffset = 0;
+            int stringSlot = 0;
+            for (int i = 0; i < this.types.length; i++)
+            {
+                int size = getByteSize(this.types[i]);
+                if (size < 0)
+                    throw new IllegalArgumentException("Unsupported data type: " + this.types[i]);
+
+                if (size == 0)
+                {
+                    offsets[i] = stringSlot++;
+                }
+                else
+                {
+                    offsets[i] = byteOffset;
+                    byteOffset += size;
+                }
+            }
+
+            this.recordSize = byteOffset;
+            this.numStrings = stringSlot;
+        }
+
+
+        public int getAtomCount()
+        {
+            return types.length;
+        }
+
+
+        public int getRecordSize()
+        {
+            return recordSize;
+        }
+
+
+        public int getNumStrings()
+        {
+            return numStrings;
+        }
+    }
+
+
+    /**
+     * Storage shared by all copies of a block
+     */
+    public static final class Storage implements Serializable
+    {
+        private static final long serialVersionUID = 6305196574839146281L;
+        final byte[] bytes;
+        final String[] strings;
+
+
+        Storage(Layout layout, int numRecords)
+        {
+            this.bytes = new byte[numRecords * layout.recordSize];
+            this.strings = layout.numStrings > 0 ? new String[numRecords * layout.numStrings] : null;
+        }
+    }
+
+
+    /**
+     * @param dataType
+     * @return the number of bytes used to store a value of the given type,
+     * 0 if the value is stored in the string table, or -1 if the type
+     * cannot be stored in a packed block
+     */
+    public static int getByteSize(DataType dataType)
+    {
+        switch (dataType)
+        {
+            case BOOLEAN:
+            case BYTE:
+            case UBYTE:
+                return 1;
+
+            case SHORT:
+            case USHORT:
+                return 2;
+
+            case INT:
+            case UINT:
+            case FLOAT:
+                return 4;
+
+            case LONG:
+            case ULONG:
+            case DOUBLE:
+                return 8;
+
+            case ASCII_STRING:
+            case UTF_STRING:
+                return 0;
+
+            default:
+                return -1;
+        }
+    }
+
+
+    protected DataBlockPacked()
+    {
+    }
+
+
+    /**
+     * Creates a block with storage for the given number of records
+     * @param layout layout of each record
+     * @param numRecords
+     */
+    public DataBlockPacked(Layout layout, int numRecords)
+    {
+        this.layout = layout;
+        resize(numRecords * layout.types.length);
+    }
+
+
+    @Override
+    public DataBlockPacked copy()
+    {
+        DataBlockPacked newBlock = new DataBlockPacked();
+        newBlock.layout = this.layout;
+        newBlock.storage = this.storage;
+        newBlock.startIndex = this.startIndex;
+        newBlock.atomCount = this.atomCount;
+        return newBlock;
+    }
+
+
+    @Override
+    public DataBlockPacked renew()
+    {
+        int n = layout.types.length;
+        int firstRec = startIndex / n;
+        int numRecords = getNumRecords(startIndex + atomCount) - firstRec;
+
+        DataBlockPacked newBlock = new DataBlockPacked();
+        newBlock.layout = this.layout;
+        newBlock.storage = new Storage(layout, numRecords);
+        newBlock.startIndex = this.startIndex - firstRec * n;
+        newBlock.atomCount = this.atomCount;
+        return newBlock;
+    }
+
+
+    @Override
+    public DataBlockPacked clone()
+    {
+        // copy all records overlapping this block in one shot
+        DataBlockPacked newBlock = renew();
+        int firstRec = startIndex / layout.types.length;
+        int numRecords = newBlock.getNumRecords(newBlock.startIndex + atomCount);
+
+        System.arraycopy(storage.bytes, firstRec * layout.recordSize,
+            newBlock.storage.bytes, 0, numRecords * layout.recordSize);
+
+        if (storage.strings != null)
+        {
+            System.arraycopy(storage.strings, firstRec * layout.numStrings,
+                newBlock.storage.strings, 0, numRecords * layout.numStrings);
+        }
+
+        return newBlock;
+    }
+
+
+    protected int getNumRecords(int numAtoms)
+    {
+        int n = layout.types.length;
+        return (numAtoms + n - 1) / n;
+    }
+
+
+    public Layout getLayout()
+    {
+        return layout;
+    }
+
+
+    @Override
+    public Storage getUnderlyingObject()
+    {
+        return storage;
+    }
+
+
+    @Override
+    public void setUnderlyingObject(Object obj)
+    {
+        this.storage = (Storage)obj;
+        this.atomCount = storage.bytes.length / layout.recordSize * layout.types.length;
+    }
+
+
+    @Override
+    public DataType getDataType()
+    {
+        // scalar components are given a view on a single value
+        if (atomCount == 1)
+            return getDataType(0);
+        return DataType.MIXED;
+    }
+
+
+    @Override
+    public DataType getDataType(int index)
+    {
+        return layout.types[(startIndex + index) % layout.types.length];
+    }
+
+
+    @Override
+    public void resize(int size)
+    {
+        storage = new Storage(layout, getNumRecords(size));
+        this.atomCount = size;
+    }
+
+
+    @Override
+    public String toString()
+    {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("PACKED[" + atomCount + "]: ");
+
+        for (int i = 0; i < atomCount; i++)
+        {
+            buffer.append(getStringValue(i));
+            if (i < atomCount - 1)
+                buffer.append(',');
+        }
+
+        buffer.append(']');
+        return buffer.toString();
+    }
+
+
+    /*
+     * Byte position of the value, or slot in string table
+     */
+    protected final int getPosition(int rec, int f)
+    {
+        DataType type = layout.types[f];
+        if (type == DataType.ASCII_STRING || type == DataType.UTF_STRING)
+            return rec * layout.numStrings + layout.offsets[f];
+        else
+            return rec * layout.recordSize + layout.offsets[f];
+    }
+
+
+    /*
+     * Reads an integer value, applying unsigned conversion if needed
+     */
+    protected final long readLong(DataType type, int pos)
+    {
+        byte[] bytes = storage.bytes;
+
+        switch (type)
+        {
+            case BOOLEAN:
+            case BYTE:
+                return bytes[pos];
+
+            case UBYTE:
+                return bytes[pos] & 0xff;
+
+            case SHORT:
+                return (short)SHORT.get(bytes, pos);
+
+            case USHORT:
+                return (short)SHORT.get(bytes, pos) & 0xffff;
+
+            case INT:
+                return (int)INT.get(bytes, pos);
+
+            case UINT:
+                return ((long)(int)INT.get(bytes, pos) << 32) >>> 32;
+
+            case FLOAT:
+                return (long)(float)FLOAT.get(bytes, pos);
+
+            case DOUBLE:
+                return (long)(double)DOUBLE.get(bytes, pos);
+
+            case ASCII_STRING:
+            case UTF_STRING:
+                return Long.parseLong(storage.strings[pos]);
+
+            default:
+                return (long)LONG.get(bytes, pos);
+        }
+    }
+
+
+    protected final double readDouble(DataType type, int pos)
+    {
+        switch (type)
+        {
+            case FLOAT:
+                return (float)FLOAT.get(storage.bytes, pos);
+
+            case DOUBLE:
+                return (double)DOUBLE.get(storage.bytes, pos);
+
+            case ASCII_STRING:
+            case UTF_STRING:
+                return Double.parseDouble(storage.strings[pos]);
+
+            default:
+                return readLong(type, pos);
+        }
+    }
+
+
+    /*
+     * Writes an integer value, clamping to 0 for unsigned types
+     */
+    protected final void writeLong(DataType type, int pos, long value)
+    {
+        byte[] bytes = storage.bytes;
+
+        switch (type)
+        {
+            case BOOLEAN:
+                bytes[pos] = (value == 0) ? DataBlockBoolean.FALSE_VAL : DataBlockBoolean.TRUE_VAL;
+                break;
+
+            case BYTE:
+                bytes[pos] = (byte)value;
+                break;
+
+            case UBYTE:
+                bytes[pos] = value < 0 ? 0 : (byte)value;
+                break;
+
+            case SHORT:
+                SHORT.set(bytes, pos, (short)value);
+                break;
+
+            case USHORT:
+                SHORT.set(bytes, pos, value < 0 ? 0 : (short)value);
+                break;
+
+            case INT:
+                INT.set(bytes, pos, (int)value);
+                break;
+
+            case UINT:
+                INT.set(bytes, pos, value < 0 ? 0 : (int)value);
+                break;
+
+            case FLOAT:
+                FLOAT.set(bytes, pos, (float)value);
+                break;
+
+            case DOUBLE:
+                DOUBLE.set(bytes, pos, (double)value);
+                break;
+
+            case ASCII_STRING:
+            case UTF_STRING:
+                storage.strings[pos] = Long.toString(value);
+                break;
+
+            default:
+                LONG.set(bytes, pos, value);
+        }
+    }
+
+
+    /*
+     * Writes a floating point value, rounding to nearest for integer types
+     */
+    protected final void writeDouble(DataType type, int pos, double value)
+    {
+        switch (type)
+        {
+            case BOOLEAN:
+                storage.bytes[pos] = (Double.isNaN(value) || Math.abs(value) < Math.ulp(0.0)) ?
+                    DataBlockBoolean.FALSE_VAL : DataBlockBoolean.TRUE_VAL;
+                break;
+
+            case FLOAT:
+                FLOAT.set(storage.bytes, pos, (float)value);
+                break;
+
+            case DOUBLE:
+                DOUBLE.set(storage.bytes, pos, value);
+                break;
+
+            case ASCII_STRING:
+            case UTF_STRING:
+                storage.strings[pos] = Double.toString(value);
+                break;
+
+            default:
+                writeLong(type, pos, value < 0 && isUnsigned(type) ? 0 : Math.round(value));
+        }
+    }
+
+
+    protected static final boolean isUnsigned(DataType type)
+    {
+        return type == DataType.UBYTE || type == DataType.USHORT || type == DataType.UINT || type == DataType.ULONG;
+    }
+
+
+    protected static final boolean isString(DataType type)
+    {
+        return type == DataType.ASCII_STRING || type == DataType.UTF_STRING;
+    }
+
+
+    protected static final boolean isFloat(DataType type)
+    {
+        return type == DataType.FLOAT || type == DataType.DOUBLE;
+    }
+
+
+    @Override
+    public boolean getBooleanValue(int index)
+    {
+        int i = startIndex + index;
+        int n = layout.types.length;
+        int rec = i / n, f = i - rec * n;
+        DataType type = layout.types[f];
+        int pos = getPosition(rec, f);
+
+        if (isString(type))
+            return Boolean.parseBoolean(storage.strings[pos]);
+        else if (isFloat(type))
+            return !(Math.abs(readDouble(type, pos)) < Math.ulp(0.0));
+        else
+            return readLong(type, pos) != 0;
+    }
+
+
+    @Override
+    public byte getByteValue(int index)
+    {
+        int i = startIndex + index;
+        int n = layout.types.length;
+        int rec = i / n, f = i - rec * n;
+        DataType type = layout.types[f];
+        int pos = getPosition(rec, f);
+
+        if (isString(type))
+            return Byte.parseByte(storage.strings[pos]);
+        else if (isFloat(type))
+            return (byte)readDouble(type, pos);
+        else
+            return (byte)readLong(type, pos);
+    }
+
+
+    @Override
+    public short getShortValue(int index)
+    {
+        int i = startIndex + index;
+        int n = layout.types.length;
+        int rec = i / n, f = i - rec * n;
+        DataType type = layout.types[f];
+        int pos = getPosition(rec, f);
+
+        if (isString(type))
+            return Short.parseShort(storage.strings[pos]);
+        else if (isFloat(type))
+            return (short)readDouble(type, pos);
+        else
+            return (short)readLong(type, pos);
+    }
+
+
+    @Override
+    public int getIntValue(int index)
+    {
+        int i = startIndex + index;
+        int n = layout.types.length;
+        int rec = i / n, f = i - rec * n;
+        DataType type = layout.types[f];
+        int pos = getPosition(rec, f);
+
+        if (isString(type))
+            return Integer.parseInt(storage.strings[pos]);
+        else if (isFloat(type))
+            return (int)readDouble(type, pos);
+        else
+            return (int)readLong(type, pos);
+    }
+
+
+    @Override
+    public long getLongValue(int index)
+    {
+        int i = startIndex + index;
+        int n = layout.types.length;
+        int rec = i / n, f = i - rec * n;
+        return readLong(layout.types[f], getPosition(rec, f));
+    }
+
+
+    @Override
+    public float getFloatValue(int index)
+    {
+        int i = startIndex + index;
+        int n = layout.types.length;
+        int rec = i / n, f = i - rec * n;
+        DataType type = layout.types[f];
+        int pos = getPosition(rec, f);
+
+        if (isString(type))
+            return Float.parseFloat(storage.strings[pos]);
+        else
+            return (float)readDouble(type, pos);
+    }
+
+
+    @Override
+    public double getDoubleValue(int index)
+    {
+        int i = startIndex + index;
+        int n = layout.types.length;
+        int rec = i / n, f = i - rec * n;
+        return readDouble(layout.types[f], getPosition(rec, f));
+    }
+
+
+    @Override
+    public String getStringValue(int index)
+    {
+        int i = startIndex + index;
+        int n = layout.types.length;
+        int rec = i / n, f = i - rec * n;
+        DataType type = layout.types[f];
+        int pos = getPosition(rec, f);
+
+        switch (type)
+        {
+            case BOOLEAN:
+                return Boolean.toString(storage.bytes[pos] != 0);
+
+            case FLOAT:
+            case DOUBLE:
+                return Double.toString(readDouble(type, pos));
+
+            case ASCII_STRING:
+            case UTF_STRING:
+                return storage.strings[pos];
+
+            default:
+                return Long.toString(readLong(type, pos));
+        }
+    }
+
+
+    @Override
+    public boolean getBooleanValue()
+    {
+        return getBooleanValue(0);
+    }
+
+
+    @Override
+    public byte getByteValue()
+    {
+        return getByteValue(0);
+    }
+
+
+    @Override
+    public short getShortValue()
+    {
+        return getShortValue(0);
+    }
+
+
+    @Override
+    public int getIntValue()
+    {
+        return getIntValue(0);
+    }
+
+
+    @Override
+    public long getLongValue()
+    {
+        return getLongValue(0);
+    }
+
+
+    @Override
+    public float getFloatValue()
+    {
+        return getFloatValue(0);
+    }
+
+
+    @Override
+    public double getDoubleValue()
+    {
+        return getDoubleValue(0);
+    }
+
+
+    @Override
+    public String getStringValue()
+    {
+        return getStringValue(0);
+    }
+
+
+    @Override
+    public void setBooleanValue(int index, boolean value)
+    {
+        int i = startIndex + index;
+        int n = layout.types.length;
+        int rec = i / n, f = i - rec * n;
+        DataType type = layout.types[f];
+        int pos = getPosition(rec, f);
+
+        if (isString(type))
+            storage.strings[pos] = Boolean.toString(value);
+        else
+            writeLong(type, pos, value ? DataBlockBoolean.TRUE_VAL : DataBlockBoolean.FALSE_VAL);
+    }
+
+
+    @Override
+    public void setByteValue(int index, byte value)
+    {
+        setLongValue(index, value);
+    }
+
+
+    @Override
+    public void setShortValue(int index, short value)
+    {
+        setLongValue(index, value);
+    }
+
+
+    @Override
+    public void setIntValue(int index, int value)
+    {
+        setLongValue(index, value);
+    }
+
+
+    @Override
+    public void setLongValue(int index, long value)
+    {
+        int i = startIndex + index;
+        int n = layout.types.length;
+        int rec = i / n, f = i - rec * n;
+        writeLong(layout.types[f], getPosition(rec, f), value);
+    }
+
+
+    @Override
+    public void setFloatValue(int index, float value)
+    {
+        int i = startIndex + index;
+        int n = layout.types.length;
+        int rec = i / n, f = i - rec * n;
+        DataType type = layout.types[f];
+        int pos = getPosition(rec, f);
+
+        if (isString(type))
+            storage.strings[pos] = Float.toString(value);
+        else
+            writeDouble(type, pos, value);
+    }
+
+
+    @Override
+    public void setDoubleValue(int index, double value)
+    {
+        int i = startIndex + index;
+        int n = layout.types.length;
+        int rec = i / n, f = i - rec * n;
+        writeDouble(layout.types[f], getPosition(rec, f), value);
+    }
+
+
+    @Override
+    public void setStringValue(int index, String value)
+    {
+        int i = startIndex + index;
+        int n = layout.types.length;
+        int rec = i / n, f = i - rec * n;
+        DataType type = layout.types[f];
+        int pos = getPosition(rec, f);
+
+        switch (type)
+        {
+            case BOOLEAN:
+                writeLong(type, pos, Boolean.parseBoolean(value) ? DataBlockBoolean.TRUE_VAL : DataBlockBoolean.FALSE_VAL);
+                break;
+
+            case BYTE:
+            case UBYTE:
+                writeLong(type, pos, Byte.parseByte(value));
+                break;
+
+            case SHORT:
+            case USHORT:
+                writeLong(type, pos, Short.parseShort(value));
+                break;
+
+            case INT:
+            case UINT:
+                writeLong(type, pos, Integer.parseInt(value));
+                break;
+
+            case FLOAT:
+                FLOAT.set(storage.bytes, pos, Float.parseFloat(value));
+                break;
+
+            case DOUBLE:
+                DOUBLE.set(storage.bytes, pos, Double.parseDouble(value));
+                break;
+
+            case ASCII_STRING:
+            case UTF_STRING:
+                storage.strings[pos] = value;
+                break;
+
+            default:
+                writeLong(type, pos, Long.parseLong(value));
+        }
+    }
+
+
+    @Override
+    public void setBooleanValue(boolean value)
+    {
+        setBooleanValue(0, value);
+    }
+
+
+    @Override
+    public void setByteValue(byte value)
+    {
+        setLongValue(0, value);
+    }
+
+
+    @Override
+    public void setShortValue(short value)
+    {
+        setLongValue(0, value);
+    }
+
+
+    @Override
+    public void setIntValue(int value)
+    {
+        setLongValue(0, value);
+    }
+
+
+    @Override
+    public void setLongValue(long value)
+    {
+        setLongValue(0, value);
+    }
+
+
+    @Override
+    public void setFloatValue(float value)
+    {
+        setFloatValue(0, value);
+    }
+
+
+    @Override
+    public void setDoubleValue(double value)
+    {
+        setDoubleValue(0, value);
+    }
+
+
+    @Override
+    public void setStringValue(String value)
+    {
+        setStringValue(0, value);
+    }
+
+
+    /**
+     * Reads consecutive values of the same type from a byte buffer in one
+     * bulk copy. This is only possible if all values are stored in the same
+     * record with the given data type.
+     * @param buf buffer to read from (values are converted from the buffer byte order)
+     * @param index index of the first value to read in this block
+     * @param count number of values to read
+     * @param dataType data type of the values
+     * @return true if values were read, false if they are not stored contiguously
+     * with the given data type, in which case nothing is read from the buffer
+     */
+    public boolean readFrom(ByteBuffer buf, int index, int count, DataType dataType)
+    {
+        int size = getByteSize(dataType);
+        if (size <= 0)
+            return false;
+
+        int n = layout.types.length;
+        int rec = (startIndex + index) / n;
+        int f = (startIndex + index) % n;
+        if (f + count > n)
+            return false;
+
+        for (int i = f; i < f + count; i++)
+        {
+            if (layout.types[i] != dataType)
+                return false;
+        }
+
+        int pos = rec * layout.recordSize + layout.offsets[f];
+        int len = count * size;
+        buf.get(storage.bytes, pos, len);
+
+        // values are stored in little endian order
+        if (size > 1 && buf.order() != ByteOrder.LITTLE_ENDIAN)
+        {
+            byte[] bytes = storage.bytes;
+            for (int p = pos; p < pos + len; p += size)
+            {
+                for (int i = p, j = p + size - 1; i < j; i++, j--)
+                {
+                    byte b = bytes[i];
+                    bytes[i] = bytes[j];
+                    bytes[j] = b;
+                }
+            }
+        }
+
+        return true;
+    }
+}
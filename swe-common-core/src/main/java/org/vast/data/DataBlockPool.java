@@ -0,0 +1,273 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.data;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntUnaryOperator;
+import org.vast.util.Asserts;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataComponent;
+
+
+/**
+ * <p>
+ * Pool of reusable data blocks sharing the same structure.<br/>
+ * Blocks are leased with {@link #lease()} and must be explicitly given back
+ * with {@link #release(DataBlock)} once the caller and all components they
+ * were passed to are done with them. When the pool is empty, a new block
+ * is created by renewing the template block.
+ * </p><p>
+ * Leased blocks are not cleared, so this is meant for producers that fully
+ * rewrite the block content (e.g. parsers). The pool is thread-safe and
+ * doesn't allocate once it has reached its steady state size, so blocks can
+ * be leased and released by different threads.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class DataBlockPool
+{
+    static final IntUnaryOperator DECREMENT_TO_ZERO = v -> v > 0 ? v-1 : 0;
+    static final AtomicIntegerFieldUpdater<AbstractDataBlock> POOLED =
+        AtomicIntegerFieldUpdater.newUpdater(AbstractDataBlock.class, "pooled");
+
+    protected final DataComponent structure;
+    protected volatile DataBlock template;
+    protected final ArrayBlockingQueue<DataBlock> freeBlocks;
+    protected final AtomicLong hitCount = new AtomicLong();
+    protected final AtomicLong missCount = new AtomicLong();
+    protected final AtomicLong discardCount = new AtomicLong();
+    protected final AtomicInteger outstandingLeases = new AtomicInteger();
+
+
+    /**
+     * Creates a pool of blocks with the same structure as the template
+     * @param template Template data block
+     * @param maxPooledBlocks Max number of free blocks kept in the pool
+     */
+    public DataBlockPool(DataBlock template, int maxPooledBlocks)
+    {
+        this(null, Asserts.checkNotNull(template, DataBlock.class), maxPooledBlocks);
+    }
+
+
+    /**
+     * Creates a pool of blocks for the given component structure.<br/>
+     * The template block is created on the first lease so the structure
+     * can still be modified until then (e.g. by assigning encoding options)
+     * @param structure Component structure
+     * @param maxPooledBlocks Max number of free blocks kept in the pool
+     */
+    public DataBlockPool(DataComponent structure, int maxPooledBlocks)
+    {
+        this(Asserts.checkNotNull(structure, DataComponent.class), null, maxPooledBlocks);
+    }
+
+
+    private DataBlockPool(DataComponent structure, DataBlock template, int maxPooledBlocks)
+    {
+        Asserts.checkArgument(maxPooledBlocks > 0, "maxPooledBlocks must be > 0");
+        this.structure = structure;
+        this.template = template;
+        this.freeBlocks = new ArrayBlockingQueue<>(maxPooledBlocks);
+    }
+
+
+    /**
+     * Leases a block from the pool, or creates a new one if the pool is empty
+     * @return data block with the pool structure and undefined content
+     */
+    public DataBlock lease()
+    {
+        DataBlock block = freeBlocks.poll();
+
+        if (block != null)
+        {
+            setPooled(block, false);
+            hitCount.incrementAndGet();
+        }
+        else
+        {
+            block = getTemplate().renew();
+            missCount.incrementAndGet();
+        }
+
+        outstandingLeases.incrementAndGet();
+        return block;
+    }
+
+
+    /**
+     * Leases a block with the given number of atoms.<br/>
+     * This is useful for structures with variable size arrays, for which
+     * pooled blocks can have different sizes. Blocks of a different size are
+     * left in the pool and don't count as hits or misses.
+     * @param atomCount Required number of atoms
+     * @return data block with the requested size and undefined content, or null
+     * if no pooled block has this size and the template block has a different size
+     */
+    public DataBlock lease(int atomCount)
+    {
+        DataBlock block = freeBlocks.poll();
+
+        if (block != null)
+        {
+            if (block.getAtomCount() == atomCount)
+            {
+                setPooled(block, false);
+                hitCount.incrementAndGet();
+                outstandingLeases.incrementAndGet();
+                return block;
+            }
+
+            // keep block for other leases
+            if (!freeBlocks.offer(block))
+            {
+                setPooled(block, false);
+                discardCount.incrementAndGet();
+            }
+        }
+
+        DataBlock t = getTemplate();
+        if (t.getAtomCount() != atomCount)
+            return null;
+
+        missCount.incrementAndGet();
+        outstandingLeases.incrementAndGet();
+        return t.renew();
+    }
+
+
+    /**
+     * Gives a block back to the pool.<br/>
+     * The block must not be used by the caller after this call. Blocks that
+     * are not compatible with the pool structure, or that don't fit in the
+     * pool, are discarded. Releasing a block that is already in the pool has
+     * no effect, but a block must not be released again once it may have
+     * been leased by someone else.<br/>
+     * Blocks that are not {@link AbstractDataBlock} instances are not checked
+     * for double release, so releasing them twice is a caller error.
+     * @param block Block previously obtained with {@link #lease()}
+     */
+    public void release(DataBlock block)
+    {
+        if (block == null)
+            return;
+
+        // ignore blocks released twice so they're not shared by two leases
+        if (!setPooled(block, true))
+            return;
+
+        // blocks not leased from this pool can also be released
+        outstandingLeases.updateAndGet(DECREMENT_TO_ZERO);
+
+        if (block.getClass() != getTemplate().getClass() || !freeBlocks.offer(block))
+        {
+            setPooled(block, false);
+            discardCount.incrementAndGet();
+        }
+    }
+
+
+    /*
+     * Atomically changes the pooled flag of the block
+     * Returns false if the flag already had the requested value
+     */
+    protected static boolean setPooled(DataBlock block, boolean pooled)
+    {
+        if (!(block instanceof AbstractDataBlock))
+            return true;
+
+        int expect = pooled ? 0 : 1;
+        return POOLED.compareAndSet((AbstractDataBlock)block, expect, 1 - expect);
+    }
+
+
+    protected DataBlock getTemplate()
+    {
+        DataBlock t = template;
+        if (t == null)
+        {
+            synchronized (this)
+            {
+                if (template == null)
+                    template = structure.createDataBlock();
+                t = template;
+            }
+        }
+
+        return t;
+    }
+
+
+    /**
+     * Removes all free blocks from the pool
+     */
+    public void clear()
+    {
+        DataBlock block;
+        while ((block = freeBlocks.poll()) != null)
+            setPooled(block, false);
+    }
+
+
+    /**
+     * @return number of leases served with a pooled block
+     */
+    public long getHitCount()
+    {
+        return hitCount.get();
+    }
+
+
+    /**
+     * @return number of leases that required creating a new block
+     */
+    public long getMissCount()
+    {
+        return missCount.get();
+    }
+
+
+    /**
+     * @return number of released blocks that were not kept in the pool
+     */
+    public long getDiscardCount()
+    {
+        return discardCount.get();
+    }
+
+
+    /**
+     * @return number of blocks currently leased and not released yet
+     */
+    public int getOutstandingLeases()
+    {
+        return outstandingLeases.get();
+    }
+
+
+    /**
+     * @return number of free blocks currently in the pool
+     */
+    public int getPooledCount()
+    {
+        return freeBlocks.size();
+    }
+}
@@ -20,8 +20,14 @@
 
 package org.vast.ogc;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +42,10 @@ import org.w3c.dom.NodeList;
  * to read/write different versions of service requests as well
  * as other (mostly xml) messages and documents. This class
  * obtains the default mappings from the OGCRegistry.xml file. 
+ * </p><p>
+ * Reader/writer factories are resolved once per requested type, subtype
+ * and version, and then kept in an immutable map that is replaced on
+ * each change, so that lookups don't require any locking.
  * </p>
  *
  * @author Alex Robin
@@ -46,10 +56,16 @@ public class OGCRegistry
     public static final String XLINK = "XLINK";
     protected static final String DEFAULT_OWS_VERSION = "1.0";
     protected static final Pattern VERSION_NORMALIZE_PATTERN = Pattern.compile("(\\.0)+$");
+    protected static final int MAX_CACHED_KEYS = 1024;
+    protected static final MethodType NO_ARG_CONSTRUCTOR = MethodType.methodType(void.class);
+    protected static final MethodType OBJECT_FACTORY = MethodType.methodType(Object.class);
     protected static Map<String, String> readerClasses;
     protected static Map<String, String> writerClasses;
     protected static Map<String, String> namespaces;
     protected static Map<String, String> owsVersions;
+    private static volatile Map<String, Supplier<Object>> readerFactories = Collections.emptyMap();
+    private static volatile Map<String, Supplier<Object>> writerFactories = Collections.emptyMap();
+    private static final Map<String, String> normalizedVersions = new ConcurrentHashMap<>();
     protected static final Logger log = LoggerFactory.getLogger(OGCRegistry.class);
     
 
@@ -125,7 +141,7 @@ public class OGCRegistry
     @SuppressWarnings("unchecked")
     public static <T> T createReader(String type, String subType, String version) throws IllegalStateException
     {
-        return (T)createObject(readerClasses, type, subType, version);
+        return (T)createObject(true, type, subType, version);
     }
 
 
@@ -139,7 +155,7 @@ public class OGCRegistry
     @SuppressWarnings("unchecked")
     public static <T> T createReader(String type, String version) throws IllegalStateException
     {
-        return (T)createObject(readerClasses, type, null, version);
+        return (T)createObject(true, type, null, version);
     }
 
 
@@ -154,7 +170,7 @@ public class OGCRegistry
     @SuppressWarnings("unchecked")
     public static <T> T createWriter(String type, String subType, String version) throws IllegalStateException
     {
-        return (T)createObject(writerClasses, type, subType, version);
+        return (T)createObject(false, type, subType, version);
     }
 
 
@@ -168,7 +184,7 @@ public class OGCRegistry
     @SuppressWarnings("unchecked")
     public static <T> T createWriter(String type, String version) throws IllegalStateException
     {
-        return (T)createObject(writerClasses, type, null, version);
+        return (T)createObject(false, type, null, version);
     }
 
 
@@ -180,7 +196,7 @@ public class OGCRegistry
      * @param className
      * @throws IllegalStateException
      */
-    public static void addReaderClass(String type, String subType, String version, String className) throws IllegalStateException
+    public static synchronized void addReaderClass(String type, String subType, String version, String className) throws IllegalStateException
     {
         addClass(readerClasses, type, subType, version, className);
     }
@@ -194,7 +210,7 @@ public class OGCRegistry
      * @param className
      * @throws IllegalStateException
      */
-    public static void addWriterClass(String type, String subType, String version, String className) throws IllegalStateException
+    public static synchronized void addWriterClass(String type, String subType, String version, String className) throws IllegalStateException
     {
         addClass(writerClasses, type, subType, version, className);
     }
@@ -232,6 +248,18 @@ public class OGCRegistry
 
         // store class name in table
         table.put(key.toString(), className);
+        clearFactories();
+    }
+
+
+    /**
+     * Discards all cached factories so they are resolved again from
+     * the updated tables
+     */
+    private static void clearFactories()
+    {
+        readerFactories = Collections.emptyMap();
+        writerFactories = Collections.emptyMap();
     }
 
 
@@ -322,15 +350,63 @@ public class OGCRegistry
 
     /**
      * Handles the instantiation of reader/writer classes
-     * @param table
+     * @param reader true to instantiate a reader, false for a writer
      * @param type
      * @param subType
      * @param version
      * @return
      */
-    private static Object createObject(Map<String, String> table, String type, String subType, String version) throws IllegalStateException
+    private static Object createObject(boolean reader, String type, String subType, String version) throws IllegalStateException
+    {
+        // lock-free lookup on raw arguments so we skip normalization on cache hits
+        String key = type + '|' + subType + '|' + version;
+        Map<String, Supplier<Object>> factories = reader ? readerFactories : writerFactories;
+        Supplier<Object> factory = factories.get(key);
+        
+        if (factory == null)
+            factory = resolveFactory(reader, key, type, subType, version);
+        
+        return factory.get();
+    }
+
+
+    /**
+     * Resolves the factory for the given key and adds it to the cache
+     * by replacing the current factory map with an updated copy
+     */
+    private static synchronized Supplier<Object> resolveFactory(boolean reader, String key, String type, String subType, String version) throws IllegalStateException
     {
+        Map<String, Supplier<Object>> factories = reader ? readerFactories : writerFactories;
+        Supplier<Object> factory = factories.get(key);
+        if (factory != null)
+            return factory;
+        
+        Map<String, String> table = reader ? readerClasses : writerClasses;
         String className = getClassName(table, type, subType, version);
+        factory = createFactory(className);
+        
+        // don't let arbitrary request parameters grow the cache indefinitely
+        if (factories.size() < MAX_CACHED_KEYS)
+        {
+            Map<String, Supplier<Object>> newFactories = new HashMap<>(factories);
+            newFactories.put(key, factory);
+            if (reader)
+                readerFactories = Collections.unmodifiableMap(newFactories);
+            else
+                writerFactories = Collections.unmodifiableMap(newFactories);
+        }
+        
+        return factory;
+    }
+
+
+    /**
+     * Creates a factory calling the no-arg constructor of the given class
+     * @param className
+     * @return factory creating new instances of the class
+     */
+    private static Supplier<Object> createFactory(String className) throws IllegalStateException
+    {
         Class<?> objClass;
         
         // load class
@@ -343,16 +419,33 @@ public class OGCRegistry
             throw new IllegalStateException("Error while registering reader/writer Class " + className, e);
         }
         
-        // instantiate using reflection
+        // get constructor handle
+        MethodHandle constructor;
         try
         {
-            Object obj = objClass.getDeclaredConstructor().newInstance();
-            return obj;
+            constructor = MethodHandles.publicLookup()
+                .findConstructor(objClass, NO_ARG_CONSTRUCTOR)
+                .asType(OBJECT_FACTORY);
         }
-        catch (Exception e)
+        catch (NoSuchMethodException | IllegalAccessException e)
         {
             throw new IllegalStateException("Error while instantiating new reader/writer", e);
         }
+        
+        return () -> {
+            try
+            {
+                return (Object)constructor.invokeExact();
+            }
+            catch (Error e)
+            {
+                throw e;
+            }
+            catch (Throwable e)
+            {
+                throw new IllegalStateException("Error while instantiating new reader/writer", e);
+            }
+        };
     }
 
 
@@ -361,7 +454,7 @@ public class OGCRegistry
      * @param xmlFileUrl
      * @param replace
      */
-    public static void loadMaps(String xmlFileUrl, boolean replace)
+    public static synchronized void loadMaps(String xmlFileUrl, boolean replace)
     {
         try
         {
@@ -373,6 +466,7 @@ public class OGCRegistry
             {
                 readerClasses.clear();
                 writerClasses.clear();
+                clearFactories();
             }
 
             // add namespace hashtable entries
@@ -451,8 +545,14 @@ public class OGCRegistry
     {
         if (version != null && version.length() > 0 && !version.equalsIgnoreCase("*"))
         {
-            version = VERSION_NORMALIZE_PATTERN.matcher(version).replaceAll("");
-            return version;
+            String normVersion = normalizedVersions.get(version);
+            if (normVersion == null)
+            {
+                normVersion = VERSION_NORMALIZE_PATTERN.matcher(version).replaceAll("");
+                if (normalizedVersions.size() < MAX_CACHED_KEYS)
+                    normalizedVersions.put(version, normVersion);
+            }
+            return normVersion;
         }
         else
             return null;
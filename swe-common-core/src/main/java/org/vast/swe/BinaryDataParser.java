@@ -402,6 +402,8 @@ public class BinaryDataParser extends AbstractDataParser
             else
             {
                 // if decoder is specified, uncompress data now
+                if (binaryInfo.getBlockReader() == null)
+                    initBlockReader(blockComponent, binaryInfo);
                 CompressedStreamParser reader = binaryInfo.getBlockReader();
                 if (reader != null)
                 {
@@ -38,6 +38,7 @@ import net.opengis.swe.v20.DataType;
 import net.opengis.swe.v20.ScalarComponent;
 import org.vast.util.WriterException;
 import org.vast.cdm.common.CDMException;
+import org.vast.cdm.common.CompressedStreamWriter;
 import org.vast.cdm.common.DataOutputExt;
 import org.vast.data.AbstractDataComponentImpl;
 import org.vast.data.BinaryComponentImpl;
@@ -263,29 +264,29 @@ public class BinaryDataWriter extends AbstractDataWriter
 	    try
         {
 	        DataBlock data = blockComponent.getData();
+	        String compression = binaryInfo.getCompression();
 	        
-	        // in case of data block compressed
+	        // in case of data block compressed, write as-is if same codec
+	        // as requested in encoding options (or if codec is unknown)
 	        if (data instanceof DataBlockCompressed)
 	        {
 	            DataBlockCompressed compressedBlock = (DataBlockCompressed)data;
-	            byte[] bytes = (byte[])data.getUnderlyingObject();
-	                    
-	            // if same codec as requested in encoding options, write as-is 
-	            if (binaryInfo.getCompression() != null) // && binaryInfo.getCodec().equals(compressedBlock.getCompressionType()))
+	            byte[] bytes = compressedBlock.getUnderlyingObject();
+	            
+	            if (bytes != null && (compressedBlock.getCompression() == null || compressedBlock.getCompression().equalsIgnoreCase(compression)))
 	            {
 	                dataOutput.writeInt(bytes.length);
 	                dataOutput.write(bytes);
+	                return;
 	            }
-	            
-	            // otherwise decompress or transcode to desired codec
-	            else
-	            {
-	                compressedBlock.ensureUncompressed();
-	                // TODO write uncompressed data
-	            }
-	        }	            
-	        	        
-	        // TODO implement writeBinaryBlock: call special compressed writer
+	        }
+	        
+	        // otherwise compress or transcode to desired codec
+	        CompressedStreamWriter encoder = CodecLookup.getInstance().createEncoder(compression);
+	        if (encoder == null)
+	            throw new WriterException("Unsupported compression: " + compression);
+	        encoder.init(blockComponent, binaryInfo);
+	        encoder.encode(dataOutput, blockComponent);
         }
         catch (Exception e)
         {
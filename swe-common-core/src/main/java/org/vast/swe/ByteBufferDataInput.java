@@ -0,0 +1,244 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.vast.cdm.common.DataInputExt;
+
+
+/**
+ * <p>
+ * Implementation of {@link DataInputExt} reading directly from a
+ * {@link ByteBuffer} (heap, direct or memory mapped).<br/>
+ * Values are decoded using the byte order of the buffer, so the same class
+ * is used for both big endian and little endian streams.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class ByteBufferDataInput implements DataInputExt
+{
+    protected ByteBuffer buf;
+
+
+    public ByteBufferDataInput(ByteBuffer buf)
+    {
+        this.buf = buf;
+    }
+
+
+    protected void checkRemaining(int numBytes) throws EOFException
+    {
+        if (buf.remaining() < numBytes)
+            throw new EOFException();
+    }
+
+
+    @Override
+    public int read() throws IOException
+    {
+        if (!buf.hasRemaining())
+            return -1;
+        return buf.get() & 0xff;
+    }
+
+
+    @Override
+    public void mark(int readLimit) throws IOException
+    {
+        buf.mark();
+    }
+
+
+    @Override
+    public void reset() throws IOException
+    {
+        buf.reset();
+    }
+
+
+    @Override
+    public void readFully(byte[] b) throws IOException
+    {
+        readFully(b, 0, b.length);
+    }
+
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException
+    {
+        checkRemaining(len);
+        buf.get(b, off, len);
+    }
+
+
+    @Override
+    public int skipBytes(int n) throws IOException
+    {
+        int skipped = Math.max(0, Math.min(n, buf.remaining()));
+        buf.position(buf.position() + skipped);
+        return skipped;
+    }
+
+
+    @Override
+    public boolean readBoolean() throws IOException
+    {
+        checkRemaining(1);
+        return buf.get() != 0;
+    }
+
+
+    @Override
+    public byte readByte() throws IOException
+    {
+        checkRemaining(1);
+        return buf.get();
+    }
+
+
+    @Override
+    public int readUnsignedByte() throws IOException
+    {
+        checkRemaining(1);
+        return buf.get() & 0xff;
+    }
+
+
+    @Override
+    public short readShort() throws IOException
+    {
+        checkRemaining(2);
+        return buf.getShort();
+    }
+
+
+    @Override
+    public int readUnsignedShort() throws IOException
+    {
+        checkRemaining(2);
+        return buf.getShort() & 0xffff;
+    }
+
+
+    @Override
+    public char readChar() throws IOException
+    {
+        checkRemaining(2);
+        return buf.getChar();
+    }
+
+
+    @Override
+    public int readInt() throws IOException
+    {
+        checkRemaining(4);
+        return buf.getInt();
+    }
+
+
+    @Override
+    public long readUnsignedInt() throws IOException
+    {
+        checkRemaining(4);
+        return buf.getInt() & 0xffffffffL;
+    }
+
+
+    @Override
+    public long readLong() throws IOException
+    {
+        checkRemaining(8);
+        return buf.getLong();
+    }
+
+
+    @Override
+    public long readUnsignedLong() throws IOException
+    {
+        return readLong();
+    }
+
+
+    @Override
+    public float readFloat() throws IOException
+    {
+        checkRemaining(4);
+        return buf.getFloat();
+    }
+
+
+    @Override
+    public double readDouble() throws IOException
+    {
+        checkRemaining(8);
+        return buf.getDouble();
+    }
+
+
+    @Override
+    public String readLine() throws IOException
+    {
+        if (!buf.hasRemaining())
+            return null;
+
+        StringBuilder line = new StringBuilder();
+        while (buf.hasRemaining())
+        {
+            char c = (char)(buf.get() & 0xff);
+            if (c == '\n')
+                break;
+            if (c == '\r')
+            {
+                if (buf.hasRemaining() && buf.get(buf.position()) == '\n')
+                    buf.get();
+                break;
+            }
+            line.append(c);
+        }
+
+        return line.toString();
+    }
+
+
+    @Override
+    public String readUTF() throws IOException
+    {
+        return DataInputStream.readUTF(this);
+    }
+
+
+    @Override
+    public String readASCII() throws IOException
+    {
+        int val;
+        StringBuilder sb = new StringBuilder();
+
+        while ((val = readUnsignedByte()) != 0)
+            sb.append((char)val);
+
+        return sb.toString();
+    }
+
+
+    public ByteBuffer getByteBuffer()
+    {
+        return buf;
+    }
+}
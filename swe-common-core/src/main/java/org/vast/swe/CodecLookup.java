@@ -10,16 +10,22 @@
 
 package org.vast.swe;
 
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import org.vast.cdm.common.CompressedStreamParser;
 import org.vast.cdm.common.CompressedStreamWriter;
+import org.vast.swe.codec.BuiltinCodecFactory;
 
 
 /**
  * <p>
- * Class for looking up codecs in the classpath
+ * Class for looking up codecs in the classpath.<br/>
+ * All factories registered via the java services mechanism are queried in
+ * order, and the built-in codecs are used if none of them supports the
+ * requested compression type.
  * </p>
  *
  * @author Alex Robin
@@ -28,10 +34,10 @@ import org.vast.cdm.common.CompressedStreamWriter;
 public class CodecLookup
 {
     private static CodecLookup singleton;
-    ICodecFactory factory;
+    List<ICodecFactory> factories = new ArrayList<>();
     
     
-    public static CodecLookup getInstance()
+    public static synchronized CodecLookup getInstance()
     {
         if (singleton == null)
             singleton = new CodecLookup();
@@ -41,37 +47,65 @@ public class CodecLookup
     
     private CodecLookup()
     {
-        // for now we get the first factory we find
-        Iterator<ICodecFactory> it = ServiceLoader.load(ICodecFactory.class).iterator();
-        if (it.hasNext())
-            this.factory = it.next();
+        for (ICodecFactory factory: ServiceLoader.load(ICodecFactory.class))
+            factories.add(factory);
+        factories.add(new BuiltinCodecFactory());
     }
     
     
     public Map<String, Class<?>> getAvailableDecoders()
     {
-        return factory.getAvailableDecoders();
+        Map<String, Class<?>> decoders = new LinkedHashMap<>();
+        for (ICodecFactory factory: factories)
+            factory.getAvailableDecoders().forEach(decoders::putIfAbsent);
+        return decoders;
     }
 
     
     public Map<String, Class<?>> getAvailableEncoders()
     {
-        return factory.getAvailableEncoders();
+        Map<String, Class<?>> encoders = new LinkedHashMap<>();
+        for (ICodecFactory factory: factories)
+            factory.getAvailableEncoders().forEach(encoders::putIfAbsent);
+        return encoders;
     }
 
     
     public CompressedStreamParser createDecoder(String compressionType)
     {
-        if (factory == null)
-            return null;
-        return factory.createDecoder(compressionType);
+        for (ICodecFactory factory: factories)
+        {
+            CompressedStreamParser decoder = factory.createDecoder(compressionType);
+            if (decoder != null)
+                return decoder;
+        }
+        
+        return null;
     }
 
     
     public CompressedStreamWriter createEncoder(String compressionType)
     {
-        if (factory == null)
-            return null;
-        return factory.createEncoder(compressionType);
-    }    
+        for (ICodecFactory factory: factories)
+        {
+            CompressedStreamWriter encoder = factory.createEncoder(compressionType);
+            if (encoder != null)
+                return encoder;
+        }
+        
+        return null;
+    }
+    
+    
+    public IBlockCodec createBlockCodec(String compressionType)
+    {
+        for (ICodecFactory factory: factories)
+        {
+            IBlockCodec codec = factory.createBlockCodec(compressionType);
+            if (codec != null)
+                return codec;
+        }
+        
+        return null;
+    }
 }
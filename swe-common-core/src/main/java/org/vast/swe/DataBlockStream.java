@@ -0,0 +1,269 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import org.vast.cdm.common.DataSource;
+import org.vast.cdm.common.DataStreamParser;
+import org.vast.data.DataBlockPool;
+import org.vast.swe.fast.AbstractDataParser;
+import org.vast.swe.fast.JsonDataParserGson;
+import org.vast.swe.fast.TextDataParser;
+import org.vast.swe.fast.XmlDataParser;
+import org.vast.util.Asserts;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataComponent;
+import net.opengis.swe.v20.DataEncoding;
+import net.opengis.swe.v20.JSONEncoding;
+import net.opengis.swe.v20.TextEncoding;
+import net.opengis.swe.v20.XMLEncoding;
+
+
+/**
+ * <p>
+ * Gives access to the records of a SWE Common encoded stream one at a time,
+ * as they are parsed from the data source.<br/>
+ * Unlike {@link SWEData#parseData(DataSource)}, records are not accumulated
+ * so memory usage doesn't depend on the length of the stream.
+ * </p><p>
+ * When a max number of records in flight is set, each block returned by
+ * {@link #next()} must be given back with {@link #release(DataBlock)} once
+ * the consumer is done with it (e.g. when it has been stored). Parsing then
+ * blocks while that many records are held by the consumer, and released
+ * blocks are reused for the next records.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class DataBlockStream implements Closeable
+{
+    protected final DataStreamParser parser;
+    protected final DataBlockPool blockPool;
+    protected final Semaphore inFlightRecords;
+    protected final Set<DataBlock> inFlightBlocks;
+    protected long recordCount;
+    protected boolean endOfStream;
+
+
+    /**
+     * Creates a stream with no limit on the number of records in flight
+     * @param structure Record structure
+     * @param encoding Record encoding
+     * @param dataSrc Source of encoded data
+     * @throws IOException if the data source cannot be opened
+     */
+    public DataBlockStream(DataComponent structure, DataEncoding encoding, DataSource dataSrc) throws IOException
+    {
+        this(structure, encoding, dataSrc, 0);
+    }
+
+
+    /**
+     * Creates a stream with a bounded number of records in flight
+     * @param structure Record structure
+     * @param encoding Record encoding
+     * @param dataSrc Source of encoded data
+     * @param maxInFlight Max number of records returned and not released yet,
+     * or 0 for no limit (in which case blocks don't need to be released)
+     * @throws IOException if the data source cannot be opened
+     */
+    public DataBlockStream(DataComponent structure, DataEncoding encoding, DataSource dataSrc, int maxInFlight) throws IOException
+    {
+        Asserts.checkNotNull(structure, DataComponent.class);
+        Asserts.checkNotNull(encoding, DataEncoding.class);
+        Asserts.checkNotNull(dataSrc, DataSource.class);
+        Asserts.checkArgument(maxInFlight >= 0, "maxInFlight must be >= 0");
+
+        // XML records are read directly from the StAX stream
+        if (dataSrc instanceof DataSourceStAX && encoding instanceof XMLEncoding)
+        {
+            XmlDataParser xmlParser = new XmlDataParser();
+            xmlParser.setDataEncoding(encoding);
+            xmlParser.setDataComponents(structure);
+            xmlParser.setInput(((DataSourceStAX)dataSrc).getReader());
+            parser = xmlParser;
+        }
+        else
+        {
+            if (dataSrc instanceof DataSourceStAX || dataSrc instanceof DataSourceDOM)
+                encoding = SWEHelper.ensureXmlCompatible(encoding);
+
+            parser = createParser(encoding);
+            parser.setDataComponents(structure);
+            parser.setInput(dataSrc.getDataStream());
+        }
+
+        parser.setRenewDataBlock(true);
+
+        if (maxInFlight > 0)
+        {
+            blockPool = new DataBlockPool(parser.getDataComponents(), maxInFlight);
+            if (parser instanceof AbstractDataParser)
+                ((AbstractDataParser)parser).setDataBlockPool(blockPool);
+            inFlightRecords = new Semaphore(maxInFlight);
+            inFlightBlocks = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        }
+        else
+        {
+            blockPool = null;
+            inFlightRecords = null;
+            inFlightBlocks = null;
+        }
+    }
+
+
+    /*
+     * Uses fast parsers except for binary encodings since the fast binary
+     * parser relies on available() to detect the end of the stream
+     */
+    protected DataStreamParser createParser(DataEncoding encoding)
+    {
+        DataStreamParser parser;
+
+        if (encoding instanceof TextEncoding)
+            parser = new TextDataParser();
+        else if (encoding instanceof XMLEncoding)
+            parser = new XmlDataParser();
+        else if (encoding instanceof JSONEncoding)
+            parser = new JsonDataParserGson();
+        else
+            return SWEHelper.createDataParser(encoding);
+
+        parser.setDataEncoding(encoding);
+        return parser;
+    }
+
+
+    /**
+     * Parses the next record from the stream.<br/>
+     * If the max number of records in flight is reached, this method blocks
+     * until a record is released by another thread.
+     * @return the next record, or null if the end of the stream is reached
+     * @throws IOException if the record cannot be parsed
+     */
+    public DataBlock next() throws IOException
+    {
+        if (endOfStream)
+            return null;
+
+        if (inFlightRecords != null)
+        {
+            try
+            {
+                inFlightRecords.acquire();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for records to be released");
+            }
+        }
+
+        DataBlock data;
+        try
+        {
+            data = parser.parseNextBlock();
+        }
+        catch (IOException | RuntimeException e)
+        {
+            // give back permit since no record is returned
+            if (inFlightRecords != null)
+                inFlightRecords.release();
+            throw e;
+        }
+
+        if (data == null)
+        {
+            endOfStream = true;
+            if (inFlightRecords != null)
+                inFlightRecords.release();
+            return null;
+        }
+
+        if (inFlightBlocks != null)
+            inFlightBlocks.add(data);
+        recordCount++;
+        return data;
+    }
+
+
+    /**
+     * Parses all remaining records and pushes them to the given handler
+     * as they are parsed
+     * @param handler Handler receiving the records. It must release them
+     * (possibly later) if the number of records in flight is bounded.
+     * @return the number of records read by this call
+     * @throws IOException if a record cannot be parsed
+     */
+    public long forEachRecord(Consumer<DataBlock> handler) throws IOException
+    {
+        long count = 0;
+        DataBlock data;
+
+        while ((data = next()) != null)
+        {
+            handler.accept(data);
+            count++;
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Gives back a record obtained from this stream so its block can be
+     * reused. This has no effect if the number of records in flight isn't
+     * bounded.<br/>
+     * This method can be called from any thread.
+     * @param data Record previously returned by this stream
+     * @throws IllegalArgumentException if the record was not returned by this
+     * stream or was already released
+     */
+    public void release(DataBlock data)
+    {
+        if (inFlightRecords != null && data != null)
+        {
+            Asserts.checkArgument(inFlightBlocks.remove(data),
+                "Record was not obtained from this stream or was already released");
+            blockPool.release(data);
+            inFlightRecords.release();
+        }
+    }
+
+
+    /**
+     * @return the number of records parsed so far
+     */
+    public long getRecordCount()
+    {
+        return recordCount;
+    }
+
+
+    @Override
+    public void close() throws IOException
+    {
+        endOfStream = true;
+        parser.close();
+    }
+}
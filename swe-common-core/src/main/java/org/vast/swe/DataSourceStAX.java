@@ -0,0 +1,164 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.vast.cdm.common.DataSource;
+import org.vast.util.Asserts;
+
+
+/**
+ * <p>
+ * This DataSource gives access to the content of an XML element read from
+ * a StAX stream.<br/>
+ * Unlike {@link DataSourceDOM}, the text content is converted to bytes
+ * incrementally as the input stream is read, so the element content never
+ * needs to be fully loaded in memory. The input stream ends with the element
+ * and the StAX reader is then left on its end tag.
+ * </p><p>
+ * XML encoded records can be read directly from the StAX reader returned
+ * by {@link #getReader()} instead.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class DataSourceStAX implements DataSource
+{
+    protected XMLStreamReader reader;
+    protected InputStream textStream;
+
+
+    /*
+     * Input stream reading text events up to the end of the current element
+     */
+    protected class ElementTextInputStream extends InputStream
+    {
+        byte[] buf = new byte[0];
+        int pos;
+        boolean endOfElement;
+
+        @Override
+        public int read() throws IOException
+        {
+            if (!fillBuffer())
+                return -1;
+            return buf[pos++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException
+        {
+            if (len == 0)
+                return 0;
+            if (!fillBuffer())
+                return -1;
+
+            int count = Math.min(len, buf.length - pos);
+            System.arraycopy(buf, pos, b, off, count);
+            pos += count;
+            return count;
+        }
+
+        @Override
+        public int available()
+        {
+            return buf.length - pos;
+        }
+
+        @Override
+        public void close()
+        {
+            // don't close the XML stream since it can contain more content
+        }
+
+        protected boolean fillBuffer() throws IOException
+        {
+            try
+            {
+                while (pos >= buf.length)
+                {
+                    if (endOfElement)
+                        return false;
+
+                    switch (reader.next())
+                    {
+                        case XMLStreamConstants.CHARACTERS:
+                        case XMLStreamConstants.CDATA:
+                        case XMLStreamConstants.SPACE:
+                        case XMLStreamConstants.ENTITY_REFERENCE:
+                            buf = reader.getText().getBytes(StandardCharsets.UTF_8);
+                            pos = 0;
+                            break;
+
+                        case XMLStreamConstants.END_ELEMENT:
+                            endOfElement = true;
+                            break;
+
+                        case XMLStreamConstants.START_ELEMENT:
+                            throw new IOException("Unexpected element in text content: " + reader.getName());
+
+                        default:
+                            // skip comments and processing instructions
+                    }
+                }
+
+                return true;
+            }
+            catch (XMLStreamException e)
+            {
+                throw new IOException("Error while reading XML text content", e);
+            }
+        }
+    }
+
+
+    /**
+     * @param reader StAX reader positioned on the start tag of the element
+     * containing the data
+     */
+    public DataSourceStAX(XMLStreamReader reader)
+    {
+        Asserts.checkNotNull(reader, XMLStreamReader.class);
+        Asserts.checkArgument(reader.isStartElement(), "Reader must be positioned on a start element");
+        this.reader = reader;
+    }
+
+
+    public XMLStreamReader getReader()
+    {
+        return reader;
+    }
+
+
+    /**
+     * Gets an input stream reading the text content of the element.<br/>
+     * The same stream is returned by all calls since the XML content can
+     * only be read once
+     * @return input stream to read data from
+     */
+    @Override
+    public InputStream getDataStream()
+    {
+        if (textStream == null)
+            textStream = new ElementTextInputStream();
+        return textStream;
+    }
+}
@@ -36,6 +36,12 @@ public class DataSourceURI implements DataSource
     }
     
     
+    public String getStreamUri()
+    {
+        return streamUri;
+    }
+    
+    
     @Override
     public InputStream getDataStream() throws IOException
     {
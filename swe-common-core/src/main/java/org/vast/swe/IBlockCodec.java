@@ -0,0 +1,60 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe;
+
+import java.io.IOException;
+import net.opengis.swe.v20.DataBlock;
+
+
+/**
+ * <p>
+ * Interface for codecs able to compress and decompress the content of a
+ * whole data block in memory.<br/>
+ * This is used to keep large data blocks compressed until their values
+ * are actually accessed (see {@link org.vast.data.DataBlockCompressed}).
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public interface IBlockCodec
+{
+
+    /**
+     * @return the compression type implemented by this codec, as used in
+     * the compression attribute of the binary encoding
+     */
+    public String getCompressionType();
+
+
+    /**
+     * Compresses all values of the data block
+     * @param data data block to compress
+     * @return compressed bytes
+     * @throws IOException if the block cannot be encoded
+     */
+    public byte[] encode(DataBlock data) throws IOException;
+
+
+    /**
+     * Decompresses values into the given data block
+     * @param compressedData compressed bytes, as produced by {@link #encode(DataBlock)}
+     * @param data data block to receive decoded values. It must have the same
+     * structure and size as the block that was encoded.
+     * @throws IOException if the compressed data is invalid
+     */
+    public void decode(byte[] compressedData, DataBlock data) throws IOException;
+
+}
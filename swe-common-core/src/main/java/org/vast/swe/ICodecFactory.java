@@ -38,4 +38,15 @@ public interface ICodecFactory
     
     public CompressedStreamWriter createEncoder(String compressionType);    
     
+    
+    /**
+     * Creates a codec able to compress/decompress whole data blocks in memory
+     * @param compressionType
+     * @return the block codec or null if not supported by this factory
+     */
+    public default IBlockCodec createBlockCodec(String compressionType)
+    {
+        return null;
+    }
+    
 }
@@ -0,0 +1,339 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.vast.util.Asserts;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataChoice;
+import net.opengis.swe.v20.DataComponent;
+import net.opengis.swe.v20.DataRecord;
+import net.opengis.swe.v20.RangeComponent;
+import net.opengis.swe.v20.ScalarComponent;
+import net.opengis.swe.v20.Vector;
+
+
+/**
+ * <p>
+ * Accessor giving direct typed access to all scalar fields of a data
+ * structure, by path.<br/>
+ * The structure is compiled once into a table of fields. Fields located at a
+ * fixed position in the data block are read and written using a constant
+ * index, and other fields (i.e. located after or within a choice, or after a
+ * variable size array) are resolved with a {@link ScalarIndexer}. In both
+ * cases, no tree walking or allocation is done when accessing values.
+ * </p><p>
+ * Scalars that are part of an array element are not exposed by the accessor,
+ * and neither are fields whose position cannot be computed from the data
+ * block alone (e.g. located after an implicit size array).
+ * </p><p>
+ * Accessors obtained with {@link #of(DataComponent)} are cached per
+ * structure instance, so the structure must not be modified afterwards.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class RecordAccessor
+{
+    static final Map<DataComponent, RecordAccessor> cache = Collections.synchronizedMap(new WeakHashMap<>());
+
+    final Map<String, Field> fields = new LinkedHashMap<>();
+
+
+    /**
+     * Typed accessor to the value of a single scalar field
+     */
+    public abstract static class Field
+    {
+        final String path;
+
+
+        Field(String path)
+        {
+            this.path = path;
+        }
+
+
+        public String getPath()
+        {
+            return path;
+        }
+
+
+        /**
+         * @param dataBlk data block containing the whole record
+         * @return index of the field value in the data block, or a negative value if the field
+         * is not present (i.e. another choice item is selected)
+         */
+        public abstract int getDataIndex(DataBlock dataBlk);
+
+
+        /**
+         * @param dataBlk data block containing the whole record
+         * @return true if the field has a value in the given data block
+         */
+        public boolean isPresent(DataBlock dataBlk)
+        {
+            return getDataIndex(dataBlk) >= 0;
+        }
+
+
+        public boolean getBooleanValue(DataBlock dataBlk)
+        {
+            return dataBlk.getBooleanValue(getDataIndex(dataBlk));
+        }
+
+
+        public byte getByteValue(DataBlock dataBlk)
+        {
+            return dataBlk.getByteValue(getDataIndex(dataBlk));
+        }
+
+
+        public short getShortValue(DataBlock dataBlk)
+        {
+            return dataBlk.getShortValue(getDataIndex(dataBlk));
+        }
+
+
+        public int getIntValue(DataBlock dataBlk)
+        {
+            return dataBlk.getIntValue(getDataIndex(dataBlk));
+        }
+
+
+        public long getLongValue(DataBlock dataBlk)
+        {
+            return dataBlk.getLongValue(getDataIndex(dataBlk));
+        }
+
+
+        public float getFloatValue(DataBlock dataBlk)
+        {
+            return dataBlk.getFloatValue(getDataIndex(dataBlk));
+        }
+
+
+        public double getDoubleValue(DataBlock dataBlk)
+        {
+            return dataBlk.getDoubleValue(getDataIndex(dataBlk));
+        }
+
+
+        public String getStringValue(DataBlock dataBlk)
+        {
+            return dataBlk.getStringValue(getDataIndex(dataBlk));
+        }
+
+
+        public void setBooleanValue(DataBlock dataBlk, boolean val)
+        {
+            dataBlk.setBooleanValue(getDataIndex(dataBlk), val);
+        }
+
+
+        public void setByteValue(DataBlock dataBlk, byte val)
+        {
+            dataBlk.setByteValue(getDataIndex(dataBlk), val);
+        }
+
+
+        public void setShortValue(DataBlock dataBlk, short val)
+        {
+            dataBlk.setShortValue(getDataIndex(dataBlk), val);
+        }
+
+
+        public void setIntValue(DataBlock dataBlk, int val)
+        {
+            dataBlk.setIntValue(getDataIndex(dataBlk), val);
+        }
+
+
+        public void setLongValue(DataBlock dataBlk, long val)
+        {
+            dataBlk.setLongValue(getDataIndex(dataBlk), val);
+        }
+
+
+        public void setFloatValue(DataBlock dataBlk, float val)
+        {
+            dataBlk.setFloatValue(getDataIndex(dataBlk), val);
+        }
+
+
+        public void setDoubleValue(DataBlock dataBlk, double val)
+        {
+            dataBlk.setDoubleValue(getDataIndex(dataBlk), val);
+        }
+
+
+        public void setStringValue(DataBlock dataBlk, String val)
+        {
+            dataBlk.setStringValue(getDataIndex(dataBlk), val);
+        }
+    }
+
+
+    /*
+     * Field located at a fixed index in the data block
+     */
+    static final class FixedField extends Field
+    {
+        final int index;
+
+
+        FixedField(String path, int index)
+        {
+            super(path);
+            this.index = index;
+        }
+
+
+        @Override
+        public int getDataIndex(DataBlock dataBlk)
+        {
+            return index;
+        }
+    }
+
+
+    /*
+     * Field whose index depends on the content of the data block
+     */
+    static final class IndexedField extends Field
+    {
+        final ScalarIndexer indexer;
+
+
+        IndexedField(String path, ScalarIndexer indexer)
+        {
+            super(path);
+            this.indexer = indexer;
+        }
+
+
+        @Override
+        public int getDataIndex(DataBlock dataBlk)
+        {
+            return indexer.getDataIndex(dataBlk);
+        }
+    }
+
+
+    /**
+     * Gets the accessor for the given structure, compiling it only if
+     * no accessor has been created for this structure instance yet
+     * @param rootComponent root component of the data structure
+     * @return the cached accessor
+     */
+    public static RecordAccessor of(DataComponent rootComponent)
+    {
+        Asserts.checkNotNull(rootComponent, DataComponent.class);
+        return cache.computeIfAbsent(rootComponent, RecordAccessor::new);
+    }
+
+
+    /**
+     * Compiles a new accessor for the given structure.<br/>
+     * Use {@link #of(DataComponent)} to benefit from caching.
+     * @param rootComponent root component of the data structure
+     */
+    public RecordAccessor(DataComponent rootComponent)
+    {
+        Asserts.checkNotNull(rootComponent, DataComponent.class);
+        addFields(rootComponent, rootComponent, "");
+    }
+
+
+    /*
+     * Recursively adds all scalars that are not part of an array element
+     */
+    private void addFields(DataComponent rootComponent, DataComponent comp, String path)
+    {
+        if (comp instanceof DataRecord || comp instanceof Vector || comp instanceof DataChoice)
+        {
+            for (int i=0; i<comp.getComponentCount(); i++)
+            {
+                DataComponent child = comp.getComponent(i);
+                addFields(rootComponent, child, path + child.getName() + SWEHelper.PATH_SEPARATOR);
+            }
+        }
+
+        else if (comp instanceof ScalarComponent && !(comp instanceof RangeComponent) && comp != rootComponent)
+        {
+            String fieldPath = path.substring(0, path.length()-1);
+
+            try
+            {
+                ScalarIndexer indexer = new ScalarIndexer(rootComponent, (ScalarComponent)comp);
+                int index = indexer.getFixedDataIndex();
+                if (index >= 0)
+                    fields.put(fieldPath, new FixedField(fieldPath, index));
+                else
+                    fields.put(fieldPath, new IndexedField(fieldPath, indexer));
+            }
+            catch (UnsupportedOperationException e)
+            {
+                // skip fields that cannot be indexed
+            }
+        }
+    }
+
+
+    /**
+     * Gets the accessor for the field with the given path
+     * @param path path of the field, composed of component names separated
+     * by {@value SWEHelper#PATH_SEPARATOR} characters
+     * @return the field accessor
+     * @throws IllegalArgumentException if no accessible scalar field exists with this path
+     */
+    public Field getField(String path)
+    {
+        if (path.startsWith(SWEHelper.PATH_SEPARATOR))
+            path = path.substring(1);
+
+        Field field = fields.get(path);
+        if (field == null)
+            throw new IllegalArgumentException("No accessible scalar field with path " + path);
+        return field;
+    }
+
+
+    /**
+     * @param path path of the field
+     * @return true if a field with the given path can be accessed
+     */
+    public boolean hasField(String path)
+    {
+        if (path.startsWith(SWEHelper.PATH_SEPARATOR))
+            path = path.substring(1);
+        return fields.containsKey(path);
+    }
+
+
+    /**
+     * @return all accessible fields, in the order they appear in the structure
+     */
+    public Collection<Field> getFields()
+    {
+        return Collections.unmodifiableCollection(fields.values());
+    }
+}
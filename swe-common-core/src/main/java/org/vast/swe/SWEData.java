@@ -29,6 +29,8 @@ import org.vast.cdm.common.DataSink;
 import org.vast.cdm.common.DataSource;
 import org.vast.cdm.common.DataStreamParser;
 import org.vast.cdm.common.DataStreamWriter;
+import org.vast.data.DataBlockList;
+import org.vast.data.DataBlockPool;
 import org.vast.data.DataList;
 
 
@@ -45,6 +47,7 @@ public class SWEData extends DataList implements ISweInputDataStream, ISweOutput
 {
     private static final long serialVersionUID = 1745973314151779348L;
     protected transient DataSource dataSource;
+    protected transient DataBlockPool blockPool;
     
 
     public SWEData()
@@ -93,6 +96,39 @@ public class SWEData extends DataList implements ISweInputDataStream, ISweOutput
     {
         this.dataSource = dataSource;
     }
+
+
+    public DataBlockPool getDataBlockPool()
+    {
+        return blockPool;
+    }
+
+
+    /**
+     * Sets the pool used by parsers created with {@link #getDataParser()}
+     * to obtain new data blocks
+     * @param blockPool Data block pool or null to allocate new blocks
+     */
+    public void setDataBlockPool(DataBlockPool blockPool)
+    {
+        this.blockPool = blockPool;
+    }
+    
+    
+    /**
+     * Releases all data blocks stored in this list to the data block pool
+     * (if one is set) and clears the list
+     */
+    public void releaseData()
+    {
+        if (blockPool != null && dataBlock != null)
+        {
+            for (DataBlock block: ((DataBlockList)dataBlock).getUnderlyingObject())
+                blockPool.release(block);
+        }
+        
+        clearData();
+    }
     
     
     /**
@@ -104,6 +140,8 @@ public class SWEData extends DataList implements ISweInputDataStream, ISweOutput
     {
         DataStreamParser parser = SWEHelper.createDataParser(getEncoding());
         parser.setDataComponents(getElementType());
+        if (blockPool != null && parser instanceof org.vast.swe.fast.AbstractDataParser)
+            ((org.vast.swe.fast.AbstractDataParser)parser).setDataBlockPool(blockPool);
         return parser;
     }
     
@@ -153,6 +191,13 @@ public class SWEData extends DataList implements ISweInputDataStream, ISweOutput
         	parser.setDataHandler(new DefaultParserHandler(this));
         	parser.read(domSrc.getDom(), domSrc.getParentElt());
         }
+        
+        // records are read incrementally from StAX streams
+        else if (dataSource instanceof DataSourceStAX)
+        {
+            DataBlockStream blockStream = new DataBlockStream(getElementType(), encoding, dataSource);
+            blockStream.forEachRecord(this::addData);
+        }
         else
         {
             if (dataSource instanceof DataSourceDOM)
@@ -103,7 +103,12 @@ public class ScalarIndexer
         @Override
         public void addIndexer(IndexerPart indexer)
         {
-            subIndexers.add(indexer);
+            // merge consecutive fixed offsets
+            if (indexer instanceof FixedIndexer && !subIndexers.isEmpty() &&
+                subIndexers.get(subIndexers.size()-1) instanceof FixedIndexer)
+                addOffset(((FixedIndexer)indexer).offset);
+            else
+                subIndexers.add(indexer);
         }
         
         public IndexerPart simplify()
@@ -155,10 +160,46 @@ public class ScalarIndexer
     }
     
     
+    // sub-indexer for variable size arrays with an explicit size component
+    // the array size is read from the data block using another indexer
+    class VarSizeArrayIndexer implements IndexerPart
+    {
+        ScalarIndexer sizeIndexer;
+        int eltAtomCount;
+        
+        VarSizeArrayIndexer(ScalarIndexer sizeIndexer, int eltAtomCount)
+        {
+            this.sizeIndexer = sizeIndexer;
+            this.eltAtomCount = eltAtomCount;
+        }
+        
+        @Override
+        public int getOffset(int startOffset, DataBlock dataBlk)
+        {
+            int sizeIndex = sizeIndexer.getDataIndex(dataBlk);
+            if (sizeIndex < 0)
+                return Integer.MIN_VALUE;
+            
+            return startOffset + dataBlk.getIntValue(sizeIndex) * eltAtomCount;
+        }
+        
+        @Override
+        public void addOffset(int offset)
+        {
+        }
+        
+        @Override
+        public void addIndexer(IndexerPart indexer)
+        {
+        }
+    }
+    
+    
     public ScalarIndexer(DataComponent rootComponent, ScalarComponent target)
     {
         ListIndexer initIndexer = new ListIndexer();
-        buildIndexer(rootComponent, target, initIndexer);
+        if (!buildIndexer(rootComponent, rootComponent, target, initIndexer))
+            throw new IllegalArgumentException("Component " + target.getName() + " is not part of the indexed structure");
         
         // use sub-indexer directly if there is only one!
         rootIndexer = initIndexer.simplify();
@@ -167,12 +208,13 @@ public class ScalarIndexer
     
     /**
      * Keep building indexer tree using the given component
+     * @param rootComponent
      * @param comp
      * @param target
      * @param currentPart
      * @return true if current component is the one we're trying to index
      */
-    private boolean buildIndexer(DataComponent comp, DataComponent target, IndexerPart currentIndexer)
+    private boolean buildIndexer(DataComponent rootComponent, DataComponent comp, DataComponent target, IndexerPart currentIndexer)
     {
         if (comp == target)
             return true;
@@ -185,7 +227,7 @@ public class ScalarIndexer
             for (int i=0; i<comp.getComponentCount(); i++)
             {
                 DataComponent field = comp.getComponent(i);
-                foundTarget = buildIndexer(field, target, recordIndexer);
+                foundTarget = buildIndexer(rootComponent, field, target, recordIndexer);
                 if (foundTarget)
                     break;
             }
@@ -194,13 +236,34 @@ public class ScalarIndexer
         
         else if (comp instanceof DataArray)
         {
-            if (((DataArray) comp).isVariableSize())
+            DataArray array = (DataArray)comp;
+            
+            // if target is part of the array element, index its value
+            // in the first element like the original implementation
+            ListIndexer eltIndexer = new ListIndexer();
+            if (buildIndexer(rootComponent, array.getElementType(), target, eltIndexer))
             {
-                throw new UnsupportedOperationException("Variable size arrays are not supported in indexer");
+                currentIndexer.addIndexer(eltIndexer.simplify());
+                return true;
             }
-            else
+            
+            int eltAtomCount = getFixedAtomCount(array.getElementType());
+            if (eltAtomCount < 0)
+                throw new UnsupportedOperationException("Arrays with variable size elements are not supported in indexer");
+            
+            if (array.isVariableSize())
             {
+                if (array.isImplicitSize())
+                    throw new UnsupportedOperationException("Implicit size arrays are not supported in indexer");
+                if (array.getArraySizeComponent() == target)
+                    throw new UnsupportedOperationException("Array size component must be located before the array");
                 
+                ScalarIndexer sizeIndexer = new ScalarIndexer(rootComponent, array.getArraySizeComponent());
+                currentIndexer.addIndexer(new VarSizeArrayIndexer(sizeIndexer, eltAtomCount));
+            }
+            else
+            {
+                currentIndexer.addOffset(array.getComponentCount() * eltAtomCount);
             }
         }
         
@@ -210,7 +273,7 @@ public class ScalarIndexer
             for (DataComponent item: ((DataChoice) comp).getItemList())
             {
                 int prevSize = choiceIndexer.itemIndexers.size();
-                foundTarget = buildIndexer(item, target, choiceIndexer);
+                foundTarget = buildIndexer(rootComponent, item, target, choiceIndexer);
                 
                 // if nothing was added, add a 0 fixed offset
                 int newSize = choiceIndexer.itemIndexers.size();
@@ -247,12 +310,66 @@ public class ScalarIndexer
     }
     
     
+    /**
+     * Computes the number of atoms used by the given component in a data block
+     * @param comp
+     * @return the number of atoms or -1 if it depends on the data (i.e. choice or variable size array)
+     */
+    static int getFixedAtomCount(DataComponent comp)
+    {
+        if (comp instanceof DataRecord || comp instanceof Vector)
+        {
+            int atomCount = 0;
+            for (int i=0; i<comp.getComponentCount(); i++)
+            {
+                int fieldAtomCount = getFixedAtomCount(comp.getComponent(i));
+                if (fieldAtomCount < 0)
+                    return -1;
+                atomCount += fieldAtomCount;
+            }
+            return atomCount;
+        }
+        
+        else if (comp instanceof DataArray)
+        {
+            DataArray array = (DataArray)comp;
+            if (array.isVariableSize())
+                return -1;
+            
+            int eltAtomCount = getFixedAtomCount(array.getElementType());
+            if (eltAtomCount < 0)
+                return -1;
+            return array.getComponentCount() * eltAtomCount;
+        }
+        
+        else if (comp instanceof RangeComponent)
+            return 2;
+        
+        else if (comp instanceof ScalarComponent)
+            return 1;
+        
+        return -1;
+    }
+    
+    
     public final int getDataIndex(DataBlock dataBlk)
     {
         return rootIndexer.getOffset(0, dataBlk);
     }
     
     
+    /**
+     * @return the index of the target component in the data block if it doesn't
+     * depend on the data block content, or -1 otherwise
+     */
+    public final int getFixedDataIndex()
+    {
+        if (rootIndexer instanceof FixedIndexer)
+            return ((FixedIndexer)rootIndexer).offset;
+        return -1;
+    }
+    
+    
     public final boolean getBooleanValue(DataBlock dataBlk)
     {
         return dataBlk.getBooleanValue(getDataIndex(dataBlk));
@@ -0,0 +1,511 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.vast.cdm.common.CDMException;
+import org.vast.cdm.common.CompressedStreamParser;
+import org.vast.cdm.common.CompressedStreamWriter;
+import org.vast.cdm.common.DataInputExt;
+import org.vast.cdm.common.DataOutputExt;
+import org.vast.data.DataBlockCompressed;
+import org.vast.data.DataBlockPacked;
+import org.vast.swe.IBlockCodec;
+import net.opengis.swe.v20.BinaryBlock;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataComponent;
+import net.opengis.swe.v20.DataType;
+
+
+/**
+ * <p>
+ * Base class for built-in block codecs.<br/>
+ * Values of the data block are first serialized to a raw big endian byte
+ * array, optionally transformed by the delta and shuffle filters, and then
+ * compressed by the actual codec implementation.
+ * </p><p>
+ * The delta filter replaces each value by its difference with the previous
+ * one, and the shuffle filter groups the bytes of the values by significance.
+ * They are only applied when all values of the block have the same numerical
+ * type and usually improve compression of sampled numerical data such as
+ * rasters or waveforms a lot.
+ * </p><p>
+ * Compressed data is encoded as the length of the raw data (int32) followed
+ * by the compressed bytes. The same codec can also be used to read and write
+ * compressed blocks from/to binary streams, in which case each block is
+ * prefixed by its compressed length.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public abstract class BlockCodec implements IBlockCodec, CompressedStreamParser, CompressedStreamWriter
+{
+    public static final String DELTA_FILTER = "delta";
+    public static final String SHUFFLE_FILTER = "shuffle";
+
+    protected final String compressionType;
+    protected final boolean delta;
+    protected final boolean shuffle;
+
+
+    protected BlockCodec(String compressionType, boolean delta, boolean shuffle)
+    {
+        this.compressionType = compressionType;
+        this.delta = delta;
+        this.shuffle = shuffle;
+    }
+
+
+    /**
+     * Compresses the raw bytes
+     * @param raw
+     * @return compressed bytes
+     * @throws IOException
+     */
+    protected abstract byte[] compress(byte[] raw) throws IOException;
+
+
+    /**
+     * Decompresses the data into the raw byte array
+     * @param src compressed data
+     * @param offset offset of compressed data in source array
+     * @param raw array to receive decompressed data, with the exact expected size
+     * @throws IOException if the compressed data is invalid
+     */
+    protected abstract void decompress(byte[] src, int offset, byte[] raw) throws IOException;
+
+
+    @Override
+    public String getCompressionType()
+    {
+        return compressionType;
+    }
+
+
+    @Override
+    public byte[] encode(DataBlock data) throws IOException
+    {
+        byte[] raw = serialize(data);
+
+        int eltSize = getFilterElementSize(data);
+        if (delta && eltSize > 0)
+            deltaEncode(raw, eltSize);
+        if (shuffle && eltSize > 1)
+            raw = shuffle(raw, eltSize);
+
+        byte[] compressed = compress(raw);
+        return ByteBuffer.allocate(4 + compressed.length)
+            .putInt(raw.length)
+            .put(compressed)
+            .array();
+    }
+
+
+    @Override
+    public void decode(byte[] compressedData, DataBlock data) throws IOException
+    {
+        if (compressedData.length < 4)
+            throw new IOException("Truncated compressed block");
+
+        int rawLength = ByteBuffer.wrap(compressedData).getInt();
+        if (rawLength < 0)
+            throw new IOException("Invalid raw data length: " + rawLength);
+
+        byte[] raw = new byte[rawLength];
+        decompress(compressedData, 4, raw);
+
+        int eltSize = getFilterElementSize(data);
+        if (shuffle && eltSize > 1)
+            raw = unshuffle(raw, eltSize);
+        if (delta && eltSize > 0)
+            deltaDecode(raw, eltSize);
+
+        deserialize(raw, data);
+    }
+
+
+    /*
+     * Size of elements to use for filters, or 0 if filters cannot be used
+     */
+    protected int getFilterElementSize(DataBlock data)
+    {
+        DataType dataType = data.getDataType();
+        if (dataType == DataType.BOOLEAN)
+            return 0;
+        return Math.max(0, DataBlockPacked.getByteSize(dataType));
+    }
+
+
+    protected byte[] serialize(DataBlock data) throws IOException
+    {
+        int atomCount = data.getAtomCount();
+        Object array = data.getUnderlyingObject();
+
+        // fast path for primitive blocks that span their whole array
+        if (array instanceof double[] && ((double[])array).length == atomCount)
+        {
+            ByteBuffer buf = ByteBuffer.allocate(atomCount*8);
+            buf.asDoubleBuffer().put((double[])array);
+            return buf.array();
+        }
+        else if (array instanceof float[] && ((float[])array).length == atomCount)
+        {
+            ByteBuffer buf = ByteBuffer.allocate(atomCount*4);
+            buf.asFloatBuffer().put((float[])array);
+            return buf.array();
+        }
+        else if (array instanceof int[] && ((int[])array).length == atomCount)
+        {
+            ByteBuffer buf = ByteBuffer.allocate(atomCount*4);
+            buf.asIntBuffer().put((int[])array);
+            return buf.array();
+        }
+        else if (array instanceof short[] && ((short[])array).length == atomCount)
+        {
+            ByteBuffer buf = ByteBuffer.allocate(atomCount*2);
+            buf.asShortBuffer().put((short[])array);
+            return buf.array();
+        }
+        else if (array instanceof long[] && ((long[])array).length == atomCount)
+        {
+            ByteBuffer buf = ByteBuffer.allocate(atomCount*8);
+            buf.asLongBuffer().put((long[])array);
+            return buf.array();
+        }
+        else if (array instanceof byte[] && ((byte[])array).length == atomCount)
+        {
+            return ((byte[])array).clone();
+        }
+
+        // generic path for other blocks
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(atomCount*8);
+        DataOutputStream dos = new DataOutputStream(bos);
+        for (int i = 0; i < atomCount; i++)
+        {
+            switch (data.getDataType(i))
+            {
+                case BOOLEAN:
+                    dos.writeBoolean(data.getBooleanValue(i));
+                    break;
+
+                case BYTE:
+                case UBYTE:
+                    dos.writeByte(data.getIntValue(i));
+                    break;
+
+                case SHORT:
+                case USHORT:
+                    dos.writeShort(data.getIntValue(i));
+                    break;
+
+                case INT:
+                case UINT:
+                    dos.writeInt((int)data.getLongValue(i));
+                    break;
+
+                case LONG:
+                case ULONG:
+                    dos.writeLong(data.getLongValue(i));
+                    break;
+
+                case FLOAT:
+                    dos.writeFloat(data.getFloatValue(i));
+                    break;
+
+                case DOUBLE:
+                    dos.writeDouble(data.getDoubleValue(i));
+                    break;
+
+                case ASCII_STRING:
+                case UTF_STRING:
+                    String val = data.getStringValue(i);
+                    if (val == null)
+                    {
+                        dos.writeInt(-1);
+                    }
+                    else
+                    {
+                        byte[] utf8 = val.getBytes(StandardCharsets.UTF_8);
+                        dos.writeInt(utf8.length);
+                        dos.write(utf8);
+                    }
+                    break;
+
+                default:
+                    throw new IOException("Unsupported data type: " + data.getDataType(i));
+            }
+        }
+
+        return bos.toByteArray();
+    }
+
+
+    protected void deserialize(byte[] raw, DataBlock data) throws IOException
+    {
+        int atomCount = data.getAtomCount();
+        Object array = data.getUnderlyingObject();
+        ByteBuffer buf = ByteBuffer.wrap(raw);
+
+        try
+        {
+            // fast path for primitive blocks that span their whole array
+            if (array instanceof double[] && ((double[])array).length == atomCount)
+                buf.asDoubleBuffer().get((double[])array);
+            else if (array instanceof float[] && ((float[])array).length == atomCount)
+                buf.asFloatBuffer().get((float[])array);
+            else if (array instanceof int[] && ((int[])array).length == atomCount)
+                buf.asIntBuffer().get((int[])array);
+            else if (array instanceof short[] && ((short[])array).length == atomCount)
+                buf.asShortBuffer().get((short[])array);
+            else if (array instanceof long[] && ((long[])array).length == atomCount)
+                buf.asLongBuffer().get((long[])array);
+            else if (array instanceof byte[] && ((byte[])array).length == atomCount)
+                buf.get((byte[])array);
+            else
+                deserializeValues(buf, data);
+        }
+        catch (RuntimeException e)
+        {
+            throw new IOException("Decoded data is incompatible with data block " + data, e);
+        }
+    }
+
+
+    protected void deserializeValues(ByteBuffer buf, DataBlock data) throws IOException
+    {
+        int atomCount = data.getAtomCount();
+        for (int i = 0; i < atomCount; i++)
+        {
+            switch (data.getDataType(i))
+            {
+                case BOOLEAN:
+                    data.setBooleanValue(i, buf.get() != 0);
+                    break;
+
+                case BYTE:
+                    data.setByteValue(i, buf.get());
+                    break;
+
+                case UBYTE:
+                    data.setIntValue(i, buf.get() & 0xff);
+                    break;
+
+                case SHORT:
+                    data.setShortValue(i, buf.getShort());
+                    break;
+
+                case USHORT:
+                    data.setIntValue(i, buf.getShort() & 0xffff);
+                    break;
+
+                case INT:
+                    data.setIntValue(i, buf.getInt());
+                    break;
+
+                case UINT:
+                    data.setLongValue(i, buf.getInt() & 0xffffffffL);
+                    break;
+
+                case LONG:
+                case ULONG:
+                    data.setLongValue(i, buf.getLong());
+                    break;
+
+                case FLOAT:
+                    data.setFloatValue(i, buf.getFloat());
+                    break;
+
+                case DOUBLE:
+                    data.setDoubleValue(i, buf.getDouble());
+                    break;
+
+                case ASCII_STRING:
+                case UTF_STRING:
+                    int len = buf.getInt();
+                    if (len < 0)
+                    {
+                        data.setStringValue(i, null);
+                    }
+                    else
+                    {
+                        data.setStringValue(i, new String(readBytes(buf, len), StandardCharsets.UTF_8));
+                    }
+                    break;
+
+                default:
+                    throw new IOException("Unsupported data type: " + data.getDataType(i));
+            }
+        }
+    }
+
+
+    private static byte[] readBytes(ByteBuffer buf, int len)
+    {
+        byte[] bytes = new byte[len];
+        buf.get(bytes);
+        return bytes;
+    }
+
+
+    /*
+     * Replaces each big endian element by its difference with the previous one
+     */
+    protected static void deltaEncode(byte[] raw, int eltSize)
+    {
+        int numElts = raw.length / eltSize;
+        long prev = 0;
+        for (int i = 0; i < numElts; i++)
+        {
+            int offset = i * eltSize;
+            long val = readElement(raw, offset, eltSize);
+            writeElement(raw, offset, eltSize, val - prev);
+            prev = val;
+        }
+    }
+
+
+    protected static void deltaDecode(byte[] raw, int eltSize)
+    {
+        int numElts = raw.length / eltSize;
+        long prev = 0;
+        for (int i = 0; i < numElts; i++)
+        {
+            int offset = i * eltSize;
+            prev += readElement(raw, offset, eltSize);
+            writeElement(raw, offset, eltSize, prev);
+        }
+    }
+
+
+    private static long readElement(byte[] raw, int offset, int eltSize)
+    {
+        long val = 0;
+        for (int b = 0; b < eltSize; b++)
+            val = (val << 8) | (raw[offset + b] & 0xff);
+        return val;
+    }
+
+
+    private static void writeElement(byte[] raw, int offset, int eltSize, long val)
+    {
+        for (int b = eltSize - 1; b >= 0; b--)
+        {
+            raw[offset + b] = (byte)val;
+            val >>>= 8;
+        }
+    }
+
+
+    /*
+     * Groups bytes of same significance together
+     */
+    protected static byte[] shuffle(byte[] raw, int eltSize)
+    {
+        int numElts = raw.length / eltSize;
+        byte[] out = new byte[raw.length];
+        for (int b = 0; b < eltSize; b++)
+        {
+            int outOffset = b * numElts;
+            for (int i = 0; i < numElts; i++)
+                out[outOffset + i] = raw[i * eltSize + b];
+        }
+
+        // copy trailing bytes as-is
+        int tail = numElts * eltSize;
+        System.arraycopy(raw, tail, out, tail, raw.length - tail);
+        return out;
+    }
+
+
+    protected static byte[] unshuffle(byte[] raw, int eltSize)
+    {
+        int numElts = raw.length / eltSize;
+        byte[] out = new byte[raw.length];
+        for (int b = 0; b < eltSize; b++)
+        {
+            int inOffset = b * numElts;
+            for (int i = 0; i < numElts; i++)
+                out[i * eltSize + b] = raw[inOffset + i];
+        }
+
+        int tail = numElts * eltSize;
+        System.arraycopy(raw, tail, out, tail, raw.length - tail);
+        return out;
+    }
+
+
+    @Override
+    public void init(DataComponent blockComponent, BinaryBlock binaryBlock) throws CDMException
+    {
+        // nothing to initialize
+    }
+
+
+    @Override
+    public void decode(DataInputExt inputStream, DataComponent blockComponent) throws CDMException
+    {
+        try
+        {
+            int blockSize = inputStream.readInt();
+            byte[] bytes = new byte[blockSize];
+            inputStream.readFully(bytes);
+
+            DataBlock data = blockComponent.getData();
+            if (data instanceof DataBlockCompressed)
+                data.setUnderlyingObject(bytes);
+            else
+                decode(bytes, data);
+        }
+        catch (IOException e)
+        {
+            throw new CDMException("Error while decoding " + compressionType + " block", e);
+        }
+    }
+
+
+    @Override
+    public void encode(DataOutputExt outputStream, DataComponent blockComponent) throws CDMException
+    {
+        try
+        {
+            DataBlock data = blockComponent.getData();
+            byte[] bytes;
+
+            // reuse compressed bytes if possible
+            if (data instanceof DataBlockCompressed)
+            {
+                DataBlockCompressed compressedBlock = (DataBlockCompressed)data;
+                if (compressionType.equalsIgnoreCase(compressedBlock.getCompression()) && compressedBlock.getUnderlyingObject() != null)
+                    bytes = compressedBlock.getUnderlyingObject();
+                else
+                    bytes = encode(compressedBlock.getUncompressedData());
+            }
+            else
+                bytes = encode(data);
+
+            outputStream.writeInt(bytes.length);
+            outputStream.write(bytes);
+        }
+        catch (IOException e)
+        {
+            throw new CDMException("Error while encoding " + compressionType + " block", e);
+        }
+    }
+}
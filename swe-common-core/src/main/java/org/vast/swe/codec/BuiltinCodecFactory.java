@@ -0,0 +1,122 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.codec;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.vast.cdm.common.CompressedStreamParser;
+import org.vast.cdm.common.CompressedStreamWriter;
+import org.vast.swe.ICodecFactory;
+
+
+/**
+ * <p>
+ * Factory for the pure java codecs included in this library.<br/>
+ * Compression types are given as the codec name optionally followed by
+ * filters, separated by '+' (e.g. 'deflate', 'lzf+shuffle',
+ * 'lzf+delta+shuffle'). Filters are always applied in the order delta
+ * then shuffle when compressing.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class BuiltinCodecFactory implements ICodecFactory
+{
+    static final String FILTER_SEPARATOR = "+";
+
+
+    /**
+     * Builds the canonical name of a compression type
+     * @param codec name of codec
+     * @param delta true if delta filter is enabled
+     * @param shuffle true if shuffle filter is enabled
+     * @return the compression type
+     */
+    public static String getCompressionType(String codec, boolean delta, boolean shuffle)
+    {
+        StringBuilder buf = new StringBuilder(codec);
+        if (delta)
+            buf.append(FILTER_SEPARATOR).append(BlockCodec.DELTA_FILTER);
+        if (shuffle)
+            buf.append(FILTER_SEPARATOR).append(BlockCodec.SHUFFLE_FILTER);
+        return buf.toString();
+    }
+
+
+    @Override
+    public Map<String, Class<?>> getAvailableDecoders()
+    {
+        Map<String, Class<?>> codecs = new LinkedHashMap<>();
+        codecs.put(DeflateCodec.COMPRESSION_TYPE, DeflateCodec.class);
+        codecs.put(LzfCodec.COMPRESSION_TYPE, LzfCodec.class);
+        return codecs;
+    }
+
+
+    @Override
+    public Map<String, Class<?>> getAvailableEncoders()
+    {
+        return getAvailableDecoders();
+    }
+
+
+    @Override
+    public CompressedStreamParser createDecoder(String compressionType)
+    {
+        return createBlockCodec(compressionType);
+    }
+
+
+    @Override
+    public CompressedStreamWriter createEncoder(String compressionType)
+    {
+        return createBlockCodec(compressionType);
+    }
+
+
+    @Override
+    public BlockCodec createBlockCodec(String compressionType)
+    {
+        if (compressionType == null)
+            return null;
+
+        String[] tokens = compressionType.trim().toLowerCase(Locale.ROOT).split("\\" + FILTER_SEPARATOR);
+        boolean delta = false;
+        boolean shuffle = false;
+        for (int i = 1; i < tokens.length; i++)
+        {
+            if (BlockCodec.DELTA_FILTER.equals(tokens[i]))
+                delta = true;
+            else if (BlockCodec.SHUFFLE_FILTER.equals(tokens[i]))
+                shuffle = true;
+            else
+                return null;
+        }
+
+        switch (tokens[0])
+        {
+            case DeflateCodec.COMPRESSION_TYPE:
+                return new DeflateCodec(delta, shuffle);
+
+            case LzfCodec.COMPRESSION_TYPE:
+                return new LzfCodec(delta, shuffle);
+
+            default:
+                return null;
+        }
+    }
+}
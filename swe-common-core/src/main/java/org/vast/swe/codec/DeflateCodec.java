@@ -0,0 +1,117 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.codec;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+
+/**
+ * <p>
+ * Block codec using the standard deflate algorithm (zlib format)
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class DeflateCodec extends BlockCodec
+{
+    public static final String COMPRESSION_TYPE = "deflate";
+
+    protected int level = Deflater.DEFAULT_COMPRESSION;
+
+
+    public DeflateCodec()
+    {
+        this(false, false);
+    }
+
+
+    public DeflateCodec(boolean delta, boolean shuffle)
+    {
+        super(BuiltinCodecFactory.getCompressionType(COMPRESSION_TYPE, delta, shuffle), delta, shuffle);
+    }
+
+
+    /**
+     * Sets the compression level
+     * @param level compression level from 0 to 9, or -1 for default
+     */
+    public void setLevel(int level)
+    {
+        this.level = level;
+    }
+
+
+    @Override
+    protected byte[] compress(byte[] raw) throws IOException
+    {
+        Deflater deflater = new Deflater(level);
+        try
+        {
+            deflater.setInput(raw);
+            deflater.finish();
+
+            byte[] out = new byte[Math.max(64, raw.length / 2)];
+            int length = 0;
+            while (!deflater.finished())
+            {
+                if (length == out.length)
+                    out = Arrays.copyOf(out, out.length * 2);
+                length += deflater.deflate(out, length, out.length - length);
+            }
+
+            return Arrays.copyOf(out, length);
+        }
+        finally
+        {
+            deflater.end();
+        }
+    }
+
+
+    @Override
+    protected void decompress(byte[] src, int offset, byte[] raw) throws IOException
+    {
+        Inflater inflater = new Inflater();
+        try
+        {
+            inflater.setInput(src, offset, src.length - offset);
+
+            int length = 0;
+            while (length < raw.length)
+            {
+                int n = inflater.inflate(raw, length, raw.length - length);
+                if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+                    break;
+                length += n;
+            }
+
+            if (length != raw.length)
+                throw new IOException("Truncated deflate data");
+        }
+        catch (DataFormatException e)
+        {
+            throw new IOException("Invalid deflate data", e);
+        }
+        finally
+        {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.codec;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+
+/**
+ * <p>
+ * Block codec using the LZF algorithm (same format as liblzf).<br/>
+ * This is a very fast byte oriented LZ77 codec, with a lower compression
+ * ratio than deflate. It works best when combined with the shuffle filter
+ * on numerical data.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class LzfCodec extends BlockCodec
+{
+    public static final String COMPRESSION_TYPE = "lzf";
+
+    static final int HASH_BITS = 14;
+    static final int MAX_LITERAL = 32;
+    static final int MAX_OFFSET = 1 << 13;
+    static final int MAX_MATCH = 264;
+
+
+    public LzfCodec()
+    {
+        this(false, false);
+    }
+
+
+    public LzfCodec(boolean delta, boolean shuffle)
+    {
+        super(BuiltinCodecFactory.getCompressionType(COMPRESSION_TYPE, delta, shuffle), delta, shuffle);
+    }
+
+
+    @Override
+    protected byte[] compress(byte[] in) throws IOException
+    {
+        int inLength = in.length;
+        byte[] out = new byte[inLength + (inLength >> 5) + 16];
+        int[] hashTable = new int[1 << HASH_BITS];
+
+        int ip = 0;
+        int op = 1; // reserve first literal run header
+        int lit = 0;
+
+        while (ip < inLength - 2)
+        {
+            int h = hash(in, ip);
+            int ref = hashTable[h] - 1;
+            hashTable[h] = ip + 1;
+            int off = ip - ref - 1;
+
+            if (ref >= 0 && off < MAX_OFFSET &&
+                in[ref] == in[ip] && in[ref+1] == in[ip+1] && in[ref+2] == in[ip+2])
+            {
+                int maxLen = Math.min(MAX_MATCH, inLength - ip);
+                int len = 3;
+                while (len < maxLen && in[ref + len] == in[ip + len])
+                    len++;
+
+                // terminate current literal run or drop its header if empty
+                if (lit > 0)
+                    out[op - lit - 1] = (byte)(lit - 1);
+                else
+                    op--;
+
+                int encLen = len - 2;
+                if (encLen < 7)
+                {
+                    out[op++] = (byte)((off >> 8) + (encLen << 5));
+                }
+                else
+                {
+                    out[op++] = (byte)((off >> 8) + (7 << 5));
+                    out[op++] = (byte)(encLen - 7);
+                }
+                out[op++] = (byte)off;
+
+                ip += len;
+                lit = 0;
+                op++; // reserve next literal run header
+            }
+            else
+            {
+                out[op++] = in[ip++];
+                if (++lit == MAX_LITERAL)
+                {
+                    out[op - lit - 1] = (byte)(lit - 1);
+                    lit = 0;
+                    op++;
+                }
+            }
+        }
+
+        // last bytes are always literals
+        while (ip < inLength)
+        {
+            out[op++] = in[ip++];
+            if (++lit == MAX_LITERAL)
+            {
+                out[op - lit - 1] = (byte)(lit - 1);
+                lit = 0;
+                op++;
+            }
+        }
+
+        if (lit > 0)
+            out[op - lit - 1] = (byte)(lit - 1);
+        else
+            op--;
+
+        return Arrays.copyOf(out, op);
+    }
+
+
+    private static int hash(byte[] in, int ip)
+    {
+        int v = ((in[ip] & 0xff) << 16) | ((in[ip+1] & 0xff) << 8) | (in[ip+2] & 0xff);
+        return (v * -1640531535) >>> (32 - HASH_BITS);
+    }
+
+
+    @Override
+    protected void decompress(byte[] in, int offset, byte[] out) throws IOException
+    {
+        int ip = offset;
+        int op = 0;
+
+        try
+        {
+            while (ip < in.length)
+            {
+                int ctrl = in[ip++] & 0xff;
+
+                // literal run
+                if (ctrl < MAX_LITERAL)
+                {
+                    int len = ctrl + 1;
+                    System.arraycopy(in, ip, out, op, len);
+                    ip += len;
+                    op += len;
+                }
+
+                // back reference
+                else
+                {
+                    int len = ctrl >> 5;
+                    if (len == 7)
+                        len += in[ip++] & 0xff;
+                    len += 2;
+
+                    int ref = op - ((ctrl & 0x1f) << 8) - (in[ip++] & 0xff) - 1;
+                    if (ref < 0)
+                        throw new IOException("Invalid LZF back reference");
+
+                    // copy byte by byte since ranges can overlap
+                    for (int i = 0; i < len; i++)
+                        out[op++] = out[ref++];
+                }
+            }
+        }
+        catch (IndexOutOfBoundsException e)
+        {
+            throw new IOException("Invalid LZF data", e);
+        }
+
+        if (op != out.length)
+            throw new IOException("Truncated LZF data");
+    }
+}
@@ -21,6 +21,10 @@ import org.vast.cdm.common.DataHandler;
 import org.vast.cdm.common.DataStreamParser;
 import org.vast.cdm.common.ErrorHandler;
 import org.vast.cdm.common.RawDataHandler;
+import org.vast.data.AbstractDataBlock;
+import org.vast.data.DataBlockFactory;
+import org.vast.data.DataBlockParallel;
+import org.vast.data.DataBlockPool;
 import org.vast.util.Asserts;
 import net.opengis.swe.v20.BlockComponent;
 import net.opengis.swe.v20.DataArray;
@@ -51,20 +55,29 @@ public abstract class AbstractDataParser extends DataBlockProcessor implements D
     DataEncoding dataEncoding;
     DataBlock dataBlk;
     boolean renewDataBlock;
+    boolean parsingBatch;
+    DataBlockPool blockPool;
     
     
     protected abstract boolean moreData() throws IOException;
     
     
-    @Override
-    public DataBlock parseNextBlock() throws IOException
+    protected void ensureProcessorTree() throws IOException
     {
         if (!processorTreeReady)
         {
             init();
             dataComponents.accept(this);
+            compileProcessorTree();
             processorTreeReady = true;
         }
+    }
+    
+    
+    @Override
+    public DataBlock parseNextBlock() throws IOException
+    {
+        ensureProcessorTree();
         
         if (!moreData())
             return null;
@@ -86,6 +99,79 @@ public abstract class AbstractDataParser extends DataBlockProcessor implements D
     }
     
     
+    /**
+     * Creates a columnar data block that can receive up to maxRecords records
+     * when passed to {@link #parseNextBatch(DataBlockParallel)}.<br/>
+     * The block contains one primitive array per scalar field of the record
+     * structure so that values of a given field are contiguous in memory.
+     * Record r, field f can be retrieved directly from the child block at
+     * index f, or from the batch block at index r*numFields+f.
+     * @param maxRecords Maximum number of records in the batch
+     * @return the new batch block
+     * @throws IOException if the parser cannot be initialized
+     * @throws IllegalStateException if the records are not all the same size
+     * (i.e. they contain variable size arrays or choices)
+     */
+    public DataBlockParallel createBatchBlock(int maxRecords) throws IOException
+    {
+        Asserts.checkArgument(maxRecords > 0, "maxRecords must be > 0");
+        ensureProcessorTree();
+        Asserts.checkState(!hasVarSizeArray && !hasChoice,
+            "Batch parsing is only supported for fixed size records");
+        
+        // create one column per atom, with the same datatype
+        DataBlock recordBlk = dataComponents.createDataBlock();
+        int numFields = recordBlk.getAtomCount();
+        AbstractDataBlock[] columns = new AbstractDataBlock[numFields];
+        for (int i = 0; i < numFields; i++)
+        {
+            columns[i] = (AbstractDataBlock)DataBlockFactory.createBlock(recordBlk.getDataType(i));
+            columns[i].resize(maxRecords);
+        }
+        
+        return DataBlockFactory.createParallelBlock(columns);
+    }
+    
+    
+    /**
+     * Parses the next records directly into a columnar batch block.<br/>
+     * Values are written in place so the same batch block can be reused
+     * for parsing subsequent batches.
+     * @param batch Batch block created with {@link #createBatchBlock(int)}
+     * @return the number of records actually parsed, which is less than the
+     * batch capacity only when the end of the stream is reached
+     * @throws IOException if the input cannot be parsed
+     */
+    public int parseNextBatch(DataBlockParallel batch) throws IOException
+    {
+        ensureProcessorTree();
+        Asserts.checkState(!hasVarSizeArray && !hasChoice,
+            "Batch parsing is only supported for fixed size records");
+        
+        int numFields = batch.getUnderlyingObject().length;
+        int maxRecords = batch.getAtomCount() / numFields;
+        int numRecords = 0;
+        
+        try
+        {
+            parsingBatch = true;
+            int index = 0;
+            while (numRecords < maxRecords && moreData())
+            {
+                index = rootProcessor.process(batch, index);
+                numRecords++;
+                Asserts.checkState(index == numRecords*numFields, "Batch doesn't match record structure");
+            }
+        }
+        finally
+        {
+            parsingBatch = false;
+        }
+        
+        return numRecords;
+    }
+    
+    
     @Override
     public void reset()
     {
@@ -96,7 +182,9 @@ public abstract class AbstractDataParser extends DataBlockProcessor implements D
     protected DataBlock getNextDataBlock()
     {
         // depends if parsing to array block
-        if (dataBlk != null)
+        if (blockPool != null)
+            dataBlk = blockPool.lease();
+        else if (dataBlk != null)
             dataBlk = dataBlk.clone();
         else
             dataBlk = dataComponents.createDataBlock();
@@ -111,6 +199,26 @@ public abstract class AbstractDataParser extends DataBlockProcessor implements D
     }
     
     
+    /**
+     * Sets the pool from which new data blocks are leased when the parser
+     * needs a new block.<br/>
+     * The caller is responsible for releasing parsed blocks to the pool once
+     * they are not used anymore. The pool must be created for the same
+     * structure as the parser (e.g. using {@link #getDataComponents()}).
+     * @param blockPool Data block pool or null to allocate new blocks
+     */
+    public void setDataBlockPool(DataBlockPool blockPool)
+    {
+        this.blockPool = blockPool;
+    }
+    
+    
+    public DataBlockPool getDataBlockPool()
+    {
+        return blockPool;
+    }
+    
+    
     @Override
     public void setDataEncoding(DataEncoding encoding)
     {
@@ -54,6 +54,7 @@ public abstract class AbstractDataWriter extends DataBlockProcessor implements D
                 init();
                 checkEnabled(dataComponents);
                 dataComponents.accept(this);
+                compileProcessorTree();
                 processorTreeReady = true;
             }
             
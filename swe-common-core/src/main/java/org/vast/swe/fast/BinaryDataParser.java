@@ -14,8 +14,11 @@ Copyright (C) 2012-2022 Sensia Software LLC. All Rights Reserved.
 
 package org.vast.swe.fast;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.vast.cdm.common.CDMException;
@@ -23,7 +26,18 @@ import org.vast.cdm.common.DataInputExt;
 import org.vast.data.AbstractDataBlock;
 import org.vast.data.AbstractDataComponentImpl;
 import org.vast.data.BinaryComponentImpl;
+import org.vast.data.DataBlockByte;
+import org.vast.data.DataBlockDouble;
+import org.vast.data.DataBlockFloat;
+import org.vast.data.DataBlockInt;
+import org.vast.data.DataBlockLong;
 import org.vast.data.DataBlockMixed;
+import org.vast.data.DataBlockPacked;
+import org.vast.data.DataBlockShort;
+import org.vast.data.DataBlockUByte;
+import org.vast.data.DataBlockUInt;
+import org.vast.data.DataBlockUShort;
+import org.vast.swe.ByteBufferDataInput;
 import org.vast.swe.DataInputStreamBI;
 import org.vast.swe.DataInputStreamLI;
 import org.vast.swe.SWEHelper;
@@ -32,17 +46,22 @@ import org.vast.util.ReaderException;
 import net.opengis.swe.v20.BinaryEncoding;
 import net.opengis.swe.v20.BinaryMember;
 import net.opengis.swe.v20.Boolean;
+import net.opengis.swe.v20.ByteEncoding;
 import net.opengis.swe.v20.ByteOrder;
 import net.opengis.swe.v20.Category;
 import net.opengis.swe.v20.Count;
 import net.opengis.swe.v20.DataArray;
 import net.opengis.swe.v20.DataBlock;
 import net.opengis.swe.v20.DataChoice;
+import net.opengis.swe.v20.DataComponent;
+import net.opengis.swe.v20.DataRecord;
 import net.opengis.swe.v20.DataType;
 import net.opengis.swe.v20.Quantity;
+import net.opengis.swe.v20.RangeComponent;
 import net.opengis.swe.v20.ScalarComponent;
 import net.opengis.swe.v20.Text;
 import net.opengis.swe.v20.Time;
+import net.opengis.swe.v20.Vector;
 
 
 /**
@@ -50,6 +69,10 @@ import net.opengis.swe.v20.Time;
  * New implementation of binary data parser with better efficiency since the 
  * write tree is pre-computed during init instead of being re-evaluated
  * while iterating through the component tree.
+ * </p><p>
+ * Data can be read from an input stream or directly from a {@link ByteBuffer}.
+ * In the latter case, arrays whose elements are all of the same primitive type
+ * are bulk copied from the buffer into the backing array of the data block.
  * </p>
  *
  * @author Alex Robin
@@ -58,6 +81,7 @@ import net.opengis.swe.v20.Time;
 public class BinaryDataParser extends AbstractDataParser
 {
     protected DataInputExt dataInput;
+    protected ByteBuffer byteBuffer;
     Map<String, ArraySizeSupplier> countParsers = new HashMap<>();
     
     
@@ -271,6 +295,130 @@ public class BinaryDataParser extends AbstractDataParser
             
             return super.process(data, index);
         }
+        
+        @Override
+        public boolean isInlinable()
+        {
+            return fixedSize >= 0;
+        }
+    }
+    
+    
+    /*
+     * Array parser used when all array elements are encoded with the same
+     * primitive datatype. When reading from a byte buffer, values are bulk
+     * copied into the backing array of the data block if its type matches
+     */
+    protected class BulkArrayParser extends ArrayParser
+    {
+        DataArray array;
+        DataType dataType;
+        
+        public BulkArrayParser(DataArray array, DataType dataType)
+        {
+            this.array = array;
+            this.dataType = dataType;
+        }
+        
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            // batch blocks are columnar so values cannot be bulk copied
+            if (byteBuffer == null || !enabled || parsingBatch)
+                return super.process(data, index);
+            
+            // make sure array component is bound to the current datablock
+            if (!dataComponents.hasData() || dataComponents.getData() != data)
+                dataComponents.setData(data);
+            
+            // resize array if var size
+            int arraySize = getArraySize();
+            if (varSizeArray != null)
+                updateArraySize(varSizeArray, arraySize);
+            
+            var arrayData = array.getData();
+            int count = arrayData.getAtomCount();
+            
+            try
+            {
+                if (!readFrom(arrayData, count))
+                    return super.process(data, index);
+            }
+            catch (BufferUnderflowException e)
+            {
+                throw new EOFException();
+            }
+            
+            return index + count;
+        }
+        
+        @Override
+        public boolean isInlinable()
+        {
+            // keep bulk copy
+            return false;
+        }
+        
+        protected boolean readFrom(DataBlock arrayData, int count)
+        {
+            // arrays in records with mixed types share a packed block
+            if (arrayData instanceof DataBlockPacked)
+                return ((DataBlockPacked)arrayData).readFrom(byteBuffer, 0, count, dataType);
+
+            switch (dataType)
+            {
+                case BYTE:
+                case UBYTE:
+                    if (arrayData instanceof DataBlockByte)
+                        ((DataBlockByte)arrayData).readFrom(byteBuffer, 0, count);
+                    else if (arrayData instanceof DataBlockUByte)
+                        ((DataBlockUByte)arrayData).readFrom(byteBuffer, 0, count);
+                    else
+                        return false;
+                    return true;
+                    
+                case SHORT:
+                case USHORT:
+                    if (arrayData instanceof DataBlockShort)
+                        ((DataBlockShort)arrayData).readFrom(byteBuffer, 0, count);
+                    else if (arrayData instanceof DataBlockUShort)
+                        ((DataBlockUShort)arrayData).readFrom(byteBuffer, 0, count);
+                    else
+                        return false;
+                    return true;
+                    
+                case INT:
+                case UINT:
+                    if (arrayData instanceof DataBlockInt)
+                        ((DataBlockInt)arrayData).readFrom(byteBuffer, 0, count);
+                    else if (arrayData instanceof DataBlockUInt)
+                        ((DataBlockUInt)arrayData).readFrom(byteBuffer, 0, count);
+                    else
+                        return false;
+                    return true;
+                    
+                case LONG:
+                    if (!(arrayData instanceof DataBlockLong))
+                        return false;
+                    ((DataBlockLong)arrayData).readFrom(byteBuffer, 0, count);
+                    return true;
+                    
+                case FLOAT:
+                    if (!(arrayData instanceof DataBlockFloat))
+                        return false;
+                    ((DataBlockFloat)arrayData).readFrom(byteBuffer, 0, count);
+                    return true;
+                    
+                case DOUBLE:
+                    if (!(arrayData instanceof DataBlockDouble))
+                        return false;
+                    ((DataBlockDouble)arrayData).readFrom(byteBuffer, 0, count);
+                    return true;
+                    
+                default:
+                    return false;
+            }
+        }
     }
     
     
@@ -303,7 +451,7 @@ public class BinaryDataParser extends AbstractDataParser
         public int process(DataBlock data, int index) throws IOException
         {
             int selectedIndex = dataInput.readInt();
-            if (selectedIndex < 0 || selectedIndex >= maxChoiceIdx)
+            if (selectedIndex < 0 || selectedIndex > maxChoiceIdx)
                 throw new IOException(AbstractDataParser.INVALID_CHOICE_MSG + selectedIndex);
             
             // set selected choice index and corresponding datablock
@@ -311,7 +459,7 @@ public class BinaryDataParser extends AbstractDataParser
             var selectedData = choice.getComponent(selectedIndex).createDataBlock();
             ((DataBlockMixed)data).setBlock(1, (AbstractDataBlock)selectedData);
             
-            return super.process(data, ++index, selectedIndex);
+            return super.process(data, index, selectedIndex);
         }
     }
     
@@ -337,13 +485,31 @@ public class BinaryDataParser extends AbstractDataParser
             dataInput = new DataInputStreamLI(is);
         else
             dataInput = new DataInputStreamBI(is);
+        byteBuffer = null;
+    }
+    
+    
+    /**
+     * Sets a byte buffer as input. Records are read starting at the current
+     * buffer position, and the buffer byte order is set according to the
+     * binary encoding.
+     * @param buf Heap, direct or memory mapped byte buffer
+     */
+    public void setInput(ByteBuffer buf)
+    {
+        if (((BinaryEncoding)dataEncoding).getByteOrder() == ByteOrder.LITTLE_ENDIAN)
+            buf.order(java.nio.ByteOrder.LITTLE_ENDIAN);
+        else
+            buf.order(java.nio.ByteOrder.BIG_ENDIAN);
+        dataInput = new ByteBufferDataInput(buf);
+        byteBuffer = buf;
     }
     
 
     @Override
     public void close() throws IOException
     {
-        if (dataInput != null)
+        if (dataInput instanceof InputStream)
             ((InputStream)dataInput).close();
     }
     
@@ -458,10 +624,177 @@ public class BinaryDataParser extends AbstractDataParser
     @Override
     protected ArrayProcessor getArrayProcessor(DataArray array)
     {
+        // use bulk parser if array elements are all of the same type
+        // bulk copy is not possible if the array is nested in another array
+        // or choice since its datablock changes for each parent item
+        if (filter == null && !hasArrayOrChoiceParent())
+        {
+            DataType dataType = getUniformDataType(array.getElementType());
+            if (dataType != null)
+                return new BulkArrayParser(array, dataType);
+        }
+        
         return new ArrayParser();
     }
     
     
+    protected boolean hasArrayOrChoiceParent()
+    {
+        for (AtomProcessor p: processorStack)
+        {
+            if (p instanceof ArrayProcessor || p instanceof ChoiceProcessor)
+                return true;
+        }
+        
+        return false;
+    }
+    
+    
+    /*
+     * Returns the datatype shared by all scalars in the component tree
+     * or null if datatypes are not all the same or cannot be bulk copied
+     */
+    protected DataType getUniformDataType(DataComponent comp)
+    {
+        if (comp instanceof ScalarComponent)
+        {
+            BinaryMember enc = ((AbstractDataComponentImpl)comp).getEncodingInfo();
+            if (!(enc instanceof BinaryComponentImpl))
+                return null;
+            
+            DataType dataType = ((BinaryComponentImpl)enc).getCdmDataType();
+            switch (dataType)
+            {
+                case BYTE:
+                case UBYTE:
+                case SHORT:
+                case USHORT:
+                case INT:
+                case UINT:
+                case LONG:
+                case FLOAT:
+                case DOUBLE:
+                    return dataType;
+                    
+                default:
+                    return null;
+            }
+        }
+        else if (comp instanceof DataArray)
+        {
+            if (((DataArray)comp).isVariableSize())
+                return null;
+            return getUniformDataType(((DataArray)comp).getElementType());
+        }
+        else if (comp instanceof DataRecord || comp instanceof Vector)
+        {
+            DataType dataType = null;
+            for (int i = 0; i < comp.getComponentCount(); i++)
+            {
+                DataType childType = getUniformDataType(comp.getComponent(i));
+                if (childType == null || (dataType != null && childType != dataType))
+                    return null;
+                dataType = childType;
+            }
+            
+            return dataType;
+        }
+        
+        return null;
+    }
+    
+    
+    /**
+     * Computes the size of encoded records from the component tree and
+     * binary encoding options
+     * @return the size of each record in bytes, or -1 if records don't all
+     * have the same size (i.e. they contain strings, variable size arrays,
+     * choices or encoded blocks) or if bytes are not raw encoded
+     * @throws IOException if the binary encoding cannot be applied to the
+     * component tree
+     */
+    public int getFixedRecordSize() throws IOException
+    {
+        ByteEncoding byteEncoding = ((BinaryEncoding)dataEncoding).getByteEncoding();
+        if (byteEncoding != null && byteEncoding != ByteEncoding.RAW)
+            return -1;
+        
+        ensureProcessorTree();
+        long size = getEncodedSize(dataComponents);
+        return size > Integer.MAX_VALUE ? -1 : (int)size;
+    }
+    
+    
+    /*
+     * Returns the size of the encoded component in bytes
+     * or -1 if it cannot be known before reading the data
+     */
+    protected long getEncodedSize(DataComponent comp)
+    {
+        BinaryMember enc = ((AbstractDataComponentImpl)comp).getEncodingInfo();
+        
+        if (comp instanceof ScalarComponent)
+        {
+            if (!(enc instanceof BinaryComponentImpl))
+                return -1;
+            
+            DataType dataType = ((BinaryComponentImpl)enc).getCdmDataType();
+            switch (dataType)
+            {
+                case BOOLEAN:
+                case BYTE:
+                case UBYTE:
+                    return 1;
+                    
+                case SHORT:
+                case USHORT:
+                    return 2;
+                    
+                case INT:
+                case UINT:
+                case FLOAT:
+                    return 4;
+                    
+                case LONG:
+                case ULONG:
+                case DOUBLE:
+                    return 8;
+                    
+                default:
+                    return -1;
+            }
+        }
+        
+        // encoded blocks can have any size
+        if (enc != null)
+            return -1;
+        
+        if (comp instanceof DataArray)
+        {
+            DataArray array = (DataArray)comp;
+            if (array.isVariableSize())
+                return -1;
+            long eltSize = getEncodedSize(array.getElementType());
+            return eltSize < 0 ? -1 : eltSize * array.getComponentCount();
+        }
+        else if (comp instanceof DataRecord || comp instanceof Vector || comp instanceof RangeComponent)
+        {
+            long size = 0;
+            for (int i = 0; i < comp.getComponentCount(); i++)
+            {
+                long childSize = getEncodedSize(comp.getComponent(i));
+                if (childSize < 0)
+                    return -1;
+                size += childSize;
+            }
+            
+            return size;
+        }
+        
+        return -1;
+    }
+    
+    
     @Override
     protected ImplicitSizeProcessor getImplicitSizeProcessor(DataArray array)
     {
@@ -479,6 +812,8 @@ public class BinaryDataParser extends AbstractDataParser
     @Override
     protected boolean moreData() throws IOException
     {
+        if (byteBuffer != null)
+            return byteBuffer.hasRemaining();
         return ((InputStream)dataInput).available() > 0;
     }
 }
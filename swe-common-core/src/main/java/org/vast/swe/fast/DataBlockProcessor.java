@@ -54,6 +54,8 @@ public abstract class DataBlockProcessor implements DataComponentVisitor
     protected boolean enableSubTree = true;
     protected boolean processorTreeReady;
     protected boolean hasVarSizeArray = false;
+    protected boolean hasChoice = false;
+    protected boolean compileTree = false;
     
     
     public interface AtomProcessor
@@ -105,6 +107,15 @@ public abstract class DataBlockProcessor implements DataComponentVisitor
         {
             fieldProcessors.add(processor);
         }
+        
+        /**
+         * @return true if this processor only iterates through its children
+         * so that they can be inlined in the parent processor
+         */
+        public boolean isInlinable()
+        {
+            return getClass() == RecordProcessor.class;
+        }
     }
     
     
@@ -140,6 +151,7 @@ public abstract class DataBlockProcessor implements DataComponentVisitor
         protected ArraySizeSupplier sizeSupplier;
         protected AtomProcessor eltProcessor;
         protected DataArray varSizeArray;
+        protected int fixedSize = -1;
         
         @Override
         public int process(DataBlock data, int index) throws IOException
@@ -164,6 +176,15 @@ public abstract class DataBlockProcessor implements DataComponentVisitor
         {
             this.eltProcessor = processor;
         }
+        
+        /**
+         * @return true if the array has a fixed size and this processor only
+         * iterates through elements so that it can be unrolled
+         */
+        public boolean isInlinable()
+        {
+            return getClass() == ArrayProcessor.class && fixedSize >= 0;
+        }
     }
     
     
@@ -187,6 +208,16 @@ public abstract class DataBlockProcessor implements DataComponentVisitor
     protected abstract void init() throws IOException;
     
     
+    /*
+     * Replaces the processor tree by its compiled version, if enabled
+     */
+    protected void compileProcessorTree()
+    {
+        if (compileTree && rootProcessor != null)
+            rootProcessor = ProcessorTreeCompiler.compile(rootProcessor);
+    }
+    
+    
     protected void addToProcessorTree(AtomProcessor processor)
     {
         // add to parent processor or root
@@ -331,6 +362,7 @@ public abstract class DataBlockProcessor implements DataComponentVisitor
     public void visit(DataChoice choice)
     {
         addToProcessorTree(getChoiceProcessor(choice));
+        hasChoice = true;
         
         for (DataComponent item: choice.getItemList())
         {
@@ -381,6 +413,7 @@ public abstract class DataBlockProcessor implements DataComponentVisitor
         {
             final int arraySize = array.getComponentCount();
             arrayProcessor.setArraySizeSupplier(() -> arraySize);
+            arrayProcessor.fixedSize = arraySize;
         }
         
         addToProcessorTree(arrayProcessor);
@@ -408,6 +441,20 @@ public abstract class DataBlockProcessor implements DataComponentVisitor
     }
     
     
+    /**
+     * Enables compilation of the processor tree once it is built.<br/>
+     * Record processors and fixed size arrays are then flattened into a
+     * straight sequence of scalar processors, which is faster for hot
+     * streams with many records of the same structure.
+     * @param compile true to compile the processor tree
+     */
+    public void setCompileProcessorTree(boolean compile)
+    {
+        this.compileTree = compile;
+        this.processorTreeReady = false;
+    }
+    
+    
     public void setDataComponents(DataComponent components)
     {
         this.dataComponents = components.copy();
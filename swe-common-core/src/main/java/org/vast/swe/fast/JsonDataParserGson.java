@@ -24,8 +24,9 @@ import org.vast.data.DataBlockDouble;
 import org.vast.data.DataBlockInt;
 import org.vast.data.DataBlockList;
 import org.vast.data.DataBlockMixed;
+import org.vast.data.DataBlockParallel;
 import org.vast.util.Asserts;
-import org.vast.util.DateTimeFormat;
+import org.vast.util.IsoDateTimeCodec;
 import org.vast.util.ReaderException;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
@@ -184,7 +185,7 @@ public class JsonDataParserGson extends AbstractDataParser
 
     protected class IsoDateTimeReader extends ValueReader
     {
-        DateTimeFormat timeFormat = new DateTimeFormat();
+        IsoDateTimeCodec timeCodec = new IsoDateTimeCodec();
 
         public IsoDateTimeReader(String eltName)
         {
@@ -205,7 +206,7 @@ public class JsonDataParserGson extends AbstractDataParser
                 val = Double.NEGATIVE_INFINITY;
             else
             {
-                try { val = timeFormat.parseIso(str); }
+                try { val = timeCodec.parse(str); }
                 catch (Exception e) { throw new ReaderException(e.getMessage()); }
             }
             
@@ -620,6 +621,21 @@ public class JsonDataParserGson extends AbstractDataParser
     }
 
 
+    @Override
+    public int parseNextBatch(DataBlockParallel batch) throws IOException
+    {
+        try
+        {
+            return super.parseNextBatch(batch);
+        }
+        catch (MalformedJsonException e)
+        {
+            var msg = e.getMessage().replaceAll("Use JsonReader.*malformed", "Malformed");
+            throw new ReaderException(msg);
+        }
+    }
+
+
     @Override
     public void close() throws IOException
     {
@@ -0,0 +1,1280 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.fast;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.vast.data.AbstractDataBlock;
+import org.vast.data.DataBlockDouble;
+import org.vast.data.DataBlockInt;
+import org.vast.data.DataBlockList;
+import org.vast.data.DataBlockMixed;
+import org.vast.util.Asserts;
+import org.vast.util.IsoDateTimeCodec;
+import org.vast.util.NumberParser;
+import org.vast.util.ReaderException;
+import gnu.trove.list.array.TDoubleArrayList;
+import net.opengis.swe.v20.Boolean;
+import net.opengis.swe.v20.Category;
+import net.opengis.swe.v20.Count;
+import net.opengis.swe.v20.DataArray;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataChoice;
+import net.opengis.swe.v20.DataComponent;
+import net.opengis.swe.v20.DataRecord;
+import net.opengis.swe.v20.GeometryData;
+import net.opengis.swe.v20.GeometryData.GeomType;
+import net.opengis.swe.v20.Quantity;
+import net.opengis.swe.v20.RangeComponent;
+import net.opengis.swe.v20.Text;
+import net.opengis.swe.v20.Time;
+import net.opengis.swe.v20.Vector;
+
+
+/**
+ * <p>
+ * JSON data parser reading UTF-8 bytes directly from the input stream,
+ * without going through a character reader and decoder.<br/>
+ * Property names are matched against byte sequences computed when the
+ * reader tree is built, so no String is created for them, and numbers and
+ * ISO times are decoded directly from the bytes of the input buffer.
+ * Strings are only decoded from UTF-8 and unescaped when needed.
+ * </p><p>
+ * This parser reads the same format as {@link JsonDataParserGson}, except
+ * that records that are not wrapped in a JSON array can also be separated by
+ * white spaces (e.g. one record per line).
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class JsonDataParserUtf8 extends AbstractDataParser
+{
+    static final String DOUBLE_VALUE_ERROR = "Expected decimal value or one of ['NaN', '-INF', '+INF']";
+    public static final int DEFAULT_BUFFER_SIZE = 16*1024;
+    static final byte[] TRUE = ascii("true");
+    static final byte[] FALSE = ascii("false");
+    static final byte[] NULL = ascii("null");
+
+    protected InputStream is;
+    protected byte[] buf;
+    protected int pos;
+    protected int limit;
+    protected long bufferOffset;
+    protected char[] scratch = new char[64];
+    protected Map<String, IntegerReader> countReaders = new HashMap<>();
+    protected boolean hasJsonArrayWrapper = false;
+    protected boolean wrapperStarted;
+    protected boolean firstRecord;
+    protected boolean endOfStream;
+
+
+    protected interface JsonAtomReader
+    {
+        String getEltName();
+
+        /**
+         * @return the property name encoded to UTF-8 bytes, including quotes
+         */
+        byte[] getNameToken();
+    }
+
+
+    protected abstract class ValueReader extends BaseProcessor implements JsonAtomReader
+    {
+        String eltName;
+        byte[] nameToken;
+
+        public ValueReader(String eltName)
+        {
+            this.eltName = eltName;
+            this.nameToken = encodeNameToken(eltName);
+        }
+
+        public abstract void readValue(DataBlock data, int index) throws IOException;
+
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            try
+            {
+                if (enabled)
+                {
+                    beforeValue();
+                    readValue(data, index);
+                }
+                return ++index;
+            }
+            catch (NumberFormatException | ReaderException e)
+            {
+                throw new ReaderException(e.getMessage() + " for field '" + eltName + "'", e);
+            }
+        }
+
+        @Override
+        public String getEltName()
+        {
+            return eltName;
+        }
+
+        @Override
+        public byte[] getNameToken()
+        {
+            return nameToken;
+        }
+    }
+
+
+    protected class BooleanReader extends ValueReader
+    {
+        public BooleanReader(String eltName)
+        {
+            super(eltName);
+        }
+
+        @Override
+        public void readValue(DataBlock data, int index) throws IOException
+        {
+            data.setBooleanValue(index, readBoolean());
+        }
+    }
+
+
+    protected class IntegerReader extends ValueReader
+    {
+        int val;
+
+        public IntegerReader(String eltName)
+        {
+            super(eltName);
+        }
+
+        @Override
+        public void readValue(DataBlock data, int index) throws IOException
+        {
+            val = NumberParser.parseInt(scratch, 0, readNumberToken());
+            data.setIntValue(index, val);
+        }
+    }
+
+
+    protected class DoubleReader extends ValueReader
+    {
+        public DoubleReader(String eltName)
+        {
+            super(eltName);
+        }
+
+        @Override
+        public void readValue(DataBlock data, int index) throws IOException
+        {
+            data.setDoubleValue(index, readDouble());
+        }
+    }
+
+
+    protected class IsoDateTimeReader extends ValueReader
+    {
+        IsoDateTimeCodec timeCodec = new IsoDateTimeCodec();
+
+        public IsoDateTimeReader(String eltName)
+        {
+            super(eltName);
+        }
+
+        @Override
+        public void readValue(DataBlock data, int index) throws IOException
+        {
+            if (peek() != '"')
+                throw new ReaderException("Expected ISO date/time string" + atOffset());
+
+            double val;
+            int len = scanSimpleString();
+            if (len >= 0)
+            {
+                // parse directly from input buffer
+                int start = pos + 1;
+                val = parseSpecialValue(buf, start, len);
+                if (val == 0.0)
+                {
+                    try { val = timeCodec.parse(buf, start, start + len); }
+                    catch (Exception e) { throw new ReaderException(e.getMessage()); }
+                }
+                pos = start + len + 1;
+            }
+            else
+            {
+                String str = readString();
+                val = parseSpecialValue(str);
+                if (val == 0.0)
+                {
+                    try { val = timeCodec.parse(str); }
+                    catch (Exception e) { throw new ReaderException(e.getMessage()); }
+                }
+            }
+
+            data.setDoubleValue(index, val);
+        }
+    }
+
+
+    protected class StringReader extends ValueReader
+    {
+        public StringReader(String eltName)
+        {
+            super(eltName);
+        }
+
+        @Override
+        public void readValue(DataBlock data, int index) throws IOException
+        {
+            String str = null;
+            if (peek() == 'n')
+                readLiteral(NULL);
+            else
+                str = readString();
+            data.setStringValue(index, str);
+        }
+    }
+
+
+    protected class RangeReader extends RecordProcessor implements JsonAtomReader
+    {
+        String eltName;
+        byte[] nameToken;
+
+        public RangeReader(String eltName)
+        {
+            this.eltName = eltName;
+            this.nameToken = encodeNameToken(eltName);
+        }
+
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            expect('[');
+            fieldProcessors.get(0).process(data, index++);
+            expect(',');
+            fieldProcessors.get(1).process(data, index++);
+            expect(']');
+            return index;
+        }
+
+        @Override
+        public String getEltName()
+        {
+            return eltName;
+        }
+
+        @Override
+        public byte[] getNameToken()
+        {
+            return nameToken;
+        }
+    }
+
+
+    protected class RecordReader extends RecordProcessor implements JsonAtomReader
+    {
+        String eltName;
+        byte[] nameToken;
+
+        public RecordReader(String eltName)
+        {
+            this.eltName = eltName;
+            this.nameToken = encodeNameToken(eltName);
+        }
+
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            expect('{');
+
+            boolean first = true;
+            for (AtomProcessor p: fieldProcessors)
+            {
+                if (p.isEnabled())
+                {
+                    if (!first)
+                        expect(',');
+                    readName((JsonAtomReader)p);
+                    first = false;
+                }
+
+                index = p.process(data, index);
+            }
+
+            expect('}');
+            return index;
+        }
+
+        @Override
+        public String getEltName()
+        {
+            return eltName;
+        }
+
+        @Override
+        public byte[] getNameToken()
+        {
+            return nameToken;
+        }
+    }
+
+
+    protected class ArrayReader extends ArrayProcessor implements JsonAtomReader
+    {
+        String eltName;
+        byte[] nameToken;
+
+        public ArrayReader(String eltName)
+        {
+            this.eltName = eltName;
+            this.nameToken = encodeNameToken(eltName);
+        }
+
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            // resize array if var size
+            int arraySize = getArraySize();
+            if (varSizeArray != null)
+                updateArraySize(varSizeArray, arraySize);
+
+            expect('[');
+
+            // case of array with variable size items
+            // e.g. item is itself a variable size array or a choice
+            if (varSizeArray != null && varSizeArray.getData() instanceof DataBlockList)
+            {
+                var arrayData = (DataBlockList)varSizeArray.getData();
+                var globalIdx = index;
+                for (int i = 0; i < arraySize; i++)
+                {
+                    if (i > 0)
+                        expect(',');
+                    var itemData = arrayData.get(i);
+                    globalIdx += eltProcessor.process(itemData, 0);
+                }
+                index = globalIdx;
+                data.updateAtomCount();
+            }
+            else
+            {
+                for (int i = 0; i < arraySize; i++)
+                {
+                    if (i > 0)
+                        expect(',');
+                    index = eltProcessor.process(data, index);
+                }
+            }
+
+            expect(']');
+            return index;
+        }
+
+        @Override
+        public String getEltName()
+        {
+            return eltName;
+        }
+
+        @Override
+        public byte[] getNameToken()
+        {
+            return nameToken;
+        }
+    }
+
+
+    protected class ChoiceReader extends ChoiceProcessor implements JsonAtomReader
+    {
+        String eltName;
+        byte[] nameToken;
+        DataChoice choice;
+        byte[][] itemTokens;
+        Map<String, Integer> itemIndexes = new HashMap<>();
+
+        public ChoiceReader(DataChoice choice)
+        {
+            this.eltName = choice.getName();
+            this.nameToken = encodeNameToken(eltName);
+            this.choice = choice;
+            this.itemTokens = new byte[choice.getNumItems()][];
+
+            int i = 0;
+            for (DataComponent item: choice.getItemList())
+            {
+                itemTokens[i] = encodeNameToken(item.getName());
+                itemIndexes.put(item.getName(), i++);
+            }
+        }
+
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            expect('{');
+
+            int selectedIndex = readItemName(this);
+            expect(':');
+
+            // set selected choice index and corresponding datablock
+            data.setIntValue(index++, selectedIndex);
+            var selectedData = choice.getComponent(selectedIndex).createDataBlock();
+            ((DataBlockMixed)data).setBlock(1, (AbstractDataBlock)selectedData);
+
+            // delegate to selected item processor
+            index = super.process(data, index, selectedIndex);
+
+            expect('}');
+            return index;
+        }
+
+        @Override
+        public String getEltName()
+        {
+            return eltName;
+        }
+
+        @Override
+        public byte[] getNameToken()
+        {
+            return nameToken;
+        }
+    }
+
+
+    protected class GeometryReader extends ChoiceProcessor implements JsonAtomReader
+    {
+        String eltName;
+        byte[] nameToken;
+        GeometryData geom;
+
+        public GeometryReader(GeometryData geom)
+        {
+            this.geom = Asserts.checkNotNull(geom, GeometryData.class);
+            this.eltName = geom.getName();
+            this.nameToken = encodeNameToken(eltName);
+        }
+
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            var geomOffset = atOffset();
+            GeomType geomType = null;
+            boolean hasCoords = false;
+
+            // get geom datablock
+            var geomData = geom.getData();
+            int numDims = geom.getNumDims();
+
+            expect('{');
+
+            boolean first = true;
+            while (peek() != '}')
+            {
+                if (!first)
+                    expect(',');
+                first = false;
+
+                String name = readString();
+                expect(':');
+
+                if ("type".equals(name))
+                {
+                    var type = readString();
+
+                    try
+                    {
+                        geomType = GeomType.valueOf(type);
+                        var selectedIndex = geomType.ordinal();
+
+                        // set selected choice index and corresponding datablock
+                        data.setIntValue(index++, selectedIndex);
+                        var selectedData = geom.getComponent(selectedIndex).createDataBlock();
+                        ((DataBlockMixed)geomData).setBlock(1, (AbstractDataBlock)selectedData);
+                    }
+                    catch (IllegalArgumentException e)
+                    {
+                        throw new ReaderException("Unsupported geometry type: " + type + atOffset());
+                    }
+                }
+                else if ("coordinates".equals(name))
+                {
+                    if (geomType == null)
+                        throw new ReaderException("Geometry type must be set before coordinates" + atOffset());
+
+                    hasCoords = true;
+                    expect('[');
+
+                    if (geomType == GeomType.Point)
+                    {
+                        var coords = new TDoubleArrayList(numDims);
+                        readPosition(coords, numDims);
+
+                        var pointCoords = ((DataBlockMixed)geomData).getUnderlyingObject()[1];
+                        ((DataBlockDouble)pointCoords).setUnderlyingObject(coords.toArray());
+                        index += coords.size();
+                    }
+                    else if (geomType == GeomType.LineString)
+                    {
+                        var coords = new TDoubleArrayList();
+                        int numPoints = readPositionList(coords, numDims);
+                        geomData.setIntValue(1, numPoints);
+
+                        var lineData = ((DataBlockMixed)geomData).getUnderlyingObject()[1];
+                        var lineCoords = ((DataBlockMixed)lineData).getUnderlyingObject()[1];
+                        ((DataBlockDouble)lineCoords).setUnderlyingObject(coords.toArray());
+                        index += coords.size() + 1;
+                    }
+                    else if (geomType == GeomType.Polygon)
+                    {
+                        var polyData = ((DataBlockMixed)geomData).getUnderlyingObject()[1];
+                        var ringListData = ((DataBlockMixed)polyData).getUnderlyingObject()[1];
+                        int numRings = 0;
+
+                        if (!isEndOfArray())
+                        {
+                            do
+                            {
+                                expect('[');
+                                var coords = new TDoubleArrayList();
+                                int numPoints = readPositionList(coords, numDims);
+
+                                var ringCoords = new DataBlockDouble(0);
+                                ringCoords.setUnderlyingObject(coords.toArray());
+                                var ringData = new DataBlockMixed(new DataBlockInt(1), ringCoords);
+                                ringData.setIntValue(0, numPoints);
+                                ((DataBlockList)ringListData).add(ringData);
+
+                                index += coords.size() + 1;
+                                numRings++;
+                            }
+                            while (nextElement());
+                        }
+
+                        geomData.setIntValue(1, numRings);
+                        index++;
+                    }
+                }
+                else
+                    skipValue();
+            }
+
+            pos++; // closing brace
+
+            if (geomType == null)
+                throw new ReaderException("Missing geometry type" + geomOffset);
+
+            if (!hasCoords)
+                throw new ReaderException("Missing geometry coordinates" + geomOffset);
+
+            data.updateAtomCount();
+            return index;
+        }
+
+        @Override
+        public String getEltName()
+        {
+            return eltName;
+        }
+
+        @Override
+        public byte[] getNameToken()
+        {
+            return nameToken;
+        }
+    }
+
+
+    public JsonDataParserUtf8()
+    {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+
+    /**
+     * @param bufferSize Initial size of the buffer used to read from the
+     * input stream
+     */
+    public JsonDataParserUtf8(int bufferSize)
+    {
+        Asserts.checkArgument(bufferSize >= 16, "bufferSize must be >= 16");
+        this.buf = new byte[bufferSize];
+    }
+
+
+    static byte[] ascii(String s)
+    {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+
+    static byte[] encodeNameToken(String name)
+    {
+        if (name == null)
+            return new byte[0];
+        return ('"' + name + '"').getBytes(StandardCharsets.UTF_8);
+    }
+
+
+    @Override
+    protected void init() throws IOException
+    {
+        if (hasJsonArrayWrapper && !wrapperStarted)
+        {
+            expect('[');
+            wrapperStarted = true;
+        }
+    }
+
+
+    @Override
+    public void setInput(InputStream is) throws IOException
+    {
+        this.is = is;
+        this.pos = 0;
+        this.limit = 0;
+        this.bufferOffset = 0;
+        this.wrapperStarted = false;
+        this.firstRecord = true;
+        this.endOfStream = false;
+    }
+
+
+    public void setHasArrayWrapper()
+    {
+        this.hasJsonArrayWrapper = true;
+    }
+
+
+    /*
+     * Called before reading each scalar value
+     */
+    protected void beforeValue() throws IOException
+    {
+    }
+
+
+    /*
+     * Moves unread bytes to the start of the buffer, growing it if full,
+     * and reads more bytes from the input stream.
+     * Positions relative to pos stay valid after this call.
+     */
+    protected boolean fillBuffer() throws IOException
+    {
+        int remaining = limit - pos;
+        if (pos > 0)
+        {
+            System.arraycopy(buf, pos, buf, 0, remaining);
+            bufferOffset += pos;
+            pos = 0;
+            limit = remaining;
+        }
+        else if (limit == buf.length)
+            buf = Arrays.copyOf(buf, buf.length*2);
+
+        int n = is.read(buf, limit, buf.length - limit);
+        if (n <= 0)
+            return false;
+
+        limit += n;
+        return true;
+    }
+
+
+    /*
+     * Makes sure the given number of bytes are available in the buffer
+     */
+    protected boolean ensureAvailable(int len) throws IOException
+    {
+        while (limit - pos < len)
+        {
+            if (!fillBuffer())
+                return false;
+        }
+
+        return true;
+    }
+
+
+    /*
+     * Skips white spaces and returns the next byte without consuming it,
+     * or -1 if the end of stream is reached
+     */
+    protected int peek() throws IOException
+    {
+        while (true)
+        {
+            if (pos == limit && !fillBuffer())
+                return -1;
+
+            int b = buf[pos];
+            if (b == ' ' || b == '\n' || b == '\r' || b == '\t')
+                pos++;
+            else
+                return b & 0xFF;
+        }
+    }
+
+
+    protected void expect(char c) throws IOException
+    {
+        int b = peek();
+        if (b != c)
+            throw new ReaderException("Expected '" + c + "' but was " + describe(b) + atOffset());
+        pos++;
+    }
+
+
+    /*
+     * Consumes the separator following an array element.
+     * Returns true if another element follows, false at the end of the array
+     */
+    protected boolean nextElement() throws IOException
+    {
+        int b = peek();
+        pos++;
+        if (b == ',')
+            return true;
+        else if (b == ']')
+            return false;
+
+        pos--;
+        throw new ReaderException("Expected ',' or ']' but was " + describe(b) + atOffset());
+    }
+
+
+    /*
+     * Consumes the end of an array if it is empty
+     */
+    protected boolean isEndOfArray() throws IOException
+    {
+        if (peek() == ']')
+        {
+            pos++;
+            return true;
+        }
+
+        return false;
+    }
+
+
+    protected String describe(int b)
+    {
+        return b < 0 ? "end of stream" : "'" + (char)b + "'";
+    }
+
+
+    protected String atOffset()
+    {
+        return " at offset " + (bufferOffset + pos);
+    }
+
+
+    /*
+     * Reads the next property name and checks it is the one expected for
+     * the given reader. Names are compared as bytes unless they contain escapes
+     */
+    protected void readName(JsonAtomReader p) throws IOException
+    {
+        byte[] token = p.getNameToken();
+        peek();
+
+        if (!matchBytes(token))
+        {
+            var actualName = readString();
+            if (!actualName.equals(p.getEltName()))
+                throw new ReaderException("Expected field '" + p.getEltName() + "' but was '" + actualName + "'" + atOffset());
+        }
+
+        expect(':');
+    }
+
+
+    /*
+     * Reads the name of the selected choice item and returns its index
+     */
+    protected int readItemName(ChoiceReader choiceReader) throws IOException
+    {
+        peek();
+
+        for (int i = 0; i < choiceReader.itemTokens.length; i++)
+        {
+            if (matchBytes(choiceReader.itemTokens[i]))
+                return i;
+        }
+
+        var itemName = readString();
+        var selectedIndex = choiceReader.itemIndexes.get(itemName);
+        if (selectedIndex == null)
+            throw new ReaderException(INVALID_CHOICE_MSG + itemName + atOffset());
+        return selectedIndex;
+    }
+
+
+    /*
+     * Consumes the given bytes if they are next in the stream
+     */
+    protected boolean matchBytes(byte[] bytes) throws IOException
+    {
+        if (!ensureAvailable(bytes.length))
+            return false;
+
+        for (int i = 0; i < bytes.length; i++)
+        {
+            if (buf[pos+i] != bytes[i])
+                return false;
+        }
+
+        pos += bytes.length;
+        return true;
+    }
+
+
+    protected void readLiteral(byte[] literal) throws IOException
+    {
+        if (!matchBytes(literal))
+            throw new ReaderException("Expected '" + new String(literal, StandardCharsets.US_ASCII) + "'" + atOffset());
+    }
+
+
+    protected boolean readBoolean() throws IOException
+    {
+        int b = peek();
+        if (b == 't' && matchBytes(TRUE))
+            return true;
+        else if (b == 'f' && matchBytes(FALSE))
+            return false;
+
+        throw new ReaderException(INVALID_BOOLEAN_MSG + describe(b) + atOffset());
+    }
+
+
+    /*
+     * Copies the next number token to the scratch buffer and returns its length
+     */
+    protected int readNumberToken() throws IOException
+    {
+        peek();
+
+        int len = 0;
+        while (pos < limit || fillBuffer())
+        {
+            int b = buf[pos];
+            if ((b >= '0' && b <= '9') || b == '-' || b == '.' || b == 'e' || b == 'E' || b == '+')
+            {
+                if (len == scratch.length)
+                    scratch = Arrays.copyOf(scratch, len*2);
+                scratch[len++] = (char)b;
+                pos++;
+            }
+            else
+                break;
+        }
+
+        if (len == 0)
+            throw new ReaderException("Expected number but was " + describe(peek()) + atOffset());
+
+        return len;
+    }
+
+
+    protected double readDouble() throws IOException
+    {
+        // handle cases of special values
+        if (peek() == '"')
+        {
+            double val = parseSpecialValue(readString());
+            if (val == 0.0)
+                throw new NumberFormatException(DOUBLE_VALUE_ERROR);
+            return val;
+        }
+
+        return NumberParser.parseDouble(scratch, 0, readNumberToken());
+    }
+
+
+    /*
+     * Returns special value if string matches one of the special tokens, 0.0 otherwise
+     */
+    protected static double parseSpecialValue(String str)
+    {
+        if ("NaN".equals(str))
+            return Double.NaN;
+        else if ("+INF".equals(str) || "INF".equals(str))
+            return Double.POSITIVE_INFINITY;
+        else if ("-INF".equals(str))
+            return Double.NEGATIVE_INFINITY;
+        return 0.0;
+    }
+
+
+    protected static double parseSpecialValue(byte[] buf, int start, int len)
+    {
+        if (len > 4 || len < 3)
+            return 0.0;
+        return parseSpecialValue(new String(buf, start, len, StandardCharsets.US_ASCII));
+    }
+
+
+    /*
+     * Scans the string starting at the current position and returns its
+     * length if it only contains ASCII chars and no escapes, -1 otherwise.
+     * The string is not consumed but is fully available in the buffer after
+     * this call.
+     */
+    protected int scanSimpleString() throws IOException
+    {
+        int i = 1; // skip opening quote
+
+        while (true)
+        {
+            if (pos + i == limit && !fillBuffer())
+                throw new ReaderException("Unterminated string" + atOffset());
+
+            int b = buf[pos + i];
+            if (b == '"')
+                return i - 1;
+            else if (b == '\\' || b < 0)
+                return -1;
+            i++;
+        }
+    }
+
+
+    protected String readString() throws IOException
+    {
+        int b = peek();
+        if (b != '"')
+            throw new ReaderException("Expected string but was " + describe(b) + atOffset());
+
+        // fast path for ASCII strings without escapes
+        int len = scanSimpleString();
+        if (len >= 0)
+        {
+            String str = new String(buf, pos + 1, len, StandardCharsets.ISO_8859_1);
+            pos += len + 2;
+            return str;
+        }
+
+        // find end of string, skipping escaped chars
+        int i = 1;
+        while (true)
+        {
+            while (pos + i >= limit)
+            {
+                if (!fillBuffer())
+                    throw new ReaderException("Unterminated string" + atOffset());
+            }
+
+            b = buf[pos + i];
+            if (b == '"')
+                break;
+            i += (b == '\\') ? 2 : 1;
+        }
+
+        // decode UTF-8 runs between escape sequences
+        int start = pos + 1;
+        int end = pos + i;
+        StringBuilder sb = new StringBuilder(end - start);
+        int runStart = start;
+
+        for (int j = start; j < end; j++)
+        {
+            if (buf[j] != '\\')
+                continue;
+
+            if (j > runStart)
+                sb.append(new String(buf, runStart, j - runStart, StandardCharsets.UTF_8));
+
+            char c = (char)buf[++j];
+            switch (c)
+            {
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                case 't': sb.append('\t'); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'u':
+                    if (j + 4 >= end)
+                        throw new ReaderException("Invalid unicode escape sequence" + atOffset());
+                    try
+                    {
+                        sb.append((char)Integer.parseInt(new String(buf, j+1, 4, StandardCharsets.US_ASCII), 16));
+                    }
+                    catch (NumberFormatException e)
+                    {
+                        throw new ReaderException("Invalid unicode escape sequence" + atOffset());
+                    }
+                    j += 4;
+                    break;
+                default: sb.append(c); // quote, backslash and slash
+            }
+
+            runStart = j + 1;
+        }
+
+        if (end > runStart)
+            sb.append(new String(buf, runStart, end - runStart, StandardCharsets.UTF_8));
+
+        pos = end + 1;
+        return sb.toString();
+    }
+
+
+    /*
+     * Skips the next value, including objects and arrays
+     */
+    protected void skipValue() throws IOException
+    {
+        int b = peek();
+
+        if (b == '"')
+            readString();
+        else if (b == '{' || b == '[')
+        {
+            int depth = 0;
+            do
+            {
+                b = peek();
+                if (b == '"')
+                {
+                    readString();
+                    continue;
+                }
+                else if (b == '{' || b == '[')
+                    depth++;
+                else if (b == '}' || b == ']')
+                    depth--;
+                else if (b < 0)
+                    throw new ReaderException("Unexpected end of stream" + atOffset());
+                pos++;
+            }
+            while (depth > 0);
+        }
+        else
+        {
+            // skip literal
+            while (pos < limit || fillBuffer())
+            {
+                b = buf[pos];
+                if (b == ',' || b == '}' || b == ']' || b == ' ' || b == '\n' || b == '\r' || b == '\t')
+                    break;
+                pos++;
+            }
+        }
+    }
+
+
+    /*
+     * Reads coordinates of one position, after the opening bracket
+     */
+    protected void readPosition(TDoubleArrayList coords, int numDims) throws IOException
+    {
+        int dims = 0;
+
+        if (!isEndOfArray())
+        {
+            do
+            {
+                if (peek() == '"')
+                    throw new ReaderException("Invalid coordinate value" + atOffset());
+                coords.add(readDouble());
+                dims++;
+            }
+            while (nextElement());
+        }
+
+        if (dims != numDims)
+            throw new ReaderException("Read " + dims + " coordinates but expected " + numDims + atOffset());
+    }
+
+
+    /*
+     * Reads a list of positions, after the opening bracket
+     */
+    protected int readPositionList(TDoubleArrayList coords, int numDims) throws IOException
+    {
+        int numPoints = 0;
+
+        if (!isEndOfArray())
+        {
+            do
+            {
+                expect('[');
+                readPosition(coords, numDims);
+                numPoints++;
+            }
+            while (nextElement());
+        }
+
+        return numPoints;
+    }
+
+
+    @Override
+    public void close() throws IOException
+    {
+        if (is != null)
+            is.close();
+    }
+
+
+    @Override
+    public void visit(Boolean comp)
+    {
+        addToProcessorTree(new BooleanReader(comp.getName()));
+    }
+
+
+    @Override
+    public void visit(Count comp)
+    {
+        IntegerReader reader = new IntegerReader(comp.getName());
+        if (comp.isSetId())
+            countReaders.put(comp.getId(), reader);
+        addToProcessorTree(reader);
+    }
+
+
+    @Override
+    public void visit(Quantity comp)
+    {
+        addToProcessorTree(new DoubleReader(comp.getName()));
+    }
+
+
+    @Override
+    public void visit(Time comp)
+    {
+        if (!comp.isIsoTime())
+            addToProcessorTree(new DoubleReader(comp.getName()));
+        else
+            addToProcessorTree(new IsoDateTimeReader(comp.getName()));
+    }
+
+
+    @Override
+    public void visit(Category comp)
+    {
+        addToProcessorTree(new StringReader(comp.getName()));
+    }
+
+
+    @Override
+    public void visit(Text comp)
+    {
+        addToProcessorTree(new StringReader(comp.getName()));
+    }
+
+
+    @Override
+    public void visit(GeometryData geom)
+    {
+        addToProcessorTree(new GeometryReader(geom));
+        hasVarSizeArray = true;
+        processorStack.pop();
+    }
+
+
+    @Override
+    protected AtomProcessor getRangeProcessor(RangeComponent range)
+    {
+        return new RangeReader(range.getName());
+    }
+
+
+    @Override
+    protected RecordProcessor getRecordProcessor(DataRecord record)
+    {
+        return new RecordReader(record.getName());
+    }
+
+
+    @Override
+    protected RecordProcessor getVectorProcessor(Vector vect)
+    {
+        return new RecordReader(vect.getName());
+    }
+
+
+    @Override
+    protected ChoiceProcessor getChoiceProcessor(DataChoice choice)
+    {
+        return new ChoiceReader(choice);
+    }
+
+
+    @Override
+    protected ArrayProcessor getArrayProcessor(DataArray array)
+    {
+        return new ArrayReader(array.getName());
+    }
+
+
+    @Override
+    protected ImplicitSizeProcessor getImplicitSizeProcessor(DataArray array)
+    {
+        throw new IllegalStateException("Implicit size not supported by JSON parser");
+    }
+
+
+    @Override
+    protected ArraySizeSupplier getArraySizeSupplier(String refId)
+    {
+        IntegerReader sizeReader = countReaders.get(refId);
+        return () -> sizeReader.val;
+    }
+
+
+    @Override
+    protected boolean moreData() throws IOException
+    {
+        if (endOfStream)
+            return false;
+
+        int b = peek();
+
+        if (hasJsonArrayWrapper)
+        {
+            if (b == ']')
+            {
+                pos++;
+                endOfStream = true;
+                return false;
+            }
+
+            if (!firstRecord)
+            {
+                expect(',');
+                b = peek();
+            }
+        }
+
+        firstRecord = false;
+        if (b < 0)
+        {
+            endOfStream = true;
+            return false;
+        }
+
+        return true;
+    }
+}
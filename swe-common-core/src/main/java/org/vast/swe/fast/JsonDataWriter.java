@@ -19,15 +19,13 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Locale;
 import java.util.Map;
 import org.vast.swe.SWEDataTypeUtils;
-import org.vast.util.DateTimeFormat;
+import org.vast.util.IsoDateTimeCodec;
+import org.vast.util.NumberFormatter;
 import org.vast.util.WriterException;
 import net.opengis.swe.v20.Boolean;
 import net.opengis.swe.v20.Category;
@@ -70,6 +68,7 @@ public class JsonDataWriter extends AbstractDataWriter
 
     protected Writer writer;
     protected NullWriter nullWriter = new NullWriter();
+    protected NumberFormatter numberFormatter = new NumberFormatter();
     protected int depth;
     boolean wrapWithJsonArray;
     boolean firstBlock = true;
@@ -139,7 +138,7 @@ public class JsonDataWriter extends AbstractDataWriter
         public void writeValue(DataBlock data, int index) throws IOException
         {
             val = data.getIntValue(index);
-            writer.write(Integer.toString(val));
+            writeNumber(numberFormatter.formatLong(val));
         }
     }
 
@@ -164,7 +163,7 @@ public class JsonDataWriter extends AbstractDataWriter
             else if (val == Double.NEGATIVE_INFINITY)
                 writer.write("\"-INF\"");
             else
-                writer.write(Double.toString(val));
+                writeNumber(numberFormatter.formatDouble(val));
         }
     }
 
@@ -189,22 +188,19 @@ public class JsonDataWriter extends AbstractDataWriter
             else if (val == Float.NEGATIVE_INFINITY)
                 writer.write("\"-INF\"");
             else
-                writer.write(Float.toString(val));
+                writeNumber(numberFormatter.formatFloat(val));
         }
     }
 
 
     protected class RoundingDecimalWriter extends DoubleWriter
     {
-        NumberFormat df;
+        int numDecimalPlaces;
 
         public RoundingDecimalWriter(String eltName, int numDecimalPlaces)
         {
             super(eltName);
-            this.df = DecimalFormat.getNumberInstance(Locale.US);
-            df.setGroupingUsed(false);
-            df.setMinimumFractionDigits(1);
-            df.setMaximumFractionDigits(numDecimalPlaces);
+            this.numDecimalPlaces = numDecimalPlaces;
         }
 
         @Override
@@ -220,14 +216,15 @@ public class JsonDataWriter extends AbstractDataWriter
             else if (val == Double.NEGATIVE_INFINITY)
                 writer.write("\"-INF\"");
             else
-                writer.write(df.format(val));
+                writeNumber(numberFormatter.formatFixed(val, numDecimalPlaces));
         }
     }
 
 
     protected class IsoDateTimeWriter extends ValueWriter
     {
-        DateTimeFormat timeFormat = new DateTimeFormat();
+        IsoDateTimeCodec timeCodec = new IsoDateTimeCodec();
+        char[] buf = new char[IsoDateTimeCodec.MAX_FORMAT_LENGTH];
 
         public IsoDateTimeWriter(String eltName)
         {
@@ -242,7 +239,7 @@ public class JsonDataWriter extends AbstractDataWriter
             if (Double.isNaN(val) || Double.isInfinite(val))
                 writer.write(SWEDataTypeUtils.getDoubleOrInfAsString(val));
             else
-                writer.write(timeFormat.formatIso(val, 0));
+                writer.write(buf, 0, timeCodec.format(val, 0, buf, 0));
             writer.write('"');
         }
     }
@@ -547,6 +544,12 @@ public class JsonDataWriter extends AbstractDataWriter
     }
 
 
+    protected void writeNumber(int len) throws IOException
+    {
+        writer.write(numberFormatter.getBuffer(), 0, len);
+    }
+
+
     protected void indent() throws IOException
     {
         for (int i = 0; i < depth; i++)
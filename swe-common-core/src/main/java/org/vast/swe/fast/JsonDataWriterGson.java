@@ -18,14 +18,12 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Locale;
 import java.util.Map;
 import org.vast.json.JsonInliningWriter;
-import org.vast.util.DateTimeFormat;
+import org.vast.util.IsoDateTimeCodec;
+import org.vast.util.NumberFormatter;
 import org.vast.util.WriterException;
 import com.google.gson.stream.JsonWriter;
 import net.opengis.swe.v20.Boolean;
@@ -66,6 +64,7 @@ public class JsonDataWriterGson extends AbstractDataWriter
     protected JsonWriter writer;
     protected Map<String, IntegerWriter> countWriters = new HashMap<>();
     protected boolean wrapWithJsonArray;
+    protected NumberFormatter numberFormatter = new NumberFormatter();
 
 
     protected interface JsonAtomWriter
@@ -132,7 +131,7 @@ public class JsonDataWriterGson extends AbstractDataWriter
         public void writeValue(DataBlock data, int index) throws IOException
         {
             val = data.getIntValue(index);
-            writer.value(val);
+            writeNumber(numberFormatter.formatLong(val));
         }
     }
 
@@ -157,7 +156,7 @@ public class JsonDataWriterGson extends AbstractDataWriter
             else if (val == Double.NEGATIVE_INFINITY)
                 writer.value("-INF");
             else
-                writer.value(val);
+                writeNumber(numberFormatter.formatDouble(val));
         }
     }
 
@@ -182,22 +181,19 @@ public class JsonDataWriterGson extends AbstractDataWriter
             else if (val == Float.NEGATIVE_INFINITY)
                 writer.value("-INF");
             else
-                writer.jsonValue(Float.toString(val));
+                writeNumber(numberFormatter.formatFloat(val));
         }
     }
 
 
     protected class RoundingDecimalWriter extends DoubleWriter
     {
-        NumberFormat df;
+        int numDecimalPlaces;
 
         public RoundingDecimalWriter(String eltName, int numDecimalPlaces)
         {
             super(eltName);
-            this.df = DecimalFormat.getNumberInstance(Locale.US);
-            df.setGroupingUsed(false);
-            df.setMinimumFractionDigits(1);
-            df.setMaximumFractionDigits(numDecimalPlaces);
+            this.numDecimalPlaces = numDecimalPlaces;
         }
 
         @Override
@@ -213,14 +209,14 @@ public class JsonDataWriterGson extends AbstractDataWriter
             else if (val == Double.NEGATIVE_INFINITY)
                 writer.value("-INF");
             else
-                writer.jsonValue(df.format(val));
+                writeNumber(numberFormatter.formatFixed(val, numDecimalPlaces));
         }
     }
 
 
     protected class IsoDateTimeWriter extends ValueWriter
     {
-        DateTimeFormat timeFormat = new DateTimeFormat();
+        IsoDateTimeCodec timeCodec = new IsoDateTimeCodec();
 
         public IsoDateTimeWriter(String eltName)
         {
@@ -238,7 +234,7 @@ public class JsonDataWriterGson extends AbstractDataWriter
             else if (val == Double.NEGATIVE_INFINITY)
                 writer.value("-INF");
             else
-                writer.value(timeFormat.formatIso(val, 0));
+                writer.value(timeCodec.format(val, 0));
         }
     }
 
@@ -507,7 +503,7 @@ public class JsonDataWriterGson extends AbstractDataWriter
                     writeInline(true);
                     
                     for (int i = 0; i < numDims; i++)
-                        writer.value(data.getDoubleValue(index++));
+                        writeNumber(numberFormatter.formatDouble(data.getDoubleValue(index++)));
                     
                     writer.endArray();
                     writeInline(false);
@@ -523,7 +519,7 @@ public class JsonDataWriterGson extends AbstractDataWriter
                         writer.beginArray();
                         writeInline(true);
                         for (int i = 0; i < numDims; i++)
-                            writer.value(data.getDoubleValue(index++));
+                            writeNumber(numberFormatter.formatDouble(data.getDoubleValue(index++)));
                         writer.endArray();
                         writeInline(false);
                     }
@@ -546,7 +542,7 @@ public class JsonDataWriterGson extends AbstractDataWriter
                             writer.beginArray();
                             writeInline(true);
                             for (int i = 0; i < numDims; i++)
-                                writer.value(data.getDoubleValue(index++));
+                                writeNumber(numberFormatter.formatDouble(data.getDoubleValue(index++)));
                             writer.endArray();
                             writeInline(false);
                         }
@@ -602,6 +598,15 @@ public class JsonDataWriterGson extends AbstractDataWriter
     }
     
     
+    /*
+     * Gson only accepts raw JSON values as strings
+     */
+    protected void writeNumber(int len) throws IOException
+    {
+        writer.jsonValue(new String(numberFormatter.getBuffer(), 0, len));
+    }
+
+
     protected void writeInline(boolean writeInline)
     {
         if (writer instanceof JsonInliningWriter)
@@ -0,0 +1,976 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.fast;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import org.vast.util.Asserts;
+import org.vast.util.IsoDateTimeCodec;
+import org.vast.util.NumberFormatter;
+import org.vast.util.WriterException;
+import net.opengis.swe.v20.Boolean;
+import net.opengis.swe.v20.Category;
+import net.opengis.swe.v20.Count;
+import net.opengis.swe.v20.DataArray;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataChoice;
+import net.opengis.swe.v20.DataComponent;
+import net.opengis.swe.v20.DataRecord;
+import net.opengis.swe.v20.DataType;
+import net.opengis.swe.v20.GeometryData;
+import net.opengis.swe.v20.GeometryData.GeomType;
+import net.opengis.swe.v20.Quantity;
+import net.opengis.swe.v20.RangeComponent;
+import net.opengis.swe.v20.Text;
+import net.opengis.swe.v20.Time;
+import net.opengis.swe.v20.Vector;
+
+
+/**
+ * <p>
+ * JSON data writer producing UTF-8 bytes directly into a reusable buffer,
+ * without going through a character writer and encoder.<br/>
+ * Property names are encoded once, with their quotes and colon, when the
+ * writer tree is built. Numbers, booleans and ISO times are copied to the
+ * buffer as is and strings are only escaped if they contain characters that
+ * require it. The buffer is written to the output stream when it is full
+ * and when the writer is flushed.
+ * </p><p>
+ * The output is compact JSON with the same structure as
+ * {@link JsonDataWriterGson}, so it can be read by {@link JsonDataParserGson}.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class JsonDataWriterUtf8 extends AbstractDataWriter
+{
+    static final String JSON_ERROR = "Error writing JSON ";
+    public static final int DEFAULT_BUFFER_SIZE = 64*1024;
+    static final int MAX_BYTES_PER_CHAR = 6; // escaped control characters
+    static final byte[] TRUE = ascii("true");
+    static final byte[] FALSE = ascii("false");
+    static final byte[] NULL = ascii("null");
+    static final byte[] NAN = ascii("\"NaN\"");
+    static final byte[] PLUS_INF = ascii("\"+INF\"");
+    static final byte[] MINUS_INF = ascii("\"-INF\"");
+    static final byte[] HEX_DIGITS = ascii("0123456789abcdef");
+    static final byte[] POINT_TOKENS = ascii("\"type\":\"Point\",\"coordinates\":");
+    static final byte[] LINESTRING_TOKENS = ascii("\"type\":\"LineString\",\"coordinates\":");
+    static final byte[] POLYGON_TOKENS = ascii("\"type\":\"Polygon\",\"coordinates\":");
+
+    protected OutputStream os;
+    protected byte[] buf;
+    protected int pos;
+    protected boolean wrapWithJsonArray;
+    protected boolean firstBlock = true;
+    protected NumberFormatter numberFormatter = new NumberFormatter();
+    protected Map<String, IntegerWriter> countWriters = new HashMap<>();
+
+
+    protected interface JsonAtomWriter
+    {
+        /**
+         * @return the encoded property name token, including quotes and colon
+         */
+        byte[] getNameToken();
+    }
+
+
+    protected abstract class ValueWriter extends BaseProcessor implements JsonAtomWriter
+    {
+        String eltName;
+        byte[] nameToken;
+
+        public ValueWriter(String eltName)
+        {
+            this.eltName = eltName;
+            this.nameToken = encodeNameToken(eltName);
+        }
+
+        public abstract void writeValue(DataBlock data, int index) throws IOException;
+
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            try
+            {
+                if (enabled)
+                    writeValue(data, index);
+                return ++index;
+            }
+            catch (IOException e)
+            {
+                throw new WriterException(JSON_ERROR + " value " + eltName, e);
+            }
+        }
+
+        @Override
+        public byte[] getNameToken()
+        {
+            return nameToken;
+        }
+    }
+
+
+    protected class BooleanWriter extends ValueWriter
+    {
+        public BooleanWriter(String eltName)
+        {
+            super(eltName);
+        }
+
+        @Override
+        public void writeValue(DataBlock data, int index) throws IOException
+        {
+            writeBytes(data.getBooleanValue(index) ? TRUE : FALSE);
+        }
+    }
+
+
+    protected class IntegerWriter extends ValueWriter
+    {
+        int val;
+
+        public IntegerWriter(String eltName)
+        {
+            super(eltName);
+        }
+
+        @Override
+        public void writeValue(DataBlock data, int index) throws IOException
+        {
+            val = data.getIntValue(index);
+            writeNumber(numberFormatter.formatLong(val));
+        }
+    }
+
+
+    protected class DoubleWriter extends ValueWriter
+    {
+        public DoubleWriter(String eltName)
+        {
+            super(eltName);
+        }
+
+        @Override
+        public void writeValue(DataBlock data, int index) throws IOException
+        {
+            writeDouble(data.getDoubleValue(index));
+        }
+    }
+
+
+    protected class FloatWriter extends ValueWriter
+    {
+        public FloatWriter(String eltName)
+        {
+            super(eltName);
+        }
+
+        @Override
+        public void writeValue(DataBlock data, int index) throws IOException
+        {
+            float val = data.getFloatValue(index);
+
+            // need to add quote on special values because they are not valid literal values in JSON
+            if (Float.isNaN(val))
+                writeBytes(NAN);
+            else if (val == Float.POSITIVE_INFINITY)
+                writeBytes(PLUS_INF);
+            else if (val == Float.NEGATIVE_INFINITY)
+                writeBytes(MINUS_INF);
+            else
+                writeNumber(numberFormatter.formatFloat(val));
+        }
+    }
+
+
+    protected class RoundingDecimalWriter extends DoubleWriter
+    {
+        int numDecimalPlaces;
+
+        public RoundingDecimalWriter(String eltName, int numDecimalPlaces)
+        {
+            super(eltName);
+            this.numDecimalPlaces = numDecimalPlaces;
+        }
+
+        @Override
+        public void writeValue(DataBlock data, int index) throws IOException
+        {
+            double val = data.getDoubleValue(index);
+
+            if (Double.isNaN(val) || Double.isInfinite(val))
+                writeDouble(val);
+            else
+                writeNumber(numberFormatter.formatFixed(val, numDecimalPlaces));
+        }
+    }
+
+
+    protected class IsoDateTimeWriter extends ValueWriter
+    {
+        IsoDateTimeCodec timeCodec = new IsoDateTimeCodec();
+        char[] timeBuf = new char[IsoDateTimeCodec.MAX_FORMAT_LENGTH];
+
+        public IsoDateTimeWriter(String eltName)
+        {
+            super(eltName);
+        }
+
+        @Override
+        public void writeValue(DataBlock data, int index) throws IOException
+        {
+            double val = data.getDoubleValue(index);
+
+            if (Double.isNaN(val) || Double.isInfinite(val))
+                writeDouble(val);
+            else
+            {
+                int len = timeCodec.format(val, 0, timeBuf, 0);
+                ensureCapacity(len+2);
+                buf[pos++] = '"';
+                copyAscii(timeBuf, len);
+                buf[pos++] = '"';
+            }
+        }
+    }
+
+
+    protected class StringWriter extends ValueWriter
+    {
+        public StringWriter(String eltName)
+        {
+            super(eltName);
+        }
+
+        @Override
+        public void writeValue(DataBlock data, int index) throws IOException
+        {
+            String val = data.getStringValue(index);
+
+            if (val != null)
+                writeString(val);
+            else
+                writeBytes(NULL);
+        }
+    }
+
+
+    protected class RangeWriter extends RecordProcessor implements JsonAtomWriter
+    {
+        String eltName;
+        byte[] nameToken;
+
+        public RangeWriter(String eltName)
+        {
+            this.eltName = eltName;
+            this.nameToken = encodeNameToken(eltName);
+        }
+
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            try
+            {
+                writeByte('[');
+                fieldProcessors.get(0).process(data, index++);
+                writeByte(',');
+                fieldProcessors.get(1).process(data, index++);
+                writeByte(']');
+                return index;
+            }
+            catch (IOException e)
+            {
+                throw new WriterException(JSON_ERROR + " range " + eltName, e);
+            }
+        }
+
+        @Override
+        public byte[] getNameToken()
+        {
+            return nameToken;
+        }
+    }
+
+
+    protected class RecordWriter extends RecordProcessor implements JsonAtomWriter
+    {
+        String eltName;
+        byte[] nameToken;
+
+        public RecordWriter(String eltName)
+        {
+            this.eltName = eltName;
+            this.nameToken = encodeNameToken(eltName);
+        }
+
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            // skip if disabled
+            if (!enabled)
+                return super.process(data, index);
+
+            try
+            {
+                writeByte('{');
+
+                boolean first = true;
+                for (AtomProcessor p: fieldProcessors)
+                {
+                    if (p.isEnabled())
+                    {
+                        if (!first)
+                            writeByte(',');
+                        writeBytes(((JsonAtomWriter)p).getNameToken());
+                        first = false;
+                    }
+
+                    index = p.process(data, index);
+                }
+
+                writeByte('}');
+                return index;
+            }
+            catch (IOException e)
+            {
+                throw new WriterException(JSON_ERROR + " record " + eltName, e);
+            }
+        }
+
+        @Override
+        public byte[] getNameToken()
+        {
+            return nameToken;
+        }
+    }
+
+
+    protected class ArrayWriter extends ArrayProcessor implements JsonAtomWriter
+    {
+        String eltName;
+        byte[] nameToken;
+
+        public ArrayWriter(String eltName)
+        {
+            this.eltName = eltName;
+            this.nameToken = encodeNameToken(eltName);
+        }
+
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            // skip if disabled
+            if (!enabled)
+                return super.process(data, index);
+
+            try
+            {
+                writeByte('[');
+
+                int arraySize = getArraySize();
+                for (int i = 0; i < arraySize; i++)
+                {
+                    if (i > 0)
+                        writeByte(',');
+                    index = eltProcessor.process(data, index);
+                }
+
+                writeByte(']');
+                return index;
+            }
+            catch (IOException e)
+            {
+                throw new WriterException(JSON_ERROR + " array " + eltName, e);
+            }
+        }
+
+        @Override
+        public byte[] getNameToken()
+        {
+            return nameToken;
+        }
+    }
+
+
+    protected class ChoiceWriter extends ChoiceProcessor implements JsonAtomWriter
+    {
+        String eltName;
+        byte[] nameToken;
+        ArrayList<byte[]> choiceTokens;
+
+        public ChoiceWriter(DataChoice choice)
+        {
+            this.eltName = choice.getName();
+            this.nameToken = encodeNameToken(eltName);
+            choiceTokens = new ArrayList<>(choice.getNumItems());
+            for (DataComponent item: choice.getItemList())
+                choiceTokens.add(encodeNameToken(item.getName()));
+        }
+
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            int selectedIndex = data.getIntValue(index);
+            if (selectedIndex < 0 || selectedIndex >= choiceTokens.size())
+                throw new WriterException(AbstractDataParser.INVALID_CHOICE_MSG + selectedIndex);
+            index++;
+
+            // skip if disabled
+            if (!enabled)
+                return super.process(data, index, selectedIndex);
+
+            try
+            {
+                writeByte('{');
+                writeBytes(choiceTokens.get(selectedIndex));
+                index = super.process(data, index, selectedIndex);
+                writeByte('}');
+                return index;
+            }
+            catch (IOException e)
+            {
+                throw new WriterException(JSON_ERROR + " choice " + eltName, e);
+            }
+        }
+
+        @Override
+        public byte[] getNameToken()
+        {
+            return nameToken;
+        }
+    }
+
+
+    protected class GeometryWriter extends ChoiceProcessor implements JsonAtomWriter
+    {
+        String eltName;
+        byte[] nameToken;
+        int numDims;
+
+        public GeometryWriter(GeometryData geom)
+        {
+            this.eltName = geom.getName();
+            this.nameToken = encodeNameToken(eltName);
+            this.numDims = geom.getNumDims();
+        }
+
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            int geomType = data.getIntValue(index++);
+
+            // skip if disabled
+            if (!enabled)
+                return super.process(data, index, geomType);
+
+            try
+            {
+                writeByte('{');
+
+                if (geomType == GeomType.Point.ordinal())
+                {
+                    writeBytes(POINT_TOKENS);
+                    index = writeCoordinates(data, index);
+                }
+                else if (geomType == GeomType.LineString.ordinal())
+                {
+                    writeBytes(LINESTRING_TOKENS);
+                    index = writePointList(data, index);
+                }
+                else if (geomType == GeomType.Polygon.ordinal())
+                {
+                    writeBytes(POLYGON_TOKENS);
+                    writeByte('[');
+                    int numRings = data.getIntValue(index++);
+                    for (int r = 0; r < numRings; r++)
+                    {
+                        if (r > 0)
+                            writeByte(',');
+                        index = writePointList(data, index);
+                    }
+                    writeByte(']');
+                }
+                else
+                    throw new WriterException("Unsupported Geom type");
+
+                writeByte('}');
+                return index;
+            }
+            catch (IOException e)
+            {
+                throw new WriterException(JSON_ERROR + " geometry " + eltName, e);
+            }
+        }
+
+        protected int writePointList(DataBlock data, int index) throws IOException
+        {
+            writeByte('[');
+            int numPoints = data.getIntValue(index++);
+            for (int p = 0; p < numPoints; p++)
+            {
+                if (p > 0)
+                    writeByte(',');
+                index = writeCoordinates(data, index);
+            }
+            writeByte(']');
+            return index;
+        }
+
+        protected int writeCoordinates(DataBlock data, int index) throws IOException
+        {
+            writeByte('[');
+            for (int i = 0; i < numDims; i++)
+            {
+                if (i > 0)
+                    writeByte(',');
+                writeDouble(data.getDoubleValue(index++));
+            }
+            writeByte(']');
+            return index;
+        }
+
+        @Override
+        public byte[] getNameToken()
+        {
+            return nameToken;
+        }
+    }
+
+
+    public JsonDataWriterUtf8()
+    {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+
+    /**
+     * @param bufferSize Size of the buffer used to accumulate encoded data
+     * before it is written to the output stream
+     */
+    public JsonDataWriterUtf8(int bufferSize)
+    {
+        Asserts.checkArgument(bufferSize >= 64, "bufferSize must be >= 64");
+        this.buf = new byte[bufferSize];
+    }
+
+
+    static byte[] ascii(String s)
+    {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+
+    /*
+     * Encodes a property name with quotes and colon, escaping it if needed
+     */
+    static byte[] encodeNameToken(String name)
+    {
+        if (name == null)
+            return new byte[0];
+
+        StringBuilder sb = new StringBuilder(name.length() + 3);
+        sb.append('"');
+        for (int i = 0; i < name.length(); i++)
+        {
+            char c = name.charAt(i);
+            if (c == '"' || c == '\\')
+                sb.append('\\').append(c);
+            else if (c < 0x20)
+                sb.append(String.format("\\u%04x", (int)c));
+            else
+                sb.append(c);
+        }
+        sb.append("\":");
+
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+
+    /*
+     * Makes sure there is enough space in the buffer for the given number of
+     * bytes, writing the buffer to the output stream if necessary
+     */
+    protected void ensureCapacity(int len) throws IOException
+    {
+        if (pos + len > buf.length)
+        {
+            flushBuffer();
+            if (len > buf.length)
+                buf = new byte[len];
+        }
+    }
+
+
+    protected void flushBuffer() throws IOException
+    {
+        if (pos > 0)
+        {
+            os.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+
+
+    protected void writeByte(int b) throws IOException
+    {
+        if (pos >= buf.length)
+            flushBuffer();
+        buf[pos++] = (byte)b;
+    }
+
+
+    protected void writeBytes(byte[] bytes) throws IOException
+    {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+
+    /*
+     * Copies ASCII chars to the buffer, without checking capacity
+     */
+    protected void copyAscii(char[] chars, int len)
+    {
+        for (int i = 0; i < len; i++)
+            buf[pos++] = (byte)chars[i];
+    }
+
+
+    protected void writeNumber(int len) throws IOException
+    {
+        ensureCapacity(len);
+        copyAscii(numberFormatter.getBuffer(), len);
+    }
+
+
+    protected void writeDouble(double val) throws IOException
+    {
+        // need to add quote on special values because they are not valid literal values in JSON
+        if (Double.isNaN(val))
+            writeBytes(NAN);
+        else if (val == Double.POSITIVE_INFINITY)
+            writeBytes(PLUS_INF);
+        else if (val == Double.NEGATIVE_INFINITY)
+            writeBytes(MINUS_INF);
+        else
+            writeNumber(numberFormatter.formatDouble(val));
+    }
+
+
+    /*
+     * Writes a quoted string, encoded to UTF-8 and escaped as needed.
+     * Long strings are processed in chunks so the buffer never needs to grow
+     */
+    protected void writeString(String s) throws IOException
+    {
+        writeByte('"');
+
+        int len = s.length();
+        int maxChunkSize = buf.length / MAX_BYTES_PER_CHAR;
+        int i = 0;
+
+        while (i < len)
+        {
+            int end = Math.min(len, i + maxChunkSize);
+            ensureCapacity((end - i) * MAX_BYTES_PER_CHAR);
+
+            while (i < end)
+            {
+                char c = s.charAt(i++);
+
+                if (c < 0x80)
+                {
+                    // most common case first
+                    if (c >= 0x20 && c != '"' && c != '\\')
+                        buf[pos++] = (byte)c;
+                    else
+                        escape(c);
+                }
+                else if (c < 0x800)
+                {
+                    buf[pos++] = (byte)(0xC0 | (c >> 6));
+                    buf[pos++] = (byte)(0x80 | (c & 0x3F));
+                }
+                else if (Character.isSurrogate(c))
+                {
+                    if (Character.isHighSurrogate(c) && i < len && Character.isLowSurrogate(s.charAt(i)))
+                    {
+                        int cp = Character.toCodePoint(c, s.charAt(i++));
+                        buf[pos++] = (byte)(0xF0 | (cp >> 18));
+                        buf[pos++] = (byte)(0x80 | ((cp >> 12) & 0x3F));
+                        buf[pos++] = (byte)(0x80 | ((cp >> 6) & 0x3F));
+                        buf[pos++] = (byte)(0x80 | (cp & 0x3F));
+                    }
+                    else
+                        buf[pos++] = '?'; // same as String.getBytes()
+                }
+                else
+                {
+                    buf[pos++] = (byte)(0xE0 | (c >> 12));
+                    buf[pos++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+                    buf[pos++] = (byte)(0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        writeByte('"');
+    }
+
+
+    protected void escape(char c)
+    {
+        buf[pos++] = '\\';
+        switch (c)
+        {
+            case '"':
+            case '\\':
+                buf[pos++] = (byte)c;
+                break;
+
+            case '\n':
+                buf[pos++] = 'n';
+                break;
+
+            case '\r':
+                buf[pos++] = 'r';
+                break;
+
+            case '\t':
+                buf[pos++] = 't';
+                break;
+
+            case '\b':
+                buf[pos++] = 'b';
+                break;
+
+            case '\f':
+                buf[pos++] = 'f';
+                break;
+
+            default:
+                buf[pos++] = 'u';
+                buf[pos++] = '0';
+                buf[pos++] = '0';
+                buf[pos++] = HEX_DIGITS[c >> 4];
+                buf[pos++] = HEX_DIGITS[c & 0xF];
+        }
+    }
+
+
+    @Override
+    protected void init()
+    {
+    }
+
+
+    @Override
+    public void setOutput(OutputStream os)
+    {
+        this.os = os;
+        this.pos = 0;
+    }
+
+
+    @Override
+    public void write(DataBlock data) throws IOException
+    {
+        // separate records with comma if wrapped in array or new line otherwise
+        if (!firstBlock)
+            writeByte(wrapWithJsonArray ? ',' : '\n');
+        firstBlock = false;
+
+        super.write(data);
+    }
+
+
+    @Override
+    public void startStream(boolean addWrapper) throws IOException
+    {
+        this.wrapWithJsonArray = addWrapper;
+
+        // wrap records with array if we're writing multiple ones together
+        if (wrapWithJsonArray)
+            writeByte('[');
+    }
+
+
+    @Override
+    public void endStream() throws IOException
+    {
+        if (wrapWithJsonArray)
+            writeByte(']');
+        flush();
+    }
+
+
+    @Override
+    public void flush() throws IOException
+    {
+        if (os != null)
+        {
+            flushBuffer();
+            os.flush();
+        }
+    }
+
+
+    @Override
+    public void close() throws IOException
+    {
+        if (os != null)
+        {
+            flushBuffer();
+            os.close();
+        }
+    }
+
+
+    @Override
+    public void reset()
+    {
+        super.reset();
+        firstBlock = true;
+    }
+
+
+    @Override
+    public void visit(Boolean comp)
+    {
+        addToProcessorTree(new BooleanWriter(comp.getName()));
+    }
+
+
+    @Override
+    public void visit(Count comp)
+    {
+        IntegerWriter writer = new IntegerWriter(comp.getName());
+        if (comp.isSetId())
+            countWriters.put(comp.getId(), writer);
+        addToProcessorTree(writer);
+    }
+
+
+    @Override
+    public void visit(Quantity comp)
+    {
+        if (comp.getConstraint() != null && comp.getConstraint().isSetSignificantFigures())
+        {
+            int sigFigures = comp.getConstraint().getSignificantFigures();
+            addToProcessorTree(new RoundingDecimalWriter(comp.getName(), sigFigures));
+        }
+        else if (comp.getDataType() == DataType.FLOAT)
+            addToProcessorTree(new FloatWriter(comp.getName()));
+        else
+            addToProcessorTree(new DoubleWriter(comp.getName()));
+    }
+
+
+    @Override
+    public void visit(Time comp)
+    {
+        if (!comp.isIsoTime())
+        {
+            if (comp.getConstraint() != null && comp.getConstraint().isSetSignificantFigures())
+            {
+                int sigFigures = comp.getConstraint().getSignificantFigures();
+                addToProcessorTree(new RoundingDecimalWriter(comp.getName(), sigFigures));
+            }
+            else
+                addToProcessorTree(new DoubleWriter(comp.getName()));
+        }
+        else
+            addToProcessorTree(new IsoDateTimeWriter(comp.getName()));
+    }
+
+
+    @Override
+    public void visit(Category comp)
+    {
+        addToProcessorTree(new StringWriter(comp.getName()));
+    }
+
+
+    @Override
+    public void visit(Text comp)
+    {
+        addToProcessorTree(new StringWriter(comp.getName()));
+    }
+
+
+    @Override
+    public void visit(GeometryData geom)
+    {
+        addToProcessorTree(new GeometryWriter(geom));
+        processorStack.pop();
+    }
+
+
+    @Override
+    protected AtomProcessor getRangeProcessor(RangeComponent range)
+    {
+        return new RangeWriter(range.getName());
+    }
+
+
+    @Override
+    protected RecordProcessor getRecordProcessor(DataRecord record)
+    {
+        return new RecordWriter(record.getName());
+    }
+
+
+    @Override
+    protected RecordProcessor getVectorProcessor(Vector vect)
+    {
+        return new RecordWriter(vect.getName());
+    }
+
+
+    @Override
+    protected ChoiceProcessor getChoiceProcessor(DataChoice choice)
+    {
+        return new ChoiceWriter(choice);
+    }
+
+
+    @Override
+    protected ArrayProcessor getArrayProcessor(DataArray array)
+    {
+        return new ArrayWriter(array.getName());
+    }
+
+
+    @Override
+    protected ImplicitSizeProcessor getImplicitSizeProcessor(DataArray array)
+    {
+        return new ImplicitSizeProcessor();
+    }
+
+
+    @Override
+    protected ArraySizeSupplier getArraySizeSupplier(String refId)
+    {
+        IntegerWriter sizeWriter = countWriters.get(refId);
+        return () -> sizeWriter.val;
+    }
+}
@@ -0,0 +1,479 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.fast;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import org.vast.data.DataBlockParallel;
+import org.vast.util.Asserts;
+import org.vast.util.ReaderException;
+import net.opengis.swe.v20.BinaryEncoding;
+import net.opengis.swe.v20.ByteEncoding;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataComponent;
+
+
+/**
+ * <p>
+ * Parser decoding binary records in parallel on a fork/join pool.<br/>
+ * This is only possible when all records have the same encoded size
+ * (see {@link BinaryDataParser#getFixedRecordSize()}) so that the input
+ * can be split at record boundaries. The input is divided in chunks of
+ * whole records that are decoded by a {@link BinaryDataParser} instance
+ * owned by each worker thread.
+ * </p><p>
+ * Records can be delivered one by one or as columnar batches (one batch
+ * per chunk, see {@link AbstractDataParser#createBatchBlock(int)}).
+ * In ordered mode, handlers are called from the thread calling the parse
+ * method, in record order. Otherwise, handlers are called concurrently
+ * from the worker threads as soon as each chunk is decoded, so they must
+ * be thread safe.
+ * </p><p>
+ * If decoding or a handler fails, remaining chunks are skipped and the parse
+ * method waits for handlers already running on worker threads to return
+ * before rethrowing the error, so no handler is called after it returns.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class ParallelBinaryDataParser
+{
+    public static final int DEFAULT_CHUNK_SIZE = 1024*1024;
+    public static final int MAX_MAPPED_SIZE = 1024*1024*1024;
+
+    DataComponent dataComponents;
+    BinaryEncoding dataEncoding;
+    ForkJoinPool pool = ForkJoinPool.commonPool();
+    int chunkSize = DEFAULT_CHUNK_SIZE;
+    boolean ordered = true;
+    int recordSize = -1;
+    ThreadLocal<BinaryDataParser> parsers = ThreadLocal.withInitial(this::createParser);
+
+
+    @FunctionalInterface
+    public interface RecordHandler
+    {
+        /**
+         * Called for each decoded record
+         * @param recordIndex index of the record in the input
+         * @param data new data block containing the record
+         */
+        void handleRecord(long recordIndex, DataBlock data);
+    }
+
+
+    @FunctionalInterface
+    public interface BatchHandler
+    {
+        /**
+         * Called for each decoded chunk
+         * @param firstRecordIndex index of the first record of the batch in the input
+         * @param batch columnar block containing the records
+         * @param numRecords number of records in the batch
+         */
+        void handleBatch(long firstRecordIndex, DataBlockParallel batch, int numRecords);
+    }
+
+
+    /*
+     * Decodes the records of one chunk
+     */
+    @FunctionalInterface
+    protected interface ChunkDecoder<T>
+    {
+        T decode(BinaryDataParser parser, int numRecords) throws IOException;
+    }
+
+
+    /*
+     * Delivers the result of one chunk to the handler
+     */
+    @FunctionalInterface
+    protected interface ChunkConsumer<T>
+    {
+        void accept(long firstRecordIndex, T result, int numRecords);
+    }
+
+
+    protected static class PendingChunk<T>
+    {
+        long firstRecordIndex;
+        int numRecords;
+        ForkJoinTask<T> task;
+    }
+
+
+    /*
+     * Tracks chunk tasks running for one parse call, so that no task
+     * starts and no handler is called once the call has failed
+     */
+    protected static class ParseState
+    {
+        boolean failed;
+        int activeTasks;
+
+        synchronized boolean enter()
+        {
+            if (failed)
+                return false;
+            activeTasks++;
+            return true;
+        }
+
+        synchronized void exit()
+        {
+            if (--activeTasks == 0)
+                notifyAll();
+        }
+
+        synchronized void fail()
+        {
+            failed = true;
+            try
+            {
+                while (activeTasks > 0)
+                    wait();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+
+    public void setDataComponents(DataComponent dataComponents)
+    {
+        this.dataComponents = Asserts.checkNotNull(dataComponents, DataComponent.class);
+        this.recordSize = -1;
+    }
+
+
+    public void setDataEncoding(BinaryEncoding dataEncoding)
+    {
+        this.dataEncoding = Asserts.checkNotNull(dataEncoding, BinaryEncoding.class);
+        this.recordSize = -1;
+    }
+
+
+    /**
+     * Sets the pool used to decode chunks (the common pool is used by default)
+     * @param pool fork/join pool
+     */
+    public void setThreadPool(ForkJoinPool pool)
+    {
+        this.pool = Asserts.checkNotNull(pool, ForkJoinPool.class);
+    }
+
+
+    /**
+     * Sets the approximate size of the chunks decoded by each task. The
+     * actual size is rounded down to a multiple of the record size
+     * @param chunkSize chunk size in bytes
+     */
+    public void setChunkSize(int chunkSize)
+    {
+        Asserts.checkArgument(chunkSize > 0, "chunkSize must be > 0");
+        this.chunkSize = chunkSize;
+    }
+
+
+    /**
+     * @param ordered true to deliver records in order from the calling thread,
+     * false to deliver them from worker threads as soon as they are decoded
+     */
+    public void setOrdered(boolean ordered)
+    {
+        this.ordered = ordered;
+    }
+
+
+    /**
+     * @return the size of encoded records in bytes
+     * @throws IOException if the binary encoding cannot be applied
+     * @throws IllegalStateException if records don't all have the same size
+     * or the byte encoding is not raw
+     */
+    public int getRecordSize() throws IOException
+    {
+        if (recordSize < 0)
+        {
+            Asserts.checkState(dataComponents != null && dataEncoding != null,
+                "Data components and encoding must be set");
+            ByteEncoding byteEncoding = dataEncoding.getByteEncoding();
+            Asserts.checkState(byteEncoding == null || byteEncoding == ByteEncoding.RAW,
+                "Parallel parsing is only supported with raw byte encoding");
+            recordSize = createParser().getFixedRecordSize();
+            Asserts.checkState(recordSize > 0,
+                "Parallel parsing is only supported for fixed size records");
+
+            // renew parsers in case settings have changed
+            parsers = ThreadLocal.withInitial(this::createParser);
+        }
+
+        return recordSize;
+    }
+
+
+    protected BinaryDataParser createParser()
+    {
+        BinaryDataParser parser = new BinaryDataParser();
+        parser.setDataComponents(dataComponents.copy());
+        parser.setDataEncoding(dataEncoding);
+        parser.setRenewDataBlock(true);
+        return parser;
+    }
+
+
+    /**
+     * Decodes all records from the buffer remaining bytes
+     * @param buf Heap, direct or memory mapped byte buffer
+     * @param handler handler receiving each decoded record
+     * @return the number of records decoded
+     * @throws IOException if the input cannot be parsed
+     */
+    public long parse(ByteBuffer buf, RecordHandler handler) throws IOException
+    {
+        return parse(buf, 0, recordDecoder(), recordConsumer(handler));
+    }
+
+
+    /**
+     * Decodes all records from the buffer remaining bytes as columnar batches
+     * @param buf Heap, direct or memory mapped byte buffer
+     * @param handler handler receiving each batch
+     * @return the number of records decoded
+     * @throws IOException if the input cannot be parsed
+     */
+    public long parseBatches(ByteBuffer buf, BatchHandler handler) throws IOException
+    {
+        return parse(buf, 0, batchDecoder(), handler::handleBatch);
+    }
+
+
+    /**
+     * Decodes all records from a file. The file is memory mapped in
+     * segments of up to {@link #MAX_MAPPED_SIZE} bytes
+     * @param file path of the file
+     * @param handler handler receiving each decoded record
+     * @return the number of records decoded
+     * @throws IOException if the file cannot be read or parsed
+     */
+    public long parse(Path file, RecordHandler handler) throws IOException
+    {
+        return parse(file, recordDecoder(), recordConsumer(handler));
+    }
+
+
+    /**
+     * Decodes all records from a file as columnar batches
+     * @param file path of the file
+     * @param handler handler receiving each batch
+     * @return the number of records decoded
+     * @throws IOException if the file cannot be read or parsed
+     */
+    public long parseBatches(Path file, BatchHandler handler) throws IOException
+    {
+        return parse(file, batchDecoder(), handler::handleBatch);
+    }
+
+
+    protected ChunkDecoder<DataBlock[]> recordDecoder()
+    {
+        return (parser, numRecords) -> {
+            DataBlock[] records = new DataBlock[numRecords];
+            for (int i = 0; i < numRecords; i++)
+                records[i] = parser.parseNextBlock();
+            return records;
+        };
+    }
+
+
+    protected ChunkConsumer<DataBlock[]> recordConsumer(RecordHandler handler)
+    {
+        return (firstRecordIndex, records, numRecords) -> {
+            for (int i = 0; i < numRecords; i++)
+                handler.handleRecord(firstRecordIndex + i, records[i]);
+        };
+    }
+
+
+    protected ChunkDecoder<DataBlockParallel> batchDecoder()
+    {
+        return (parser, numRecords) -> {
+            DataBlockParallel batch = parser.createBatchBlock(numRecords);
+            int count = parser.parseNextBatch(batch);
+            Asserts.checkState(count == numRecords, "Unexpected number of records in chunk");
+            return batch;
+        };
+    }
+
+
+    protected <T> long parse(Path file, ChunkDecoder<T> decoder, ChunkConsumer<T> consumer) throws IOException
+    {
+        int recordSize = getRecordSize();
+        long maxSegmentSize = (MAX_MAPPED_SIZE / recordSize) * (long)recordSize;
+        if (maxSegmentSize == 0)
+            maxSegmentSize = recordSize;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            long fileSize = channel.size();
+            if (fileSize % recordSize != 0)
+                throw new ReaderException("File size is not a multiple of the record size (" + recordSize + " bytes)");
+
+            long numRecords = 0;
+            for (long offset = 0; offset < fileSize; offset += maxSegmentSize)
+            {
+                long segmentSize = Math.min(maxSegmentSize, fileSize - offset);
+                ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, offset, segmentSize);
+                numRecords += parse(buf, numRecords, decoder, consumer);
+            }
+
+            return numRecords;
+        }
+    }
+
+
+    protected <T> long parse(ByteBuffer buf, long firstRecordIndex, ChunkDecoder<T> decoder, ChunkConsumer<T> consumer) throws IOException
+    {
+        int recordSize = getRecordSize();
+        int length = buf.remaining();
+        if (length % recordSize != 0)
+            throw new ReaderException("Input size is not a multiple of the record size (" + recordSize + " bytes)");
+
+        int numRecords = length / recordSize;
+        int recordsPerChunk = Math.max(1, chunkSize / recordSize);
+        int maxPending = pool.getParallelism() * 2;
+        ArrayDeque<PendingChunk<T>> pending = new ArrayDeque<>();
+        ParseState state = new ParseState();
+        boolean done = false;
+
+        try
+        {
+            for (int r = 0; r < numRecords; r += recordsPerChunk)
+            {
+                // each task gets its own view of the input
+                ByteBuffer chunk = buf.duplicate();
+                int chunkRecords = Math.min(recordsPerChunk, numRecords - r);
+                chunk.position(buf.position() + r*recordSize);
+                chunk.limit(chunk.position() + chunkRecords*recordSize);
+                pending.add(submitChunk(chunk.slice(), firstRecordIndex + r, chunkRecords, decoder, consumer, state));
+
+                // limit the number of decoded chunks kept in memory
+                if (pending.size() >= maxPending)
+                    deliverNext(pending, consumer);
+            }
+
+            while (!pending.isEmpty())
+                deliverNext(pending, consumer);
+
+            done = true;
+            return numRecords;
+        }
+        finally
+        {
+            if (!done)
+            {
+                // cancel tasks that haven't started and wait for running ones
+                // since cancel doesn't stop them
+                for (PendingChunk<T> chunk: pending)
+                    chunk.task.cancel(false);
+                state.fail();
+            }
+        }
+    }
+
+
+    protected <T> PendingChunk<T> submitChunk(ByteBuffer chunk, long firstRecordIndex, int numRecords, ChunkDecoder<T> decoder, ChunkConsumer<T> consumer, ParseState state)
+    {
+        PendingChunk<T> pendingChunk = new PendingChunk<>();
+        pendingChunk.firstRecordIndex = firstRecordIndex;
+        pendingChunk.numRecords = numRecords;
+        pendingChunk.task = pool.submit(() -> {
+            if (!state.enter())
+                return null;
+
+            try
+            {
+                BinaryDataParser parser = parsers.get();
+                parser.setInput(chunk);
+                T result = decoder.decode(parser, numRecords);
+
+                if (!ordered)
+                {
+                    consumer.accept(firstRecordIndex, result, numRecords);
+                    return null;
+                }
+
+                return result;
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+            finally
+            {
+                state.exit();
+            }
+        });
+
+        return pendingChunk;
+    }
+
+
+    /*
+     * Waits for the oldest pending chunk and delivers it in ordered mode
+     */
+    protected <T> void deliverNext(ArrayDeque<PendingChunk<T>> pending, ChunkConsumer<T> consumer) throws IOException
+    {
+        PendingChunk<T> chunk = pending.poll();
+
+        try
+        {
+            T result = chunk.task.get();
+            if (ordered)
+                consumer.accept(chunk.firstRecordIndex, result, chunk.numRecords);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while decoding records");
+        }
+        catch (ExecutionException e)
+        {
+            // rethrow decoding errors as is
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause())
+            {
+                if (cause instanceof IOException)
+                    throw (IOException)cause;
+            }
+
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException)e.getCause();
+            throw new IOException("Error while decoding records", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.fast;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.vast.swe.fast.DataBlockProcessor.ArrayProcessor;
+import org.vast.swe.fast.DataBlockProcessor.AtomProcessor;
+import org.vast.swe.fast.DataBlockProcessor.BaseProcessor;
+import org.vast.swe.fast.DataBlockProcessor.ChoiceProcessor;
+import org.vast.swe.fast.DataBlockProcessor.RecordProcessor;
+import net.opengis.swe.v20.DataBlock;
+
+
+/**
+ * <p>
+ * Compiles a processor tree into an equivalent tree with fewer levels.<br/>
+ * Record processors that only iterate through their fields are replaced by
+ * the sequence of their children, and small fixed size arrays are unrolled,
+ * so that the processing of a record becomes a straight loop over scalar
+ * processors, without any per-level dispatch or array size lookups.
+ * </p><p>
+ * Processors that do more than iterating (e.g. reading element names,
+ * variable size arrays or choices) are kept in the tree but their children
+ * are compiled recursively.
+ * </p><p>
+ * The tree is flattened rather than turned into a chain of composed
+ * {@link java.lang.invoke.MethodHandle}s: handles kept in instance fields
+ * are not constants for the JIT, so calls through a composed chain are not
+ * inlined and would be no faster than the loop over scalar processors.
+ * Compiled trees are not cached per structure either, because processors
+ * are inner objects of a parser or writer and hold its stream state, so
+ * they cannot be shared. Compilation is done once per parser or writer
+ * instance and is linear in the number of processors.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class ProcessorTreeCompiler
+{
+    /**
+     * Max number of processors generated when unrolling a fixed size array
+     */
+    public static final int MAX_UNROLLED_STEPS = 256;
+
+
+    /*
+     * Processor calling a flat sequence of processors
+     */
+    static class SequenceProcessor extends BaseProcessor
+    {
+        final AtomProcessor[] steps;
+
+        SequenceProcessor(List<AtomProcessor> steps)
+        {
+            this.steps = steps.toArray(new AtomProcessor[0]);
+        }
+
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            for (AtomProcessor p: steps)
+                index = p.process(data, index);
+            return index;
+        }
+    }
+
+
+    private ProcessorTreeCompiler()
+    {
+    }
+
+
+    /**
+     * Compiles the processor tree with the given root
+     * @param root Root of the processor tree
+     * @return the new root processor (can be the same instance if the root
+     * could not be inlined)
+     */
+    public static AtomProcessor compile(AtomProcessor root)
+    {
+        if (!isInlinable(root))
+        {
+            compileChildren(root);
+            return root;
+        }
+
+        List<AtomProcessor> steps = new ArrayList<>();
+        flatten(root, steps);
+        return toProcessor(steps);
+    }
+
+
+    static boolean isInlinable(AtomProcessor p)
+    {
+        if (p instanceof RecordProcessor)
+            return ((RecordProcessor)p).isInlinable();
+        else if (p instanceof ArrayProcessor)
+            return ((ArrayProcessor)p).isInlinable();
+        return false;
+    }
+
+
+    /*
+     * Appends the sequence of processors equivalent to p
+     */
+    static void flatten(AtomProcessor p, List<AtomProcessor> steps)
+    {
+        if (p instanceof RecordProcessor && isInlinable(p))
+        {
+            for (AtomProcessor field: ((RecordProcessor)p).fieldProcessors)
+                flatten(field, steps);
+        }
+        else if (p instanceof ArrayProcessor && isInlinable(p))
+        {
+            ArrayProcessor array = (ArrayProcessor)p;
+            List<AtomProcessor> eltSteps = new ArrayList<>();
+            flatten(array.eltProcessor, eltSteps);
+
+            if ((long)array.fixedSize * eltSteps.size() <= MAX_UNROLLED_STEPS)
+            {
+                for (int i = 0; i < array.fixedSize; i++)
+                    steps.addAll(eltSteps);
+            }
+            else
+            {
+                array.eltProcessor = toProcessor(eltSteps);
+                steps.add(array);
+            }
+        }
+        else
+        {
+            compileChildren(p);
+            steps.add(p);
+        }
+    }
+
+
+    static void compileChildren(AtomProcessor p)
+    {
+        if (p instanceof RecordProcessor)
+        {
+            List<AtomProcessor> fields = ((RecordProcessor)p).fieldProcessors;
+            for (int i = 0; i < fields.size(); i++)
+                fields.set(i, compile(fields.get(i)));
+        }
+        else if (p instanceof ArrayProcessor)
+        {
+            ArrayProcessor array = (ArrayProcessor)p;
+            array.eltProcessor = compile(array.eltProcessor);
+        }
+        else if (p instanceof ChoiceProcessor)
+        {
+            List<AtomProcessor> items = ((ChoiceProcessor)p).itemProcessors;
+            for (int i = 0; i < items.size(); i++)
+                items.set(i, compile(items.get(i)));
+        }
+    }
+
+
+    static AtomProcessor toProcessor(List<AtomProcessor> steps)
+    {
+        if (steps.size() == 1)
+            return steps.get(0);
+        return new SequenceProcessor(steps);
+    }
+}
@@ -20,6 +20,7 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import net.opengis.swe.v20.Boolean;
@@ -35,7 +36,8 @@ import net.opengis.swe.v20.TextEncoding;
 import net.opengis.swe.v20.Time;
 import org.vast.data.AbstractDataBlock;
 import org.vast.data.DataBlockMixed;
-import org.vast.util.DateTimeFormat;
+import org.vast.util.IsoDateTimeCodec;
+import org.vast.util.NumberParser;
 import org.vast.util.ReaderException;
 
 
@@ -44,6 +46,10 @@ import org.vast.util.ReaderException;
  * New implementation of text data parser with better efficiency since the 
  * parsing tree is pre-computed during init instead of being re-evaluated
  * while iterating through the component tree.
+ * </p><p>
+ * Input text is scanned through a reusable character window and tokens are
+ * decoded directly from the record buffer, so that no intermediate String is
+ * created except for text values.
  * </p>
  *
  * @author Alex Robin
@@ -51,27 +57,89 @@ import org.vast.util.ReaderException;
  */
 public class TextDataParser extends AbstractDataParser
 {
+    public static final String UNEXPECTED_EOS_MSG = "Unexpected end of stream";
+    
     protected Reader reader;
-    protected String tokenSep = ",";
+    protected char[] tokenSep = ",".toCharArray();
     protected char[] blockSep = "\n".toCharArray();
     protected boolean collapseWhiteSpaces = true;
-    protected StringBuilder tokenBuf = new StringBuilder(32);
-    protected String[] lastSplit;
-    protected int tokenIndex = -1;
-    protected int blockSepIndex = 0;
+    protected char[] readBuf = new char[8192];
+    protected int readPos, readLimit;
+    protected char[] recordBuf = new char[256];
+    protected int recordLength;
+    protected int[] tokenBounds = new int[64];
+    protected int numTokens;
+    protected int tokenIndex;
+    protected int tokenStart, tokenEnd;
+    protected final TokenSequence token = new TokenSequence();
     protected  Map<String, IntegerParser> countReaders = new HashMap<>();
     
     
+    /*
+     * Reusable view of the current token
+     */
+    protected class TokenSequence implements CharSequence
+    {
+        @Override
+        public int length()
+        {
+            return tokenEnd - tokenStart;
+        }
+
+        @Override
+        public char charAt(int index)
+        {
+            return recordBuf[tokenStart + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end)
+        {
+            return new String(recordBuf, tokenStart + start, end - start);
+        }
+
+        @Override
+        public String toString()
+        {
+            return new String(recordBuf, tokenStart, tokenEnd - tokenStart);
+        }
+        
+        public boolean contentEquals(String s)
+        {
+            int len = tokenEnd - tokenStart;
+            if (s.length() != len)
+                return false;
+            for (int i = 0; i < len; i++)
+            {
+                if (s.charAt(i) != recordBuf[tokenStart + i])
+                    return false;
+            }
+            return true;
+        }
+        
+        public boolean equalsIgnoreCase(String s)
+        {
+            int len = tokenEnd - tokenStart;
+            if (s.length() != len)
+                return false;
+            for (int i = 0; i < len; i++)
+            {
+                char c = recordBuf[tokenStart + i];
+                if (Character.toLowerCase(s.charAt(i)) != Character.toLowerCase(c))
+                    return false;
+            }
+            return true;
+        }
+    }
+    
+    
     protected class BooleanParser extends BaseProcessor
     {
         @Override
         public int process(DataBlock data, int index) throws IOException
         {
-            String token = readToken();
+            readToken();
             boolean val = false;
-
-            if (token == null)
-                throw new ReaderException(INVALID_BOOLEAN_MSG + token);
             
             if (token.length() == 1)
             {
@@ -106,11 +174,11 @@ public class TextDataParser extends AbstractDataParser
         @Override
         public int process(DataBlock data, int index) throws IOException
         {
-            String token = readToken();
+            readToken();
             
             try
             {
-                val = Integer.parseInt(token);
+                val = NumberParser.parseInt(recordBuf, tokenStart, tokenEnd);
                 data.setIntValue(index, val);
                 return ++index;
             }
@@ -127,18 +195,18 @@ public class TextDataParser extends AbstractDataParser
         @Override
         public int process(DataBlock data, int index) throws IOException
         {
-            String token = readToken();
+            readToken();
             
             try
             {
                 double val;
                 
-                if ("INF".equals(token) || "+INF".equals(token))
+                if (token.contentEquals("INF") || token.contentEquals("+INF"))
                     val = Double.POSITIVE_INFINITY;
-                else if ("-INF".equals(token))
+                else if (token.contentEquals("-INF"))
                     val = Double.NEGATIVE_INFINITY;
                 else
-                    val = Double.parseDouble(token);
+                    val = NumberParser.parseDouble(recordBuf, tokenStart, tokenEnd);
                 
                 data.setDoubleValue(index, val);
                 return ++index;
@@ -153,16 +221,16 @@ public class TextDataParser extends AbstractDataParser
     
     protected class IsoDateTimeParser extends BaseProcessor
     {
-        DateTimeFormat timeFormat = new DateTimeFormat();
+        IsoDateTimeCodec timeCodec = new IsoDateTimeCodec();
         
         @Override
         public int process(DataBlock data, int index) throws IOException
         {
-            String token = readToken();
+            readToken();
             
             try
             {
-                double val = timeFormat.parseIso(token);
+                double val = timeCodec.parse(recordBuf, tokenStart, tokenEnd);
                 data.setDoubleValue(index, val);
                 return ++index;
             }
@@ -179,8 +247,8 @@ public class TextDataParser extends AbstractDataParser
         @Override
         public int process(DataBlock data, int index) throws IOException
         {
-            String token = readToken();
-            data.setStringValue(index, token);
+            readToken();
+            data.setStringValue(index, token.toString());
             return ++index;
         }
     }  
@@ -189,24 +257,34 @@ public class TextDataParser extends AbstractDataParser
     protected class ChoiceTokenParser extends ChoiceProcessor
     {
         DataChoice choice;
-        Map<String, Integer> itemIndexes = new HashMap<>();
+        String[] itemNames;
         
         public ChoiceTokenParser(DataChoice choice)
         {
             this.choice = choice;
             
             int i = 0;
+            itemNames = new String[choice.getNumItems()];
             for (DataComponent item: choice.getItemList())
-                itemIndexes.put(item.getName(), i++);
+                itemNames[i++] = item.getName();
         }
         
         @Override
         public int process(DataBlock data, int index) throws IOException
         {
-            String token = readToken();
+            readToken();
+            
+            int selectedIndex = -1;
+            for (int i = 0; i < itemNames.length; i++)
+            {
+                if (token.contentEquals(itemNames[i]))
+                {
+                    selectedIndex = i;
+                    break;
+                }
+            }
             
-            var selectedIndex = itemIndexes.get(token);
-            if (selectedIndex == null)
+            if (selectedIndex < 0)
                 throw new ReaderException(INVALID_CHOICE_MSG + token);
             
             // set selected choice index and corresponding datablock
@@ -214,7 +292,7 @@ public class TextDataParser extends AbstractDataParser
             var selectedData = choice.getComponent(selectedIndex).createDataBlock();
             ((DataBlockMixed)data).setBlock(1, (AbstractDataBlock)selectedData);
             
-            return super.process(data, ++index, selectedIndex);
+            return super.process(data, index, selectedIndex);
         }
     }
     
@@ -231,6 +309,12 @@ public class TextDataParser extends AbstractDataParser
             
             return super.process(data, index);
         }
+        
+        @Override
+        public boolean isInlinable()
+        {
+            return fixedSize >= 0;
+        }
     }
     
     
@@ -239,11 +323,11 @@ public class TextDataParser extends AbstractDataParser
         @Override
         public int process(DataBlock data, int index) throws IOException
         {
-            String token = readToken();
+            readToken();
             
             try
             {
-                arraySize = Integer.parseInt(token);
+                arraySize = NumberParser.parseInt(recordBuf, tokenStart, tokenEnd);
                 if (arraySize < 0)
                     throw new NumberFormatException();
                 return index;
@@ -256,58 +340,151 @@ public class TextDataParser extends AbstractDataParser
     }
     
     
-    private String readToken() throws IOException
+    /*
+     * Moves to the next token and sets tokenStart and tokenEnd accordingly
+     */
+    protected void readToken() throws IOException
+    {
+        if (tokenIndex >= numTokens && !readRecord())
+            throw new ReaderException(UNEXPECTED_EOS_MSG);
+        
+        int k = 2 * tokenIndex++;
+        tokenStart = tokenBounds[k];
+        tokenEnd = tokenBounds[k+1];
+        
+        // trim white spaces if requested
+        if (collapseWhiteSpaces)
+        {
+            while (tokenStart < tokenEnd && recordBuf[tokenStart] <= ' ')
+                tokenStart++;
+            while (tokenEnd > tokenStart && recordBuf[tokenEnd-1] <= ' ')
+                tokenEnd--;
+        }
+    }
+    
+    
+    /*
+     * Reads text until the next block separator into the record buffer
+     * and computes token boundaries.
+     * Returns false if end of stream is reached or the record is empty
+     */
+    protected boolean readRecord() throws IOException
     {
         try
         {
-            if (tokenIndex < 0 || tokenIndex >= lastSplit.length)
+            recordLength = 0;
+            numTokens = 0;
+            tokenIndex = 0;
+            
+            // read text until next block separator
+            char lastSepChar = blockSep[blockSep.length-1];
+            boolean sepFound = false;
+            while (!sepFound)
             {
-                // read text until next block separator
-                tokenBuf.setLength(0);
-                blockSepIndex = 0;
-                int b;
-                do
+                if (readPos >= readLimit)
                 {
-                    b = reader.read();
-                    if (b < 0)
+                    readLimit = reader.read(readBuf, 0, readBuf.length);
+                    readPos = 0;
+                    if (readLimit < 0)
+                    {
+                        readLimit = 0;
                         break;
-                    
-                    tokenBuf.append((char)b);
-                    
-                    // check if we have a block separator
-                    if (b == blockSep[blockSepIndex])
-                        blockSepIndex++;
-                    else
-                        blockSepIndex = 0;
+                    }
                 }
-                while (blockSepIndex < blockSep.length);
                 
-                // remove trailing separator
-                if (blockSepIndex == blockSep.length)
-                    tokenBuf.setLength(tokenBuf.length()-blockSep.length);
+                char c = readBuf[readPos++];
+                if (recordLength == recordBuf.length)
+                    recordBuf = Arrays.copyOf(recordBuf, recordLength*2);
+                recordBuf[recordLength++] = c;
                 
-                // convert to string and trim white spaces if requested
-                String recString = tokenBuf.toString();
-                if (this.collapseWhiteSpaces)
-                    recString = recString.trim();
-                
-                if (recString.isEmpty())
-                    return null;
-                
-                lastSplit = recString.split(tokenSep);
-                tokenIndex = 0;
+                // remove trailing separator
+                if (c == lastSepChar && endsWithBlockSep())
+                {
+                    recordLength -= blockSep.length;
+                    sepFound = true;
+                }
             }
-            
-            // return next token, trimming white spaces if requested
-            String nextToken = lastSplit[tokenIndex++];
-            if (this.collapseWhiteSpaces)
-                nextToken = nextToken.trim();
-            return nextToken;
         }
         catch (IOException e)
         {
             throw new ReaderException("Cannot parse next token", e);
         }
+        
+        // trim white spaces if requested
+        int start = 0;
+        int end = recordLength;
+        if (collapseWhiteSpaces)
+        {
+            while (start < end && recordBuf[start] <= ' ')
+                start++;
+            while (end > start && recordBuf[end-1] <= ' ')
+                end--;
+        }
+        
+        if (start == end)
+            return false;
+        
+        // split on token separator
+        int sepLength = tokenSep.length;
+        char firstSepChar = tokenSep[0];
+        int tokStart = start;
+        int i = start;
+        while (i <= end - sepLength)
+        {
+            if (recordBuf[i] == firstSepChar && matchesTokenSep(i))
+            {
+                addToken(tokStart, i);
+                i += sepLength;
+                tokStart = i;
+            }
+            else
+                i++;
+        }
+        addToken(tokStart, end);
+        
+        // drop trailing empty tokens
+        while (numTokens > 0 && tokenBounds[2*numTokens-1] == tokenBounds[2*numTokens-2])
+            numTokens--;
+        
+        return numTokens > 0;
+    }
+    
+    
+    private boolean endsWithBlockSep()
+    {
+        int offset = recordLength - blockSep.length;
+        if (offset < 0)
+            return false;
+        
+        for (int i = 0; i < blockSep.length; i++)
+        {
+            if (recordBuf[offset + i] != blockSep[i])
+                return false;
+        }
+        
+        return true;
+    }
+    
+    
+    private boolean matchesTokenSep(int offset)
+    {
+        for (int i = 1; i < tokenSep.length; i++)
+        {
+            if (recordBuf[offset + i] != tokenSep[i])
+                return false;
+        }
+        
+        return true;
+    }
+    
+    
+    private void addToken(int start, int end)
+    {
+        int k = 2 * numTokens++;
+        if (k + 1 >= tokenBounds.length)
+            tokenBounds = Arrays.copyOf(tokenBounds, tokenBounds.length*2);
+        tokenBounds[k] = start;
+        tokenBounds[k+1] = end;
     }
     
     
@@ -316,7 +493,7 @@ public class TextDataParser extends AbstractDataParser
     {
         if (dataEncoding != null)
         {
-            this.tokenSep = ((TextEncoding)dataEncoding).getTokenSeparator();
+            this.tokenSep = ((TextEncoding)dataEncoding).getTokenSeparator().toCharArray();
             this.blockSep = ((TextEncoding)dataEncoding).getBlockSeparator().toCharArray();
             //this.decimalSep = ((TextEncoding)dataEncoding).getDecimalSeparator().charAt(0);
             this.collapseWhiteSpaces = ((TextEncoding)dataEncoding).getCollapseWhiteSpaces();
@@ -327,16 +504,16 @@ public class TextDataParser extends AbstractDataParser
     @Override
     protected boolean moreData() throws IOException
     {
-        String token = readToken();
-        tokenIndex--;
-        return !(token == null);
+        return tokenIndex < numTokens || readRecord();
     }
     
 
     @Override
     public void setInput(InputStream is) throws IOException
     {
-        this.reader = new InputStreamReader(is, StandardCharsets.UTF_8);     
+        this.reader = new InputStreamReader(is, StandardCharsets.UTF_8);
+        this.readPos = this.readLimit = 0;
+        this.numTokens = this.tokenIndex = 0;
     }
     
 
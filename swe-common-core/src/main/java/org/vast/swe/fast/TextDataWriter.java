@@ -19,14 +19,11 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Locale;
 import java.util.Map;
-import org.vast.swe.SWEDataTypeUtils;
-import org.vast.util.DateTimeFormat;
+import org.vast.util.IsoDateTimeCodec;
+import org.vast.util.NumberFormatter;
 import org.vast.util.WriterException;
 import net.opengis.swe.v20.Boolean;
 import net.opengis.swe.v20.Category;
@@ -60,6 +57,7 @@ public class TextDataWriter extends AbstractDataWriter
     protected boolean collapseWhiteSpaces = true;
     protected boolean firstToken;
     protected Map<String, IntegerWriter> countWriters = new HashMap<>();
+    protected NumberFormatter numberFormatter = new NumberFormatter();
 
     
     protected abstract class ValueWriter extends BaseProcessor
@@ -99,7 +97,7 @@ public class TextDataWriter extends AbstractDataWriter
         public void writeValue(DataBlock data, int index) throws IOException
         {
             val = data.getIntValue(index);
-            writer.write(Integer.toString(val));
+            writeNumber(numberFormatter.formatLong(val));
         }
     }
     
@@ -110,7 +108,15 @@ public class TextDataWriter extends AbstractDataWriter
         public void writeValue(DataBlock data, int index) throws IOException
         {
             double val = data.getDoubleValue(index);
-            writer.write(SWEDataTypeUtils.getDoubleOrInfAsString(val));
+            
+            if (Double.isNaN(val))
+                writer.write("NaN");
+            else if (val == Double.POSITIVE_INFINITY)
+                writer.write("+INF");
+            else if (val == Double.NEGATIVE_INFINITY)
+                writer.write("-INF");
+            else
+                writeNumber(numberFormatter.formatDouble(val));
         }
     }
     
@@ -129,21 +135,18 @@ public class TextDataWriter extends AbstractDataWriter
             else if (val == Float.NEGATIVE_INFINITY)
                 writer.write("-INF");
             else
-                writer.write(Float.toString(val));
+                writeNumber(numberFormatter.formatFloat(val));
         }
     }
     
     
     protected class RoundingDecimalWriter extends ValueWriter
     {
-        NumberFormat df;
+        int numDecimalPlaces;
         
         public RoundingDecimalWriter(int numDecimalPlaces)
         {
-            this.df = DecimalFormat.getNumberInstance(Locale.US);
-            df.setGroupingUsed(false);
-            df.setMinimumFractionDigits(1);
-            df.setMaximumFractionDigits(numDecimalPlaces);
+            this.numDecimalPlaces = numDecimalPlaces;
         }
         
         @Override
@@ -158,20 +161,22 @@ public class TextDataWriter extends AbstractDataWriter
             else if (val == Double.NEGATIVE_INFINITY)
                 writer.write("-INF");
             else
-                writer.write(df.format(val));
+                writeNumber(numberFormatter.formatFixed(val, numDecimalPlaces));
         }
     }
     
     
     protected class IsoDateTimeWriter extends ValueWriter
     {
-        DateTimeFormat timeFormat = new DateTimeFormat();
+        IsoDateTimeCodec timeCodec = new IsoDateTimeCodec();
+        char[] buf = new char[IsoDateTimeCodec.MAX_FORMAT_LENGTH];
         
         @Override
         public void writeValue(DataBlock data, int index) throws IOException
         {
             double val = data.getDoubleValue(index);
-            writer.write(timeFormat.formatIso(val, 0));
+            int len = timeCodec.format(val, 0, buf, 0);
+            writer.write(buf, 0, len);
         }
     }
     
@@ -199,7 +204,7 @@ public class TextDataWriter extends AbstractDataWriter
         {
             super.process(data, index);
             writeSeparator();
-            writer.write(Integer.toString(arraySize));
+            writeNumber(numberFormatter.formatLong(arraySize));
             return index;
         }
     }
@@ -234,6 +239,12 @@ public class TextDataWriter extends AbstractDataWriter
     }
     
     
+    protected void writeNumber(int len) throws IOException
+    {
+        writer.write(numberFormatter.getBuffer(), 0, len);
+    }
+    
+    
     protected void writeSeparator() throws IOException
     {
         if (!firstToken)
@@ -0,0 +1,701 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.fast;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.vast.data.AbstractArrayImpl;
+import org.vast.data.AbstractDataBlock;
+import org.vast.data.DataBlockMixed;
+import org.vast.data.XMLEncodingImpl;
+import org.vast.util.IsoDateTimeCodec;
+import org.vast.util.NumberParser;
+import org.vast.util.ReaderException;
+import net.opengis.swe.v20.Boolean;
+import net.opengis.swe.v20.Category;
+import net.opengis.swe.v20.Count;
+import net.opengis.swe.v20.DataArray;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataChoice;
+import net.opengis.swe.v20.DataComponent;
+import net.opengis.swe.v20.DataRecord;
+import net.opengis.swe.v20.Quantity;
+import net.opengis.swe.v20.RangeComponent;
+import net.opengis.swe.v20.Text;
+import net.opengis.swe.v20.Time;
+import net.opengis.swe.v20.Vector;
+
+
+/**
+ * <p>
+ * New implementation of XML data parser reading records directly from a
+ * StAX stream, as produced by {@link XmlDataWriter}. No DOM is built and
+ * the parsing tree is pre-computed during init, with element names matched
+ * against pre-computed qualified names.
+ * </p><p>
+ * Records can be wrapped in one or more container elements (e.g. records
+ * or swe:values). These are skipped until an element with the name of the
+ * root component is found.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class XmlDataParser extends AbstractDataParser
+{
+    static final String XML_ERROR = "Error reading XML stream";
+    static final String UNEXPECTED_ELT_MSG = "Unexpected element: ";
+
+    protected XMLStreamReader reader;
+    protected String namespace;
+    protected boolean startPending;
+    protected int wrapperDepth;
+    protected char[] textBuf = new char[64];
+    protected int textStart, textEnd;
+    protected Map<String, IntegerParser> countReaders = new HashMap<>();
+
+
+    protected abstract class ValueParser extends BaseProcessor
+    {
+        QName eltName;
+
+        public abstract void parseValue(DataBlock data, int index) throws IOException;
+
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            readStartElement(eltName);
+            readElementText();
+            parseValue(data, index);
+            return ++index;
+        }
+    }
+
+
+    protected class BooleanParser extends ValueParser
+    {
+        public BooleanParser(String eltName)
+        {
+            this.eltName = getQName(eltName);
+        }
+
+        @Override
+        public void parseValue(DataBlock data, int index) throws IOException
+        {
+            boolean val;
+
+            if (textEquals("true") || textEquals("1"))
+                val = true;
+            else if (textEquals("false") || textEquals("0"))
+                val = false;
+            else
+                throw new ReaderException(INVALID_BOOLEAN_MSG + getText());
+
+            data.setBooleanValue(index, val);
+        }
+    }
+
+
+    protected class IntegerParser extends ValueParser
+    {
+        int val;
+
+        public IntegerParser(String eltName)
+        {
+            this.eltName = getQName(eltName);
+        }
+
+        @Override
+        public void parseValue(DataBlock data, int index) throws IOException
+        {
+            try
+            {
+                val = NumberParser.parseInt(textBuf, textStart, textEnd);
+                data.setIntValue(index, val);
+            }
+            catch (NumberFormatException e)
+            {
+                throw new ReaderException(INVALID_INTEGER_MSG + getText());
+            }
+        }
+    }
+
+
+    protected class DecimalParser extends ValueParser
+    {
+        public DecimalParser(String eltName)
+        {
+            this.eltName = getQName(eltName);
+        }
+
+        @Override
+        public void parseValue(DataBlock data, int index) throws IOException
+        {
+            try
+            {
+                double val;
+
+                if (textEquals("INF") || textEquals("+INF"))
+                    val = Double.POSITIVE_INFINITY;
+                else if (textEquals("-INF"))
+                    val = Double.NEGATIVE_INFINITY;
+                else
+                    val = NumberParser.parseDouble(textBuf, textStart, textEnd);
+
+                data.setDoubleValue(index, val);
+            }
+            catch (NumberFormatException e)
+            {
+                throw new ReaderException(INVALID_DECIMAL_MSG + getText());
+            }
+        }
+    }
+
+
+    protected class IsoDateTimeParser extends ValueParser
+    {
+        IsoDateTimeCodec timeCodec = new IsoDateTimeCodec();
+
+        public IsoDateTimeParser(String eltName)
+        {
+            this.eltName = getQName(eltName);
+        }
+
+        @Override
+        public void parseValue(DataBlock data, int index) throws IOException
+        {
+            try
+            {
+                double val = timeCodec.parse(textBuf, textStart, textEnd);
+                data.setDoubleValue(index, val);
+            }
+            catch (ParseException e)
+            {
+                throw new ReaderException(e.getMessage());
+            }
+        }
+    }
+
+
+    protected class StringParser extends ValueParser
+    {
+        public StringParser(String eltName)
+        {
+            this.eltName = getQName(eltName);
+        }
+
+        @Override
+        public void parseValue(DataBlock data, int index) throws IOException
+        {
+            data.setStringValue(index, getText());
+        }
+    }
+
+
+    protected class RecordParser extends RecordProcessor
+    {
+        QName eltName;
+
+        public RecordParser(String eltName)
+        {
+            this.eltName = getQName(eltName);
+        }
+
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            readStartElement(eltName);
+            index = super.process(data, index);
+            readEndElement();
+            return index;
+        }
+    }
+
+
+    protected class ChoiceParser extends ChoiceProcessor
+    {
+        DataChoice choice;
+        QName eltName;
+        QName[] itemNames;
+
+        public ChoiceParser(DataChoice choice)
+        {
+            this.choice = choice;
+            this.eltName = getQName(choice.getName());
+
+            int i = 0;
+            itemNames = new QName[choice.getNumItems()];
+            for (DataComponent item: choice.getItemList())
+                itemNames[i++] = getQName(item.getName());
+        }
+
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            readStartElement(eltName);
+
+            // selected item is identified by the name of the next element
+            nextStartElement();
+            int selectedIndex = -1;
+            for (int i = 0; i < itemNames.length; i++)
+            {
+                if (isElement(itemNames[i]))
+                {
+                    selectedIndex = i;
+                    break;
+                }
+            }
+
+            if (selectedIndex < 0)
+                throw new ReaderException(INVALID_CHOICE_MSG + reader.getLocalName());
+
+            // set selected choice index and corresponding datablock
+            data.setIntValue(index++, selectedIndex);
+            var selectedData = choice.getComponent(selectedIndex).createDataBlock();
+            ((DataBlockMixed)data).setBlock(1, (AbstractDataBlock)selectedData);
+
+            index = super.process(data, index, selectedIndex);
+            readEndElement();
+            return index;
+        }
+    }
+
+
+    protected class ArrayParser extends ArrayProcessor
+    {
+        QName eltName;
+
+        public ArrayParser(String eltName)
+        {
+            this.eltName = getQName(eltName);
+        }
+
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            readStartElement(eltName);
+
+            // resize array if var size
+            int arraySize = getArraySize();
+            if (varSizeArray != null)
+                updateArraySize(varSizeArray, arraySize);
+
+            index = super.process(data, index);
+            readEndElement();
+            return index;
+        }
+    }
+
+
+    /*
+     * Reads the array size from the elementCount attribute of the array
+     * element. The start element is left pending for the array parser.
+     */
+    protected class ImplicitSizeParser extends ImplicitSizeProcessor
+    {
+        QName eltName;
+
+        public ImplicitSizeParser(String eltName)
+        {
+            this.eltName = getQName(eltName);
+        }
+
+        @Override
+        public int process(DataBlock data, int index) throws IOException
+        {
+            readStartElement(eltName);
+            startPending = true;
+
+            String sizeAtt = reader.getAttributeValue(null, AbstractArrayImpl.ELT_COUNT_NAME);
+            try
+            {
+                if (sizeAtt == null)
+                    throw new NumberFormatException();
+                arraySize = Integer.parseInt(sizeAtt.trim());
+                if (arraySize < 0)
+                    throw new NumberFormatException();
+                return index;
+            }
+            catch (NumberFormatException e)
+            {
+                throw new ReaderException(INVALID_ARRAY_SIZE_MSG + sizeAtt);
+            }
+        }
+    }
+
+
+    public XmlDataParser()
+    {
+    }
+
+
+    public XmlDataParser(XMLStreamReader reader)
+    {
+        this.reader = reader;
+    }
+
+
+    protected QName getQName(String localName)
+    {
+        return new QName(namespace != null ? namespace : XMLConstants.NULL_NS_URI,
+                         localName != null ? localName : "");
+    }
+
+
+    protected boolean isElement(QName qName)
+    {
+        if (!qName.getLocalPart().equals(reader.getLocalName()))
+            return false;
+
+        String ns = reader.getNamespaceURI();
+        if (ns == null)
+            ns = XMLConstants.NULL_NS_URI;
+        return qName.getNamespaceURI().equals(ns);
+    }
+
+
+    /*
+     * Moves to the next start element, skipping text and comments
+     */
+    protected void nextStartElement() throws IOException
+    {
+        if (startPending)
+            return;
+
+        try
+        {
+            while (reader.hasNext())
+            {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT)
+                {
+                    startPending = true;
+                    return;
+                }
+                else if (event == XMLStreamConstants.END_ELEMENT)
+                    throw new ReaderException(UNEXPECTED_ELT_MSG + "/" + reader.getLocalName());
+            }
+
+            throw new ReaderException(TextDataParser.UNEXPECTED_EOS_MSG);
+        }
+        catch (XMLStreamException e)
+        {
+            throw new ReaderException(XML_ERROR, e);
+        }
+    }
+
+
+    protected void readStartElement(QName eltName) throws IOException
+    {
+        nextStartElement();
+        if (!isElement(eltName))
+            throw new ReaderException(UNEXPECTED_ELT_MSG + reader.getName() + ". Expected " + eltName);
+        startPending = false;
+    }
+
+
+    protected void readEndElement() throws IOException
+    {
+        try
+        {
+            while (reader.hasNext())
+            {
+                int event = reader.next();
+                if (event == XMLStreamConstants.END_ELEMENT)
+                    return;
+                else if (event == XMLStreamConstants.START_ELEMENT)
+                    throw new ReaderException(UNEXPECTED_ELT_MSG + reader.getName());
+            }
+
+            throw new ReaderException(TextDataParser.UNEXPECTED_EOS_MSG);
+        }
+        catch (XMLStreamException e)
+        {
+            throw new ReaderException(XML_ERROR, e);
+        }
+    }
+
+
+    /*
+     * Reads text content of the current element into the text buffer,
+     * up to the end element, and trims white spaces
+     */
+    protected void readElementText() throws IOException
+    {
+        try
+        {
+            int length = 0;
+
+            while (reader.hasNext())
+            {
+                int event = reader.next();
+
+                if (event == XMLStreamConstants.CHARACTERS ||
+                    event == XMLStreamConstants.CDATA ||
+                    event == XMLStreamConstants.SPACE ||
+                    event == XMLStreamConstants.ENTITY_REFERENCE)
+                {
+                    int count = reader.getTextLength();
+                    if (length + count > textBuf.length)
+                        textBuf = Arrays.copyOf(textBuf, Math.max(textBuf.length*2, length + count));
+                    System.arraycopy(reader.getTextCharacters(), reader.getTextStart(), textBuf, length, count);
+                    length += count;
+                }
+                else if (event == XMLStreamConstants.END_ELEMENT)
+                {
+                    textStart = 0;
+                    textEnd = length;
+                    while (textStart < textEnd && textBuf[textStart] <= ' ')
+                        textStart++;
+                    while (textEnd > textStart && textBuf[textEnd-1] <= ' ')
+                        textEnd--;
+                    return;
+                }
+                else if (event == XMLStreamConstants.START_ELEMENT)
+                    throw new ReaderException(UNEXPECTED_ELT_MSG + reader.getName());
+            }
+
+            throw new ReaderException(TextDataParser.UNEXPECTED_EOS_MSG);
+        }
+        catch (XMLStreamException e)
+        {
+            throw new ReaderException(XML_ERROR, e);
+        }
+    }
+
+
+    protected boolean textEquals(String s)
+    {
+        int len = textEnd - textStart;
+        if (s.length() != len)
+            return false;
+        for (int i = 0; i < len; i++)
+        {
+            if (s.charAt(i) != textBuf[textStart + i])
+                return false;
+        }
+        return true;
+    }
+
+
+    protected String getText()
+    {
+        return new String(textBuf, textStart, textEnd - textStart);
+    }
+
+
+    @Override
+    protected void init()
+    {
+        if (dataEncoding != null)
+            namespace = ((XMLEncodingImpl)dataEncoding).getNamespace();
+    }
+
+
+    @Override
+    protected boolean moreData() throws IOException
+    {
+        if (startPending)
+            return true;
+
+        QName recordName = getQName(dataComponents.getName());
+
+        try
+        {
+            // skip wrapper elements until we find the next record
+            while (reader.hasNext())
+            {
+                int event = reader.next();
+
+                if (event == XMLStreamConstants.START_ELEMENT)
+                {
+                    if (isElement(recordName))
+                    {
+                        startPending = true;
+                        return true;
+                    }
+
+                    wrapperDepth++;
+                }
+                else if (event == XMLStreamConstants.END_ELEMENT)
+                {
+                    // end of enclosing element
+                    if (wrapperDepth == 0)
+                        return false;
+                    wrapperDepth--;
+                }
+            }
+
+            return false;
+        }
+        catch (XMLStreamException e)
+        {
+            throw new ReaderException(XML_ERROR, e);
+        }
+    }
+
+
+    @Override
+    public void setInput(InputStream is) throws IOException
+    {
+        try
+        {
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            this.reader = factory.createXMLStreamReader(is);
+            this.startPending = false;
+            this.wrapperDepth = 0;
+        }
+        catch (XMLStreamException e)
+        {
+            throw new ReaderException("Error while creating XML stream reader", e);
+        }
+    }
+
+
+    /**
+     * Sets a StAX reader as input. Records are read starting at the current
+     * position, until the end of the enclosing element or document
+     * @param reader
+     */
+    public void setInput(XMLStreamReader reader)
+    {
+        this.reader = reader;
+        this.startPending = false;
+        this.wrapperDepth = 0;
+    }
+
+
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            if (reader != null)
+                reader.close();
+        }
+        catch (XMLStreamException e)
+        {
+            throw new ReaderException("Error while closing XML stream reader", e);
+        }
+    }
+
+
+    @Override
+    public void visit(Boolean comp)
+    {
+        addToProcessorTree(new BooleanParser(comp.getName()));
+    }
+
+
+    @Override
+    public void visit(Count comp)
+    {
+        IntegerParser parser = new IntegerParser(comp.getName());
+        if (comp.isSetId())
+            countReaders.put(comp.getId(), parser);
+        addToProcessorTree(parser);
+    }
+
+
+    @Override
+    public void visit(Quantity comp)
+    {
+        addToProcessorTree(new DecimalParser(comp.getName()));
+    }
+
+
+    @Override
+    public void visit(Time comp)
+    {
+        if (comp.isIsoTime())
+            addToProcessorTree(new IsoDateTimeParser(comp.getName()));
+        else
+            addToProcessorTree(new DecimalParser(comp.getName()));
+    }
+
+
+    @Override
+    public void visit(Category comp)
+    {
+        addToProcessorTree(new StringParser(comp.getName()));
+    }
+
+
+    @Override
+    public void visit(Text comp)
+    {
+        addToProcessorTree(new StringParser(comp.getName()));
+    }
+
+
+    @Override
+    protected AtomProcessor getRangeProcessor(RangeComponent range)
+    {
+        return new RecordParser(range.getName());
+    }
+
+
+    @Override
+    protected RecordProcessor getRecordProcessor(DataRecord record)
+    {
+        return new RecordParser(record.getName());
+    }
+
+
+    @Override
+    protected RecordProcessor getVectorProcessor(Vector vect)
+    {
+        return new RecordParser(vect.getName());
+    }
+
+
+    @Override
+    protected ChoiceProcessor getChoiceProcessor(DataChoice choice)
+    {
+        return new ChoiceParser(choice);
+    }
+
+
+    @Override
+    protected ArrayProcessor getArrayProcessor(DataArray array)
+    {
+        return new ArrayParser(array.getName());
+    }
+
+
+    @Override
+    protected ImplicitSizeProcessor getImplicitSizeProcessor(DataArray array)
+    {
+        return new ImplicitSizeParser(array.getName());
+    }
+
+
+    @Override
+    protected ArraySizeSupplier getArraySizeSupplier(String refId)
+    {
+        IntegerParser sizeParser = countReaders.get(refId);
+        return () -> sizeParser.val;
+    }
+}
@@ -24,7 +24,8 @@ import javax.xml.stream.XMLStreamWriter;
 import org.vast.data.AbstractArrayImpl;
 import org.vast.data.XMLEncodingImpl;
 import org.vast.swe.SWEDataTypeUtils;
-import org.vast.util.DateTimeFormat;
+import org.vast.util.IsoDateTimeCodec;
+import org.vast.util.NumberFormatter;
 import org.vast.util.WriterException;
 import com.ctc.wstx.api.WstxOutputProperties;
 import net.opengis.swe.v20.Boolean;
@@ -59,6 +60,7 @@ public class XmlDataWriter extends AbstractDataWriter
     protected String namespace;
     protected String prefix;
     protected Map<String, IntegerWriter> countWriters = new HashMap<>();
+    protected NumberFormatter numberFormatter = new NumberFormatter();
 
     
     protected abstract class ValueWriter extends BaseProcessor
@@ -118,7 +120,7 @@ public class XmlDataWriter extends AbstractDataWriter
         public void writeValue(DataBlock data, int index) throws XMLStreamException
         {
             val = data.getIntValue(index);
-            xmlWriter.writeCharacters(Integer.toString(val));
+            writeNumber(numberFormatter.formatLong(val));
         }
     }
     
@@ -134,23 +136,40 @@ public class XmlDataWriter extends AbstractDataWriter
         public void writeValue(DataBlock data, int index) throws XMLStreamException
         {
             double val = data.getDoubleValue(index);
-            xmlWriter.writeCharacters(SWEDataTypeUtils.getDoubleOrInfAsString(val));
+            if (Double.isNaN(val) || Double.isInfinite(val))
+                xmlWriter.writeCharacters(SWEDataTypeUtils.getDoubleOrInfAsString(val));
+            else
+                writeNumber(numberFormatter.formatDouble(val));
         }
     }
     
     
     protected class RoundingDecimalWriter extends DecimalWriter
     {
-        public RoundingDecimalWriter(String eltName, int sigDigits)
+        int numDecimalPlaces;
+        
+        public RoundingDecimalWriter(String eltName, int numDecimalPlaces)
         {
             super(eltName);
+            this.numDecimalPlaces = numDecimalPlaces;
+        }
+        
+        @Override
+        public void writeValue(DataBlock data, int index) throws XMLStreamException
+        {
+            double val = data.getDoubleValue(index);
+            if (Double.isNaN(val) || Double.isInfinite(val))
+                xmlWriter.writeCharacters(SWEDataTypeUtils.getDoubleOrInfAsString(val));
+            else
+                writeNumber(numberFormatter.formatFixed(val, numDecimalPlaces));
         }
     }
     
     
     protected class IsoDateTimeWriter extends ValueWriter
     {
-        DateTimeFormat timeFormat = new DateTimeFormat();
+        IsoDateTimeCodec timeCodec = new IsoDateTimeCodec();
+        char[] buf = new char[IsoDateTimeCodec.MAX_FORMAT_LENGTH];
         
         public IsoDateTimeWriter(String eltName)
         {
@@ -161,7 +180,7 @@ public class XmlDataWriter extends AbstractDataWriter
         public void writeValue(DataBlock data, int index) throws XMLStreamException
         {
             double val = data.getDoubleValue(index);
-            xmlWriter.writeCharacters(timeFormat.formatIso(val, 0));
+            xmlWriter.writeCharacters(buf, 0, timeCodec.format(val, 0, buf, 0));
         }
     }
     
@@ -322,6 +341,12 @@ public class XmlDataWriter extends AbstractDataWriter
     }
     
     
+    protected void writeNumber(int len) throws XMLStreamException
+    {
+        xmlWriter.writeCharacters(numberFormatter.getBuffer(), 0, len);
+    }
+    
+    
     protected void writeStartElement(String eltName) throws XMLStreamException
     {
         if (namespace != null)
@@ -0,0 +1,476 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.util;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+
+
+/**
+ * <p>
+ * Fast ISO 8601 date/time parser and formatter working directly on
+ * characters and bytes without allocating intermediate objects.<br/>
+ * The fast path handles the forms produced by SWE Common encoders, that is
+ * 'yyyy-MM-dd[THH:mm[:ss[.S]]]' followed by 'Z' or a '+HH:MM' offset, with
+ * up to 9 fractional digits. The date part of the last timestamp is cached
+ * since consecutive timestamps are often in the same day. Anything else is
+ * delegated to {@link DateTimeFormat} so results and errors are identical.
+ * </p><p>
+ * This class keeps internal state and is thus not thread-safe.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class IsoDateTimeCodec
+{
+    /**
+     * Max number of chars written by the format methods
+     */
+    public static final int MAX_FORMAT_LENGTH = 48;
+
+    static final int MAX_PARSE_LENGTH = 48;
+    static final int SECONDS_PER_DAY = 86400;
+    static final int DAYS_PER_CYCLE = 146097;
+    static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
+    static final int[] FRACTION_SCALE = {
+        1000000000, 100000000, 10000000, 1000000, 100000, 10000, 1000, 100, 10, 1
+    };
+
+    DateTimeFormat fallbackFormat = new DateTimeFormat();
+    char[] scratch = new char[MAX_PARSE_LENGTH];
+    char[] fmtBuf = new char[MAX_FORMAT_LENGTH];
+
+    // date cache used when parsing
+    char[] lastParsedDate = new char[10];
+    long lastParsedEpochDay = Long.MIN_VALUE;
+
+    // date cache used when formatting
+    char[] lastFormattedDate = new char[10];
+    long lastFormattedEpochDay = Long.MIN_VALUE;
+
+
+    /**
+     * Parses an ISO 8601 date/time string
+     * @param iso8601 char sequence containing the date/time
+     * @return unix time stamp (in seconds since 1970)
+     * @throws ParseException if the string is not a valid ISO date/time
+     */
+    public double parse(CharSequence iso8601) throws ParseException
+    {
+        return parse(iso8601, 0, iso8601.length());
+    }
+
+
+    /**
+     * Parses an ISO 8601 date/time from a range of a char sequence
+     * @param seq char sequence
+     * @param start index of first char (inclusive)
+     * @param end index of last char (exclusive)
+     * @return unix time stamp (in seconds since 1970)
+     * @throws ParseException if the characters are not a valid ISO date/time
+     */
+    public double parse(CharSequence seq, int start, int end) throws ParseException
+    {
+        int len = end - start;
+        if (len > MAX_PARSE_LENGTH)
+            return fallbackFormat.parseIso(seq.subSequence(start, end).toString());
+
+        for (int i = 0; i < len; i++)
+            scratch[i] = seq.charAt(start + i);
+        return parse(scratch, 0, len);
+    }
+
+
+    /**
+     * Parses an ISO 8601 date/time from a range of ASCII or UTF-8 bytes
+     * @param buf byte buffer
+     * @param start index of first byte (inclusive)
+     * @param end index of last byte (exclusive)
+     * @return unix time stamp (in seconds since 1970)
+     * @throws ParseException if the bytes are not a valid ISO date/time
+     */
+    public double parse(byte[] buf, int start, int end) throws ParseException
+    {
+        int len = end - start;
+        if (len > MAX_PARSE_LENGTH)
+            return fallbackFormat.parseIso(new String(buf, start, len, StandardCharsets.UTF_8));
+
+        for (int i = 0; i < len; i++)
+            scratch[i] = (char)(buf[start + i] & 0xff);
+        return parse(scratch, 0, len);
+    }
+
+
+    /**
+     * Parses an ISO 8601 date/time from a range of chars
+     * @param buf char buffer
+     * @param start index of first char (inclusive)
+     * @param end index of last char (exclusive)
+     * @return unix time stamp (in seconds since 1970)
+     * @throws ParseException if the characters are not a valid ISO date/time
+     */
+    public double parse(char[] buf, int start, int end) throws ParseException
+    {
+        int len = end - start;
+        if (len < 11 || buf[start+4] != '-' || buf[start+7] != '-')
+            return fallback(buf, start, end);
+
+        // date part, reusing last value if same date
+        long epochDay;
+        if (lastParsedEpochDay != Long.MIN_VALUE && sameDate(buf, start))
+        {
+            epochDay = lastParsedEpochDay;
+        }
+        else
+        {
+            int year = digits(buf, start, 4);
+            int month = digits(buf, start+5, 2);
+            int day = digits(buf, start+8, 2);
+            if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month))
+                return fallback(buf, start, end);
+
+            epochDay = toEpochDay(year, month, day);
+            System.arraycopy(buf, start, lastParsedDate, 0, 10);
+            lastParsedEpochDay = epochDay;
+        }
+
+        // time part
+        int i = start + 10;
+        int secOfDay = 0;
+        int nanos = 0;
+        if (buf[i] == 'T')
+        {
+            if (end - i < 7 || buf[i+3] != ':')
+                return fallback(buf, start, end);
+
+            int hour = digits(buf, i+1, 2);
+            int min = digits(buf, i+4, 2);
+            if (hour < 0 || hour > 23 || min < 0 || min > 59)
+                return fallback(buf, start, end);
+            secOfDay = hour*3600 + min*60;
+            i += 6;
+
+            if (buf[i] == ':')
+            {
+                int sec = end - i < 3 ? -1 : digits(buf, i+1, 2);
+                if (sec < 0 || sec > 59)
+                    return fallback(buf, start, end);
+                secOfDay += sec;
+                i += 3;
+
+                if (i < end && buf[i] == '.')
+                {
+                    int numDigits = 0;
+                    for (i++; i < end; i++, numDigits++)
+                    {
+                        int d = buf[i] - '0';
+                        if (d < 0 || d > 9)
+                            break;
+                        if (numDigits == 9)
+                            return fallback(buf, start, end);
+                        nanos = nanos*10 + d;
+                    }
+
+                    if (numDigits == 0)
+                        return fallback(buf, start, end);
+                    nanos *= FRACTION_SCALE[numDigits];
+                }
+            }
+        }
+
+        // offset
+        int offsetSeconds;
+        if (end - i == 1 && buf[i] == 'Z')
+        {
+            offsetSeconds = 0;
+        }
+        else if (end - i == 6 && (buf[i] == '+' || buf[i] == '-') && buf[i+3] == ':')
+        {
+            int offHour = digits(buf, i+1, 2);
+            int offMin = digits(buf, i+4, 2);
+            if (offHour < 0 || offHour > 18 || offMin < 0 || offMin > 59)
+                return fallback(buf, start, end);
+            offsetSeconds = offHour*3600 + offMin*60;
+            if (offsetSeconds > 18*3600)
+                return fallback(buf, start, end);
+            if (buf[i] == '-')
+                offsetSeconds = -offsetSeconds;
+        }
+        else
+            return fallback(buf, start, end);
+
+        long epochSeconds = epochDay*SECONDS_PER_DAY + secOfDay - offsetSeconds;
+        return epochSeconds + nanos/1e9;
+    }
+
+
+    private double fallback(char[] buf, int start, int end) throws ParseException
+    {
+        return fallbackFormat.parseIso(new String(buf, start, end - start));
+    }
+
+
+    private boolean sameDate(char[] buf, int start)
+    {
+        for (int i = 0; i < 10; i++)
+        {
+            if (buf[start + i] != lastParsedDate[i])
+                return false;
+        }
+
+        return true;
+    }
+
+
+    /*
+     * Parses a fixed number of digits, returns -1 if a char is not a digit
+     */
+    private static int digits(char[] buf, int start, int numDigits)
+    {
+        int val = 0;
+        for (int i = start; i < start + numDigits; i++)
+        {
+            int d = buf[i] - '0';
+            if (d < 0 || d > 9)
+                return -1;
+            val = val*10 + d;
+        }
+
+        return val;
+    }
+
+
+    /**
+     * Formats a unix time stamp to an ISO 8601 string
+     * @param time unix time stamp (in seconds since 1970)
+     * @param timeZone time zone offset in hours
+     * @return ISO string representing the date/time
+     */
+    public String format(double time, int timeZone)
+    {
+        int len = format(time, timeZone, fmtBuf, 0);
+        return new String(fmtBuf, 0, len);
+    }
+
+
+    /**
+     * Formats a unix time stamp to ISO 8601 and writes it to the char buffer
+     * @param time unix time stamp (in seconds since 1970)
+     * @param timeZone time zone offset in hours
+     * @param buf destination buffer, must have at least {@value #MAX_FORMAT_LENGTH}
+     * chars available after offset
+     * @param offset index where to start writing in the buffer
+     * @return number of chars written
+     */
+    public int format(double time, int timeZone, char[] buf, int offset)
+    {
+        int len = formatFast(time, timeZone, buf, offset);
+        if (len >= 0)
+            return len;
+
+        // use java.time for values out of range of fast path
+        String s = fallbackFormat.formatIso(time, timeZone);
+        s.getChars(0, s.length(), buf, offset);
+        return s.length();
+    }
+
+
+    /**
+     * Formats a unix time stamp to ISO 8601 and writes it as ASCII bytes
+     * @param time unix time stamp (in seconds since 1970)
+     * @param timeZone time zone offset in hours
+     * @param buf destination buffer, must have at least {@value #MAX_FORMAT_LENGTH}
+     * bytes available after offset
+     * @param offset index where to start writing in the buffer
+     * @return number of bytes written
+     */
+    public int format(double time, int timeZone, byte[] buf, int offset)
+    {
+        int len = format(time, timeZone, fmtBuf, 0);
+        for (int i = 0; i < len; i++)
+            buf[offset + i] = (byte)fmtBuf[i];
+        return len;
+    }
+
+
+    /*
+     * Returns the number of chars written, or -1 if the value must be
+     * formatted by the fallback method
+     */
+    private int formatFast(double time, int timeZone, char[] buf, int offset)
+    {
+        if (timeZone < -18 || timeZone > 18)
+            return -1;
+
+        // same arithmetic as DateTimeFormat.formatIso
+        long epochSeconds = (long)time;
+        long nanos = (long)(int)((time*1000. - epochSeconds*1000L)*1e6);
+        epochSeconds += Math.floorDiv(nanos, 1000000000L);
+        nanos = Math.floorMod(nanos, 1000000000L);
+
+        long localSeconds = epochSeconds + timeZone*3600L;
+        long epochDay = Math.floorDiv(localSeconds, SECONDS_PER_DAY);
+        int secOfDay = Math.floorMod(localSeconds, SECONDS_PER_DAY);
+
+        // date part, reusing last value if same day
+        if (epochDay != lastFormattedEpochDay)
+        {
+            if (!formatDate(epochDay))
+                return -1;
+            lastFormattedEpochDay = epochDay;
+        }
+
+        int i = offset;
+        System.arraycopy(lastFormattedDate, 0, buf, i, 10);
+        i += 10;
+
+        // time part
+        buf[i++] = 'T';
+        i = write2Digits(secOfDay / 3600, buf, i);
+        buf[i++] = ':';
+        i = write2Digits((secOfDay / 60) % 60, buf, i);
+        buf[i++] = ':';
+        i = write2Digits(secOfDay % 60, buf, i);
+
+        // fraction without trailing zeros
+        if (nanos > 0)
+        {
+            int val = (int)nanos;
+            int numDigits = 9;
+            while (val % 10 == 0)
+            {
+                val /= 10;
+                numDigits--;
+            }
+
+            buf[i++] = '.';
+            for (int k = i + numDigits - 1; k >= i; k--)
+            {
+                buf[k] = (char)('0' + val % 10);
+                val /= 10;
+            }
+            i += numDigits;
+        }
+
+        // offset
+        if (timeZone == 0)
+        {
+            buf[i++] = 'Z';
+        }
+        else
+        {
+            buf[i++] = timeZone < 0 ? '-' : '+';
+            i = write2Digits(Math.abs(timeZone), buf, i);
+            buf[i++] = ':';
+            buf[i++] = '0';
+            buf[i++] = '0';
+        }
+
+        return i - offset;
+    }
+
+
+    private boolean formatDate(long epochDay)
+    {
+        // same algorithm as LocalDate.ofEpochDay
+        long zeroDay = epochDay + DAYS_0000_TO_1970 - 60;
+        long adjust = 0;
+        if (zeroDay < 0)
+        {
+            long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+        }
+
+        long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0)
+        {
+            yearEst--;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        yearEst += adjust;
+
+        int marchDoy0 = (int)doyEst;
+        int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+        int month = (marchMonth0 + 2) % 12 + 1;
+        int day = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+        long year = yearEst + marchMonth0 / 10;
+
+        // other years need a sign prefix
+        if (year < 0 || year > 9999)
+            return false;
+
+        char[] buf = lastFormattedDate;
+        int y = (int)year;
+        write2Digits(y / 100, buf, 0);
+        write2Digits(y % 100, buf, 2);
+        buf[4] = '-';
+        write2Digits(month, buf, 5);
+        buf[7] = '-';
+        write2Digits(day, buf, 8);
+        return true;
+    }
+
+
+    private static int write2Digits(int val, char[] buf, int offset)
+    {
+        buf[offset] = (char)('0' + val / 10);
+        buf[offset+1] = (char)('0' + val % 10);
+        return offset + 2;
+    }
+
+
+    static boolean isLeapYear(long year)
+    {
+        return ((year & 3) == 0) && ((year % 100) != 0 || (year % 400) == 0);
+    }
+
+
+    static int lengthOfMonth(int year, int month)
+    {
+        switch (month)
+        {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+
+    static long toEpochDay(int year, int month, int day)
+    {
+        // same algorithm as LocalDate.toEpochDay, for positive years only
+        long y = year;
+        long total = 365 * y + (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2)
+        {
+            total--;
+            if (!isLeapYear(year))
+                total--;
+        }
+
+        return total - DAYS_0000_TO_1970;
+    }
+}
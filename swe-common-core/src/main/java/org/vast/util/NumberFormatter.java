@@ -0,0 +1,453 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.util;
+
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.Arrays;
+import java.util.Locale;
+
+
+/**
+ * <p>
+ * Number formatter writing directly into a reusable char buffer without
+ * allocating intermediate String objects.<br/>
+ * Doubles and floats are written with the shortest decimal representation
+ * that parses back to the same value, using the same plain and scientific
+ * notations as {@link Double#toString(double)}. Rounded decimals are written
+ * like a {@link DecimalFormat} with a max number of fraction digits, using
+ * exact arithmetic so rounding is identical. Values that are outside of the
+ * fast paths are delegated to these JDK classes.
+ * </p><p>
+ * Formatted characters are available from {@link #getBuffer()} after each
+ * call. This class keeps internal state and is thus not thread-safe.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class NumberFormatter
+{
+    static final long MAX_EXACT_MANTISSA = 1L << 53;
+    static final long MAX_EXACT_FLOAT_MANTISSA = 1L << 24;
+    static final int MAX_FLOAT_SCALE = 10;
+    static final int MAX_FIXED_FRACTION_DIGITS = 18;
+    static final double[] POW10 = NumberParser.EXACT_POW10;
+    static final float[] FLOAT_POW10 = {
+        1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+    static final long[] LONG_POW10 = new long[MAX_FIXED_FRACTION_DIGITS+1];
+    static final long[] LONG_POW5 = new long[MAX_FIXED_FRACTION_DIGITS+1];
+
+    static
+    {
+        LONG_POW10[0] = LONG_POW5[0] = 1;
+        for (int i = 1; i <= MAX_FIXED_FRACTION_DIGITS; i++)
+        {
+            LONG_POW10[i] = LONG_POW10[i-1] * 10;
+            LONG_POW5[i] = LONG_POW5[i-1] * 5;
+        }
+    }
+
+    char[] buf = new char[48];
+    char[] digits = new char[20];
+    int shortestScale;
+    NumberFormat fallbackFormat;
+
+
+    /**
+     * @return the buffer containing the characters written by the last call
+     * to one of the format methods, starting at index 0
+     */
+    public char[] getBuffer()
+    {
+        return buf;
+    }
+
+
+    /**
+     * Formats an integer value in base 10
+     * @param val value to format
+     * @return number of characters written to the buffer
+     */
+    public int formatLong(long val)
+    {
+        if (val == Long.MIN_VALUE)
+            return copy(Long.toString(val));
+
+        int pos = 0;
+        if (val < 0)
+        {
+            buf[pos++] = '-';
+            val = -val;
+        }
+
+        int start = toDigits(val);
+        int nd = digits.length - start;
+        System.arraycopy(digits, start, buf, pos, nd);
+        return pos + nd;
+    }
+
+
+    /**
+     * Formats a double value with the shortest decimal representation that
+     * parses back to the same value.<br/>
+     * The notation is the same as {@link Double#toString(double)}
+     * @param val value to format
+     * @return number of characters written to the buffer
+     */
+    public int formatDouble(double val)
+    {
+        if (val == 0.0)
+            return copy(1/val < 0 ? "-0.0" : "0.0");
+        if (Double.isNaN(val) || Double.isInfinite(val))
+            return copy(Double.toString(val));
+
+        long mantissa = shortestMantissa(Math.abs(val));
+        if (mantissa < 0)
+            return copy(Double.toString(val));
+        return formatDecimal(val < 0, mantissa, shortestScale);
+    }
+
+
+    /*
+     * Finds the smallest number of fraction digits giving an exact round trip.
+     * Returns the corresponding mantissa and sets shortestScale, or returns -1
+     * if the value has too many significant digits
+     */
+    protected long shortestMantissa(double abs)
+    {
+        for (int scale = 0; scale < POW10.length; scale++)
+        {
+            double scaled = abs * POW10[scale];
+            if (scaled >= MAX_EXACT_MANTISSA)
+                break;
+
+            // division of exact values is correctly rounded like parseDouble
+            long mantissa = (long)Math.rint(scaled);
+            if (mantissa != 0 && mantissa / POW10[scale] == abs)
+            {
+                shortestScale = scale;
+                return mantissa;
+            }
+        }
+
+        return -1;
+    }
+
+
+    /**
+     * Formats a float value with the shortest decimal representation that
+     * parses back to the same value.<br/>
+     * The notation is the same as {@link Float#toString(float)}
+     * @param val value to format
+     * @return number of characters written to the buffer
+     */
+    public int formatFloat(float val)
+    {
+        if (val == 0.0f)
+            return copy(1/val < 0 ? "-0.0" : "0.0");
+        if (Float.isNaN(val) || Float.isInfinite(val))
+            return copy(Float.toString(val));
+
+        float abs = Math.abs(val);
+        for (int scale = 0; scale <= MAX_FLOAT_SCALE; scale++)
+        {
+            double scaled = abs * POW10[scale];
+            if (scaled >= MAX_EXACT_FLOAT_MANTISSA)
+                break;
+
+            long mantissa = (long)Math.rint(scaled);
+            if (mantissa != 0 && (float)mantissa / FLOAT_POW10[scale] == abs)
+                return formatDecimal(val < 0, mantissa, scale);
+        }
+
+        return copy(Float.toString(val));
+    }
+
+
+    /*
+     * Writes mantissa * 10^-scale with the same layout as Double.toString()
+     */
+    protected int formatDecimal(boolean negative, long mantissa, int scale)
+    {
+        int start = toDigits(mantissa);
+        int end = digits.length;
+        while (end - start > 1 && digits[end-1] == '0')
+        {
+            end--;
+            scale--;
+        }
+
+        int nd = end - start;
+        int exp = nd - 1 - scale;
+        int pos = 0;
+
+        if (negative)
+            buf[pos++] = '-';
+
+        // plain notation from 10^-3 to 10^7
+        if (exp >= -3 && exp < 7)
+        {
+            if (exp >= 0)
+            {
+                for (int i = 0; i <= exp; i++)
+                    buf[pos++] = i < nd ? digits[start+i] : '0';
+                buf[pos++] = '.';
+                if (nd > exp+1)
+                {
+                    for (int i = exp+1; i < nd; i++)
+                        buf[pos++] = digits[start+i];
+                }
+                else
+                    buf[pos++] = '0';
+            }
+            else
+            {
+                buf[pos++] = '0';
+                buf[pos++] = '.';
+                for (int i = -1; i > exp; i--)
+                    buf[pos++] = '0';
+                for (int i = 0; i < nd; i++)
+                    buf[pos++] = digits[start+i];
+            }
+        }
+
+        // scientific notation otherwise
+        else
+        {
+            buf[pos++] = digits[start];
+            buf[pos++] = '.';
+            if (nd > 1)
+            {
+                for (int i = 1; i < nd; i++)
+                    buf[pos++] = digits[start+i];
+            }
+            else
+                buf[pos++] = '0';
+
+            buf[pos++] = 'E';
+            if (exp < 0)
+            {
+                buf[pos++] = '-';
+                exp = -exp;
+            }
+            if (exp >= 100)
+                buf[pos++] = (char)('0' + exp / 100);
+            if (exp >= 10)
+                buf[pos++] = (char)('0' + (exp / 10) % 10);
+            buf[pos++] = (char)('0' + exp % 10);
+        }
+
+        return pos;
+    }
+
+
+    /**
+     * Formats a double value rounded to the given number of fraction digits.<br/>
+     * The output is the same as a {@link DecimalFormat} with no grouping, at
+     * least one fraction digit and half-even rounding: the shortest decimal
+     * representation of the value is rounded, and ties are resolved using the
+     * exact binary value.
+     * @param val value to format
+     * @param maxFractionDigits max number of digits after the decimal point
+     * @return number of characters written to the buffer
+     */
+    public int formatFixed(double val, int maxFractionDigits)
+    {
+        int n = maxFractionDigits;
+        if (Double.isNaN(val) || Double.isInfinite(val) || n < 0 || n > MAX_FIXED_FRACTION_DIGITS)
+            return formatFixedFallback(val, n);
+
+        boolean negative = Double.doubleToRawLongBits(val) < 0;
+        double abs = Math.abs(val);
+        long q = 0;
+        int scale = 0;
+
+        if (abs != 0.0)
+        {
+            long mantissa = shortestMantissa(abs);
+            if (mantissa < 0)
+                return formatFixedFallback(val, n);
+
+            if (shortestScale <= n)
+            {
+                q = mantissa;
+                scale = shortestScale;
+            }
+            else if (shortestScale - n <= MAX_FIXED_FRACTION_DIGITS)
+            {
+                long div = LONG_POW10[shortestScale - n];
+                long rem = mantissa % div;
+                q = mantissa / div;
+                scale = n;
+
+                // on ties, DecimalFormat looks at the exact binary value,
+                // except for values < 10^-3 that round to zero
+                if (rem > div/2)
+                    q++;
+                else if (rem == div/2 && (q > 0 || abs >= 1e-3) && (q = roundExact(abs, n)) < 0)
+                    return formatFixedFallback(val, n);
+            }
+            else
+                scale = n; // mantissa < 10^16 so this rounds to 0
+        }
+
+        int pos = 0;
+        if (negative)
+            buf[pos++] = '-';
+
+        // integer part
+        long intPart = q / LONG_POW10[scale];
+        long frac = q - intPart * LONG_POW10[scale];
+        int start = toDigits(intPart);
+        int nd = digits.length - start;
+        System.arraycopy(digits, start, buf, pos, nd);
+        pos += nd;
+
+        // fraction part without trailing zeros
+        int minFracDigits = Math.min(1, n);
+        while (scale > minFracDigits && frac % 10 == 0)
+        {
+            frac /= 10;
+            scale--;
+        }
+
+        if (scale > 0)
+        {
+            buf[pos++] = '.';
+            for (int i = pos + scale - 1; i >= pos; i--)
+            {
+                buf[i] = (char)('0' + frac % 10);
+                frac /= 10;
+            }
+            pos += scale;
+        }
+        else if (minFracDigits > 0)
+        {
+            buf[pos++] = '.';
+            buf[pos++] = '0';
+        }
+
+        return pos;
+    }
+
+
+    /*
+     * Rounds the exact binary value of abs * 10^n to the nearest integer,
+     * with ties to even, using a 128-bit product.
+     * Returns -1 if the result doesn't fit in a long
+     */
+    protected static long roundExact(double abs, int n)
+    {
+        // abs = m * 2^e so abs * 10^n = m * 5^n * 2^(n+e)
+        long bits = Double.doubleToRawLongBits(abs);
+        int biasedExp = (int)((bits >>> 52) & 0x7FF);
+        long m = bits & 0xFFFFFFFFFFFFFL;
+        int e = -1074;
+        if (biasedExp != 0)
+        {
+            m |= 1L << 52;
+            e = biasedExp - 1075;
+        }
+
+        long lo = m * LONG_POW5[n];
+        long hi = Math.multiplyHigh(m, LONG_POW5[n]);
+        int shift = n + e;
+
+        if (shift >= 0)
+        {
+            if (hi != 0 || shift >= 63 || (lo >>> (63 - shift)) != 0)
+                return -1;
+            return lo << shift;
+        }
+
+        // product is less than 2^95 so this rounds to 0
+        int s = -shift;
+        if (s >= 128)
+            return 0;
+
+        long qHi, qLo, remHi, remLo, halfHi, halfLo;
+        if (s < 64)
+        {
+            qLo = (lo >>> s) | (hi << (64 - s));
+            qHi = hi >>> s;
+            remHi = 0;
+            remLo = lo & ((1L << s) - 1);
+            halfHi = 0;
+            halfLo = 1L << (s - 1);
+        }
+        else
+        {
+            qLo = hi >>> (s - 64);
+            qHi = 0;
+            remHi = s == 64 ? 0 : hi & ((1L << (s - 64)) - 1);
+            remLo = lo;
+            halfHi = s == 64 ? 0 : 1L << (s - 65);
+            halfLo = s == 64 ? 1L << 63 : 0;
+        }
+
+        if (qHi != 0 || qLo < 0)
+            return -1;
+
+        int cmp = Long.compareUnsigned(remHi, halfHi);
+        if (cmp == 0)
+            cmp = Long.compareUnsigned(remLo, halfLo);
+        if (cmp > 0 || (cmp == 0 && (qLo & 1) != 0))
+            qLo++;
+        return qLo;
+    }
+
+
+    protected int formatFixedFallback(double val, int maxFractionDigits)
+    {
+        if (fallbackFormat == null)
+        {
+            fallbackFormat = DecimalFormat.getNumberInstance(Locale.US);
+            fallbackFormat.setGroupingUsed(false);
+        }
+
+        fallbackFormat.setMinimumFractionDigits(Math.min(1, maxFractionDigits));
+        fallbackFormat.setMaximumFractionDigits(maxFractionDigits);
+        return copy(fallbackFormat.format(val));
+    }
+
+
+    /*
+     * Writes digits of a positive value at the end of the digit buffer
+     * and returns the index of the first digit
+     */
+    protected int toDigits(long val)
+    {
+        int i = digits.length;
+        do
+        {
+            digits[--i] = (char)('0' + val % 10);
+            val /= 10;
+        }
+        while (val != 0);
+        return i;
+    }
+
+
+    protected int copy(String s)
+    {
+        int len = s.length();
+        if (len > buf.length)
+            buf = Arrays.copyOf(buf, len);
+        s.getChars(0, len, buf, 0);
+        return len;
+    }
+}
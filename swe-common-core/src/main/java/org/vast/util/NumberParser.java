@@ -0,0 +1,179 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.util;
+
+
+/**
+ * <p>
+ * Helper methods to parse numbers directly from a range of characters
+ * without creating intermediate String objects.<br/>
+ * Common decimal notations are decoded with a fast path that is guaranteed
+ * to produce the correctly rounded value. Other notations are delegated to
+ * {@link Double#parseDouble(String)} and {@link Integer#parseInt(String)}
+ * so the accepted syntax and error behavior are the same.
+ * </p>
+ *
+ * @author agent
+ * @since Oct 17, 2026
+ */
+public class NumberParser
+{
+    // max integer value for which a double is exact
+    static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    // powers of ten that are exactly represented by a double
+    static final double[] EXACT_POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+        1e21, 1e22
+    };
+
+
+    private NumberParser()
+    {
+    }
+
+
+    /**
+     * Parses a base 10 integer from a range of characters
+     * @param buf character buffer
+     * @param start index of first char (inclusive)
+     * @param end index of last char (exclusive)
+     * @return the integer value
+     * @throws NumberFormatException if the characters don't represent a valid integer
+     */
+    public static int parseInt(char[] buf, int start, int end)
+    {
+        int i = start;
+        boolean negative = false;
+
+        if (i < end && (buf[i] == '-' || buf[i] == '+'))
+            negative = buf[i++] == '-';
+
+        // fallback if no digits or too many digits to check overflow easily
+        int numDigits = end - i;
+        if (numDigits <= 0 || numDigits > 10)
+            return Integer.parseInt(new String(buf, start, end - start));
+
+        long val = 0;
+        for (; i < end; i++)
+        {
+            int d = buf[i] - '0';
+            if (d < 0 || d > 9)
+                return Integer.parseInt(new String(buf, start, end - start));
+            val = val*10 + d;
+        }
+
+        if (negative)
+            val = -val;
+        if (val < Integer.MIN_VALUE || val > Integer.MAX_VALUE)
+            return Integer.parseInt(new String(buf, start, end - start));
+
+        return (int)val;
+    }
+
+
+    /**
+     * Parses a decimal number from a range of characters
+     * @param buf character buffer
+     * @param start index of first char (inclusive)
+     * @param end index of last char (exclusive)
+     * @return the double value
+     * @throws NumberFormatException if the characters don't represent a valid number
+     */
+    public static double parseDouble(char[] buf, int start, int end)
+    {
+        int i = start;
+        boolean negative = false;
+
+        if (i < end && (buf[i] == '-' || buf[i] == '+'))
+            negative = buf[i++] == '-';
+
+        long mantissa = 0;
+        int numDigits = 0;
+        int sigDigits = 0;
+        int exp10 = 0;
+
+        // integer part
+        for (; i < end; i++)
+        {
+            int d = buf[i] - '0';
+            if (d < 0 || d > 9)
+                break;
+            mantissa = mantissa*10 + d;
+            numDigits++;
+            if (mantissa != 0)
+                sigDigits++;
+        }
+
+        // fractional part
+        if (i < end && buf[i] == '.')
+        {
+            for (i++; i < end; i++)
+            {
+                int d = buf[i] - '0';
+                if (d < 0 || d > 9)
+                    break;
+                mantissa = mantissa*10 + d;
+                numDigits++;
+                if (mantissa != 0)
+                    sigDigits++;
+                exp10--;
+            }
+        }
+
+        // exponent
+        if (numDigits > 0 && i < end && (buf[i] == 'e' || buf[i] == 'E'))
+        {
+            i++;
+            boolean negativeExp = false;
+            if (i < end && (buf[i] == '-' || buf[i] == '+'))
+                negativeExp = buf[i++] == '-';
+
+            int exp = 0;
+            int expDigits = 0;
+            for (; i < end && expDigits < 4; i++, expDigits++)
+            {
+                int d = buf[i] - '0';
+                if (d < 0 || d > 9)
+                    break;
+                exp = exp*10 + d;
+            }
+
+            if (expDigits == 0)
+                i = -1; // force fallback
+            exp10 += negativeExp ? -exp : exp;
+        }
+
+        // use fast path only if result is guaranteed to be correctly rounded
+        if (i == end && numDigits > 0 && sigDigits <= 18)
+        {
+            if (mantissa == 0)
+                return negative ? -0.0 : 0.0;
+
+            if (mantissa < MAX_EXACT_MANTISSA && exp10 >= -22 && exp10 <= 22)
+            {
+                double val = (double)mantissa;
+                if (exp10 < 0)
+                    val /= EXACT_POW10[-exp10];
+                else
+                    val *= EXACT_POW10[exp10];
+                return negative ? -val : val;
+            }
+        }
+
+        return Double.parseDouble(new String(buf, start, end - start));
+    }
+}
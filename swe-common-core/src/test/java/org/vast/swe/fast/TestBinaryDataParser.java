@@ -15,20 +15,31 @@ Copyright (C) 2012-2017 Sensia Software LLC. All Rights Reserved.
 package org.vast.swe.fast;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Test;
+import org.vast.data.DataBlockDouble;
+import org.vast.data.DataBlockPacked;
+import org.vast.data.DataBlockParallel;
 import org.vast.swe.SWEHelper;
+import org.vast.swe.helper.RasterHelper;
 import com.google.common.collect.Lists;
+import net.opengis.swe.v20.BinaryEncoding;
+import net.opengis.swe.v20.ByteOrder;
 import net.opengis.swe.v20.Count;
 import net.opengis.swe.v20.DataArray;
 import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataChoice;
 import net.opengis.swe.v20.DataComponent;
 import net.opengis.swe.v20.DataRecord;
+import net.opengis.swe.v20.DataType;
 
 
 public class TestBinaryDataParser
@@ -37,11 +48,16 @@ public class TestBinaryDataParser
     
     protected void writeReadAndCompare(DataComponent dataStruct, List<DataBlock> records) throws IOException
     {
-        var multipleRecords = records.size() > 1;
-        
         var encoding = SWEHelper.getDefaultBinaryEncoding(dataStruct);
+        writeReadAndCompare(dataStruct, encoding, records);
+    }
+    
+    
+    protected void writeReadAndCompare(DataComponent dataStruct, BinaryEncoding encoding, List<DataBlock> records) throws IOException
+    {
+        var multipleRecords = records.size() > 1;
         
-        // write JSON to byte buffer
+        // write binary to byte buffer
         ByteArrayOutputStream os = new ByteArrayOutputStream();
         BinaryDataWriter writer = new BinaryDataWriter();
         writer.setDataComponents(dataStruct.copy());
@@ -54,13 +70,45 @@ public class TestBinaryDataParser
         writer.flush();
         byte[] bytes = os.toByteArray();
         
-        // read back JSON
-        ByteArrayInputStream is = new ByteArrayInputStream(bytes);
+        // read back binary from input stream
         BinaryDataParser parser = new BinaryDataParser();
         parser.setDataComponents(dataStruct.copy());
         parser.setDataEncoding(encoding);
-        parser.setInput(is);
+        parser.setInput(new ByteArrayInputStream(bytes));
+        parser.setRenewDataBlock(true);
+        compare(records, parseAll(parser));
+        
+        // read back binary from heap byte buffer
+        parser = new BinaryDataParser();
+        parser.setDataComponents(dataStruct.copy());
+        parser.setDataEncoding(encoding);
+        parser.setInput(ByteBuffer.wrap(bytes));
         parser.setRenewDataBlock(true);
+        compare(records, parseAll(parser));
+        
+        // read back binary from direct byte buffer
+        var directBuf = ByteBuffer.allocateDirect(bytes.length);
+        directBuf.put(bytes).flip();
+        parser = new BinaryDataParser();
+        parser.setDataComponents(dataStruct.copy());
+        parser.setDataEncoding(encoding);
+        parser.setInput(directBuf);
+        parser.setRenewDataBlock(true);
+        compare(records, parseAll(parser));
+        
+        // read back binary with compiled processor tree
+        parser = new BinaryDataParser();
+        parser.setDataComponents(dataStruct.copy());
+        parser.setDataEncoding(encoding);
+        parser.setCompileProcessorTree(true);
+        parser.setInput(new ByteArrayInputStream(bytes));
+        parser.setRenewDataBlock(true);
+        compare(records, parseAll(parser));
+    }
+    
+    
+    protected List<DataBlock> parseAll(BinaryDataParser parser) throws IOException
+    {
         var parsedRecords = new ArrayList<DataBlock>();
         DataBlock dataBlk;
         do {
@@ -68,8 +116,12 @@ public class TestBinaryDataParser
             if (dataBlk != null)
                 parsedRecords.add(dataBlk);
         } while (dataBlk != null);
-                
-        // compare
+        return parsedRecords;
+    }
+    
+    
+    protected void compare(List<DataBlock> records, List<DataBlock> parsedRecords)
+    {
         assertEquals("Wrong number of records", records.size(), parsedRecords.size());
         for (int i = 0; i < records.size(); i++)
         {
@@ -80,8 +132,7 @@ public class TestBinaryDataParser
             
             for (int j = 0; j < expected.getAtomCount(); j++)
             {
-                //if (!multipleRecords)
-                //    System.out.format("expected=%s, actual=%s\n", expected.getStringValue(j), actual.getStringValue(j));
+                //System.out.format("expected=%s, actual=%s\n", expected.getStringValue(j), actual.getStringValue(j));
                 assertEquals(expected.getStringValue(j), actual.getStringValue(j));
             }
         }
@@ -231,5 +282,271 @@ public class TestBinaryDataParser
         
         writeReadAndCompare(dataStruct, records);
     }
+    
+    
+    @Test
+    public void testWriteAndReadBackChoice() throws IOException
+    {
+        // create choice structure
+        SWEHelper fac = new SWEHelper();
+        DataChoice dataStruct = fac.createChoice()
+            .addItem("temp", fac.createRecord()
+                .addSamplingTimeIsoUTC("t0")
+                .addField("q1", fac.createQuantity().build())
+                .build())
+            .addItem("status", fac.createRecord()
+                .addSamplingTimeIsoUTC("t0")
+                .addField("c1", fac.createCount().build())
+                .addField("txt", fac.createText().build())
+                .build())
+            .build();
+        
+        // test with multiple records, alternating choice items
+        var now = (double)Instant.now().getEpochSecond();
+        var records = new ArrayList<DataBlock>();
+        int numRecords = 10;
+        for (int r=0; r<numRecords; r++)
+        {
+            int dataBlkIdx = 1;
+            dataStruct.setSelectedItem(r % 2);
+            DataBlock rec = dataStruct.createDataBlock();
+            rec.setDoubleValue(dataBlkIdx++, now+r);
+            
+            if (r % 2 == 0)
+            {
+                rec.setDoubleValue(dataBlkIdx++, r*10.);
+            }
+            else
+            {
+                rec.setIntValue(dataBlkIdx++, r+100);
+                rec.setStringValue(dataBlkIdx++, "status" + r);
+            }
+            
+            records.add(rec);
+        }
+        
+        writeReadAndCompare(dataStruct, records);
+    }
+    
+    
+    @Test
+    public void testWriteAndReadBackPrimitiveArrays() throws IOException
+    {
+        // create record structure with arrays of different primitive types
+        RasterHelper fac = new RasterHelper();
+        int width = 16, height = 8, numSamples = 20;
+        DataRecord dataStruct = fac.createRecord()
+            .addSamplingTimeIsoUTC("t0")
+            .addField("img", fac.newRgbImage(width, height, DataType.BYTE))
+            .addField("samples", fac.createArray()
+                .withFixedSize(numSamples)
+                .withElement("val", fac.createQuantity()
+                    .dataType(DataType.FLOAT)
+                    .build())
+                .build())
+            .addField("profile", fac.createArray()
+                .withFixedSize(numSamples)
+                .withElement("val", fac.createQuantity().build())
+                .build())
+            .build();
+        
+        var now = (double)Instant.now().getEpochSecond();
+        var records = new ArrayList<DataBlock>();
+        int numRecords = 5;
+        for (int r=0; r<numRecords; r++)
+        {
+            var rec = dataStruct.createDataBlock();
+            int dataBlkIdx = 0;
+            rec.setDoubleValue(dataBlkIdx++, now+r);
+            for (int i=0; i<width*height*3; i++)
+                rec.setByteValue(dataBlkIdx++, (byte)(i+r));
+            for (int i=0; i<numSamples; i++)
+                rec.setFloatValue(dataBlkIdx++, i*0.5f+r);
+            for (int i=0; i<numSamples; i++)
+                rec.setDoubleValue(dataBlkIdx++, i*1e-3-r);
+            records.add(rec);
+        }
+        
+        // mixed types are stored in a single packed block
+        assertTrue(dataStruct.createDataBlock() instanceof DataBlockPacked);
+        
+        // test with both byte orders
+        var encoding = SWEHelper.getDefaultBinaryEncoding(dataStruct);
+        writeReadAndCompare(dataStruct, encoding, records);
+        checkBulkCopy(dataStruct, encoding, records, 3);
+        encoding.setByteOrder(ByteOrder.LITTLE_ENDIAN);
+        writeReadAndCompare(dataStruct, encoding, records);
+        checkBulkCopy(dataStruct, encoding, records, 3);
+    }
+    
+    
+    /*
+     * Parse from byte buffer and check that arrays were bulk copied
+     */
+    protected void checkBulkCopy(DataComponent dataStruct, BinaryEncoding encoding, List<DataBlock> records, int numArrays) throws IOException
+    {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        BinaryDataWriter writer = new BinaryDataWriter();
+        writer.setDataComponents(dataStruct.copy());
+        writer.setDataEncoding(encoding);
+        writer.setOutput(os);
+        for (var rec: records)
+            writer.write(rec);
+        writer.flush();
+        
+        var bulkCopyCount = new AtomicInteger();
+        BinaryDataParser parser = new BinaryDataParser() {
+            @Override
+            protected ArrayProcessor getArrayProcessor(DataArray array)
+            {
+                var processor = super.getArrayProcessor(array);
+                if (!(processor instanceof BulkArrayParser))
+                    return processor;
+                
+                return new BulkArrayParser(array, ((BulkArrayParser)processor).dataType) {
+                    @Override
+                    protected boolean readFrom(DataBlock arrayData, int count)
+                    {
+                        boolean done = super.readFrom(arrayData, count);
+                        if (done)
+                            bulkCopyCount.incrementAndGet();
+                        return done;
+                    }
+                };
+            }
+        };
+        
+        parser.setDataComponents(dataStruct.copy());
+        parser.setDataEncoding(encoding);
+        parser.setInput(ByteBuffer.wrap(os.toByteArray()));
+        parser.setRenewDataBlock(true);
+        compare(records, parseAll(parser));
+        assertEquals(records.size() * numArrays, bulkCopyCount.get());
+    }
+    
+    
+    @Test
+    public void testParseBatchesToColumns() throws IOException
+    {
+        SWEHelper fac = new SWEHelper();
+        DataRecord dataStruct = fac.createRecord()
+            .addField("time", fac.createTime().asSamplingTimeIsoUTC().build())
+            .addField("temp", fac.createQuantity().build())
+            .addField("count", fac.createCount().build())
+            .addField("values", fac.createArray()
+                .withFixedSize(3)
+                .withElement("val", fac.createQuantity().dataType(DataType.FLOAT).build())
+                .build())
+            .addField("name", fac.createText().build())
+            .build();
+        var encoding = SWEHelper.getDefaultBinaryEncoding(dataStruct);
+        
+        // write records
+        int numRecords = 25;
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        BinaryDataWriter writer = new BinaryDataWriter();
+        writer.setDataComponents(dataStruct.copy());
+        writer.setDataEncoding(encoding);
+        writer.setOutput(os);
+        writer.startStream(true);
+        for (int r=0; r<numRecords; r++)
+        {
+            var rec = dataStruct.createDataBlock();
+            rec.setDoubleValue(0, 1e9 + r);
+            rec.setDoubleValue(1, r * 0.5);
+            rec.setIntValue(2, r);
+            for (int i=0; i<3; i++)
+                rec.setFloatValue(3+i, r*10 + i);
+            rec.setStringValue(6, "rec" + r);
+            writer.write(rec);
+        }
+        writer.endStream();
+        writer.flush();
+        
+        // read back in batches
+        BinaryDataParser parser = new BinaryDataParser();
+        parser.setDataComponents(dataStruct.copy());
+        parser.setDataEncoding(encoding);
+        parser.setInput(ByteBuffer.wrap(os.toByteArray()));
+        DataBlockParallel batch = parser.createBatchBlock(10);
+        assertEquals(7, batch.getUnderlyingObject().length);
+        assertTrue(batch.getUnderlyingObject()[1] instanceof DataBlockDouble);
+        
+        int r = 0;
+        int[] expectedCounts = {10, 10, 5, 0};
+        for (int expectedCount: expectedCounts)
+        {
+            int count = parser.parseNextBatch(batch);
+            assertEquals(expectedCount, count);
+            
+            double[] temps = (double[])batch.getUnderlyingObject()[1].getUnderlyingObject();
+            for (int i=0; i<count; i++, r++)
+            {
+                assertEquals(1e9 + r, batch.getDoubleValue(i*7), 0.0);
+                assertEquals(r * 0.5, temps[i], 0.0);
+                assertEquals(r, batch.getIntValue(i*7+2));
+                assertEquals(r*10 + 2, batch.getFloatValue(i*7+5), 0.0);
+                assertEquals("rec" + r, batch.getStringValue(i*7+6));
+            }
+        }
+        
+        assertEquals(numRecords, r);
+    }
+    
+    
+    @Test
+    public void testCompiledProcessorTree() throws IOException
+    {
+        SWEHelper fac = new SWEHelper();
+        DataRecord dataStruct = fac.createRecord()
+            .addField("time", fac.createTime().asSamplingTimeIsoUTC().build())
+            .addField("values", fac.createArray()
+                .withFixedSize(4)
+                .withElement("elt", fac.createRecord()
+                    .addField("c", fac.createCount().build())
+                    .addField("q", fac.createQuantity().build())
+                    .build())
+                .build())
+            .addField("name", fac.createText().build())
+            .build();
+        var encoding = SWEHelper.getDefaultBinaryEncoding(dataStruct);
+        
+        // write with compiled tree
+        var records = new ArrayList<DataBlock>();
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        BinaryDataWriter writer = new BinaryDataWriter();
+        writer.setDataComponents(dataStruct.copy());
+        writer.setDataEncoding(encoding);
+        writer.setCompileProcessorTree(true);
+        writer.setOutput(os);
+        for (int r=0; r<5; r++)
+        {
+            var rec = dataStruct.createDataBlock();
+            rec.setDoubleValue(0, 1e9 + r);
+            for (int i=0; i<4; i++)
+            {
+                rec.setIntValue(1+i*2, r*10+i);
+                rec.setDoubleValue(2+i*2, r+i*0.1);
+            }
+            rec.setStringValue(9, "rec" + r);
+            writer.write(rec);
+            records.add(rec);
+        }
+        writer.flush();
+        
+        // record and array are flattened to a sequence of scalars
+        assertTrue(writer.rootProcessor instanceof ProcessorTreeCompiler.SequenceProcessor);
+        assertEquals(10, ((ProcessorTreeCompiler.SequenceProcessor)writer.rootProcessor).steps.length);
+        
+        // read back with compiled tree
+        BinaryDataParser parser = new BinaryDataParser();
+        parser.setDataComponents(dataStruct.copy());
+        parser.setDataEncoding(encoding);
+        parser.setCompileProcessorTree(true);
+        parser.setInput(new ByteArrayInputStream(os.toByteArray()));
+        parser.setRenewDataBlock(true);
+        compare(records, parseAll(parser));
+        assertEquals(10, ((ProcessorTreeCompiler.SequenceProcessor)parser.rootProcessor).steps.length);
+    }
 
 }
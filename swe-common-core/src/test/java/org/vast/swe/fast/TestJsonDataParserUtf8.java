@@ -0,0 +1,255 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.fast;
+
+import static org.junit.Assert.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.vast.swe.SWEHelper;
+import org.vast.swe.helper.GeoPosHelper;
+import org.vast.util.ReaderException;
+import net.opengis.swe.v20.Count;
+import net.opengis.swe.v20.DataArray;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataComponent;
+import net.opengis.swe.v20.DataRecord;
+
+
+public class TestJsonDataParserUtf8
+{
+
+    protected void writeReadAndCompare(AbstractDataWriter writer, JsonDataParserUtf8 parser, DataComponent dataStruct, List<DataBlock> records) throws IOException
+    {
+        var multipleRecords = records.size() > 1;
+
+        // write JSON to byte buffer
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        writer.setDataComponents(dataStruct.copy());
+        writer.setOutput(os);
+        writer.startStream(multipleRecords);
+        for (var rec: records)
+            writer.write(rec);
+        writer.endStream();
+        writer.flush();
+        byte[] bytes = os.toByteArray();
+
+        // read back JSON
+        parser.setDataComponents(dataStruct.copy());
+        parser.setInput(new ByteArrayInputStream(bytes));
+        parser.setRenewDataBlock(true);
+        if (multipleRecords)
+            parser.setHasArrayWrapper();
+        compare(records, parser);
+    }
+
+
+    protected void compare(List<DataBlock> records, JsonDataParserUtf8 parser) throws IOException
+    {
+        var parsedRecords = new ArrayList<DataBlock>();
+        DataBlock dataBlk;
+        while ((dataBlk = parser.parseNextBlock()) != null)
+            parsedRecords.add(dataBlk);
+
+        assertEquals("Wrong number of records", records.size(), parsedRecords.size());
+        for (int i = 0; i < records.size(); i++)
+        {
+            var expected = records.get(i);
+            var actual = parsedRecords.get(i);
+            assertEquals("Wrong datablock size", expected.getAtomCount(), actual.getAtomCount());
+            for (int j = 0; j < expected.getAtomCount(); j++)
+                assertEquals(expected.getStringValue(j), actual.getStringValue(j));
+        }
+    }
+
+
+    protected DataRecord createRecordStructure()
+    {
+        GeoPosHelper fac = new GeoPosHelper();
+        return fac.createRecord()
+            .addSamplingTimeIsoUTC("time")
+            .addField("temp", fac.createQuantity().build())
+            .addField("name", fac.createText().build())
+            .addField("count", fac.createCount().build())
+            .addField("valid", fac.createBoolean().build())
+            .addField("location", fac.createLocationVectorLLA().build())
+            .build();
+    }
+
+
+    protected List<DataBlock> createRecords(DataComponent dataStruct, int numRecords)
+    {
+        var now = (double)Instant.now().getEpochSecond();
+        var records = new ArrayList<DataBlock>();
+
+        for (int r = 0; r < numRecords; r++)
+        {
+            var rec = dataStruct.createDataBlock();
+            int i = 0;
+            rec.setDoubleValue(i++, now + r);
+            rec.setDoubleValue(i++, r == 3 ? Double.NaN : 20.0 + r*0.1);
+            rec.setStringValue(i++, "sensor \"" + r + "\" \\ é€😀 中文\n\t");
+            rec.setIntValue(i++, r*1000 - 500);
+            rec.setBooleanValue(i++, r % 2 == 0);
+            rec.setDoubleValue(i++, 45.0 + r*1e-5);
+            rec.setDoubleValue(i++, -1.5e-3 * r);
+            rec.setDoubleValue(i++, r == 4 ? Double.NEGATIVE_INFINITY : 1e7 + r);
+            records.add(rec);
+        }
+
+        return records;
+    }
+
+
+    protected DataRecord createVarSizeStructure()
+    {
+        SWEHelper fac = new SWEHelper();
+        Count sizeField;
+        return fac.createRecord()
+            .addSamplingTimeIsoUTC("t0")
+            .addField("size", sizeField = fac.createCount()
+                .id("NUM_POINTS")
+                .build())
+            .addField("array", fac.createArray()
+                .withSizeComponent(sizeField)
+                .withElement("elt", fac.createVector()
+                    .addCoordinate("c1", fac.createQuantity().build())
+                    .addCoordinate("c2", fac.createQuantity().build())
+                    .build())
+                .build())
+            .build();
+    }
+
+
+    protected List<DataBlock> createVarSizeRecords(DataRecord dataStruct, int numRecords)
+    {
+        var now = (double)Instant.now().getEpochSecond();
+        var records = new ArrayList<DataBlock>();
+
+        for (int r = 0; r < numRecords; r++)
+        {
+            int dataBlkIdx = 0;
+            int arraySize = r+2;
+            ((DataArray)dataStruct.getComponent("array")).updateSize(arraySize);
+            DataBlock rec = dataStruct.createDataBlock();
+
+            rec.setDoubleValue(dataBlkIdx++, now+r);
+            rec.setIntValue(dataBlkIdx++, arraySize);
+            for (int i = 0; i < arraySize; i++)
+            {
+                double val = (double)i + r*10.;
+                rec.setDoubleValue(dataBlkIdx++, val-100.);
+                rec.setDoubleValue(dataBlkIdx++, val+100);
+            }
+
+            records.add(rec);
+        }
+
+        return records;
+    }
+
+
+    @Test
+    public void testReadSimpleRecord() throws IOException
+    {
+        var dataStruct = createRecordStructure();
+
+        for (int numRecords: new int[] {1, 20})
+        {
+            var records = createRecords(dataStruct, numRecords);
+
+            // use small buffer to test refills in the middle of tokens
+            writeReadAndCompare(new JsonDataWriterGson(), new JsonDataParserUtf8(16), dataStruct, records);
+            writeReadAndCompare(new JsonDataWriterUtf8(), new JsonDataParserUtf8(), dataStruct, records);
+        }
+    }
+
+
+    @Test
+    public void testReadVarSizeArray() throws IOException
+    {
+        var dataStruct = createVarSizeStructure();
+        var records = createVarSizeRecords(dataStruct, 5);
+        writeReadAndCompare(new JsonDataWriterGson(), new JsonDataParserUtf8(16), dataStruct, records);
+    }
+
+
+    @Test
+    public void testReadArrayForm() throws IOException
+    {
+        var dataStruct = createRecordStructure();
+        var records = createRecords(dataStruct, 20);
+        writeReadAndCompare(new JsonArrayDataWriterGson(), new JsonArrayDataParserUtf8(16), dataStruct, records);
+
+        var varSizeStruct = createVarSizeStructure();
+        records = createVarSizeRecords(varSizeStruct, 5);
+        writeReadAndCompare(new JsonArrayDataWriterGson(), new JsonArrayDataParserUtf8(), varSizeStruct, records);
+    }
+
+
+    @Test
+    public void testReadFormattedJson() throws IOException
+    {
+        SWEHelper fac = new SWEHelper();
+        var dataStruct = fac.createRecord()
+            .addField("q1", fac.createQuantity().build())
+            .addField("t2", fac.createText().build())
+            .addField("c3", fac.createCount().build())
+            .build();
+
+        String json =
+            "[\n" +
+            "  { \"q1\" : 1.5e2 , \"t2\": \"caf\\u00e9 \\\"a\\\"\", \"c3\":-12 },\r\n" +
+            "  {\"q1\":\"NaN\",\"t2\":null,\"c3\":0}\n" +
+            "]\n";
+
+        var rec1 = dataStruct.createDataBlock();
+        rec1.setDoubleValue(0, 150.);
+        rec1.setStringValue(1, "café \"a\"");
+        rec1.setIntValue(2, -12);
+        var rec2 = dataStruct.createDataBlock();
+        rec2.setDoubleValue(0, Double.NaN);
+        rec2.setStringValue(1, null);
+        rec2.setIntValue(2, 0);
+
+        var parser = new JsonDataParserUtf8();
+        parser.setDataComponents(dataStruct.copy());
+        parser.setInput(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        parser.setRenewDataBlock(true);
+        parser.setHasArrayWrapper();
+        compare(List.of(rec1, rec2), parser);
+    }
+
+
+    @Test(expected = ReaderException.class)
+    public void testWrongFieldName() throws IOException
+    {
+        SWEHelper fac = new SWEHelper();
+        var dataStruct = fac.createRecord()
+            .addField("q1", fac.createQuantity().build())
+            .addField("q2", fac.createQuantity().build())
+            .build();
+
+        var parser = new JsonDataParserUtf8();
+        parser.setDataComponents(dataStruct);
+        parser.setInput(new ByteArrayInputStream("{\"q1\":1.0,\"q3\":2.0}".getBytes(StandardCharsets.UTF_8)));
+        parser.parseNextBlock();
+    }
+}
@@ -0,0 +1,174 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.fast;
+
+import static org.junit.Assert.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.vast.data.DataBlockString;
+import org.vast.swe.SWEHelper;
+import org.vast.swe.helper.GeoPosHelper;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataComponent;
+
+
+public class TestJsonDataWriterUtf8
+{
+
+    protected byte[] write(AbstractDataWriter writer, DataComponent dataStruct, List<DataBlock> records) throws IOException
+    {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        writer.setDataComponents(dataStruct.copy());
+        writer.setOutput(os);
+        writer.startStream(records.size() > 1);
+        for (var rec: records)
+            writer.write(rec);
+        writer.endStream();
+        writer.flush();
+        return os.toByteArray();
+    }
+
+
+    protected DataComponent createStructure()
+    {
+        GeoPosHelper fac = new GeoPosHelper();
+        return fac.createRecord()
+            .addSamplingTimeIsoUTC("time")
+            .addField("temp", fac.createQuantity().build())
+            .addField("name", fac.createText().build())
+            .addField("count", fac.createCount().build())
+            .addField("valid", fac.createBoolean().build())
+            .addField("location", fac.createLocationVectorLLA().build())
+            .addField("samples", fac.createArray()
+                .withFixedSize(3)
+                .withElement("val", fac.createQuantity().build())
+                .build())
+            .build();
+    }
+
+
+    protected List<DataBlock> createRecords(DataComponent dataStruct, int numRecords)
+    {
+        var now = (double)Instant.now().getEpochSecond();
+        var records = new ArrayList<DataBlock>();
+
+        for (int r = 0; r < numRecords; r++)
+        {
+            var rec = dataStruct.createDataBlock();
+            int i = 0;
+            rec.setDoubleValue(i++, now + r);
+            rec.setDoubleValue(i++, r == 3 ? Double.NaN : 20.0 + r*0.1);
+            rec.setStringValue(i++, "sensor \"" + r + "\" é€😀\n");
+            rec.setIntValue(i++, r*1000);
+            rec.setBooleanValue(i++, r % 2 == 0);
+            rec.setDoubleValue(i++, 45.0 + r*1e-5);
+            rec.setDoubleValue(i++, -1.5e-3 * r);
+            rec.setDoubleValue(i++, 1e7 + r);
+            for (int j = 0; j < 3; j++)
+                rec.setDoubleValue(i++, j/3.0);
+            records.add(rec);
+        }
+
+        return records;
+    }
+
+
+    @Test
+    public void testSameOutputAsGsonWriter() throws IOException
+    {
+        var dataStruct = createStructure();
+
+        for (int numRecords: new int[] {1, 10})
+        {
+            var records = createRecords(dataStruct, numRecords);
+            byte[] expected = write(new JsonDataWriterGson(), dataStruct, records);
+            byte[] actual = write(new JsonDataWriterUtf8(), dataStruct, records);
+
+            assertEquals(
+                JsonParser.parseString(new String(expected, StandardCharsets.UTF_8)),
+                JsonParser.parseString(new String(actual, StandardCharsets.UTF_8)));
+        }
+    }
+
+
+    @Test
+    public void testWriteAndReadBack() throws IOException
+    {
+        var dataStruct = createStructure();
+        var records = createRecords(dataStruct, 100);
+
+        // use small buffer to test flushing
+        byte[] bytes = write(new JsonDataWriterUtf8(128), dataStruct, records);
+
+        // read back with explicit charset so the test doesn't depend on platform default
+        var jsonReader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8));
+        JsonDataParserGson parser = new JsonDataParserGson(jsonReader);
+        parser.setDataComponents(dataStruct.copy());
+        parser.setRenewDataBlock(true);
+        parser.setHasArrayWrapper();
+
+        for (var expected: records)
+        {
+            var actual = parser.parseNextBlock();
+            assertNotNull(actual);
+            assertEquals(expected.getAtomCount(), actual.getAtomCount());
+            for (int j = 0; j < expected.getAtomCount(); j++)
+                assertEquals(expected.getStringValue(j), actual.getStringValue(j));
+        }
+
+        assertNull(parser.parseNextBlock());
+    }
+
+
+    @Test
+    public void testWriteStringEscape() throws IOException
+    {
+        StringBuilder longText = new StringBuilder();
+        for (int i = 0; i < 100; i++)
+            longText.append("long text with \"quotes\", éè 中文 😀 \t\r\n\u0001;");
+
+        String[] values = {
+            "",
+            "no need to escape, no characters invalid in JSON .!?/^()&{}",
+            "bla bla \"quoted\" \\backslash\\ \n \n \t \t \b \f \u001f",
+            "unicode é € 😀 中文",
+            longText.toString()
+        };
+
+        for (String val: values)
+        {
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            JsonDataWriterUtf8 writer = new JsonDataWriterUtf8(64);
+            writer.setOutput(os);
+            var sw = writer.new StringWriter(null);
+            DataBlockString data = new DataBlockString(1);
+            data.setStringValue(val);
+            sw.writeValue(data, 0);
+            writer.flush();
+
+            String json = new String(os.toByteArray(), StandardCharsets.UTF_8);
+            assertEquals(val, JsonParser.parseString(json).getAsString());
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.fast;
+
+import static org.junit.Assert.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.Test;
+import org.vast.swe.SWEHelper;
+import org.vast.util.ReaderException;
+import net.opengis.swe.v20.BinaryEncoding;
+import net.opengis.swe.v20.ByteEncoding;
+import net.opengis.swe.v20.ByteOrder;
+import net.opengis.swe.v20.Count;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataComponent;
+import net.opengis.swe.v20.DataRecord;
+import net.opengis.swe.v20.DataType;
+
+
+public class TestParallelBinaryDataParser
+{
+    static final int NUM_RECORDS = 10007;
+
+
+    protected DataRecord createStructure()
+    {
+        SWEHelper fac = new SWEHelper();
+        return fac.createRecord()
+            .addSamplingTimeIsoUTC("time")
+            .addField("temp", fac.createQuantity().dataType(DataType.FLOAT).build())
+            .addField("count", fac.createCount().build())
+            .addField("flag", fac.createBoolean().build())
+            .addField("samples", fac.createArray()
+                .withFixedSize(10)
+                .withElement("val", fac.createCount().dataType(DataType.SHORT).build())
+                .build())
+            .build();
+    }
+
+
+    protected List<DataBlock> createRecords(DataComponent dataStruct)
+    {
+        var now = (double)Instant.now().getEpochSecond();
+        var records = new ArrayList<DataBlock>();
+
+        for (int r = 0; r < NUM_RECORDS; r++)
+        {
+            var rec = dataStruct.createDataBlock();
+            int i = 0;
+            rec.setDoubleValue(i++, now + r);
+            rec.setFloatValue(i++, r * 0.5f);
+            rec.setIntValue(i++, r);
+            rec.setBooleanValue(i++, r % 3 == 0);
+            for (int j = 0; j < 10; j++)
+                rec.setShortValue(i++, (short)(r + j));
+            records.add(rec);
+        }
+
+        return records;
+    }
+
+
+    protected byte[] write(DataComponent dataStruct, BinaryEncoding encoding, List<DataBlock> records) throws IOException
+    {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        BinaryDataWriter writer = new BinaryDataWriter();
+        writer.setDataComponents(dataStruct.copy());
+        writer.setDataEncoding(encoding);
+        writer.setOutput(os);
+        for (var rec: records)
+            writer.write(rec);
+        writer.flush();
+        return os.toByteArray();
+    }
+
+
+    protected ParallelBinaryDataParser createParser(DataComponent dataStruct, BinaryEncoding encoding)
+    {
+        var parser = new ParallelBinaryDataParser();
+        parser.setDataComponents(dataStruct.copy());
+        parser.setDataEncoding(encoding);
+        parser.setThreadPool(new ForkJoinPool(4));
+        parser.setChunkSize(1000);
+        return parser;
+    }
+
+
+    protected void compare(DataBlock expected, DataBlock actual)
+    {
+        assertEquals("Wrong datablock size", expected.getAtomCount(), actual.getAtomCount());
+        for (int j = 0; j < expected.getAtomCount(); j++)
+            assertEquals(expected.getStringValue(j), actual.getStringValue(j));
+    }
+
+
+    @Test
+    public void testRecordSize() throws IOException
+    {
+        var dataStruct = createStructure();
+        var parser = createParser(dataStruct, SWEHelper.getDefaultBinaryEncoding(dataStruct));
+        assertEquals(8 + 4 + 4 + 1 + 10*2, parser.getRecordSize());
+    }
+
+
+    @Test
+    public void testParseOrdered() throws IOException
+    {
+        var dataStruct = createStructure();
+        var encoding = SWEHelper.getDefaultBinaryEncoding(dataStruct);
+        encoding.setByteOrder(ByteOrder.LITTLE_ENDIAN);
+        var records = createRecords(dataStruct);
+        byte[] bytes = write(dataStruct, encoding, records);
+
+        var parser = createParser(dataStruct, encoding);
+        var parsedRecords = new ArrayList<DataBlock>();
+        long numRecords = parser.parse(ByteBuffer.wrap(bytes), (idx, rec) -> {
+            assertEquals(parsedRecords.size(), idx);
+            parsedRecords.add(rec);
+        });
+
+        assertEquals(NUM_RECORDS, numRecords);
+        assertEquals(NUM_RECORDS, parsedRecords.size());
+        for (int i = 0; i < NUM_RECORDS; i++)
+            compare(records.get(i), parsedRecords.get(i));
+    }
+
+
+    @Test
+    public void testParseUnordered() throws IOException
+    {
+        var dataStruct = createStructure();
+        var encoding = SWEHelper.getDefaultBinaryEncoding(dataStruct);
+        var records = createRecords(dataStruct);
+        byte[] bytes = write(dataStruct, encoding, records);
+
+        var directBuf = ByteBuffer.allocateDirect(bytes.length);
+        directBuf.put(bytes).flip();
+
+        var parser = createParser(dataStruct, encoding);
+        parser.setOrdered(false);
+        var parsedRecords = new ConcurrentHashMap<Long, DataBlock>();
+        parser.parse(directBuf, (idx, rec) -> parsedRecords.put(idx, rec));
+
+        assertEquals(NUM_RECORDS, parsedRecords.size());
+        for (int i = 0; i < NUM_RECORDS; i++)
+            compare(records.get(i), parsedRecords.get((long)i));
+    }
+
+
+    @Test
+    public void testParseBatchesFromFile() throws IOException
+    {
+        var dataStruct = createStructure();
+        var encoding = SWEHelper.getDefaultBinaryEncoding(dataStruct);
+        var records = createRecords(dataStruct);
+        byte[] bytes = write(dataStruct, encoding, records);
+
+        Path file = Files.createTempFile("records", ".bin");
+        try
+        {
+            Files.write(file, bytes);
+
+            var parser = createParser(dataStruct, encoding);
+            var numFields = records.get(0).getAtomCount();
+            var nextIndex = new long[1];
+            long numRecords = parser.parseBatches(file, (firstIdx, batch, count) -> {
+                assertEquals(nextIndex[0], firstIdx);
+                for (int r = 0; r < count; r++)
+                {
+                    var expected = records.get((int)firstIdx + r);
+                    for (int j = 0; j < numFields; j++)
+                        assertEquals(expected.getStringValue(j), batch.getStringValue(r*numFields + j));
+                }
+                nextIndex[0] += count;
+            });
+
+            assertEquals(NUM_RECORDS, numRecords);
+            assertEquals(NUM_RECORDS, nextIndex[0]);
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+
+
+    @Test(expected = ReaderException.class)
+    public void testTruncatedInput() throws IOException
+    {
+        var dataStruct = createStructure();
+        var encoding = SWEHelper.getDefaultBinaryEncoding(dataStruct);
+        byte[] bytes = write(dataStruct, encoding, createRecords(dataStruct));
+
+        var parser = createParser(dataStruct, encoding);
+        parser.parse(ByteBuffer.wrap(bytes, 0, bytes.length-1), (idx, rec) -> {});
+    }
+
+
+    @Test
+    public void testNoHandlerCallAfterError() throws Exception
+    {
+        var dataStruct = createStructure();
+        var encoding = SWEHelper.getDefaultBinaryEncoding(dataStruct);
+        byte[] bytes = write(dataStruct, encoding, createRecords(dataStruct));
+
+        var parser = createParser(dataStruct, encoding);
+        parser.setOrdered(false);
+        var callCount = new AtomicInteger();
+        try
+        {
+            parser.parse(ByteBuffer.wrap(bytes), (idx, rec) -> {
+                callCount.incrementAndGet();
+                if (idx == NUM_RECORDS / 2)
+                    throw new IllegalStateException("Handler error");
+                if (idx % 10 == 0)
+                    LockSupport.parkNanos(100000);
+            });
+            fail("Handler error not reported");
+        }
+        catch (IllegalStateException e)
+        {
+            assertTrue(e.getMessage().contains("Handler error"));
+        }
+
+        int count = callCount.get();
+        Thread.sleep(200);
+        assertEquals("Handler called after parse returned", count, callCount.get());
+    }
+
+
+    @Test(expected = IllegalStateException.class)
+    public void testBase64NotSupported() throws IOException
+    {
+        var dataStruct = createStructure();
+        var encoding = SWEHelper.getDefaultBinaryEncoding(dataStruct);
+        encoding.setByteEncoding(ByteEncoding.BASE_64);
+        var parser = createParser(dataStruct, encoding);
+        parser.getRecordSize();
+    }
+
+
+    @Test(expected = IllegalStateException.class)
+    public void testVarSizeRecordNotSupported() throws IOException
+    {
+        SWEHelper fac = new SWEHelper();
+        Count sizeField;
+        var dataStruct = fac.createRecord()
+            .addField("size", sizeField = fac.createCount()
+                .id("NUM_POINTS")
+                .build())
+            .addField("array", fac.createArray()
+                .withSizeComponent(sizeField)
+                .withElement("val", fac.createQuantity().build())
+                .build())
+            .build();
+
+        var parser = createParser(dataStruct, SWEHelper.getDefaultBinaryEncoding(dataStruct));
+        parser.getRecordSize();
+    }
+}
@@ -15,6 +15,7 @@ Copyright (C) 2012-2017 Sensia Software LLC. All Rights Reserved.
 package org.vast.swe.fast;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -27,6 +28,7 @@ import com.google.common.collect.Lists;
 import net.opengis.swe.v20.Count;
 import net.opengis.swe.v20.DataArray;
 import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataChoice;
 import net.opengis.swe.v20.DataComponent;
 import net.opengis.swe.v20.DataRecord;
 
@@ -52,12 +54,22 @@ public class TestTextDataParser
         //if (!multipleRecords)
             System.out.println(new String(bytes));
         
-        // read back CSV
-        ByteArrayInputStream is = new ByteArrayInputStream(bytes);
-        TextDataParser parser = new TextDataParser();
-        parser.setDataComponents(dataStruct.copy());
-        parser.setInput(is);
-        parser.setRenewDataBlock(true);
+        // read back CSV, with and without compiled processor tree
+        for (boolean compile: new boolean[] {false, true})
+        {
+            ByteArrayInputStream is = new ByteArrayInputStream(bytes);
+            TextDataParser parser = new TextDataParser();
+            parser.setDataComponents(dataStruct.copy());
+            parser.setCompileProcessorTree(compile);
+            parser.setInput(is);
+            parser.setRenewDataBlock(true);
+            readAndCompare(parser, records);
+        }
+    }
+    
+    
+    protected void readAndCompare(TextDataParser parser, List<DataBlock> records) throws IOException
+    {
         var parsedRecords = new ArrayList<DataBlock>();
         DataBlock dataBlk;
         do {
@@ -228,6 +240,100 @@ public class TestTextDataParser
         
         writeReadAndCompare(dataStruct, records);
     }
+    
+    
+    @Test
+    public void testWriteAndReadBackChoice() throws IOException
+    {
+        // create choice structure
+        SWEHelper fac = new SWEHelper();
+        DataChoice dataStruct = fac.createChoice()
+            .addItem("temp", fac.createRecord()
+                .addSamplingTimeIsoUTC("t0")
+                .addField("q1", fac.createQuantity().build())
+                .build())
+            .addItem("status", fac.createRecord()
+                .addSamplingTimeIsoUTC("t0")
+                .addField("c1", fac.createCount().build())
+                .addField("txt", fac.createText().build())
+                .build())
+            .build();
+        
+        // test with multiple records, alternating choice items
+        var now = (double)Instant.now().getEpochSecond();
+        var records = new ArrayList<DataBlock>();
+        int numRecords = 10;
+        for (int r=0; r<numRecords; r++)
+        {
+            int dataBlkIdx = 1;
+            dataStruct.setSelectedItem(r % 2);
+            DataBlock rec = dataStruct.createDataBlock();
+            rec.setDoubleValue(dataBlkIdx++, now+r);
+            
+            if (r % 2 == 0)
+            {
+                rec.setDoubleValue(dataBlkIdx++, r*10.);
+            }
+            else
+            {
+                rec.setIntValue(dataBlkIdx++, r+100);
+                rec.setStringValue(dataBlkIdx++, "status" + r);
+            }
+            
+            records.add(rec);
+        }
+        
+        writeReadAndCompare(dataStruct, records);
+    }
+    
+    
+    @Test
+    public void testParseWithCustomSeparators() throws IOException
+    {
+        SWEHelper fac = new SWEHelper();
+        DataRecord dataStruct = fac.createRecord()
+            .addSamplingTimeIsoUTC("t0")
+            .addField("q1", fac.createQuantity().build())
+            .addField("c1", fac.createCount().build())
+            .addField("b1", fac.createBoolean().build())
+            .addField("txt", fac.createText().build())
+            .build();
+        
+        // use regex special chars and multi-char separators
+        String text =
+            "2026-10-17T10:00:00Z|| 1.5e3 ||12|| true||first value@@\n" +
+            " 2026-10-17T10:00:01.5Z||INF||-3||0||second@@\n" +
+            "2026-10-17T10:00:02Z||-INF||+7||FALSE||third||@@\n";
+        
+        TextDataParser parser = new TextDataParser();
+        parser.setDataComponents(dataStruct);
+        parser.setDataEncoding(fac.newTextEncoding("||", "@@\n"));
+        parser.setInput(new ByteArrayInputStream(text.getBytes()));
+        parser.setRenewDataBlock(true);
+        
+        DataBlock rec = parser.parseNextBlock();
+        assertEquals(Instant.parse("2026-10-17T10:00:00Z").getEpochSecond(), rec.getDoubleValue(0), 0.0);
+        assertEquals(1500.0, rec.getDoubleValue(1), 0.0);
+        assertEquals(12, rec.getIntValue(2));
+        assertEquals(true, rec.getBooleanValue(3));
+        assertEquals("first value", rec.getStringValue(4));
+        
+        rec = parser.parseNextBlock();
+        assertEquals(Instant.parse("2026-10-17T10:00:01Z").getEpochSecond() + 0.5, rec.getDoubleValue(0), 1e-6);
+        assertEquals(Double.POSITIVE_INFINITY, rec.getDoubleValue(1), 0.0);
+        assertEquals(-3, rec.getIntValue(2));
+        assertEquals(false, rec.getBooleanValue(3));
+        assertEquals("second", rec.getStringValue(4));
+        
+        // trailing token separator is ignored
+        rec = parser.parseNextBlock();
+        assertEquals(Double.NEGATIVE_INFINITY, rec.getDoubleValue(1), 0.0);
+        assertEquals(7, rec.getIntValue(2));
+        assertEquals(false, rec.getBooleanValue(3));
+        assertEquals("third", rec.getStringValue(4));
+        
+        assertNull(parser.parseNextBlock());
+    }
 
 
     /*
@@ -0,0 +1,359 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2012-2017 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.fast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import org.vast.data.XMLEncodingImpl;
+import org.vast.swe.SWEHelper;
+import com.google.common.collect.Lists;
+import net.opengis.swe.v20.Count;
+import net.opengis.swe.v20.DataArray;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataChoice;
+import net.opengis.swe.v20.DataComponent;
+import net.opengis.swe.v20.DataRecord;
+
+
+public class TestXmlDataParser
+{
+     
+    protected void writeReadAndCompare(DataComponent dataStruct, List<DataBlock> records) throws IOException
+    {
+        var multipleRecords = records.size() > 1;
+        
+        // write XML to byte buffer
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        XmlDataWriter writer = new XmlDataWriter();
+        writer.setDataComponents(dataStruct.copy());
+        writer.setDataEncoding(new XMLEncodingImpl());
+        writer.setOutput(os);
+        writer.startStream(multipleRecords);
+        for (var rec: records)
+            writer.write(rec);
+        writer.endStream();
+        writer.flush();
+        byte[] bytes = os.toByteArray();
+        //if (!multipleRecords)
+            System.out.println(new String(bytes));
+        
+        // read back XML
+        ByteArrayInputStream is = new ByteArrayInputStream(bytes);
+        XmlDataParser parser = new XmlDataParser();
+        parser.setDataComponents(dataStruct.copy());
+        parser.setDataEncoding(new XMLEncodingImpl());
+        parser.setInput(is);
+        parser.setRenewDataBlock(true);
+        var parsedRecords = new ArrayList<DataBlock>();
+        DataBlock dataBlk;
+        do {
+            dataBlk = parser.parseNextBlock();
+            if (dataBlk != null)
+                parsedRecords.add(dataBlk);
+        } while (dataBlk != null);
+                
+        // compare
+        assertEquals("Wrong number of records", records.size(), parsedRecords.size());
+        for (int i = 0; i < records.size(); i++)
+        {
+            //System.out.println("Record #" + i);
+            var expected = records.get(i);
+            var actual = parsedRecords.get(i);
+            assertEquals("Wrong datablock size", expected.getAtomCount(), actual.getAtomCount());
+            
+            for (int j = 0; j < expected.getAtomCount(); j++)
+            {
+                //if (!multipleRecords)
+                //    System.out.format("expected=%s, actual=%s\n", expected.getStringValue(j), actual.getStringValue(j));
+                assertEquals(expected.getStringValue(j), actual.getStringValue(j));
+            }
+        }
+    }
+    
+    
+    @Test
+    public void testWriteAndReadBackSimpleRecord() throws IOException
+    {
+        // create record structure
+        SWEHelper fac = new SWEHelper();
+        DataRecord dataStruct = fac.createRecord()
+            .name("rec")
+            .addSamplingTimeIsoUTC("t0")
+            .addField("q1", fac.createQuantity().build())
+            .addField("t2", fac.createText().build())
+            .addField("t3", fac.createText().build())
+            .addField("c4", fac.createCount().build())
+            .addField("cat5", fac.createCategory().build())
+            .build();
+        
+        // test with multiple records
+        var now = (double)Instant.now().getEpochSecond();
+        var records = new ArrayList<DataBlock>();
+        int numRecords = 10;
+        for (int r=0; r<numRecords; r++)
+        {
+            var rec = dataStruct.createDataBlock();
+            int dataBlkIdx = 0;
+            double val = (double)r;
+            rec.setDoubleValue(dataBlkIdx++, now+val);
+            rec.setDoubleValue(dataBlkIdx++, val);
+            rec.setStringValue(dataBlkIdx++, (r % 2 == 0) ? "" : "text1." + (int)val);
+            rec.setStringValue(dataBlkIdx++, "text2." + (int)val);
+            rec.setIntValue(dataBlkIdx++, ((int)val)+100);
+            rec.setStringValue(dataBlkIdx++, "cat_val=" + val);
+            
+            records.add(rec);
+        }
+        
+        writeReadAndCompare(dataStruct, records);
+    }
+    
+    
+    @Test
+    public void testWriteAndReadBackFixedSizeArray() throws IOException
+    {
+        // create record structure
+        SWEHelper fac = new SWEHelper();
+        int arraySize = 5;
+        DataArray dataStruct = fac.createArray()
+            .withFixedSize(arraySize)
+            .name("array")
+            .withElement("elt", fac.createRecord()
+                .addSamplingTimeIsoUTC("f0")
+                .addField("f1", fac.createQuantity().build())
+                .addField("f2", fac.createQuantity().build())
+                .addField("rec2", fac.createRecord()
+                    .addField("f3", fac.createCount().build())
+                    .addField("f4", fac.createQuantity().build())
+                    .build())
+                .build())
+            .build();
+
+        // test with one record
+        var now = (double)Instant.now().getEpochSecond();
+        var rec = dataStruct.createDataBlock();
+        int dataBlkIdx = 0;
+        for (int i=0; i<arraySize; i++)
+        {
+            double val = (double)i;
+            rec.setDoubleValue(dataBlkIdx++, now+val);
+            rec.setDoubleValue(dataBlkIdx++, val/1000.);
+            rec.setDoubleValue(dataBlkIdx++, val+100);
+            rec.setIntValue(dataBlkIdx++, ((int)val)+200);
+            rec.setDoubleValue(dataBlkIdx++, val+300);
+        }
+        writeReadAndCompare(dataStruct, Lists.newArrayList(rec));
+        
+        // test with multiple records
+        var records = new ArrayList<DataBlock>();
+        int numRecords = 10;
+        for (int r=0; r<numRecords; r++)
+        {
+            rec = dataStruct.createDataBlock();
+            dataBlkIdx = 0;
+            for (int i=0; i<arraySize; i++)
+            {
+                double val = (double)i + r*60.;
+                rec.setDoubleValue(dataBlkIdx++, now+val);
+                rec.setDoubleValue(dataBlkIdx++, val/1000.);
+                rec.setDoubleValue(dataBlkIdx++, val+100);
+                rec.setIntValue(dataBlkIdx++, ((int)val)+200);
+                rec.setDoubleValue(dataBlkIdx++, val+300);
+            }
+            
+            records.add(rec);
+        }
+        
+        writeReadAndCompare(dataStruct, records);
+    }
+    
+    
+    @Test
+    public void testWriteAndReadBackVarSizeArray() throws IOException
+    {
+        // create record structure
+        SWEHelper fac = new SWEHelper();
+        Count sizeField;
+        DataRecord dataStruct = fac.createRecord()
+            .name("rec")
+            .addSamplingTimeIsoUTC("t0")
+            .addField("size", sizeField = fac.createCount()
+                .id("NUM_POINTS")
+                .build())
+            .addField("array", fac.createArray()
+                .withSizeComponent(sizeField)
+                .withElement("elt", fac.createVector()
+                    .addCoordinate("c1", fac.createQuantity().build())
+                    .addCoordinate("c2", fac.createQuantity().build())
+                    .build())
+                .build())
+            .build();
+
+        // test with multiple records
+        var now = (double)Instant.now().getEpochSecond();
+        var records = new ArrayList<DataBlock>();
+        int numRecords = 5;
+        for (int r=0; r<numRecords; r++)
+        {
+            int dataBlkIdx = 0;
+            
+            int arraySize = r+2;
+            ((DataArray)dataStruct.getComponent("array")).updateSize(arraySize);
+            DataBlock rec = dataStruct.createDataBlock();
+            
+            rec.setDoubleValue(dataBlkIdx++, now+r);
+            rec.setIntValue(dataBlkIdx++, arraySize);
+            
+            for (int i=0; i<arraySize; i++)
+            {
+                double val = (double)i + r*10.;
+                rec.setDoubleValue(dataBlkIdx++, val-100.);
+                rec.setDoubleValue(dataBlkIdx++, val+100);
+            }
+            
+            records.add(rec);
+        }
+        
+        writeReadAndCompare(dataStruct, records);
+    }
+    
+    
+    @Test
+    public void testWriteAndReadBackChoice() throws IOException
+    {
+        // create choice structure
+        SWEHelper fac = new SWEHelper();
+        DataChoice dataStruct = fac.createChoice()
+            .name("msg")
+            .addItem("temp", fac.createRecord()
+                .addSamplingTimeIsoUTC("t0")
+                .addField("q1", fac.createQuantity().build())
+                .build())
+            .addItem("status", fac.createRecord()
+                .addSamplingTimeIsoUTC("t0")
+                .addField("c1", fac.createCount().build())
+                .addField("txt", fac.createText().build())
+                .build())
+            .build();
+        
+        // test with multiple records, alternating choice items
+        var now = (double)Instant.now().getEpochSecond();
+        var records = new ArrayList<DataBlock>();
+        int numRecords = 10;
+        for (int r=0; r<numRecords; r++)
+        {
+            int dataBlkIdx = 1;
+            dataStruct.setSelectedItem(r % 2);
+            DataBlock rec = dataStruct.createDataBlock();
+            rec.setDoubleValue(dataBlkIdx++, now+r);
+            
+            if (r % 2 == 0)
+            {
+                rec.setDoubleValue(dataBlkIdx++, r*10.);
+            }
+            else
+            {
+                rec.setIntValue(dataBlkIdx++, r+100);
+                rec.setStringValue(dataBlkIdx++, "status" + r);
+            }
+            
+            records.add(rec);
+        }
+        
+        writeReadAndCompare(dataStruct, records);
+    }
+    
+    
+    @Test
+    public void testWriteAndReadBackImplicitSizeArray() throws IOException
+    {
+        SWEHelper fac = new SWEHelper();
+        DataRecord dataStruct = fac.createRecord()
+            .name("rec")
+            .addSamplingTimeIsoUTC("t0")
+            .addField("values", fac.createArray()
+                .withSizeComponent(fac.createCount().build())
+                .withElement("val", fac.createQuantity().build())
+                .build())
+            .build();
+        
+        var records = new ArrayList<DataBlock>();
+        for (int r=0; r<5; r++)
+        {
+            int arraySize = r*3;
+            ((DataArray)dataStruct.getComponent("values")).updateSize(arraySize);
+            DataBlock rec = dataStruct.createDataBlock();
+            rec.setDoubleValue(0, 1e9+r);
+            for (int i=0; i<arraySize; i++)
+                rec.setDoubleValue(i+1, r*100.+i);
+            records.add(rec);
+        }
+        
+        writeReadAndCompare(dataStruct, records);
+    }
+    
+    
+    @Test
+    public void testParseWithNamespaceAndWrapper() throws IOException
+    {
+        SWEHelper fac = new SWEHelper();
+        DataRecord dataStruct = fac.createRecord()
+            .name("rec")
+            .addSamplingTimeIsoUTC("t0")
+            .addField("q1", fac.createQuantity().build())
+            .addField("b1", fac.createBoolean().build())
+            .addField("txt", fac.createText().build())
+            .build();
+        
+        String xml =
+            "<doc xmlns:d=\"urn:test\"><values>\n" +
+            "  <d:rec><d:t0>2026-10-17T10:00:00Z</d:t0><d:q1> 1.5e3 </d:q1>" +
+            "<d:b1>true</d:b1><d:txt><![CDATA[a < b]]></d:txt></d:rec>\n" +
+            "  <!-- comment -->\n" +
+            "  <d:rec><d:t0>2026-10-17T10:00:01Z</d:t0><d:q1>-INF</d:q1>" +
+            "<d:b1>0</d:b1><d:txt>x &amp; y</d:txt></d:rec>\n" +
+            "</values></doc>";
+        
+        XMLEncodingImpl encoding = new XMLEncodingImpl();
+        encoding.setNamespace("urn:test");
+        
+        var parser = SWEHelper.createDataParser(encoding);
+        assertTrue(parser instanceof XmlDataParser);
+        parser.setDataComponents(dataStruct);
+        parser.setInput(new ByteArrayInputStream(xml.getBytes()));
+        parser.setRenewDataBlock(true);
+        
+        DataBlock rec = parser.parseNextBlock();
+        assertEquals(Instant.parse("2026-10-17T10:00:00Z").getEpochSecond(), rec.getDoubleValue(0), 0.0);
+        assertEquals(1500.0, rec.getDoubleValue(1), 0.0);
+        assertEquals(true, rec.getBooleanValue(2));
+        assertEquals("a < b", rec.getStringValue(3));
+        
+        rec = parser.parseNextBlock();
+        assertEquals(Double.NEGATIVE_INFINITY, rec.getDoubleValue(1), 0.0);
+        assertEquals(false, rec.getBooleanValue(2));
+        assertEquals("x & y", rec.getStringValue(3));
+        
+        assertNull(parser.parseNextBlock());
+    }
+}
@@ -0,0 +1,295 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.test;
+
+import static org.junit.Assert.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import org.junit.Test;
+import org.vast.data.AbstractDataComponentImpl;
+import org.vast.data.BinaryBlockImpl;
+import org.vast.data.BinaryComponentImpl;
+import org.vast.data.BinaryEncodingImpl;
+import org.vast.data.DataBlockCompressed;
+import org.vast.data.DataBlockDouble;
+import org.vast.data.DataBlockInt;
+import org.vast.swe.BinaryDataParser;
+import org.vast.swe.BinaryDataWriter;
+import org.vast.swe.CodecLookup;
+import org.vast.swe.IBlockCodec;
+import org.vast.swe.SWEHelper;
+import net.opengis.swe.v20.ByteEncoding;
+import net.opengis.swe.v20.ByteOrder;
+import net.opengis.swe.v20.DataArray;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataRecord;
+import net.opengis.swe.v20.DataType;
+
+
+public class TestBlockCodecs
+{
+    static final String[] COMPRESSION_TYPES = {
+        "deflate", "deflate+shuffle", "deflate+delta+shuffle",
+        "lzf", "lzf+shuffle", "lzf+delta", "lzf+delta+shuffle"
+    };
+
+    SWEHelper fac = new SWEHelper();
+
+
+    protected DataBlock createWaveform(int size)
+    {
+        DataBlockDouble data = new DataBlockDouble(size);
+        for (int i = 0; i < size; i++)
+            data.setDoubleValue(i, Math.sin(i * 0.01) * 100.0);
+        return data;
+    }
+
+
+    protected DataBlock createRaster(int size)
+    {
+        DataBlockInt data = new DataBlockInt(size);
+        for (int i = 0; i < size; i++)
+            data.setIntValue(i, 1000 + (i % 640) / 4);
+        return data;
+    }
+
+
+    protected IBlockCodec getCodec(String compression)
+    {
+        IBlockCodec codec = CodecLookup.getInstance().createBlockCodec(compression);
+        assertNotNull("No codec found for " + compression, codec);
+        return codec;
+    }
+
+
+    @Test
+    public void testRoundTripPrimitiveBlocks() throws Exception
+    {
+        for (String compression: COMPRESSION_TYPES)
+        {
+            IBlockCodec codec = getCodec(compression);
+
+            for (DataBlock data: new DataBlock[] {createWaveform(10000), createRaster(640*10), new DataBlockInt(0)})
+            {
+                byte[] bytes = codec.encode(data);
+                DataBlock decoded = data.renew();
+                codec.decode(bytes, decoded);
+
+                for (int i = 0; i < data.getAtomCount(); i++)
+                    assertEquals(compression, data.getDoubleValue(i), decoded.getDoubleValue(i), 0.0);
+            }
+        }
+    }
+
+
+    @Test
+    public void testRoundTripMixedRecord() throws Exception
+    {
+        DataRecord rec = fac.createRecord()
+            .addField("time", fac.createTime().asSamplingTimeIsoUTC().build())
+            .addField("count", fac.createCount().build())
+            .addField("name", fac.createText().build())
+            .addField("flag", fac.createBoolean().build())
+            .build();
+
+        DataArray array = fac.createArray()
+            .withFixedSize(100)
+            .withElement("rec", rec)
+            .build();
+
+        DataBlock data = array.createDataBlock();
+        for (int i = 0; i < 100; i++)
+        {
+            data.setDoubleValue(i*4, i * 1.5);
+            data.setIntValue(i*4+1, -i);
+            data.setStringValue(i*4+2, i % 10 == 0 ? null : "name" + i);
+            data.setBooleanValue(i*4+3, i % 2 == 0);
+        }
+
+        for (String compression: COMPRESSION_TYPES)
+        {
+            IBlockCodec codec = getCodec(compression);
+            DataBlock decoded = data.renew();
+            codec.decode(codec.encode(data), decoded);
+
+            for (int i = 0; i < data.getAtomCount(); i++)
+            {
+                if (data.getDataType(i) == DataType.UTF_STRING)
+                    assertEquals(data.getStringValue(i), decoded.getStringValue(i));
+                else
+                    assertEquals(data.getDoubleValue(i), decoded.getDoubleValue(i), 0.0);
+            }
+        }
+    }
+
+
+    @Test
+    public void testFiltersImproveCompression() throws Exception
+    {
+        DataBlock data = createRaster(640*480);
+        int rawSize = data.getAtomCount() * 4;
+        int lzfSize = getCodec("lzf").encode(data).length;
+        int filteredSize = getCodec("lzf+delta+shuffle").encode(data).length;
+        assertTrue(lzfSize < rawSize);
+        assertTrue(filteredSize < lzfSize);
+    }
+
+
+    @Test
+    public void testUnknownCompression()
+    {
+        assertNull(CodecLookup.getInstance().createBlockCodec("foo"));
+        assertNull(CodecLookup.getInstance().createBlockCodec("lzf+foo"));
+    }
+
+
+    protected DataArray createCompressedArray(String compression, int size)
+    {
+        DataArray array = fac.createArray()
+            .withFixedSize(size)
+            .withElement("val", fac.createQuantity().build())
+            .build();
+
+        BinaryBlockImpl blockOpts = new BinaryBlockImpl();
+        blockOpts.setCompression(compression);
+        ((AbstractDataComponentImpl)array).setEncodingInfo(blockOpts);
+        return array;
+    }
+
+
+    @Test
+    public void testLazyDecompression() throws Exception
+    {
+        DataArray array = createCompressedArray("lzf+shuffle", 10000);
+        DataBlock data = array.createDataBlock();
+        assertTrue(data instanceof DataBlockCompressed);
+        assertEquals(10000, data.getAtomCount());
+        assertEquals(DataType.DOUBLE, data.getDataType());
+
+        DataBlockCompressed compressedBlock = (DataBlockCompressed)data;
+        DataBlock waveform = createWaveform(10000);
+        compressedBlock.compress(waveform);
+        assertFalse(compressedBlock.isUncompressed());
+        assertTrue(compressedBlock.getUnderlyingObject().length < 10000*8);
+
+        // decompressed on first access
+        assertEquals(waveform.getDoubleValue(500), data.getDoubleValue(500), 0.0);
+        assertTrue(compressedBlock.isUncompressed());
+
+        // release and access again
+        compressedBlock.release();
+        assertFalse(compressedBlock.isUncompressed());
+        for (int i = 0; i < 10000; i++)
+            assertEquals(waveform.getDoubleValue(i), data.getDoubleValue(i), 0.0);
+
+        // clone keeps compressed bytes only
+        DataBlockCompressed clone = compressedBlock.clone();
+        assertFalse(clone.isUncompressed());
+        assertEquals(waveform.getDoubleValue(9999), clone.getDoubleValue(9999), 0.0);
+    }
+
+
+    @Test
+    public void testCompressedRecordFields() throws Exception
+    {
+        DataRecord rec = fac.createRecord()
+            .addField("f1", fac.createQuantity().build())
+            .addField("f2", fac.createQuantity().build())
+            .addField("f3", fac.createQuantity().build())
+            .build();
+
+        BinaryBlockImpl blockOpts = new BinaryBlockImpl();
+        blockOpts.setCompression("lzf");
+        ((AbstractDataComponentImpl)rec).setEncodingInfo(blockOpts);
+
+        DataBlockCompressed data = (DataBlockCompressed)rec.createDataBlock();
+        DataBlock values = new DataBlockDouble(3);
+        for (int i = 0; i < 3; i++)
+            values.setDoubleValue(i, i + 1.0);
+        data.compress(values);
+        rec.setData(data);
+
+        // each field reads its own value
+        for (int i = 0; i < rec.getComponentCount(); i++)
+            assertEquals(i + 1.0, rec.getComponent(i).getData().getDoubleValue(), 0.0);
+
+        // all fields share the block decoded on first access
+        DataBlockCompressed f1Data = (DataBlockCompressed)rec.getComponent(0).getData();
+        DataBlockCompressed f3Data = (DataBlockCompressed)rec.getComponent(2).getData();
+        assertTrue(data.isUncompressed());
+        assertSame(data.getUncompressedData(), f1Data.getUncompressedData());
+        assertSame(data.getUncompressedData(), f3Data.getUncompressedData());
+
+        // release on the parent frees it for all fields
+        data.release();
+        assertFalse(f1Data.isUncompressed());
+        assertFalse(f3Data.isUncompressed());
+        assertEquals(3.0, f3Data.getDoubleValue(), 0.0);
+        assertEquals(3.0, data.getDoubleValue(2), 0.0);
+    }
+
+
+    @Test
+    public void testWriteAndParseCompressedBlock() throws Exception
+    {
+        DataRecord rec = fac.createRecord()
+            .addField("time", fac.createTime().asSamplingTimeIsoUTC().build())
+            .addField("samples", fac.createArray()
+                .withFixedSize(1000)
+                .withElement("val", fac.createQuantity().build())
+                .build())
+            .build();
+
+        BinaryEncodingImpl encoding = (BinaryEncodingImpl)fac.newBinaryEncoding(ByteOrder.BIG_ENDIAN, ByteEncoding.RAW);
+        BinaryComponentImpl timeOpts = new BinaryComponentImpl();
+        timeOpts.setRef("/time");
+        timeOpts.setCdmDataType(DataType.DOUBLE);
+        encoding.addMemberAsComponent(timeOpts);
+        BinaryBlockImpl blockOpts = new BinaryBlockImpl();
+        blockOpts.setRef("/samples");
+        blockOpts.setCompression("deflate+shuffle");
+        encoding.addMemberAsBlock(blockOpts);
+
+        // write uncompressed record
+        DataBlock data = rec.copy().createDataBlock();
+        data.setDoubleValue(0, 1e9);
+        DataBlock waveform = createWaveform(1000);
+        for (int i = 0; i < 1000; i++)
+            data.setDoubleValue(i+1, waveform.getDoubleValue(i));
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        BinaryDataWriter writer = new BinaryDataWriter();
+        writer.setDataComponents(rec.copy());
+        writer.setDataEncoding(encoding);
+        writer.setOutput(os);
+        writer.write(data);
+        writer.flush();
+        assertTrue(os.size() < 1000*8);
+
+        // parse it back, samples are kept compressed
+        BinaryDataParser parser = new BinaryDataParser();
+        parser.setDataComponents(rec.copy());
+        parser.setDataEncoding(encoding);
+        parser.setInput(new ByteArrayInputStream(os.toByteArray()));
+        DataBlock parsedData = parser.parseNextBlock();
+        assertEquals(1e9, parsedData.getDoubleValue(0), 0.0);
+
+        DataArray samples = (DataArray)parser.getDataComponents().getComponent("samples");
+        DataBlock samplesData = samples.getData();
+        assertTrue(samplesData instanceof DataBlockCompressed);
+        for (int i = 0; i < 1000; i++)
+            assertEquals(waveform.getDoubleValue(i), samplesData.getDoubleValue(i), 0.0);
+    }
+}
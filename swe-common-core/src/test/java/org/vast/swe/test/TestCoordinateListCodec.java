@@ -0,0 +1,152 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.test;
+
+import static org.junit.Assert.*;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Random;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import org.junit.Test;
+import net.opengis.CoordinateListCodec;
+
+
+public class TestCoordinateListCodec
+{
+
+    protected double[] readElement(CoordinateListCodec codec, String xml) throws Exception
+    {
+        XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml));
+        reader.nextTag();
+        double[] coords = codec.read(reader);
+        assertEquals(XMLStreamConstants.END_ELEMENT, reader.getEventType());
+        return coords;
+    }
+
+
+    protected String writeElement(CoordinateListCodec codec, double[] coords) throws Exception
+    {
+        StringWriter sw = new StringWriter();
+        XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(sw);
+        writer.writeStartElement("posList");
+        codec.write(writer, coords);
+        writer.writeEndElement();
+        writer.flush();
+        String xml = sw.toString();
+        return xml.substring(xml.indexOf('>')+1, xml.lastIndexOf('<'));
+    }
+
+
+    @Test
+    public void testParseString()
+    {
+        CoordinateListCodec codec = new CoordinateListCodec();
+        assertArrayEquals(new double[] {1.0, -2.5, 3e-4}, codec.parse("1 -2.5 3e-4"), 0.0);
+        assertArrayEquals(new double[] {1.0, 2.0, 3.0}, codec.parse("\n  1\t2  \r\n 3  "), 0.0);
+        assertArrayEquals(new double[] {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0.0},
+            codec.parse("INF +INF -INF 0"), 0.0);
+        assertEquals(0, codec.parse("   ").length);
+    }
+
+
+    @Test(expected = NumberFormatException.class)
+    public void testParseInvalidValue()
+    {
+        new CoordinateListCodec().parse("1.0 2.0a 3.0");
+    }
+
+
+    @Test
+    public void testReadElement() throws Exception
+    {
+        CoordinateListCodec codec = new CoordinateListCodec();
+        assertArrayEquals(new double[] {45.5, -120.25},
+            readElement(codec, "<pos> 45.5 -120.25 </pos>"), 0.0);
+
+        // values split across several text events
+        assertArrayEquals(new double[] {1.5, 25.0, 3.0, 4.75},
+            readElement(codec, "<pos>1.5 2<!-- comment -->5 3<![CDATA[ 4.]]>75</pos>"), 0.0);
+
+        assertEquals(0, readElement(codec, "<pos/>").length);
+    }
+
+
+    @Test
+    public void testReadLargeList() throws Exception
+    {
+        Random random = new Random(42);
+        double[] coords = new double[100000];
+        StringBuilder xml = new StringBuilder("<posList>");
+        for (int i = 0; i < coords.length; i++)
+        {
+            coords[i] = (random.nextDouble() - 0.5) * 360;
+            xml.append(coords[i]).append(i % 2 == 0 ? ' ' : '\n');
+        }
+        xml.append("</posList>");
+
+        assertArrayEquals(coords, readElement(new CoordinateListCodec(), xml.toString()), 0.0);
+    }
+
+
+    @Test
+    public void testWriteShortest() throws Exception
+    {
+        Random random = new Random(42);
+        CoordinateListCodec codec = new CoordinateListCodec();
+        double[] coords = new double[10000];
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < coords.length; i++)
+        {
+            coords[i] = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(12) - 4);
+            if (i > 0)
+                expected.append(' ');
+            expected.append(Double.toString(coords[i]));
+        }
+
+        String text = writeElement(codec, coords);
+        assertEquals(expected.toString(), text);
+        assertArrayEquals(coords, codec.parse(text), 0.0);
+
+        assertEquals("INF -INF NaN 0.0", writeElement(codec,
+            new double[] {Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN, 0.0}));
+    }
+
+
+    @Test
+    public void testWriteFixedFractionDigits() throws Exception
+    {
+        Random random = new Random(42);
+        CoordinateListCodec codec = new CoordinateListCodec(8);
+        DecimalFormat formatter = new DecimalFormat("0.########", DecimalFormatSymbols.getInstance(Locale.US));
+        double[] coords = new double[10000];
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < coords.length; i++)
+        {
+            coords[i] = i < 10 ? i - 5 : (random.nextDouble() - 0.5) * 360;
+            if (i > 0)
+                expected.append(' ');
+            expected.append(formatter.format(coords[i]));
+        }
+
+        assertEquals(expected.toString(), writeElement(codec, coords));
+    }
+}
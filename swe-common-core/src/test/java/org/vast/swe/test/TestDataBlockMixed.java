@@ -0,0 +1,146 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.test;
+
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import org.vast.data.DataBlockDouble;
+import org.vast.data.DataBlockInt;
+import org.vast.data.DataBlockMixed;
+import org.vast.data.DataBlockString;
+import org.vast.swe.SWEHelper;
+import net.opengis.swe.v20.Count;
+import net.opengis.swe.v20.DataArray;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataRecord;
+
+
+public class TestDataBlockMixed
+{
+
+    @Test
+    public void testAccessWithEmptyBlocks()
+    {
+        var block = new DataBlockMixed(
+            new DataBlockDouble(2),
+            new DataBlockInt(0),
+            new DataBlockString(1),
+            new DataBlockDouble(0),
+            new DataBlockInt(3));
+
+        assertEquals(6, block.getAtomCount());
+        block.setDoubleValue(0, 1.0);
+        block.setDoubleValue(1, 2.0);
+        block.setStringValue(2, "text");
+        for (int i = 3; i < 6; i++)
+            block.setIntValue(i, i*10);
+
+        assertEquals(1.0, block.getDoubleValue(0), 0.0);
+        assertEquals(2.0, block.getDoubleValue(1), 0.0);
+        assertEquals("text", block.getStringValue(2));
+        for (int i = 3; i < 6; i++)
+            assertEquals(i*10, block.getIntValue(i));
+
+        // replace a child block with one of different size
+        block.setBlock(1, new DataBlockInt(2));
+        assertEquals(8, block.getAtomCount());
+        block.setIntValue(2, 7);
+        block.setIntValue(3, 8);
+        assertEquals(7, block.getIntValue(2));
+        assertEquals(8, block.getIntValue(3));
+        assertEquals("text", block.getStringValue(4));
+        assertEquals(50, block.getIntValue(7));
+    }
+
+
+    @Test
+    public void testAccessAfterArrayResize()
+    {
+        SWEHelper fac = new SWEHelper();
+        Count sizeField;
+        DataRecord rec = fac.createRecord()
+            .addField("size", sizeField = fac.createCount()
+                .id("SIZE")
+                .build())
+            .addField("array", fac.createArray()
+                .withSizeComponent(sizeField)
+                .withElement("val", fac.createQuantity().build())
+                .build())
+            .addField("last", fac.createText().build())
+            .build();
+
+        DataArray array = (DataArray)rec.getComponent("array");
+        rec.assignNewDataBlock();
+        DataBlock data = rec.getData();
+        array.updateSize(2);
+        assertEquals(4, data.getAtomCount());
+        data.setStringValue(3, "last");
+        assertEquals("last", data.getStringValue(3));
+
+        // resize array and check that last field is found at new position
+        array.updateSize(5);
+        assertEquals(7, data.getAtomCount());
+        data.setStringValue(6, "last");
+        for (int i = 0; i < 5; i++)
+            data.setDoubleValue(1+i, i);
+        for (int i = 0; i < 5; i++)
+            assertEquals(i, data.getDoubleValue(1+i), 0.0);
+        assertEquals("last", data.getStringValue(6));
+    }
+
+
+    @Test
+    public void testConcurrentReads() throws Exception
+    {
+        int numBlocks = 50;
+        var childBlocks = new DataBlockDouble[numBlocks];
+        for (int i = 0; i < numBlocks; i++)
+            childBlocks[i] = new DataBlockDouble(i % 3 + 1);
+        var block = new DataBlockMixed(childBlocks);
+        for (int i = 0; i < block.getAtomCount(); i++)
+            block.setDoubleValue(i, i);
+
+        ExecutorService exec = Executors.newFixedThreadPool(8);
+        try
+        {
+            var futures = new ArrayList<Future<Boolean>>();
+            for (int t = 0; t < 8; t++)
+            {
+                futures.add(exec.submit(() -> {
+                    for (int it = 0; it < 1000; it++)
+                    {
+                        for (int i = 0; i < block.getAtomCount(); i++)
+                        {
+                            if (block.getDoubleValue(i) != i)
+                                return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+
+            for (var f: futures)
+                assertTrue("Wrong value read concurrently", f.get());
+        }
+        finally
+        {
+            exec.shutdown();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.test;
+
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import org.junit.Test;
+import org.vast.data.AbstractDataBlock;
+import org.vast.data.DataBlockDouble;
+import org.vast.data.DataBlockMixed;
+import org.vast.data.DataBlockPacked;
+import org.vast.data.DataBlockUByte;
+import org.vast.data.DataBlockUInt;
+import org.vast.data.DataBlockUShort;
+import org.vast.swe.helper.GeoPosHelper;
+import net.opengis.swe.v20.DataArray;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataRecord;
+import net.opengis.swe.v20.DataType;
+
+
+public class TestDataBlockPacked
+{
+    GeoPosHelper fac = new GeoPosHelper();
+
+
+    protected DataRecord createRecord()
+    {
+        return fac.createRecord()
+            .addField("time", fac.createTime().asSamplingTimeIsoUTC().build())
+            .addField("id", fac.createCount().build())
+            .addField("name", fac.createText().build())
+            .addField("flag", fac.createBoolean().build())
+            .addField("loc", fac.createLocationVectorLLA().build())
+            .build();
+    }
+
+
+    @Test
+    public void testCreateFromRecord()
+    {
+        DataRecord rec = createRecord();
+        rec.assignNewDataBlock();
+        DataBlock data = rec.getData();
+        assertTrue(data instanceof DataBlockPacked);
+        assertEquals(7, data.getAtomCount());
+
+        rec.getComponent("time").getData().setDoubleValue(1000.5);
+        rec.getComponent("id").getData().setIntValue(42);
+        rec.getComponent("name").getData().setStringValue("sensor1");
+        rec.getComponent("flag").getData().setBooleanValue(true);
+        rec.getComponent("loc").getComponent(2).getData().setDoubleValue(150.0);
+
+        assertEquals(1000.5, data.getDoubleValue(0), 0.0);
+        assertEquals(42, data.getIntValue(1));
+        assertEquals("sensor1", data.getStringValue(2));
+        assertTrue(data.getBooleanValue(3));
+        assertEquals(150.0, data.getDoubleValue(6), 0.0);
+        assertEquals(DataType.UTF_STRING, data.getDataType(2));
+        assertEquals(DataType.MIXED, data.getDataType());
+    }
+
+
+    @Test
+    public void testVariableSizeRecordNotPacked()
+    {
+        DataRecord rec = fac.createRecord()
+            .addField("time", fac.createTime().asSamplingTimeIsoUTC().build())
+            .addField("num", fac.createCount()
+                .id("NUM_VALUES")
+                .build())
+            .addField("values", fac.createArray()
+                .withVariableSize("NUM_VALUES")
+                .withElement("val", fac.createQuantity().build())
+                .build())
+            .build();
+
+        assertTrue(rec.createDataBlock() instanceof DataBlockMixed);
+    }
+
+
+    @Test
+    public void testSameTypeNestedRecord()
+    {
+        // nested vector of same type is merged in a single primitive block
+        DataRecord rec = fac.createRecord()
+            .addField("time", fac.createTime().asSamplingTimeIsoUTC().build())
+            .addField("loc", fac.createLocationVectorLLA().build())
+            .build();
+
+        assertTrue(rec.createDataBlock() instanceof DataBlockDouble);
+    }
+
+
+    @Test
+    public void testCloneIsIndependent()
+    {
+        DataRecord rec = createRecord();
+        rec.assignNewDataBlock();
+        DataBlock data = rec.getData();
+        data.setDoubleValue(0, 1.0);
+        data.setStringValue(2, "a");
+
+        DataBlock copy = data.clone();
+        data.setDoubleValue(0, 2.0);
+        data.setStringValue(2, "b");
+
+        assertEquals(1.0, copy.getDoubleValue(0), 0.0);
+        assertEquals("a", copy.getStringValue(2));
+        assertEquals(2.0, data.getDoubleValue(0), 0.0);
+        assertEquals("b", data.getStringValue(2));
+    }
+
+
+    @Test
+    public void testArrayOfRecords()
+    {
+        int arraySize = 10;
+        DataArray array = fac.createArray()
+            .withFixedSize(arraySize)
+            .withElement("rec", createRecord())
+            .build();
+
+        array.assignNewDataBlock();
+        DataBlock data = array.getData();
+        assertTrue(data instanceof DataBlockPacked);
+        assertEquals(7*arraySize, data.getAtomCount());
+
+        for (int i = 0; i < arraySize; i++)
+        {
+            DataRecord rec = (DataRecord)array.getComponent(i);
+            rec.getComponent("id").getData().setIntValue(i);
+            rec.getComponent("name").getData().setStringValue("name" + i);
+            rec.getComponent("loc").getComponent(0).getData().setDoubleValue(i * 0.5);
+        }
+
+        for (int i = 0; i < arraySize; i++)
+        {
+            assertEquals(i, data.getIntValue(i*7+1));
+            assertEquals("name" + i, data.getStringValue(i*7+2));
+            assertEquals(i * 0.5, data.getDoubleValue(i*7+4), 0.0);
+        }
+
+        // clone of a single record in the middle of the array
+        DataBlock recData = array.getComponent(3).getData().clone();
+        assertEquals(7, recData.getAtomCount());
+        assertEquals(3, recData.getIntValue(1));
+        assertEquals("name3", recData.getStringValue(2));
+    }
+
+
+    @Test
+    public void testConversionsMatchPrimitiveBlocks()
+    {
+        var types = Arrays.asList(DataType.UBYTE, DataType.USHORT, DataType.UINT);
+        var packed = new DataBlockPacked(new DataBlockPacked.Layout(types), 1);
+        AbstractDataBlock[] refs = {
+            new DataBlockUByte(1),
+            new DataBlockUShort(1),
+            new DataBlockUInt(1)
+        };
+
+        for (double val: new double[] {-5.0, 200.4, 3e9})
+        {
+            for (int i = 0; i < refs.length; i++)
+            {
+                packed.setDoubleValue(i, val);
+                refs[i].setDoubleValue(val);
+                assertEquals(refs[i].getLongValue(), packed.getLongValue(i));
+                assertEquals(refs[i].getDoubleValue(), packed.getDoubleValue(i), 0.0);
+                assertEquals(refs[i].getStringValue(), packed.getStringValue(i));
+                assertEquals(refs[i].getBooleanValue(), packed.getBooleanValue(i));
+            }
+        }
+    }
+}
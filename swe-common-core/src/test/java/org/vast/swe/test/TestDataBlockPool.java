@@ -0,0 +1,174 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.test;
+
+import static org.junit.Assert.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import org.junit.Test;
+import org.vast.data.DataBlockDouble;
+import org.vast.data.DataBlockInt;
+import org.vast.data.DataBlockPool;
+import org.vast.swe.SWEHelper;
+import org.vast.swe.fast.TextDataParser;
+import org.vast.swe.fast.TextDataWriter;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataRecord;
+
+
+public class TestDataBlockPool
+{
+    SWEHelper fac = new SWEHelper();
+
+
+    @Test
+    public void testLeaseAndRelease()
+    {
+        DataBlockPool pool = new DataBlockPool(new DataBlockDouble(3), 2);
+
+        DataBlock b1 = pool.lease();
+        DataBlock b2 = pool.lease();
+        DataBlock b3 = pool.lease();
+        assertEquals(3, b1.getAtomCount());
+        assertEquals(0, pool.getHitCount());
+        assertEquals(3, pool.getMissCount());
+        assertEquals(3, pool.getOutstandingLeases());
+
+        // only 2 blocks fit in the pool
+        pool.release(b1);
+        pool.release(b2);
+        pool.release(b3);
+        assertEquals(2, pool.getPooledCount());
+        assertEquals(1, pool.getDiscardCount());
+        assertEquals(0, pool.getOutstandingLeases());
+
+        assertSame(b1, pool.lease());
+        assertSame(b2, pool.lease());
+        assertEquals(2, pool.getHitCount());
+
+        // incompatible blocks are discarded
+        pool.release(new DataBlockInt(3));
+        assertEquals(0, pool.getPooledCount());
+        assertEquals(2, pool.getDiscardCount());
+    }
+
+
+    @Test
+    public void testDoubleRelease()
+    {
+        DataBlockPool pool = new DataBlockPool(new DataBlockDouble(3), 4);
+        DataBlock b1 = pool.lease();
+        DataBlock b2 = pool.lease();
+        pool.release(b1);
+        pool.release(b1);
+        assertEquals(1, pool.getPooledCount());
+        assertEquals(1, pool.getOutstandingLeases());
+
+        // block released twice is only leased once
+        pool.release(b2);
+        assertSame(b1, pool.lease());
+        assertSame(b2, pool.lease());
+        assertEquals(0, pool.getPooledCount());
+    }
+
+
+    @Test
+    public void testReleaseAfterClear()
+    {
+        DataBlockPool pool = new DataBlockPool(new DataBlockDouble(3), 1);
+        DataBlock b1 = pool.lease();
+        DataBlock b2 = pool.lease();
+        pool.release(b1);
+        pool.release(b2);
+        assertEquals(1, pool.getDiscardCount());
+
+        // blocks removed or discarded from the pool can be pooled again
+        pool.clear();
+        pool.release(b2);
+        assertEquals(1, pool.getPooledCount());
+        assertSame(b2, pool.lease());
+        pool.release(b1);
+        assertSame(b1, pool.lease());
+    }
+
+
+    @Test
+    public void testLeaseWithSize()
+    {
+        DataBlockPool pool = new DataBlockPool(new DataBlockDouble(3), 4);
+        pool.release(new DataBlockDouble(5));
+
+        // blocks of other sizes are kept in the pool and not counted
+        assertNull(pool.lease(4));
+        assertEquals(1, pool.getPooledCount());
+        assertEquals(0, pool.getHitCount());
+        assertEquals(0, pool.getMissCount());
+        assertEquals(0, pool.getOutstandingLeases());
+
+        assertEquals(3, pool.lease(3).getAtomCount());
+        assertEquals(1, pool.getMissCount());
+        assertEquals(5, pool.lease(5).getAtomCount());
+        assertEquals(1, pool.getHitCount());
+        assertEquals(2, pool.getOutstandingLeases());
+    }
+
+
+    @Test
+    public void testParseWithPool() throws Exception
+    {
+        DataRecord rec = fac.createRecord()
+            .addField("time", fac.createTime().asSamplingTimeIsoUTC().build())
+            .addField("temp", fac.createQuantity().build())
+            .addField("name", fac.createText().build())
+            .build();
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        TextDataWriter writer = new TextDataWriter();
+        writer.setDataComponents(rec);
+        writer.setDataEncoding(fac.newTextEncoding(",", "\n"));
+        writer.setOutput(os);
+        int numRecords = 100;
+        for (int i = 0; i < numRecords; i++)
+        {
+            DataBlock data = rec.createDataBlock();
+            data.setDoubleValue(0, 1e9 + i);
+            data.setDoubleValue(1, i * 0.5);
+            data.setStringValue(2, "rec" + i);
+            writer.write(data);
+        }
+        writer.flush();
+
+        TextDataParser parser = new TextDataParser();
+        parser.setDataComponents(rec);
+        parser.setDataEncoding(fac.newTextEncoding(",", "\n"));
+        parser.setInput(new ByteArrayInputStream(os.toByteArray()));
+        parser.setRenewDataBlock(true);
+        DataBlockPool pool = new DataBlockPool(parser.getDataComponents(), 4);
+        parser.setDataBlockPool(pool);
+
+        // consumer releases each block after use
+        for (int i = 0; i < numRecords; i++)
+        {
+            DataBlock data = parser.parseNextBlock();
+            assertEquals(i * 0.5, data.getDoubleValue(1), 0.0);
+            assertEquals("rec" + i, data.getStringValue(2));
+            assertEquals(1, pool.getOutstandingLeases());
+            pool.release(data);
+        }
+
+        assertEquals(1, pool.getMissCount());
+        assertEquals(numRecords-1, pool.getHitCount());
+    }
+}
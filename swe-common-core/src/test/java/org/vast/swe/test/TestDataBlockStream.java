@@ -0,0 +1,92 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.test;
+
+import static org.junit.Assert.*;
+import java.io.IOException;
+import org.junit.Test;
+import org.vast.swe.DataBlockStream;
+import org.vast.swe.DataSourceString;
+import org.vast.swe.SWEHelper;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataRecord;
+
+
+public class TestDataBlockStream
+{
+    SWEHelper fac = new SWEHelper();
+
+
+    protected DataBlockStream createStream(String data, int maxInFlight) throws IOException
+    {
+        DataRecord rec = fac.createRecord()
+            .addField("q1", fac.createQuantity().build())
+            .addField("q2", fac.createQuantity().build())
+            .build();
+
+        return new DataBlockStream(rec, fac.newTextEncoding(",", "\n"), new DataSourceString(data), maxInFlight);
+    }
+
+
+    @Test(timeout = 5000)
+    public void testParseErrorReleasesPermit() throws Exception
+    {
+        DataBlockStream stream = createStream("1,2\nx,3\n4,5\n", 1);
+        DataBlock data = stream.next();
+        assertEquals(2.0, data.getDoubleValue(1), 0.0);
+        stream.release(data);
+
+        try
+        {
+            stream.next();
+            fail("Parsing error not reported");
+        }
+        catch (IOException | RuntimeException e)
+        {
+            // expected
+        }
+
+        // permit must be available again, otherwise this blocks forever
+        try
+        {
+            data = stream.next();
+            if (data != null)
+                stream.release(data);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            // parser may not recover from error
+        }
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDoubleRelease() throws Exception
+    {
+        DataBlockStream stream = createStream("1,2\n3,4\n", 2);
+        DataBlock data = stream.next();
+        stream.release(data);
+        stream.release(data);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReleaseForeignBlock() throws Exception
+    {
+        DataBlockStream stream = createStream("1,2\n3,4\n", 2);
+        stream.next();
+        stream.release(fac.createQuantity().build().createDataBlock());
+    }
+}
@@ -0,0 +1,144 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.test;
+
+import static org.junit.Assert.*;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.Random;
+import org.junit.Test;
+import org.vast.util.DateTimeFormat;
+import org.vast.util.IsoDateTimeCodec;
+
+
+public class TestIsoDateTimeCodec
+{
+    DateTimeFormat timeFormat = new DateTimeFormat();
+    IsoDateTimeCodec codec = new IsoDateTimeCodec();
+
+
+    protected void assertSameParsedValue(String iso) throws ParseException
+    {
+        double expected = timeFormat.parseIso(iso);
+        assertEquals(iso, expected, codec.parse(iso), 0.0);
+        
+        byte[] bytes = ("\"" + iso + "\"").getBytes(StandardCharsets.UTF_8);
+        assertEquals(iso, expected, codec.parse(bytes, 1, bytes.length-1), 0.0);
+        
+        char[] chars = ("  " + iso).toCharArray();
+        assertEquals(iso, expected, codec.parse(chars, 2, chars.length), 0.0);
+    }
+
+
+    @Test
+    public void testParse() throws ParseException
+    {
+        String[] values = {
+            "1970-01-01T00:00:00Z", "2026-10-17T10:15:30Z", "2026-10-17T10:15:30.5Z",
+            "2026-10-17T10:15:30.123456789Z", "2026-10-17T10:15:30.000001Z",
+            "2026-10-17T10:15Z", "2026-10-17Z", "2026-10-17T10:15:30+05:30",
+            "2026-10-17T10:15:30.25-08:00", "2024-02-29T23:59:59Z", "1969-12-31T23:59:59.9Z",
+            "0001-01-01T00:00:00Z", "1600-03-01T12:00:00Z", "9999-12-31T23:59:59Z",
+            "2026-10-17T00:00:00+18:00",
+            // handled by fallback
+            "2026-02-30T00:00:00Z", "2026-10-17T24:00:00Z", "+12026-10-17T00:00:00Z"
+        };
+
+        for (String s: values)
+            assertSameParsedValue(s);
+    }
+
+
+    @Test
+    public void testParseSameDay() throws ParseException
+    {
+        // make sure date cache is used properly
+        for (int i = 0; i < 1000; i++)
+        {
+            assertSameParsedValue("2026-10-17T10:" + String.format("%02d:%02d", i/60%60, i%60) + "Z");
+            assertSameParsedValue("2026-10-18T10:" + String.format("%02d:%02d", i/60%60, i%60) + "Z");
+        }
+    }
+
+
+    @Test
+    public void testParseInvalid()
+    {
+        String[] values = {
+            "", "2026", "2026-10-17", "2026-10-17T", "2026-13-01T00:00:00Z", "2026-10-17T10:15:30",
+            "2026-10-17T10:15:30+05", "2026-10-17T10:15:30.1234567891Z", "2026-10-17T10:61:00Z",
+            "2026-10-17 10:15:30Z", "abcd-ef-ghT00:00:00Z", "2026-10-17T10:15:30+19:00"
+        };
+
+        for (String s: values)
+        {
+            try
+            {
+                codec.parse(s);
+                fail("No exception thrown for " + s);
+            }
+            catch (ParseException e)
+            {
+                // expected
+            }
+        }
+    }
+
+
+    @Test
+    public void testFormat()
+    {
+        double[] values = {
+            0.0, 1.5, -1.5, -0.001, 1.7e9, 1760696130.123, 1760696130.000001,
+            951782400, -62135596800.0, 253402300799.999, 253402300800.0, -62167219200.5,
+            Double.NaN
+        };
+
+        for (double t: values)
+        {
+            for (int tz: new int[] {0, 5, -8, 18})
+                assertSameFormattedValue(t, tz);
+        }
+    }
+
+
+    @Test
+    public void testFormatRandom()
+    {
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++)
+        {
+            double t = 1.7e9 + (random.nextDouble() - 0.5) * 1e9;
+            if (i % 3 == 0)
+                t = Math.round(t * 1000) / 1000.;
+            assertSameFormattedValue(t, 0);
+        }
+    }
+
+
+    protected void assertSameFormattedValue(double t, int tz)
+    {
+        String expected = timeFormat.formatIso(t, tz);
+        assertEquals(expected, codec.format(t, tz));
+        
+        char[] chars = new char[IsoDateTimeCodec.MAX_FORMAT_LENGTH + 3];
+        int len = codec.format(t, tz, chars, 3);
+        assertEquals(expected, new String(chars, 3, len));
+        
+        byte[] bytes = new byte[IsoDateTimeCodec.MAX_FORMAT_LENGTH + 1];
+        len = codec.format(t, tz, bytes, 1);
+        assertEquals(expected, new String(bytes, 1, len, StandardCharsets.US_ASCII));
+    }
+}
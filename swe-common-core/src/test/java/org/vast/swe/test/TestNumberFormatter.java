@@ -0,0 +1,161 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.test;
+
+import static org.junit.Assert.*;
+import java.text.DecimalFormat;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.Test;
+import org.vast.util.NumberFormatter;
+
+
+public class TestNumberFormatter
+{
+    NumberFormatter formatter = new NumberFormatter();
+
+
+    protected String formatDouble(double val)
+    {
+        int len = formatter.formatDouble(val);
+        return new String(formatter.getBuffer(), 0, len);
+    }
+
+
+    protected String formatFloat(float val)
+    {
+        int len = formatter.formatFloat(val);
+        return new String(formatter.getBuffer(), 0, len);
+    }
+
+
+    protected String formatFixed(double val, int n)
+    {
+        int len = formatter.formatFixed(val, n);
+        return new String(formatter.getBuffer(), 0, len);
+    }
+
+
+    protected String formatLong(long val)
+    {
+        int len = formatter.formatLong(val);
+        return new String(formatter.getBuffer(), 0, len);
+    }
+
+
+    protected DecimalFormat getDecimalFormat(int n)
+    {
+        DecimalFormat df = (DecimalFormat)DecimalFormat.getNumberInstance(Locale.US);
+        df.setGroupingUsed(false);
+        df.setMinimumFractionDigits(Math.min(1, n));
+        df.setMaximumFractionDigits(n);
+        return df;
+    }
+
+
+    @Test
+    public void testFormatLong()
+    {
+        long[] values = {
+            0, 1, -1, 9, 10, 99, 100, -12345, Integer.MAX_VALUE, Integer.MIN_VALUE,
+            999999999999999999L, 1000000000000000000L, Long.MAX_VALUE, Long.MIN_VALUE
+        };
+
+        for (long val: values)
+            assertEquals(Long.toString(val), formatLong(val));
+    }
+
+
+    @Test
+    public void testFormatDouble()
+    {
+        double[] values = {
+            0.0, -0.0, 1.0, -1.0, 0.1, 0.3, 0.001, 0.00099, 1e7, 9999999.0,
+            12345678.9, 3.141592653589793, -86.5861, 1013.25, 1e22, 1e23, 1e-5,
+            123456789012345678.0, 4.9e-324, Double.MAX_VALUE, Double.MIN_NORMAL,
+            Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+        };
+
+        for (double val: values)
+            assertEquals(Double.toString(val), formatDouble(val));
+    }
+
+
+    @Test
+    public void testFormatRandomDoubles()
+    {
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++)
+        {
+            double val = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 20);
+            assertEquals(Double.toString(val), formatDouble(val));
+
+            // also test values with few significant digits
+            val = Math.round(val * 1e4) / 1e4;
+            assertEquals(Double.toString(val), formatDouble(val));
+        }
+    }
+
+
+    @Test
+    public void testFormatRandomFloats()
+    {
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++)
+        {
+            float val = (float)((random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(30) - 15));
+            assertEquals(Float.toString(val), formatFloat(val));
+        }
+    }
+
+
+    @Test
+    public void testFormatFixed()
+    {
+        double[] values = {
+            0.0, -0.0, 1.0, 0.5, 1.5, 2.5, -2.5, 0.05, 0.15, 0.125, 0.135, 0.95,
+            0.0095, 5e-4, 5e-9, 123.456, 1e-20, 1e20, 1.005, 2.675, -86.58615,
+            Double.NaN, Double.POSITIVE_INFINITY
+        };
+
+        for (int n = 0; n <= 6; n++)
+        {
+            DecimalFormat df = getDecimalFormat(n);
+            for (double val: values)
+                assertEquals(val + " n=" + n, df.format(val), formatFixed(val, n));
+        }
+    }
+
+
+    @Test
+    public void testFormatRandomFixed()
+    {
+        Random random = new Random(42);
+        DecimalFormat[] formats = new DecimalFormat[10];
+        for (int n = 0; n < formats.length; n++)
+            formats[n] = getDecimalFormat(n);
+
+        for (int i = 0; i < 100000; i++)
+        {
+            int n = random.nextInt(formats.length);
+            double val = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(16) - 8);
+            assertEquals(val + " n=" + n, formats[n].format(val), formatFixed(val, n));
+
+            // generate ties at rounding position
+            val = Math.round(val * Math.pow(10, n)) / Math.pow(10, n) + 5 * Math.pow(10, -n-1);
+            assertEquals(val + " n=" + n, formats[n].format(val), formatFixed(val, n));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.test;
+
+import static org.junit.Assert.*;
+import java.util.Random;
+import org.junit.Test;
+import org.vast.util.NumberParser;
+
+
+public class TestNumberParser
+{
+
+    protected double parseDouble(String s)
+    {
+        // add padding to make sure range is used properly
+        char[] buf = ("  " + s + "  ").toCharArray();
+        return NumberParser.parseDouble(buf, 2, buf.length-2);
+    }
+
+
+    protected int parseInt(String s)
+    {
+        char[] buf = ("  " + s + "  ").toCharArray();
+        return NumberParser.parseInt(buf, 2, buf.length-2);
+    }
+
+
+    protected void assertSameDouble(String s)
+    {
+        assertEquals(s, Double.doubleToRawLongBits(Double.parseDouble(s)), Double.doubleToRawLongBits(parseDouble(s)));
+    }
+
+
+    @Test
+    public void testParseDouble()
+    {
+        String[] values = {
+            "0", "-0", "+0", "0.0", "-0.0", "1", "-1", "+12.5", "1.", ".5", "-.5",
+            "0.1", "0.3", "3.141592653589793", "-86.5861", "1013.25", "1e5", "1E-5",
+            "1.7e9", "-2.5e+3", "123456789012345678", "1234567890123456789",
+            "0.000001234", "9007199254740993", "1e22", "1e23", "1e-22", "1e-23",
+            "4.9e-324", "1.7976931348623157e308", "1e400", "NaN", "Infinity",
+            "-Infinity", "1.5f", "2d"
+        };
+
+        for (String s: values)
+            assertSameDouble(s);
+    }
+
+
+    @Test
+    public void testParseRandomDoubles()
+    {
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++)
+        {
+            double val = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 20);
+            assertSameDouble(Double.toString(val));
+            assertSameDouble(String.format("%.6f", val));
+            assertSameDouble(Float.toString((float)val));
+        }
+    }
+
+
+    @Test
+    public void testParseInvalidDouble()
+    {
+        String[] values = { "", "-", ".", "e5", "1e", "1.2.3", "1,5", "abc", "1e+" };
+
+        for (String s: values)
+        {
+            try
+            {
+                parseDouble(s);
+                fail("No exception thrown for " + s);
+            }
+            catch (NumberFormatException e)
+            {
+                // expected
+            }
+        }
+    }
+
+
+    @Test
+    public void testParseInt()
+    {
+        String[] values = { "0", "-0", "+7", "42", "-42", "2147483647", "-2147483648", "0000012" };
+
+        for (String s: values)
+            assertEquals(s, Integer.parseInt(s), parseInt(s));
+    }
+
+
+    @Test
+    public void testParseInvalidInt()
+    {
+        String[] values = { "", "-", "+", "1.0", "2147483648", "-2147483649", "12345678901", "1a" };
+
+        for (String s: values)
+        {
+            try
+            {
+                parseInt(s);
+                fail("No exception thrown for " + s);
+            }
+            catch (NumberFormatException e)
+            {
+                // expected
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/***************************** BEGIN LICENSE BLOCK ***************************
+
+The contents of this file are subject to the Mozilla Public License, v. 2.0.
+If a copy of the MPL was not distributed with this file, You can obtain one
+at http://mozilla.org/MPL/2.0/.
+
+Software distributed under the License is distributed on an "AS IS" basis,
+WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+for the specific language governing rights and limitations under the License.
+
+Copyright (C) 2026 Sensia Software LLC. All Rights Reserved.
+
+******************************* END LICENSE BLOCK ***************************/
+
+package org.vast.swe.test;
+
+import static org.junit.Assert.*;
+import net.opengis.swe.v20.Count;
+import net.opengis.swe.v20.DataArray;
+import net.opengis.swe.v20.DataBlock;
+import net.opengis.swe.v20.DataChoice;
+import net.opengis.swe.v20.DataRecord;
+import org.junit.Test;
+import org.vast.swe.RecordAccessor;
+import org.vast.swe.helper.GeoPosHelper;
+
+
+public class TestRecordAccessor
+{
+    GeoPosHelper fac = new GeoPosHelper();
+
+
+    @Test
+    public void testFixedRecord()
+    {
+        DataRecord rec = fac.createRecord()
+            .addSamplingTimeIsoUTC("time")
+            .addField("id", fac.createText().build())
+            .addField("location", fac.newLocationVectorLLA(null))
+            .addField("temp", fac.createQuantity().build())
+            .build();
+
+        RecordAccessor accessor = RecordAccessor.of(rec);
+        assertSame(accessor, RecordAccessor.of(rec));
+        assertEquals(6, accessor.getFields().size());
+
+        DataBlock data = rec.createDataBlock();
+        accessor.getField("time").setDoubleValue(data, 1e9);
+        accessor.getField("id").setStringValue(data, "S01");
+        accessor.getField("location/lat").setDoubleValue(data, 45.2);
+        accessor.getField("/location/lon").setDoubleValue(data, 1.3);
+        accessor.getField("location/alt").setDoubleValue(data, 200.0);
+        accessor.getField("temp").setDoubleValue(data, 25.3);
+
+        assertEquals(1e9, data.getDoubleValue(0), 0.0);
+        assertEquals("S01", data.getStringValue(1));
+        assertEquals(45.2, data.getDoubleValue(2), 0.0);
+        assertEquals(1.3, data.getDoubleValue(3), 0.0);
+        assertEquals(200.0, data.getDoubleValue(4), 0.0);
+        assertEquals(25.3, accessor.getField("temp").getDoubleValue(data), 0.0);
+        assertEquals(5, accessor.getField("temp").getDataIndex(data));
+
+        assertFalse(accessor.hasField("location"));
+        assertFalse(accessor.hasField("unknown"));
+    }
+
+
+    @Test
+    public void testFieldsAfterArrays()
+    {
+        Count sizeComp;
+        DataRecord rec = fac.createRecord()
+            .addField("fixedArray", fac.createArray()
+                .withFixedSize(3)
+                .withElement("val", fac.createQuantity().build())
+                .build())
+            .addField("size", sizeComp = fac.createCount()
+                .id("SIZE")
+                .build())
+            .addField("varArray", fac.createArray()
+                .withSizeComponent(sizeComp)
+                .withElement("val", fac.createQuantity().build())
+                .build())
+            .addField("last", fac.createText().build())
+            .build();
+
+        RecordAccessor accessor = new RecordAccessor(rec);
+        assertTrue(accessor.hasField("size"));
+        assertTrue(accessor.hasField("last"));
+        assertFalse(accessor.hasField("fixedArray/val"));
+
+        rec.assignNewDataBlock();
+        ((DataArray)rec.getComponent("varArray")).updateSize(4);
+        DataBlock data = rec.getData();
+        data.setStringValue(8, "end");
+
+        assertEquals(3, accessor.getField("size").getDataIndex(data));
+        assertEquals(4, accessor.getField("size").getIntValue(data));
+        assertEquals(8, accessor.getField("last").getDataIndex(data));
+        assertEquals("end", accessor.getField("last").getStringValue(data));
+    }
+
+
+    @Test
+    public void testChoice()
+    {
+        DataRecord rec = fac.createRecord()
+            .addField("choice", fac.createChoice()
+                .addItem("q", fac.createQuantity().build())
+                .addItem("c", fac.createCount().build())
+                .build())
+            .addField("flag", fac.createBoolean().build())
+            .build();
+
+        RecordAccessor accessor = RecordAccessor.of(rec);
+        DataChoice choice = (DataChoice)rec.getComponent("choice");
+
+        choice.setSelectedItem(1);
+        DataBlock data = rec.createDataBlock();
+        data.setIntValue(1, 12);
+        data.setBooleanValue(2, true);
+
+        assertFalse(accessor.getField("choice/q").isPresent(data));
+        assertTrue(accessor.getField("choice/c").isPresent(data));
+        assertEquals(12, accessor.getField("choice/c").getIntValue(data));
+        assertTrue(accessor.getField("flag").getBooleanValue(data));
+    }
+}
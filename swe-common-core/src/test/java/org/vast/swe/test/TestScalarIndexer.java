@@ -17,6 +17,7 @@ package org.vast.swe.test;
 import static org.junit.Assert.*;
 import net.opengis.swe.v20.Boolean;
 import net.opengis.swe.v20.CountRange;
+import net.opengis.swe.v20.DataArray;
 import net.opengis.swe.v20.DataBlock;
 import net.opengis.swe.v20.DataChoice;
 import net.opengis.swe.v20.DataRecord;
@@ -61,6 +62,31 @@ public class TestScalarIndexer
     }
 
 
+    @Test
+    public void testArrayOfRecords()
+    {
+        DataArray array = helper.createArray()
+            .withFixedSize(3)
+            .withElement("elt", helper.createRecord()
+                .addField("q", fac.newQuantity())
+                .addSamplingTimeIsoUTC("time")
+                .build())
+            .build();
+
+        DataBlock dataBlk = array.createDataBlock();
+        for (int i=0; i<3; i++)
+        {
+            dataBlk.setDoubleValue(i*2, i+10.0);
+            dataBlk.setDoubleValue(i*2+1, 1234.0+i);
+        }
+
+        // time stamp of first array element is used
+        ScalarIndexer indexer = SWEHelper.getTimeStampIndexer(array);
+        assertEquals(1, indexer.getDataIndex(dataBlk));
+        assertEquals(1234.0, indexer.getDoubleValue(dataBlk), 0.0);
+    }
+
+
     @Test
     public void testChoiceOfScalarsInRecord() throws Exception
     {
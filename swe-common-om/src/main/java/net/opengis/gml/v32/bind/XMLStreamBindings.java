@@ -15,12 +15,12 @@ Copyright (C) 2012-2015 Sensia Software LLC. All Rights Reserved.
 package net.opengis.gml.v32.bind;
 
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.Map;
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
+import gnu.trove.list.array.TDoubleArrayList;
 import net.opengis.AbstractXMLStreamBindings;
 import net.opengis.OgcProperty;
 import net.opengis.OgcPropertyImpl;
@@ -942,9 +942,7 @@ public class XMLStreamBindings extends AbstractXMLStreamBindings
         found = checkElementName(reader, "lowerCorner");
         if (found)
         {
-            String lowerCorner = reader.getElementText();
-            if (lowerCorner != null)
-                bean.setLowerCorner(getDoubleArrayFromString(lowerCorner));
+            bean.setLowerCorner(readCoordinates(reader));
             
             reader.nextTag();
         }
@@ -953,9 +951,7 @@ public class XMLStreamBindings extends AbstractXMLStreamBindings
         found = checkElementName(reader, "upperCorner");
         if (found)
         {
-            String upperCorner = reader.getElementText();
-            if (upperCorner != null)
-                bean.setUpperCorner(getDoubleArrayFromString(upperCorner));
+            bean.setUpperCorner(readCoordinates(reader));
             
             reader.nextTag();
         }
@@ -1006,7 +1002,7 @@ public class XMLStreamBindings extends AbstractXMLStreamBindings
         if (bean.isSetLowerCorner())
         {
             writer.writeStartElement(NS_URI, "lowerCorner");
-            writer.writeCharacters(getCoordinateStringValue(bean.getLowerCorner()));
+            writeCoordinates(writer, bean.getLowerCorner());
             writer.writeEndElement();
         }
         
@@ -1014,7 +1010,7 @@ public class XMLStreamBindings extends AbstractXMLStreamBindings
         if (bean.isSetUpperCorner())
         {
             writer.writeStartElement(NS_URI, "upperCorner");
-            writer.writeCharacters(getCoordinateStringValue(bean.getUpperCorner()));
+            writeCoordinates(writer, bean.getUpperCorner());
             writer.writeEndElement();
         }
     }
@@ -1060,9 +1056,7 @@ public class XMLStreamBindings extends AbstractXMLStreamBindings
         found = checkElementName(reader, "pos");
         if (found)
         {
-            String pos = reader.getElementText();
-            if (pos != null)
-                bean.setPos(getDoubleArrayFromString(pos));
+            bean.setPos(readCoordinates(reader));
             
             reader.nextTag();
         }
@@ -1071,9 +1065,7 @@ public class XMLStreamBindings extends AbstractXMLStreamBindings
         found = checkElementName(reader, "coordinates");
         if (found)
         {
-            String pos = reader.getElementText();
-            if (pos != null)
-                bean.setPos(getDoubleArrayFromString(pos));
+            bean.setPos(readCoordinates(reader));
             
             reader.nextTag();
         }
@@ -1110,7 +1102,7 @@ public class XMLStreamBindings extends AbstractXMLStreamBindings
         if (bean.isSetPos())
         {
             writer.writeStartElement(NS_URI, "pos");
-            writer.writeCharacters(getCoordinateStringValue(bean.getPos()));
+            writeCoordinates(writer, bean.getPos());
             writer.writeEndElement();
         }
     }
@@ -1168,35 +1160,21 @@ public class XMLStreamBindings extends AbstractXMLStreamBindings
         found = checkElementName(reader, "pos");
         if (found)
         {
-            ArrayList<double[]> tmpList = new ArrayList<double[]>();
-            int arraySize = 0;
+            // aggregate all positions to a single array
+            TDoubleArrayList tmpList = new TDoubleArrayList();
             
             do
             {
                 found = checkElementName(reader, "pos");
                 if (found)
                 {
-                    String pos = reader.getElementText();
-                    if (pos != null)
-                    {
-                        double[] values = getDoubleArrayFromString(pos);
-                        arraySize += values.length;
-                        tmpList.add(values);
-                    }
-                    
+                    coordinateCodec.read(reader, tmpList);
                     reader.nextTag();
                 }
             }
             while (found);
         
-            // aggregate to a single array
-            posList = new double[arraySize];
-            int i = 0;
-            for (double[] pos: tmpList)
-            {
-                System.arraycopy(pos, 0, posList, i, pos.length);
-                i += pos.length;
-            }
+            posList = tmpList.toArray();
         }
         
         // pointProperty (skip for now)
@@ -1211,9 +1189,7 @@ public class XMLStreamBindings extends AbstractXMLStreamBindings
         found = checkElementName(reader, "posList");
         if (found)
         {
-            String posString = reader.getElementText();
-            if (posString != null)
-                posList = getDoubleArrayFromString(posString);
+            posList = readCoordinates(reader);
             
             reader.nextTag();
         }
@@ -1222,9 +1198,7 @@ public class XMLStreamBindings extends AbstractXMLStreamBindings
         found = checkElementName(reader, "coordinates");
         if (found)
         {
-            String posString = reader.getElementText();
-            if (posString != null)
-                posList = getDoubleArrayFromString(posString);
+            posList = readCoordinates(reader);
             
             reader.nextTag();
         }
@@ -1263,7 +1237,7 @@ public class XMLStreamBindings extends AbstractXMLStreamBindings
         if (bean.isSetPosList())
         {
             writer.writeStartElement(NS_URI, "posList");
-            writer.writeCharacters(getCoordinateStringValue(bean.getPosList()));
+            writeCoordinates(writer, bean.getPosList());
             writer.writeEndElement();
         }
     }
@@ -1425,7 +1399,7 @@ public class XMLStreamBindings extends AbstractXMLStreamBindings
         if (bean.isSetPosList())
         {
             writer.writeStartElement(NS_URI, "posList");
-            writer.writeCharacters(getCoordinateStringValue(bean.getPosList()));
+            writeCoordinates(writer, bean.getPosList());
             writer.writeEndElement();
         }
     }
@@ -37,6 +37,7 @@ import net.opengis.gml.v32.Factory;
 public class GMLFactory implements Factory
 {
     public static final String COORDINATE_FORMAT = "0.########";
+    public static final int COORDINATE_FRACTION_DIGITS = 8;
     
     boolean useJTS;
     GeometryFactory jtsFactory;
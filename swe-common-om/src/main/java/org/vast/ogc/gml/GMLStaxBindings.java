@@ -10,7 +10,6 @@
 
 package org.vast.ogc.gml;
 
-import java.text.DecimalFormat;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -21,6 +20,7 @@ import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
 import org.vast.ogc.xlink.IXlinkReference;
 import com.google.common.base.Strings;
+import net.opengis.CoordinateListCodec;
 import net.opengis.gml.v32.AbstractFeature;
 import net.opengis.gml.v32.AbstractGML;
 import net.opengis.gml.v32.AbstractGeometry;
@@ -50,9 +50,7 @@ public class GMLStaxBindings extends XMLStreamBindings
     protected GmlIdGenerator<AbstractGML> geomIds = new SequentialIdGenerator<>("G", true);
     protected GmlIdGenerator<AbstractGML> timeIds = new SequentialIdGenerator<>("T", true);
     protected GmlIdGenerator<AbstractGML> featureIds = new SequentialIdGenerator<>("F", true);
-    protected StringBuilder sb = new StringBuilder();
     protected Map<QName, IFeatureStaxBindings<AbstractFeature>> featureTypesBindings;
-    protected DecimalFormat formatter = new DecimalFormat(GMLFactory.COORDINATE_FORMAT);
     
     
     public GMLStaxBindings()
@@ -70,6 +68,7 @@ public class GMLStaxBindings extends XMLStreamBindings
     public GMLStaxBindings(net.opengis.gml.v32.Factory fac)
     {
         super(fac);
+        coordinateCodec = new CoordinateListCodec(GMLFactory.COORDINATE_FRACTION_DIGITS);
         featureTypesBindings = new HashMap<>();
         nsContext.registerNamespace(NS_PREFIX_GML, net.opengis.gml.v32.bind.XMLStreamBindings.NS_URI);
         nsContext.registerNamespace(NS_PREFIX_XLINK, net.opengis.swe.v20.bind.XMLStreamBindings.XLINK_NS_URI);
@@ -330,21 +329,6 @@ public class GMLStaxBindings extends XMLStreamBindings
     }
     
     
-    @Override
-    protected String getCoordinateStringValue(double[] coords)
-    {
-        sb.setLength(0);
-        
-        for (double val: coords) {
-            sb.append(formatter.format(val));
-            sb.append(' ');
-        }
-        
-        sb.setLength(sb.length()-1);
-        return sb.toString();
-    }
-    
-    
     public static QName getFeatureQName(IFeature f)
     {
         /*if (f instanceof AbstractFeature)
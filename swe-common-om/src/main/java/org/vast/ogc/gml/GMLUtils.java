@@ -158,6 +158,40 @@ public class GMLUtils extends XMLBindingsUtils
     }
     
     
+    /**
+     * Reads a GML time primitive from an XML stream
+     * @param reader stream reader positioned on the time primitive start element.
+     * It is left on the matching end element.
+     * @return the new time primitive instance
+     * @throws XMLReaderException
+     */
+    public AbstractTimeGeometricPrimitive readTimePrimitive(XMLStreamReader reader) throws XMLReaderException
+    {
+        try
+        {
+            return ((GMLStaxBindings)staxBindings).readAbstractTimeGeometricPrimitive(reader);
+        }
+        catch (XMLStreamException e)
+        {
+            throw new XMLReaderException("Error while reading " + ObjectType.TimePrimitive + " from XML stream", e);
+        }
+    }
+    
+    
+    /**
+     * Reads a GML time primitive from an XML stream as a {@link TimeExtent} object
+     * @param reader stream reader positioned on the time primitive start element.
+     * It is left on the matching end element.
+     * @return the new TimeExtent instance
+     * @throws XMLReaderException
+     */
+    public TimeExtent readTimePrimitiveAsTimeExtent(XMLStreamReader reader) throws XMLReaderException
+    {
+        AbstractTimeGeometricPrimitive timePrimitive = readTimePrimitive(reader);
+        return timePrimitiveToTimeExtent(timePrimitive);
+    }
+    
+    
     /**
      * Reads a GML envelope from a DOM element
      * @param dom parent DOM helper instance